@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.alert.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.validation.Errors;
+
+@Data
+public class AlertCoalesceConfig {
+
+    /**
+     * Whether to coalesce the alerts of the same alert group into one digest message.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The alerts of the same alert group received in this window will be sent as one digest message.
+     */
+    private Duration window = Duration.ofSeconds(10);
+
+    /**
+     * The max number of alerts in one digest message, the digest message will be sent immediately when reach.
+     */
+    private int maxBatchSize = 100;
+
+    public void validate(Errors errors) {
+        if (window.isNegative() || window.isZero()) {
+            errors.rejectValue("coalesce.window", null, "should be a positive duration");
+        }
+        if (maxBatchSize <= 0) {
+            errors.rejectValue("coalesce.max-batch-size", null, "should be a positive number");
+        }
+    }
+}
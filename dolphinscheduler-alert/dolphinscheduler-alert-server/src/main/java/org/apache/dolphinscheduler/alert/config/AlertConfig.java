@@ -45,6 +45,19 @@ public final class AlertConfig implements Validator {
 
     private int senderParallelism = 100;
 
+    /**
+     * The plugin instances bound to an alert group are cached in this duration.
+     */
+    private Duration pluginInstanceCacheExpireTime = Duration.ofSeconds(10);
+
+    /**
+     * The max number of messages sent to one plugin instance per second, 0 means no limit. The message over the limit
+     * waits in the {@link #waitTimeout}, or fails immediately if there is no wait timeout.
+     */
+    private double pluginInstanceSendRateLimit = 0;
+
+    private AlertCoalesceConfig coalesce = new AlertCoalesceConfig();
+
     private String alertServerAddress;
 
     @Override
@@ -64,6 +77,16 @@ public final class AlertConfig implements Validator {
             errors.rejectValue("sender-parallelism", null, "should be a positive number");
         }
 
+        if (pluginInstanceCacheExpireTime.isNegative()) {
+            errors.rejectValue("plugin-instance-cache-expire-time", null, "should be a valid duration");
+        }
+
+        if (pluginInstanceSendRateLimit < 0) {
+            errors.rejectValue("plugin-instance-send-rate-limit", null, "should not be a negative number");
+        }
+
+        coalesce.validate(errors);
+
         if (StringUtils.isEmpty(alertServerAddress)) {
             alertConfig.setAlertServerAddress(NetUtils.getAddr(alertConfig.getPort()));
         }
@@ -75,5 +98,9 @@ public final class AlertConfig implements Validator {
         log.info("Alert config: port -> {}", port);
         log.info("Alert config: alertServerAddress -> {}", alertServerAddress);
         log.info("Alert config: maxHeartbeatInterval -> {}", maxHeartbeatInterval);
+        log.info("Alert config: senderParallelism -> {}", senderParallelism);
+        log.info("Alert config: pluginInstanceCacheExpireTime -> {}", pluginInstanceCacheExpireTime);
+        log.info("Alert config: pluginInstanceSendRateLimit -> {}", pluginInstanceSendRateLimit);
+        log.info("Alert config: coalesce -> {}", coalesce);
     }
 }
@@ -17,12 +17,14 @@
 
 package org.apache.dolphinscheduler.alert.metrics;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import lombok.experimental.UtilityClass;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 @UtilityClass
 public class AlertServerMetrics {
@@ -44,6 +46,21 @@ public class AlertServerMetrics {
                     .description("alert heartbeat count")
                     .register(Metrics.globalRegistry);
 
+    /**
+     * Used to measure the time between an alert is created and the alert is handled by the alert server.
+     */
+    private final Timer alertQueueLagTimer =
+            Timer.builder("ds.alert.queue.lag")
+                    .description("Time cost of an alert waiting to be handled")
+                    .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(Metrics.globalRegistry);
+
+    private final Counter alertCoalescedCounter =
+            Counter.builder("ds.alert.coalesce.count")
+                    .description("Alert sent in a digest message count")
+                    .register(Metrics.globalRegistry);
+
     public void registerPendingAlertGauge(final Supplier<Number> supplier) {
         Gauge.builder("ds.alert.pending", supplier)
                 .description("Number of pending alert")
@@ -56,6 +73,12 @@ public class AlertServerMetrics {
                 .register(Metrics.globalRegistry);
     }
 
+    public void registerCoalescingAlertGauge(final Supplier<Number> supplier) {
+        Gauge.builder("ds.alert.coalescing", supplier)
+                .description("Number of alert waiting to be coalesced")
+                .register(Metrics.globalRegistry);
+    }
+
     public static void registerUncachedException(final Supplier<Number> supplier) {
         Gauge.builder("ds.alert.uncached.exception", supplier)
                 .description("number of uncached exception")
@@ -73,4 +96,12 @@ public class AlertServerMetrics {
     public void incAlertHeartbeatCount() {
         alertHeartBeatCounter.increment();
     }
+
+    public void recordAlertQueueLag(final long milliseconds) {
+        alertQueueLagTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    public void incAlertCoalescedCount(final int count) {
+        alertCoalescedCounter.increment(count);
+    }
 }
@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.alert.service;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import org.apache.dolphinscheduler.alert.api.AlertChannel;
@@ -37,16 +38,22 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.RateLimiter;
 
 @Slf4j
 public abstract class AbstractEventSender<T> implements EventSender<T> {
@@ -55,33 +62,61 @@ public abstract class AbstractEventSender<T> implements EventSender<T> {
 
     private final long sendEventTimeout;
 
-    protected AbstractEventSender(AlertPluginManager alertPluginManager, long sendEventTimeout) {
+    private final Executor pluginInstanceSendExecutor;
+
+    private final double pluginInstanceSendRateLimit;
+
+    private final Map<Integer, RateLimiter> pluginInstanceRateLimiters = new ConcurrentHashMap<>();
+
+    protected AbstractEventSender(AlertPluginManager alertPluginManager,
+                                  long sendEventTimeout,
+                                  Executor pluginInstanceSendExecutor,
+                                  double pluginInstanceSendRateLimit) {
         this.alertPluginManager = alertPluginManager;
         this.sendEventTimeout = sendEventTimeout;
+        this.pluginInstanceSendExecutor = pluginInstanceSendExecutor;
+        this.pluginInstanceSendRateLimit = pluginInstanceSendRateLimit;
     }
 
     @Override
     public void sendEvent(T event) {
-        List<AlertPluginInstance> alertPluginInstanceList = getAlertPluginInstanceList(event);
+        sendEvents(Collections.singletonList(event));
+    }
+
+    @Override
+    public void sendEvents(List<T> events) {
+        checkArgument(CollectionUtils.isNotEmpty(events), "The events cannot be empty");
+        // The events are bound to the same plugin instances
+        List<AlertPluginInstance> alertPluginInstanceList = getAlertPluginInstanceList(events.get(0));
         if (CollectionUtils.isEmpty(alertPluginInstanceList)) {
-            onError(event, "No bind plugin instance found");
+            for (T event : events) {
+                onError(event, "No bind plugin instance found");
+            }
             return;
         }
-        AlertData alertData = getAlertData(event);
-        List<AlertSendStatus> alertSendStatuses = new ArrayList<>();
-        for (AlertPluginInstance instance : alertPluginInstanceList) {
-            AlertResult alertResult = doSendEvent(instance, alertData);
-            AlertStatus alertStatus =
-                    alertResult.isSuccess() ? AlertStatus.EXECUTION_SUCCESS : AlertStatus.EXECUTION_FAILURE;
-            AlertSendStatus alertSendStatus = AlertSendStatus.builder()
-                    .alertId(getEventId(event))
-                    .alertPluginInstanceId(instance.getId())
-                    .sendStatus(alertStatus)
-                    .log(JSONUtils.toJsonString(alertResult))
-                    .createTime(new Date())
-                    .build();
-            alertSendStatuses.add(alertSendStatus);
+        AlertData alertData = events.size() == 1 ? getAlertData(events.get(0)) : getAlertData(events);
+        List<AlertResult> alertResults = doSendEvent(alertPluginInstanceList, alertData);
+
+        for (T event : events) {
+            List<AlertSendStatus> alertSendStatuses = new ArrayList<>();
+            for (int i = 0; i < alertPluginInstanceList.size(); i++) {
+                AlertResult alertResult = alertResults.get(i);
+                AlertStatus alertStatus =
+                        alertResult.isSuccess() ? AlertStatus.EXECUTION_SUCCESS : AlertStatus.EXECUTION_FAILURE;
+                AlertSendStatus alertSendStatus = AlertSendStatus.builder()
+                        .alertId(getEventId(event))
+                        .alertPluginInstanceId(alertPluginInstanceList.get(i).getId())
+                        .sendStatus(alertStatus)
+                        .log(JSONUtils.toJsonString(alertResult))
+                        .createTime(new Date())
+                        .build();
+                alertSendStatuses.add(alertSendStatus);
+            }
+            onSendFinished(event, alertSendStatuses);
         }
+    }
+
+    private void onSendFinished(T event, List<AlertSendStatus> alertSendStatuses) {
         long failureCount = alertSendStatuses.stream()
                 .filter(alertSendStatus -> alertSendStatus.getSendStatus() == AlertStatus.EXECUTION_FAILURE)
                 .count();
@@ -99,10 +134,33 @@ public abstract class AbstractEventSender<T> implements EventSender<T> {
         }
     }
 
+    /**
+     * Send the alert data to the plugin instances, the independent plugin instances are sent concurrently.
+     *
+     * @return the alert results in the order of the given plugin instances
+     */
+    private List<AlertResult> doSendEvent(List<AlertPluginInstance> alertPluginInstanceList, AlertData alertData) {
+        if (alertPluginInstanceList.size() == 1) {
+            return Collections.singletonList(doSendEvent(alertPluginInstanceList.get(0), alertData));
+        }
+        List<CompletableFuture<AlertResult>> alertResultFutures = alertPluginInstanceList.stream()
+                .map(instance -> CompletableFuture.supplyAsync(() -> doSendEvent(instance, alertData),
+                        pluginInstanceSendExecutor))
+                .collect(Collectors.toList());
+        return alertResultFutures.stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+    }
+
     public abstract List<AlertPluginInstance> getAlertPluginInstanceList(T event);
 
     public abstract AlertData getAlertData(T event);
 
+    /**
+     * Get the digest alert data of the given events.
+     */
+    public abstract AlertData getAlertData(List<T> events);
+
     public abstract Integer getEventId(T event);
 
     public abstract void onError(T event, String log);
@@ -126,6 +184,11 @@ public abstract class AbstractEventSender<T> implements EventSender<T> {
                 .alertPluginInstanceId(instance.getId())
                 .build();
         try {
+            final long startTime = System.currentTimeMillis();
+            if (!tryAcquirePluginInstanceSendPermit(instance)) {
+                return AlertResult.fail("The plugin instance: " + instance.getInstanceName()
+                        + " exceeds the send rate limit: " + pluginInstanceSendRateLimit + "/s");
+            }
             AlertResult alertResult;
             if (sendEventTimeout <= 0) {
                 if (alertData.getAlertType() == AlertType.CLOSE_ALERT.getCode()) {
@@ -140,7 +203,9 @@ public abstract class AbstractEventSender<T> implements EventSender<T> {
                 } else {
                     future = CompletableFuture.supplyAsync(() -> alertChannel.process(alertInfo));
                 }
-                alertResult = future.get(sendEventTimeout, TimeUnit.MILLISECONDS);
+                // The wait for the send permit is counted in the timeout
+                final long remainingTimeout = sendEventTimeout - (System.currentTimeMillis() - startTime);
+                alertResult = future.get(Math.max(remainingTimeout, 0), TimeUnit.MILLISECONDS);
             }
             checkNotNull(alertResult, "AlertResult cannot be null");
             return alertResult;
@@ -153,6 +218,22 @@ public abstract class AbstractEventSender<T> implements EventSender<T> {
         }
     }
 
+    /**
+     * Wait until the plugin instance can be sent, avoid the receiver of the plugin instance rejecting the message when
+     * an alert storm happens. The wait is bounded by the send timeout, and the message is not waited if there is no send
+     * timeout, so the throttled plugin instance will not occupy the sender threads shared by all the plugin instances.
+     *
+     * @return false if the permit cannot be acquired in the send timeout
+     */
+    private boolean tryAcquirePluginInstanceSendPermit(AlertPluginInstance instance) {
+        if (pluginInstanceSendRateLimit <= 0 || instance.getId() == null) {
+            return true;
+        }
+        return pluginInstanceRateLimiters
+                .computeIfAbsent(instance.getId(), instanceId -> RateLimiter.create(pluginInstanceSendRateLimit))
+                .tryAcquire(Math.max(sendEventTimeout, 0), TimeUnit.MILLISECONDS);
+    }
+
     @Override
     public AlertSendResponse syncTestSend(int pluginDefineId, String pluginInstanceParams) {
 
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.alert.service;
+
+import org.apache.dolphinscheduler.alert.config.AlertCoalesceConfig;
+import org.apache.dolphinscheduler.alert.config.AlertConfig;
+import org.apache.dolphinscheduler.alert.metrics.AlertServerMetrics;
+import org.apache.dolphinscheduler.common.enums.AlertType;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.entity.Alert;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesce the alerts of the same alert group received in a window into one digest message, so that an alert storm
+ * will not flood the plugin instances.
+ * <p>
+ * The first alert of an alert group opens a window, the alerts received in the window are sent as one digest message
+ * when the window closed or the max batch size reached.
+ */
+@Slf4j
+@Component
+public class AlertEventCoalescer implements AutoCloseable {
+
+    private final AlertCoalesceConfig alertCoalesceConfig;
+
+    private final AlertSender alertSender;
+
+    private final ThreadPoolExecutor alertSenderThreadPool;
+
+    private final ScheduledExecutorService windowCloseScheduler;
+
+    /**
+     * The alerts waiting to be coalesced, key is the alert group id.
+     */
+    private final Map<Integer, List<Alert>> coalescingAlerts = new HashMap<>();
+
+    private int coalescingAlertCount;
+
+    public AlertEventCoalescer(AlertConfig alertConfig,
+                               AlertSender alertSender,
+                               AlertSenderThreadPoolFactory alertSenderThreadPoolFactory) {
+        this.alertCoalesceConfig = alertConfig.getCoalesce();
+        this.alertSender = alertSender;
+        this.alertSenderThreadPool = alertSenderThreadPoolFactory.getThreadPool();
+        this.windowCloseScheduler = ThreadUtils.newSingleDaemonScheduledExecutorService("AlertCoalesceWindowThread");
+        AlertServerMetrics.registerCoalescingAlertGauge(this::getCoalescingAlertCount);
+    }
+
+    /**
+     * The close alert is sent directly, since it is used to resolve a specific alert in the plugin instance.
+     */
+    public boolean canCoalesce(Alert alert) {
+        return alertCoalesceConfig.isEnabled()
+                && alert.getAlertGroupId() != null
+                && alert.getAlertType() != AlertType.CLOSE_ALERT;
+    }
+
+    public void coalesce(Alert alert) {
+        final Integer alertGroupId = alert.getAlertGroupId();
+        List<Alert> fullBatch = null;
+        synchronized (this) {
+            List<Alert> alerts = coalescingAlerts.get(alertGroupId);
+            if (alerts == null) {
+                final List<Alert> newWindowAlerts = new ArrayList<>();
+                coalescingAlerts.put(alertGroupId, newWindowAlerts);
+                windowCloseScheduler.schedule(() -> closeWindow(alertGroupId, newWindowAlerts),
+                        alertCoalesceConfig.getWindow().toMillis(), TimeUnit.MILLISECONDS);
+                alerts = newWindowAlerts;
+            }
+            alerts.add(alert);
+            coalescingAlertCount++;
+            if (alerts.size() >= alertCoalesceConfig.getMaxBatchSize()) {
+                coalescingAlerts.remove(alertGroupId);
+                coalescingAlertCount -= alerts.size();
+                fullBatch = alerts;
+            }
+        }
+        if (fullBatch != null) {
+            sendAlerts(fullBatch);
+        }
+    }
+
+    private void closeWindow(Integer alertGroupId, List<Alert> alerts) {
+        synchronized (this) {
+            // The alerts have already been sent since the max batch size reached
+            if (!coalescingAlerts.remove(alertGroupId, alerts)) {
+                return;
+            }
+            coalescingAlertCount -= alerts.size();
+        }
+        try {
+            alertSenderThreadPool.execute(() -> sendAlerts(alerts));
+        } catch (Exception ex) {
+            log.error("Submit the coalesced alerts of alert group: {} failed", alertGroupId, ex);
+        }
+    }
+
+    private void sendAlerts(List<Alert> alerts) {
+        try {
+            if (alerts.size() > 1) {
+                log.info("Send {} alerts of alert group: {} as one digest message", alerts.size(),
+                        alerts.get(0).getAlertGroupId());
+                AlertServerMetrics.incAlertCoalescedCount(alerts.size());
+            }
+            alertSender.sendEvents(alerts);
+        } catch (Exception ex) {
+            log.error("Send the coalesced alerts: {} error", alerts, ex);
+        }
+    }
+
+    public synchronized int getCoalescingAlertCount() {
+        return coalescingAlertCount;
+    }
+
+    @Override
+    public void close() {
+        windowCloseScheduler.shutdownNow();
+    }
+}
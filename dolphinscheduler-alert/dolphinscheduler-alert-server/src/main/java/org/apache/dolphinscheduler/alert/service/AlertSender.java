@@ -22,31 +22,54 @@ import org.apache.dolphinscheduler.alert.api.AlertResult;
 import org.apache.dolphinscheduler.alert.config.AlertConfig;
 import org.apache.dolphinscheduler.alert.plugin.AlertPluginManager;
 import org.apache.dolphinscheduler.common.enums.AlertStatus;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.AlertDao;
 import org.apache.dolphinscheduler.dao.entity.Alert;
 import org.apache.dolphinscheduler.dao.entity.AlertPluginInstance;
 import org.apache.dolphinscheduler.extract.alert.request.AlertSendResponse;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Component;
 
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
 @Slf4j
 @Component
 public class AlertSender extends AbstractEventSender<Alert> {
 
     private final AlertDao alertDao;
 
+    /**
+     * The plugin instances bound to the alert group, avoid querying the database for each alert.
+     */
+    private final Cache<Integer, List<AlertPluginInstance>> alertPluginInstanceCache;
+
     public AlertSender(AlertDao alertDao,
                        AlertPluginManager alertPluginManager,
-                       AlertConfig alertConfig) {
-        super(alertPluginManager, alertConfig.getWaitTimeout());
+                       AlertConfig alertConfig,
+                       AlertSenderThreadPoolFactory alertSenderThreadPoolFactory) {
+        super(alertPluginManager,
+                alertConfig.getWaitTimeout(),
+                alertSenderThreadPoolFactory.getPluginInstanceSenderThreadPool(),
+                alertConfig.getPluginInstanceSendRateLimit());
         this.alertDao = alertDao;
+        this.alertPluginInstanceCache = CacheBuilder.newBuilder()
+                .expireAfterWrite(alertConfig.getPluginInstanceCacheExpireTime().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
     }
 
     /**
@@ -95,7 +118,19 @@ public class AlertSender extends AbstractEventSender<Alert> {
 
     @Override
     public List<AlertPluginInstance> getAlertPluginInstanceList(Alert event) {
-        return alertDao.listInstanceByAlertGroupId(event.getAlertGroupId());
+        final Integer alertGroupId = event.getAlertGroupId();
+        if (alertGroupId == null) {
+            return Collections.emptyList();
+        }
+        try {
+            return alertPluginInstanceCache.get(alertGroupId, () -> {
+                List<AlertPluginInstance> alertPluginInstances = alertDao.listInstanceByAlertGroupId(alertGroupId);
+                return alertPluginInstances == null ? Collections.emptyList() : alertPluginInstances;
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            log.error("Query the plugin instances of alert group: {} failed", alertGroupId, e.getCause());
+            return Collections.emptyList();
+        }
     }
 
     @Override
@@ -109,6 +144,38 @@ public class AlertSender extends AbstractEventSender<Alert> {
                 .build();
     }
 
+    @Override
+    public AlertData getAlertData(List<Alert> events) {
+        final Alert firstEvent = events.get(0);
+        final ArrayNode digestContent = JSONUtils.createArrayNode();
+        for (Alert event : events) {
+            addDigestContent(digestContent, event);
+        }
+        return AlertData.builder()
+                .id(firstEvent.getId())
+                .content(JSONUtils.toJsonString(digestContent))
+                .title(String.format("[%d alerts] %s", events.size(), firstEvent.getTitle()))
+                .alertType(firstEvent.getAlertType().getCode())
+                .build();
+    }
+
+    private void addDigestContent(ArrayNode digestContent, Alert event) {
+        final String content = StringUtils.trim(event.getContent());
+        if (JSONUtils.checkJsonValid(content, false)) {
+            if (content.startsWith("[")) {
+                digestContent.addAll(JSONUtils.parseArray(content));
+                return;
+            }
+            if (content.startsWith("{")) {
+                digestContent.add(JSONUtils.parseObject(content));
+                return;
+            }
+        }
+        final ObjectNode eventContent = digestContent.addObject();
+        eventContent.put("title", event.getTitle());
+        eventContent.put("content", event.getContent());
+    }
+
     @Override
     public Integer getEventId(Alert event) {
         return event.getId();
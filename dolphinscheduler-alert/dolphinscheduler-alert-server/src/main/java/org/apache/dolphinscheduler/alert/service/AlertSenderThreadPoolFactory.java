@@ -29,13 +29,24 @@ public class AlertSenderThreadPoolFactory {
 
     private final ThreadPoolExecutor threadPool;
 
+    private final ThreadPoolExecutor pluginInstanceSenderThreadPool;
+
     public AlertSenderThreadPoolFactory(AlertConfig alertConfig) {
         this.threadPool = ThreadUtils.newDaemonFixedThreadExecutor("AlertSenderThread",
                 alertConfig.getSenderParallelism());
+        this.pluginInstanceSenderThreadPool = ThreadUtils.newDaemonFixedThreadExecutor(
+                "AlertPluginInstanceSenderThread", alertConfig.getSenderParallelism());
     }
 
     public ThreadPoolExecutor getThreadPool() {
         return threadPool;
     }
 
+    /**
+     * The thread pool used to send one alert to the different plugin instances concurrently.
+     */
+    public ThreadPoolExecutor getPluginInstanceSenderThreadPool() {
+        return pluginInstanceSenderThreadPool;
+    }
+
 }
@@ -21,14 +21,18 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.apache.dolphinscheduler.alert.api.AlertChannel;
+import org.apache.dolphinscheduler.alert.api.AlertData;
+import org.apache.dolphinscheduler.alert.api.AlertInfo;
 import org.apache.dolphinscheduler.alert.api.AlertResult;
 import org.apache.dolphinscheduler.alert.config.AlertConfig;
 import org.apache.dolphinscheduler.alert.plugin.AlertPluginManager;
 import org.apache.dolphinscheduler.alert.service.AlertSender;
+import org.apache.dolphinscheduler.alert.service.AlertSenderThreadPoolFactory;
 import org.apache.dolphinscheduler.common.enums.AlertStatus;
 import org.apache.dolphinscheduler.common.enums.AlertType;
 import org.apache.dolphinscheduler.common.enums.WarningType;
@@ -40,15 +44,17 @@ import org.apache.dolphinscheduler.dao.entity.AlertPluginInstance;
 import org.apache.dolphinscheduler.extract.alert.request.AlertSendResponse;
 import org.apache.dolphinscheduler.spi.params.PluginParamsTransfer;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -56,6 +62,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.Lists;
+
 @ExtendWith(MockitoExtension.class)
 class AlertSenderTest {
 
@@ -67,10 +75,6 @@ class AlertSenderTest {
     private PluginDao pluginDao;
     @Mock
     private AlertPluginManager alertPluginManager;
-    @Mock
-    private AlertConfig alertConfig;
-
-    @InjectMocks
     private AlertSender alertSender;
 
     private static final String PLUGIN_INSTANCE_PARAMS =
@@ -84,6 +88,15 @@ class AlertSenderTest {
 
     private static final int ALERT_GROUP_ID = 1;
 
+    @BeforeEach
+    void setUp() {
+        AlertConfig alertConfig = new AlertConfig();
+        // Disable the plugin instance cache, the bound plugin instances are changed in the tests
+        alertConfig.setPluginInstanceCacheExpireTime(Duration.ZERO);
+        alertSender = new AlertSender(alertDao, alertPluginManager, alertConfig,
+                new AlertSenderThreadPoolFactory(alertConfig));
+    }
+
     @Test
     void testSyncHandler() {
         // 1.alert instance does not exist
@@ -196,6 +209,61 @@ class AlertSenderTest {
 
     }
 
+    @Test
+    void testSendEvents() {
+        List<Alert> alerts = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            Alert alert = new Alert();
+            alert.setId(i);
+            alert.setAlertGroupId(ALERT_GROUP_ID);
+            alert.setTitle(TITLE);
+            alert.setContent("[{\"taskName\":\"task-" + i + "\"}]");
+            alert.setWarningType(WarningType.FAILURE);
+            alert.setAlertType(AlertType.TASK_FAILURE);
+            alerts.add(alert);
+        }
+        AlertPluginInstance alertPluginInstance = new AlertPluginInstance(
+                PLUGIN_DEFINE_ID, PLUGIN_INSTANCE_PARAMS, PLUGIN_INSTANCE_NAME);
+        alertPluginInstance.setId(PLUGIN_DEFINE_ID);
+        AlertPluginInstance otherAlertPluginInstance = new AlertPluginInstance(
+                PLUGIN_DEFINE_ID, PLUGIN_INSTANCE_PARAMS, PLUGIN_INSTANCE_NAME);
+        otherAlertPluginInstance.setId(PLUGIN_DEFINE_ID + 1);
+        when(alertDao.listInstanceByAlertGroupId(ALERT_GROUP_ID))
+                .thenReturn(Lists.newArrayList(alertPluginInstance, otherAlertPluginInstance));
+        AlertChannel alertChannelMock = mock(AlertChannel.class);
+        when(alertPluginManager.getAlertChannel(PLUGIN_DEFINE_ID)).thenReturn(Optional.of(alertChannelMock));
+        when(alertChannelMock.process(Mockito.any())).thenReturn(AlertResult.success());
+
+        alertSender.sendEvents(alerts);
+
+        // The alerts are sent as one digest message to each plugin instance
+        ArgumentCaptor<AlertInfo> alertInfoCaptor = ArgumentCaptor.forClass(AlertInfo.class);
+        verify(alertChannelMock, times(2)).process(alertInfoCaptor.capture());
+        AlertData alertData = alertInfoCaptor.getValue().getAlertData();
+        Assertions.assertEquals("[3 alerts] " + TITLE, alertData.getTitle());
+        Assertions.assertEquals(
+                "[{\"taskName\":\"task-1\"},{\"taskName\":\"task-2\"},{\"taskName\":\"task-3\"}]",
+                alertData.getContent());
+        for (Alert alert : alerts) {
+            verify(alertDao).updateAlert(eq(AlertStatus.EXECUTION_SUCCESS), anyString(), eq(alert.getId()));
+        }
+    }
+
+    @Test
+    void testPluginInstanceCache() {
+        AlertConfig alertConfig = new AlertConfig();
+        alertSender = new AlertSender(alertDao, alertPluginManager, alertConfig,
+                new AlertSenderThreadPoolFactory(alertConfig));
+        Alert alert = new Alert();
+        alert.setAlertGroupId(ALERT_GROUP_ID);
+        when(alertDao.listInstanceByAlertGroupId(ALERT_GROUP_ID)).thenReturn(new ArrayList<>());
+
+        alertSender.getAlertPluginInstanceList(alert);
+        alertSender.getAlertPluginInstanceList(alert);
+
+        verify(alertDao, times(1)).listInstanceByAlertGroupId(ALERT_GROUP_ID);
+    }
+
     @Test
     void testSendAlert() {
         AlertResult sendResult = new AlertResult();
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.alert.service;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.apache.dolphinscheduler.alert.config.AlertConfig;
+import org.apache.dolphinscheduler.common.enums.AlertType;
+import org.apache.dolphinscheduler.dao.entity.Alert;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AlertEventCoalescerTest {
+
+    @Mock
+    private AlertSender alertSender;
+
+    private AlertConfig alertConfig;
+
+    private AlertEventCoalescer alertEventCoalescer;
+
+    @BeforeEach
+    void setUp() {
+        alertConfig = new AlertConfig();
+        alertConfig.getCoalesce().setEnabled(true);
+        alertConfig.getCoalesce().setWindow(Duration.ofMillis(500));
+        alertConfig.getCoalesce().setMaxBatchSize(3);
+        alertEventCoalescer =
+                new AlertEventCoalescer(alertConfig, alertSender, new AlertSenderThreadPoolFactory(alertConfig));
+    }
+
+    @AfterEach
+    void tearDown() {
+        alertEventCoalescer.close();
+    }
+
+    @Test
+    void canCoalesce() {
+        assertThat(alertEventCoalescer.canCoalesce(createAlert(1, 1, AlertType.TASK_FAILURE))).isTrue();
+        // The close alert is sent directly
+        assertThat(alertEventCoalescer.canCoalesce(createAlert(1, 1, AlertType.CLOSE_ALERT))).isFalse();
+
+        alertConfig.getCoalesce().setEnabled(false);
+        assertThat(alertEventCoalescer.canCoalesce(createAlert(1, 1, AlertType.TASK_FAILURE))).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void coalesce_sendWhenWindowClosed() {
+        alertEventCoalescer.coalesce(createAlert(1, 1, AlertType.TASK_FAILURE));
+        alertEventCoalescer.coalesce(createAlert(2, 1, AlertType.TASK_FAILURE));
+        alertEventCoalescer.coalesce(createAlert(3, 2, AlertType.TASK_FAILURE));
+        assertThat(alertEventCoalescer.getCoalescingAlertCount()).isEqualTo(3);
+        verify(alertSender, never()).sendEvents(anyList());
+
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> verify(alertSender, times(2)).sendEvents(anyList()));
+        ArgumentCaptor<List<Alert>> alertsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(alertSender, times(2)).sendEvents(alertsCaptor.capture());
+        assertThat(alertsCaptor.getAllValues()).hasSize(2);
+        assertThat(alertsCaptor.getAllValues().stream().mapToInt(List::size).sum()).isEqualTo(3);
+        assertThat(alertEventCoalescer.getCoalescingAlertCount()).isEqualTo(0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void coalesce_sendWhenMaxBatchSizeReached() {
+        alertConfig.getCoalesce().setWindow(Duration.ofMinutes(1));
+        for (int i = 1; i <= 3; i++) {
+            alertEventCoalescer.coalesce(createAlert(i, 1, AlertType.TASK_FAILURE));
+        }
+
+        ArgumentCaptor<List<Alert>> alertsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(alertSender, times(1)).sendEvents(alertsCaptor.capture());
+        assertThat(alertsCaptor.getValue()).hasSize(3);
+        assertThat(alertEventCoalescer.getCoalescingAlertCount()).isEqualTo(0);
+    }
+
+    private Alert createAlert(int id, int alertGroupId, AlertType alertType) {
+        Alert alert = new Alert();
+        alert.setId(id);
+        alert.setAlertGroupId(alertGroupId);
+        alert.setAlertType(alertType);
+        alert.setTitle("alert-" + id);
+        return alert;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.alert.service;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.alert.api.AlertChannel;
+import org.apache.dolphinscheduler.alert.api.AlertData;
+import org.apache.dolphinscheduler.alert.api.AlertResult;
+import org.apache.dolphinscheduler.alert.config.AlertConfig;
+import org.apache.dolphinscheduler.alert.plugin.AlertPluginManager;
+import org.apache.dolphinscheduler.dao.AlertDao;
+import org.apache.dolphinscheduler.dao.entity.AlertPluginInstance;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AlertSenderTest {
+
+    @Mock
+    private AlertDao alertDao;
+
+    @Mock
+    private AlertPluginManager alertPluginManager;
+
+    private final AlertConfig alertConfig = new AlertConfig();
+
+    private final AlertData alertData = AlertData.builder().title("title").content("content").build();
+
+    @BeforeEach
+    void setUp() {
+        AlertChannel alertChannel = mock(AlertChannel.class);
+        when(alertChannel.process(any())).thenReturn(AlertResult.success());
+        when(alertPluginManager.getAlertChannel(1)).thenReturn(Optional.of(alertChannel));
+        alertConfig.setPluginInstanceSendRateLimit(0.1);
+    }
+
+    @Test
+    void doSendEvent_failImmediatelyOverRateLimitWithoutWaitTimeout() {
+        AlertSender alertSender = createAlertSender();
+        AlertPluginInstance instance = createAlertPluginInstance(1);
+
+        assertThat(alertSender.doSendEvent(instance, alertData).isSuccess()).isTrue();
+        long startTime = System.currentTimeMillis();
+        assertThat(alertSender.doSendEvent(instance, alertData).isSuccess()).isFalse();
+        assertThat(System.currentTimeMillis() - startTime).isLessThan(1000L);
+        // The other plugin instance is not throttled
+        assertThat(alertSender.doSendEvent(createAlertPluginInstance(2), alertData).isSuccess()).isTrue();
+    }
+
+    @Test
+    void doSendEvent_waitForPermitInWaitTimeout() {
+        alertConfig.setWaitTimeout(200);
+        AlertSender alertSender = createAlertSender();
+        AlertPluginInstance instance = createAlertPluginInstance(1);
+
+        assertThat(alertSender.doSendEvent(instance, alertData).isSuccess()).isTrue();
+        long startTime = System.currentTimeMillis();
+        AlertResult alertResult = alertSender.doSendEvent(instance, alertData);
+        assertThat(alertResult.isSuccess()).isFalse();
+        assertThat(alertResult.getMessage()).contains("exceeds the send rate limit");
+        assertThat(System.currentTimeMillis() - startTime).isLessThan(1000L);
+    }
+
+    private AlertSender createAlertSender() {
+        return new AlertSender(alertDao, alertPluginManager, alertConfig,
+                new AlertSenderThreadPoolFactory(alertConfig));
+    }
+
+    private AlertPluginInstance createAlertPluginInstance(int id) {
+        AlertPluginInstance alertPluginInstance = new AlertPluginInstance();
+        alertPluginInstance.setId(id);
+        alertPluginInstance.setPluginDefineId(1);
+        alertPluginInstance.setPluginInstanceParams("{}");
+        alertPluginInstance.setInstanceName("instance-" + id);
+        return alertPluginInstance;
+    }
+}
@@ -25,12 +25,13 @@ import org.apache.dolphinscheduler.api.service.LoggerService;
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.dao.entity.ResponseTaskLog;
+import org.apache.dolphinscheduler.dao.entity.ResponseTaskLogTail;
 import org.apache.dolphinscheduler.dao.entity.User;
 
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestAttribute;
@@ -82,12 +83,34 @@ public class LoggerController extends BaseController {
         return loggerService.queryLog(loginUser, taskInstanceId, skipNum, limit);
     }
 
+    /**
+     * tail task log, only the log content after the given byte offset will be returned, the caller can use the
+     * returned next offset to poll the new log content
+     *
+     * @param loginUser login user
+     * @param taskInstanceId task instance id
+     * @param offset the byte offset of the log to read from
+     * @return task log content and the next offset
+     */
+    @Operation(summary = "tailLog", description = "TAIL_TASK_INSTANCE_LOG_NOTES")
+    @Parameters({
+            @Parameter(name = "taskInstanceId", description = "TASK_ID", required = true, schema = @Schema(implementation = int.class, example = "100")),
+            @Parameter(name = "offset", description = "LOG_BYTE_OFFSET", required = true, schema = @Schema(implementation = long.class, example = "0"))
+    })
+    @GetMapping(value = "/tail")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiException(QUERY_TASK_INSTANCE_LOG_ERROR)
+    public Result<ResponseTaskLogTail> tailLog(@Parameter(hidden = true) @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                                               @RequestParam(value = "taskInstanceId") int taskInstanceId,
+                                               @RequestParam(value = "offset") long offset) {
+        return loggerService.tailLog(loginUser, taskInstanceId, offset);
+    }
+
     /**
      * download log file
      *
      * @param loginUser login user
      * @param taskInstanceId task instance id
-     * @return log file content
      */
     @Operation(summary = "downloadTaskLog", description = "DOWNLOAD_TASK_INSTANCE_LOG_NOTES")
     @Parameters({
@@ -96,14 +119,10 @@ public class LoggerController extends BaseController {
     @GetMapping(value = "/download-log")
     @ResponseBody
     @ApiException(DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR)
-    public ResponseEntity downloadTaskLog(@Parameter(hidden = true) @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
-                                          @RequestParam(value = "taskInstanceId") int taskInstanceId) {
-        byte[] logBytes = loggerService.getLogBytes(loginUser, taskInstanceId);
-        return ResponseEntity
-                .ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\"" + System.currentTimeMillis() + ".log" + "\"")
-                .body(logBytes);
+    public void downloadTaskLog(@Parameter(hidden = true) @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                                HttpServletResponse response,
+                                @RequestParam(value = "taskInstanceId") int taskInstanceId) {
+        loggerService.downloadLog(response, loginUser, taskInstanceId);
     }
 
     /**
@@ -141,7 +160,6 @@ public class LoggerController extends BaseController {
      * @param loginUser      login user
      * @param projectCode    project code
      * @param taskInstanceId task instance id
-     * @return log file content
      */
     @Operation(summary = "downloadTaskLogInSpecifiedProject", description = "DOWNLOAD_TASK_INSTANCE_LOG_IN_SPECIFIED_PROJECT_NOTES")
     @Parameters({
@@ -151,14 +169,10 @@ public class LoggerController extends BaseController {
     @GetMapping(value = "/{projectCode}/download-log")
     @ResponseBody
     @ApiException(DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR)
-    public ResponseEntity downloadTaskLog(@Parameter(hidden = true) @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
-                                          @Parameter(name = "projectCode", description = "PROJECT_CODE", required = true) @PathVariable long projectCode,
-                                          @RequestParam(value = "taskInstanceId") int taskInstanceId) {
-        byte[] logBytes = loggerService.getLogBytes(loginUser, projectCode, taskInstanceId);
-        return ResponseEntity
-                .ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\"" + System.currentTimeMillis() + ".log" + "\"")
-                .body(logBytes);
+    public void downloadTaskLog(@Parameter(hidden = true) @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                                HttpServletResponse response,
+                                @Parameter(name = "projectCode", description = "PROJECT_CODE", required = true) @PathVariable long projectCode,
+                                @RequestParam(value = "taskInstanceId") int taskInstanceId) {
+        loggerService.downloadLog(response, loginUser, projectCode, taskInstanceId);
     }
 }
@@ -19,8 +19,11 @@ package org.apache.dolphinscheduler.api.service;
 
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.dao.entity.ResponseTaskLog;
+import org.apache.dolphinscheduler.dao.entity.ResponseTaskLogTail;
 import org.apache.dolphinscheduler.dao.entity.User;
 
+import javax.servlet.http.HttpServletResponse;
+
 /**
  * logger service
  */
@@ -38,13 +41,23 @@ public interface LoggerService {
     Result<ResponseTaskLog> queryLog(User loginUser, int taskInstId, int skipLineNum, int limit);
 
     /**
-     * get log size
+     * tail log, only the log content after the given byte offset will be returned
      *
      * @param loginUser   login user
      * @param taskInstId task instance id
-     * @return log byte array
+     * @param offset the byte offset of the log to read from
+     * @return log string data and the next offset
+     */
+    Result<ResponseTaskLogTail> tailLog(User loginUser, int taskInstId, long offset);
+
+    /**
+     * download log file to the http response chunk by chunk, so the whole log file will not be loaded into memory
+     *
+     * @param response   http response
+     * @param loginUser  login user
+     * @param taskInstId task instance id
      */
-    byte[] getLogBytes(User loginUser, int taskInstId);
+    void downloadLog(HttpServletResponse response, User loginUser, int taskInstId);
 
     /**
      * query log
@@ -59,12 +72,12 @@ public interface LoggerService {
     String queryLog(User loginUser, long projectCode, int taskInstId, int skipLineNum, int limit);
 
     /**
-     * get log bytes
+     * download log file to the http response chunk by chunk, so the whole log file will not be loaded into memory
      *
+     * @param response    http response
      * @param loginUser   login user
      * @param projectCode project code
      * @param taskInstId  task instance id
-     * @return log byte array
      */
-    byte[] getLogBytes(User loginUser, long projectCode, int taskInstId);
+    void downloadLog(HttpServletResponse response, User loginUser, long projectCode, int taskInstId);
 }
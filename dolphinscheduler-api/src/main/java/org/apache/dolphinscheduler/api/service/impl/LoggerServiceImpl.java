@@ -28,6 +28,7 @@ import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.dao.entity.Project;
 import org.apache.dolphinscheduler.dao.entity.ResponseTaskLog;
+import org.apache.dolphinscheduler.dao.entity.ResponseTaskLogTail;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.User;
@@ -35,23 +36,30 @@ import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionMapper;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.extract.base.client.Clients;
+import org.apache.dolphinscheduler.extract.base.exception.MethodNotFoundException;
 import org.apache.dolphinscheduler.extract.common.ILogService;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailQueryRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailQueryResponse;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 
+import javax.servlet.http.HttpServletResponse;
+
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import com.google.common.primitives.Bytes;
-
 /**
  * logger service impl
  */
@@ -61,6 +69,10 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
 
     private static final String LOG_HEAD_FORMAT = "[LOG-PATH]: %s, [HOST]: %s%s";
 
+    private static final int MAX_TAIL_LOG_BYTES = 65535;
+
+    private static final int LOG_DOWNLOAD_CHUNK_BYTES = 1024 * 1024;
+
     @Autowired
     private TaskInstanceDao taskInstanceDao;
 
@@ -105,21 +117,71 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
     }
 
     /**
-     * get log size
+     * tail log
      *
      * @param loginUser  login user
      * @param taskInstId task instance id
-     * @return log byte array
+     * @param offset     the byte offset of the log to read from
+     * @return log string data and the next offset
      */
     @Override
-    public byte[] getLogBytes(User loginUser, int taskInstId) {
+    public Result<ResponseTaskLogTail> tailLog(User loginUser, int taskInstId, long offset) {
+        TaskInstance taskInstance = taskInstanceDao.queryById(taskInstId);
+
+        if (taskInstance == null) {
+            log.error("Task instance does not exist, taskInstanceId:{}.", taskInstId);
+            return Result.error(Status.TASK_INSTANCE_NOT_FOUND);
+        }
+        if (StringUtils.isBlank(taskInstance.getHost())) {
+            log.error("Host of task instance is null, taskInstanceId:{}.", taskInstId);
+            return Result.error(Status.TASK_INSTANCE_HOST_IS_NULL);
+        }
+        projectService.checkProjectAndAuthThrowException(loginUser, taskInstance.getProjectCode(), VIEW_LOG);
+        final String logPath = taskInstance.getLogPath();
+        if (StringUtils.isBlank(logPath)) {
+            throw new ServiceException(Status.QUERY_TASK_INSTANCE_LOG_ERROR,
+                    "TaskInstanceLogPath is empty, maybe the taskInstance doesn't be dispatched");
+        }
+        try {
+            TaskInstanceLogTailQueryRequest request = TaskInstanceLogTailQueryRequest.builder()
+                    .taskInstanceId(taskInstance.getId())
+                    .taskInstanceLogAbsolutePath(logPath)
+                    .offset(offset)
+                    .limit(MAX_TAIL_LOG_BYTES)
+                    .build();
+            final TaskInstanceLogTailQueryResponse response = Clients
+                    .withService(ILogService.class)
+                    .withHost(taskInstance.getHost())
+                    .tailQueryTaskInstanceLog(request);
+            Result<ResponseTaskLogTail> result = new Result<>(Status.SUCCESS.getCode(), Status.SUCCESS.getMsg());
+            result.setData(new ResponseTaskLogTail(StringUtils.defaultString(response.getLogContent()),
+                    response.getNextOffset()));
+            return result;
+        } catch (Throwable ex) {
+            throw new ServiceException(Status.QUERY_TASK_INSTANCE_LOG_ERROR, ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * download log file to the http response chunk by chunk
+     *
+     * @param response   http response
+     * @param loginUser  login user
+     * @param taskInstId task instance id
+     */
+    @Override
+    public void downloadLog(HttpServletResponse response, User loginUser, int taskInstId) {
+        downloadLog(response, checkDownloadLog(loginUser, taskInstId));
+    }
+
+    private TaskInstance checkDownloadLog(User loginUser, int taskInstId) {
         TaskInstance taskInstance = taskInstanceDao.queryById(taskInstId);
         if (taskInstance == null || StringUtils.isBlank(taskInstance.getHost())) {
             throw new ServiceException("task instance is null or host is null");
         }
         Project project = projectMapper.queryProjectByTaskInstanceId(taskInstId);
         projectService.checkProjectAndAuthThrowException(loginUser, project, DOWNLOAD_LOG);
-        return getLogBytes(taskInstance);
+        return taskInstance;
     }
 
     /**
@@ -151,15 +213,19 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
     }
 
     /**
-     * get log bytes
+     * download log file to the http response chunk by chunk
      *
+     * @param response    http response
      * @param loginUser   login user
      * @param projectCode project code
      * @param taskInstId  task instance id
-     * @return log byte array
      */
     @Override
-    public byte[] getLogBytes(User loginUser, long projectCode, int taskInstId) {
+    public void downloadLog(HttpServletResponse response, User loginUser, long projectCode, int taskInstId) {
+        downloadLog(response, checkDownloadLog(loginUser, projectCode, taskInstId));
+    }
+
+    private TaskInstance checkDownloadLog(User loginUser, long projectCode, int taskInstId) {
         // check user access for project
         projectService.checkProjectAndAuthThrowException(loginUser, projectCode, DOWNLOAD_LOG);
 
@@ -173,7 +239,7 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
         if (taskDefinition != null && projectCode != taskDefinition.getProjectCode()) {
             throw new ServiceException("task instance does not exist in project");
         }
-        return getLogBytes(task);
+        return task;
     }
 
     /**
@@ -224,12 +290,33 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
     }
 
     /**
-     * get log bytes
+     * download log file to the http response
+     *
+     * @param response     http response
+     * @param taskInstance task instance
+     */
+    private void downloadLog(HttpServletResponse response, TaskInstance taskInstance) {
+        response.reset();
+        response.setContentType("application/octet-stream");
+        response.setHeader("Content-Disposition",
+                "attachment; filename=\"" + System.currentTimeMillis() + ".log" + "\"");
+        try {
+            writeLog(taskInstance, response.getOutputStream());
+        } catch (IOException ex) {
+            log.error("Download TaskInstance: {} Log Error", taskInstance.getName(), ex);
+            throw new ServiceException(Status.DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR);
+        }
+    }
+
+    /**
+     * Write the log file of the task instance to the output stream, the log file is downloaded chunk by chunk, so
+     * only one chunk will be in memory at a time, and the next chunk will not be downloaded until the current chunk
+     * is written.
      *
      * @param taskInstance task instance
-     * @return log byte array
+     * @param outputStream output stream
      */
-    private byte[] getLogBytes(TaskInstance taskInstance) {
+    private void writeLog(TaskInstance taskInstance, OutputStream outputStream) {
         String host = taskInstance.getHost();
         String logPath = taskInstance.getLogPath();
 
@@ -238,21 +325,58 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
                 host,
                 Constants.SYSTEM_LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8);
 
-        byte[] logBytes;
-
         try {
-            final TaskInstanceLogFileDownloadRequest request = new TaskInstanceLogFileDownloadRequest(
-                    taskInstance.getId(),
-                    logPath);
-            final TaskInstanceLogFileDownloadResponse response = Clients
+            outputStream.write(head);
+            final ILogService logService = Clients
                     .withService(ILogService.class)
-                    .withHost(taskInstance.getHost())
-                    .getTaskInstanceWholeLogFileBytes(request);
-            logBytes = response.getLogBytes();
-            return Bytes.concat(head, logBytes);
+                    .withHost(taskInstance.getHost());
+            long offset = 0;
+            while (true) {
+                final TaskInstanceLogFileChunkDownloadRequest request = TaskInstanceLogFileChunkDownloadRequest
+                        .builder()
+                        .taskInstanceId(taskInstance.getId())
+                        .taskInstanceLogAbsolutePath(logPath)
+                        .offset(offset)
+                        .limit(LOG_DOWNLOAD_CHUNK_BYTES)
+                        .build();
+                final TaskInstanceLogFileChunkDownloadResponse response;
+                try {
+                    response = logService.getTaskInstanceLogFileChunk(request);
+                } catch (MethodNotFoundException ex) {
+                    if (offset != 0) {
+                        throw ex;
+                    }
+                    // The log server is an old one which doesn't provide the chunk download, e.g. during a rolling
+                    // upgrade, so download the whole log file instead
+                    log.warn("The server: {} doesn't support downloading log by chunk, will download the whole log",
+                            host);
+                    writeWholeLog(logService, taskInstance, outputStream);
+                    break;
+                }
+                final byte[] logBytes = response.getLogBytes();
+                if (logBytes != null) {
+                    outputStream.write(logBytes);
+                    offset += logBytes.length;
+                }
+                if (response.isEnd() || logBytes == null || logBytes.length == 0) {
+                    break;
+                }
+            }
+            outputStream.flush();
         } catch (Exception ex) {
             log.error("Download TaskInstance: {} Log Error", taskInstance.getName(), ex);
             throw new ServiceException(Status.DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR);
         }
     }
+
+    @SuppressWarnings("deprecation")
+    private void writeWholeLog(ILogService logService, TaskInstance taskInstance,
+                               OutputStream outputStream) throws IOException {
+        final TaskInstanceLogFileDownloadRequest request =
+                new TaskInstanceLogFileDownloadRequest(taskInstance.getId(), taskInstance.getLogPath());
+        final TaskInstanceLogFileDownloadResponse response = logService.getTaskInstanceWholeLogFileBytes(request);
+        if (response.getLogBytes() != null) {
+            outputStream.write(response.getLogBytes());
+        }
+    }
 }
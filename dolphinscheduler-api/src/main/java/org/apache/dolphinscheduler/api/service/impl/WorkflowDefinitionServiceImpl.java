@@ -1990,23 +1990,29 @@ public class WorkflowDefinitionServiceImpl extends BaseServiceImpl implements Wo
      * @return if graph has cycle flag
      */
     private boolean graphHasCycle(List<TaskNode> taskNodeResponseList) {
-        DAG<String, TaskNode, String> graph = new DAG<>();
+        DAG.Builder<String, TaskNode, String> graphBuilder = DAG.builder();
         // Fill the vertices
         for (TaskNode taskNodeResponse : taskNodeResponseList) {
-            graph.addNode(Long.toString(taskNodeResponse.getCode()), taskNodeResponse);
+            graphBuilder.addNode(Long.toString(taskNodeResponse.getCode()), taskNodeResponse);
         }
         // Fill edge relations
         for (TaskNode taskNodeResponse : taskNodeResponseList) {
             List<String> preTasks = JSONUtils.toList(taskNodeResponse.getPreTasks(), String.class);
             if (CollectionUtils.isNotEmpty(preTasks)) {
                 for (String preTask : preTasks) {
-                    if (!graph.addEdge(preTask, Long.toString(taskNodeResponse.getCode()))) {
+                    if (!graphBuilder.addEdge(preTask, Long.toString(taskNodeResponse.getCode()))) {
                         return true;
                     }
                 }
             }
         }
-        return graph.hasCycle();
+        // Detect the cycle once after all the edges are added, rather than checking it for each edge
+        List<String> cycle = graphBuilder.findCycle();
+        if (!cycle.isEmpty()) {
+            log.error("The workflow DAG has cycle: {}", cycle);
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -34,25 +34,33 @@ import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.enums.UserType;
 import org.apache.dolphinscheduler.dao.entity.Project;
+import org.apache.dolphinscheduler.dao.entity.ResponseTaskLogTail;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.User;
 import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionMapper;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.extract.base.client.Clients;
 import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
+import org.apache.dolphinscheduler.extract.base.exception.MethodNotFoundException;
 import org.apache.dolphinscheduler.extract.base.server.SpringServerMethodInvokerDiscovery;
 import org.apache.dolphinscheduler.extract.common.ILogService;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailQueryRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailQueryResponse;
 
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.text.MessageFormat;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -63,11 +71,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.google.common.truth.Truth;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -75,6 +88,8 @@ public class LoggerServiceTest {
 
     private static final Logger logger = LoggerFactory.getLogger(LoggerServiceTest.class);
 
+    private static final String MULTI_CHUNK_LOG_CONTENT = "line-0\nline-1\nline-2\nline-3\n";
+
     @InjectMocks
     private LoggerServiceImpl loggerService;
 
@@ -118,6 +133,25 @@ public class LoggerServiceTest {
                 throw new ServiceException("download error");
             }
 
+            @Override
+            public TaskInstanceLogFileChunkDownloadResponse getTaskInstanceLogFileChunk(TaskInstanceLogFileChunkDownloadRequest taskInstanceLogFileChunkDownloadRequest) {
+                final long taskInstanceId = taskInstanceLogFileChunkDownloadRequest.getTaskInstanceId();
+                final int offset = (int) taskInstanceLogFileChunkDownloadRequest.getOffset();
+                if (taskInstanceId == 1) {
+                    return new TaskInstanceLogFileChunkDownloadResponse(new byte[0], true);
+                } else if (taskInstanceId == 10) {
+                    return new TaskInstanceLogFileChunkDownloadResponse("log content".getBytes(), true);
+                } else if (taskInstanceId == 20) {
+                    // return at most 10 bytes in each chunk
+                    final byte[] logBytes = MULTI_CHUNK_LOG_CONTENT.getBytes();
+                    final int end = Math.min(offset + 10, logBytes.length);
+                    return new TaskInstanceLogFileChunkDownloadResponse(Arrays.copyOfRange(logBytes, offset, end),
+                            end == logBytes.length);
+                }
+
+                throw new ServiceException("download error");
+            }
+
             @Override
             public TaskInstanceLogPageQueryResponse pageQueryTaskInstanceLog(TaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest) {
                 if (taskInstanceLogPageQueryRequest.getTaskInstanceId() != null) {
@@ -131,6 +165,15 @@ public class LoggerServiceTest {
                 return new TaskInstanceLogPageQueryResponse();
             }
 
+            @Override
+            public TaskInstanceLogTailQueryResponse tailQueryTaskInstanceLog(TaskInstanceLogTailQueryRequest taskInstanceLogTailQueryRequest) {
+                if (taskInstanceLogTailQueryRequest.getTaskInstanceId() == 100) {
+                    throw new ServiceException("tail log error");
+                }
+                return new TaskInstanceLogTailQueryResponse("log content",
+                        taskInstanceLogTailQueryRequest.getOffset() + "log content".length());
+            }
+
             @Override
             public GetAppIdResponse getAppId(GetAppIdRequest getAppIdRequest) {
                 return new GetAppIdResponse();
@@ -151,6 +194,36 @@ public class LoggerServiceTest {
         }
     }
 
+    @Test
+    public void testTailLog() {
+        User loginUser = new User();
+        loginUser.setId(1);
+        TaskInstance taskInstance = new TaskInstance();
+        when(taskInstanceDao.queryById(1)).thenReturn(taskInstance);
+        // TASK_INSTANCE_NOT_FOUND
+        Result<ResponseTaskLogTail> result = loggerService.tailLog(loginUser, 2, 0);
+        Assertions.assertEquals(Status.TASK_INSTANCE_NOT_FOUND.getCode(), result.getCode().intValue());
+
+        // HOST NOT FOUND
+        result = loggerService.tailLog(loginUser, 1, 0);
+        Assertions.assertEquals(Status.TASK_INSTANCE_HOST_IS_NULL.getCode(), result.getCode().intValue());
+
+        // SUCCESS
+        taskInstance.setId(1);
+        taskInstance.setHost("127.0.0.1:" + nettyServerPort);
+        taskInstance.setLogPath("/temp/log");
+        result = loggerService.tailLog(loginUser, 1, 10);
+        Assertions.assertEquals(Status.SUCCESS.getCode(), result.getCode().intValue());
+        Assertions.assertEquals("log content", result.getData().getMessage());
+        Assertions.assertEquals(10 + "log content".length(), result.getData().getNextOffset());
+
+        // QUERY_TASK_INSTANCE_LOG_ERROR
+        taskInstance.setId(100);
+        when(taskInstanceDao.queryById(100)).thenReturn(taskInstance);
+        assertThrowsServiceException(Status.QUERY_TASK_INSTANCE_LOG_ERROR,
+                () -> loggerService.tailLog(loginUser, 100, 0));
+    }
+
     @Test
     public void testQueryLog() {
 
@@ -202,7 +275,7 @@ public class LoggerServiceTest {
     }
 
     @Test
-    public void testGetLogBytes() {
+    public void testDownloadLogCheck() throws Exception {
 
         User loginUser = new User();
         loginUser.setId(1);
@@ -213,20 +286,20 @@ public class LoggerServiceTest {
 
         // task instance is null
         try {
-            loggerService.getLogBytes(loginUser, 2);
+            loggerService.downloadLog(new MockHttpServletResponse(), loginUser, 2);
         } catch (ServiceException e) {
             Assertions.assertEquals(new ServiceException("task instance is null or host is null").getMessage(),
                     e.getMessage());
-            logger.error("testGetLogBytes error: {}", "task instance is null");
+            logger.error("testDownloadLogCheck error: {}", "task instance is null");
         }
 
         // task instance host is null
         try {
-            loggerService.getLogBytes(loginUser, 1);
+            loggerService.downloadLog(new MockHttpServletResponse(), loginUser, 1);
         } catch (ServiceException e) {
             Assertions.assertEquals(new ServiceException("task instance is null or host is null").getMessage(),
                     e.getMessage());
-            logger.error("testGetLogBytes error: {}", "task instance host is null");
+            logger.error("testDownloadLogCheck error: {}", "task instance host is null");
         }
 
         // PROJECT_NOT_EXIST
@@ -246,8 +319,64 @@ public class LoggerServiceTest {
         // SUCCESS
         doNothing().when(projectService).checkProjectAndAuthThrowException(loginUser, taskInstance.getProjectCode(),
                 DOWNLOAD_LOG);
-        byte[] logBytes = loggerService.getLogBytes(loginUser, 1);
-        Assertions.assertEquals(42, logBytes.length - String.valueOf(nettyServerPort).length());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        loggerService.downloadLog(response, loginUser, 1);
+        Assertions.assertEquals(42,
+                response.getContentAsByteArray().length - String.valueOf(nettyServerPort).length());
+    }
+
+    @Test
+    public void testDownloadLog() throws Exception {
+        User loginUser = new User();
+        loginUser.setId(1);
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(20);
+        taskInstance.setHost("127.0.0.1:" + nettyServerPort);
+        taskInstance.setLogPath("/temp/log");
+        when(taskInstanceDao.queryById(20)).thenReturn(taskInstance);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        loggerService.downloadLog(response, loginUser, 20);
+        Assertions.assertEquals("application/octet-stream", response.getContentType());
+        Truth.assertThat(response.getHeader("Content-Disposition")).startsWith("attachment;");
+        Truth.assertThat(response.getContentAsString()).endsWith(MULTI_CHUNK_LOG_CONTENT);
+        Truth.assertThat(response.getContentAsString()).startsWith("[LOG-PATH]: /temp/log");
+
+        // DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR
+        taskInstance.setId(100);
+        when(taskInstanceDao.queryById(100)).thenReturn(taskInstance);
+        assertThrowsServiceException(Status.DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR,
+                () -> loggerService.downloadLog(new MockHttpServletResponse(), loginUser, 100));
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "deprecation"})
+    public void testDownloadLogFromOldServer() throws Exception {
+        User loginUser = new User();
+        loginUser.setId(1);
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(30);
+        taskInstance.setHost("127.0.0.1:1234");
+        taskInstance.setLogPath("/temp/log");
+        when(taskInstanceDao.queryById(30)).thenReturn(taskInstance);
+
+        // The server is an older version which only provides the whole log file download
+        ILogService logService = Mockito.mock(ILogService.class);
+        when(logService.getTaskInstanceLogFileChunk(Mockito.any())).thenThrow(
+                new MethodNotFoundException(MethodNotFoundException.MESSAGE_PREFIX + "getTaskInstanceLogFileChunk"));
+        when(logService.getTaskInstanceWholeLogFileBytes(Mockito.any()))
+                .thenReturn(new TaskInstanceLogFileDownloadResponse(MULTI_CHUNK_LOG_CONTENT.getBytes()));
+        Clients.JdkDynamicRpcClientProxyBuilder<ILogService> proxyBuilder =
+                Mockito.mock(Clients.JdkDynamicRpcClientProxyBuilder.class);
+        when(proxyBuilder.withHost("127.0.0.1:1234")).thenReturn(logService);
+
+        try (MockedStatic<Clients> clients = Mockito.mockStatic(Clients.class)) {
+            clients.when(() -> Clients.withService(ILogService.class)).thenReturn(proxyBuilder);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            loggerService.downloadLog(response, loginUser, 30);
+            Truth.assertThat(response.getContentAsString()).startsWith("[LOG-PATH]: /temp/log");
+            Truth.assertThat(response.getContentAsString()).endsWith(MULTI_CHUNK_LOG_CONTENT);
+        }
     }
 
     @Test
@@ -295,7 +424,7 @@ public class LoggerServiceTest {
     }
 
     @Test
-    public void testGetLogBytesInSpecifiedProject() {
+    public void testDownloadLogInSpecifiedProject() {
         long projectCode = 1L;
         when(projectMapper.queryByCode(projectCode)).thenReturn(getProject(projectCode));
 
@@ -317,21 +446,22 @@ public class LoggerServiceTest {
 
         when(taskInstanceDao.queryById(1)).thenReturn(null);
         assertThrowsServiceException(
-                Status.INTERNAL_SERVER_ERROR_ARGS, () -> loggerService.getLogBytes(loginUser, projectCode, 1));
+                Status.INTERNAL_SERVER_ERROR_ARGS,
+                () -> loggerService.downloadLog(new MockHttpServletResponse(), loginUser, projectCode, 1));
 
         when(taskInstanceDao.queryById(1)).thenReturn(taskInstance);
         when(taskDefinitionMapper.queryByCode(taskInstance.getTaskCode())).thenReturn(taskDefinition);
-        assertDoesNotThrow(() -> loggerService.getLogBytes(loginUser, projectCode, 1));
+        assertDoesNotThrow(() -> loggerService.downloadLog(new MockHttpServletResponse(), loginUser, projectCode, 1));
 
         taskDefinition.setProjectCode(2L);
         assertThrowsServiceException(Status.INTERNAL_SERVER_ERROR_ARGS,
-                () -> loggerService.getLogBytes(loginUser, projectCode, 1));
+                () -> loggerService.downloadLog(new MockHttpServletResponse(), loginUser, projectCode, 1));
 
         taskDefinition.setProjectCode(1L);
         taskInstance.setId(100);
         when(taskInstanceDao.queryById(100)).thenReturn(taskInstance);
         assertThrowsServiceException(Status.DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR,
-                () -> loggerService.getLogBytes(loginUser, projectCode, 100));
+                () -> loggerService.downloadLog(new MockHttpServletResponse(), loginUser, projectCode, 100));
     }
 
     /**
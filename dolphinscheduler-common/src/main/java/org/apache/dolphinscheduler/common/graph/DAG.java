@@ -20,10 +20,12 @@ package org.apache.dolphinscheduler.common.graph;
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.util.AbstractMap;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -66,6 +68,25 @@ public class DAG<Node, NodeInfo, EdgeInfo> {
         reverseEdgesMap = new HashMap<>();
     }
 
+    private DAG(Map<Node, NodeInfo> nodesMap,
+                Map<Node, Map<Node, EdgeInfo>> edgesMap,
+                Map<Node, Map<Node, EdgeInfo>> reverseEdgesMap) {
+        this.nodesMap = nodesMap;
+        this.edgesMap = edgesMap;
+        this.reverseEdgesMap = reverseEdgesMap;
+    }
+
+    /**
+     * Create a builder to build the DAG in bulk.
+     * <p>
+     * Different from {@link #addEdge(Object, Object)} which will check the cycle once an edge is added, the builder
+     * will only check the cycle once after all the nodes and edges are added, so the cost of building a DAG with V
+     * nodes and E edges is O(V + E) rather than O(E * (V + E)).
+     */
+    public static <Node, NodeInfo, EdgeInfo> Builder<Node, NodeInfo, EdgeInfo> builder() {
+        return new Builder<>();
+    }
+
     /**
      * add node information
      *
@@ -496,6 +517,192 @@ public class DAG<Node, NodeInfo, EdgeInfo> {
         return new AbstractMap.SimpleEntry<>(notZeroIndegreeNodeMap.size() == 0, topoResultList);
     }
 
+    /**
+     * Sort the nodes by Kahn's algorithm in O(V + E), if the graph has cycle, the nodes in or after the cycle will not
+     * be contained in the result.
+     */
+    private static <Node> List<Node> kahnTopologicalSort(final Collection<Node> nodes,
+                                                         final Map<Node, ? extends Map<Node, ?>> edgesMap,
+                                                         final Map<Node, ? extends Map<Node, ?>> reverseEdgesMap) {
+        final Map<Node, Integer> inDegrees = new HashMap<>(nodes.size() * 2);
+        final Queue<Node> zeroIndegreeNodeQueue = new ArrayDeque<>();
+        for (Node node : nodes) {
+            final Map<Node, ?> previousNodes = reverseEdgesMap.get(node);
+            final int inDegree = previousNodes == null ? 0 : previousNodes.size();
+            if (inDegree == 0) {
+                zeroIndegreeNodeQueue.add(node);
+            } else {
+                inDegrees.put(node, inDegree);
+            }
+        }
+        final List<Node> topoResultList = new ArrayList<>(nodes.size());
+        while (!zeroIndegreeNodeQueue.isEmpty()) {
+            final Node node = zeroIndegreeNodeQueue.poll();
+            topoResultList.add(node);
+            final Map<Node, ?> subsequentNodes = edgesMap.get(node);
+            if (subsequentNodes == null) {
+                continue;
+            }
+            for (Node subsequentNode : subsequentNodes.keySet()) {
+                final int inDegree = inDegrees.get(subsequentNode) - 1;
+                if (inDegree == 0) {
+                    inDegrees.remove(subsequentNode);
+                    zeroIndegreeNodeQueue.add(subsequentNode);
+                } else {
+                    inDegrees.put(subsequentNode, inDegree);
+                }
+            }
+        }
+        return topoResultList;
+    }
+
+    /**
+     * Find a cycle in the graph in O(V + E).
+     *
+     * @return the nodes in the cycle by the edge direction, e.g. [a, b, c] means a -> b -> c -> a, empty if the graph
+     * is acyclic.
+     */
+    private static <Node> List<Node> detectCycle(final Collection<Node> nodes,
+                                                 final Map<Node, ? extends Map<Node, ?>> edgesMap,
+                                                 final Map<Node, ? extends Map<Node, ?>> reverseEdgesMap) {
+        final List<Node> sortedNodes = kahnTopologicalSort(nodes, edgesMap, reverseEdgesMap);
+        if (sortedNodes.size() == nodes.size()) {
+            return Collections.emptyList();
+        }
+        // Each remaining node has at least one previous node which is also remaining, so walking back from any
+        // remaining node will finally reach a node which has been visited, the walked path from that node is a cycle.
+        final Set<Node> remainingNodes = new HashSet<>(nodes);
+        remainingNodes.removeAll(sortedNodes);
+        final List<Node> walkedNodes = new ArrayList<>();
+        final Map<Node, Integer> walkedNodeIndexes = new HashMap<>();
+        Node current = remainingNodes.iterator().next();
+        while (!walkedNodeIndexes.containsKey(current)) {
+            walkedNodeIndexes.put(current, walkedNodes.size());
+            walkedNodes.add(current);
+            for (Node previousNode : reverseEdgesMap.get(current).keySet()) {
+                if (remainingNodes.contains(previousNode)) {
+                    current = previousNode;
+                    break;
+                }
+            }
+        }
+        final List<Node> cycle =
+                new ArrayList<>(walkedNodes.subList(walkedNodeIndexes.get(current), walkedNodes.size()));
+        Collections.reverse(cycle);
+        return cycle;
+    }
+
+    /**
+     * Build the DAG in bulk, all the nodes and edges are added first, and then the cycle is detected in one pass.
+     * <p>
+     * The builder is not thread safe, and can only be built once.
+     */
+    public static class Builder<Node, NodeInfo, EdgeInfo> {
+
+        private final Map<Node, NodeInfo> nodesMap = new HashMap<>();
+
+        private final Map<Node, Map<Node, EdgeInfo>> edgesMap = new HashMap<>();
+
+        private final Map<Node, Map<Node, EdgeInfo>> reverseEdgesMap = new HashMap<>();
+
+        private List<Node> cycle;
+
+        private boolean built;
+
+        private Builder() {
+        }
+
+        /**
+         * add node information
+         *
+         * @param node node
+         * @param nodeInfo node information
+         * @return this builder
+         */
+        public Builder<Node, NodeInfo, EdgeInfo> addNode(Node node, NodeInfo nodeInfo) {
+            checkNotBuilt();
+            nodesMap.put(node, nodeInfo);
+            return this;
+        }
+
+        /**
+         * add edge, the cycle will not be checked here, use {@link #findCycle()} to check the cycle after all the
+         * edges are added.
+         *
+         * @param fromNode node of origin
+         * @param toNode node of destination
+         * @return false if the edge is a self loop or the nodes are not in the builder
+         */
+        public boolean addEdge(Node fromNode, Node toNode) {
+            return addEdge(fromNode, toNode, null);
+        }
+
+        /**
+         * add edge, the cycle will not be checked here, use {@link #findCycle()} to check the cycle after all the
+         * edges are added.
+         *
+         * @param fromNode node of origin
+         * @param toNode node of destination
+         * @param edge edge description
+         * @return false if the edge is a self loop or the nodes are not in the builder
+         */
+        public boolean addEdge(Node fromNode, Node toNode, EdgeInfo edge) {
+            checkNotBuilt();
+            if (fromNode.equals(toNode)) {
+                log.error("edge fromNode({}) can't equals toNode({})", fromNode, toNode);
+                return false;
+            }
+            if (!nodesMap.containsKey(fromNode) || !nodesMap.containsKey(toNode)) {
+                log.error("edge fromNode({}) or toNode({}) is not in vertices map", fromNode, toNode);
+                return false;
+            }
+            edgesMap.computeIfAbsent(fromNode, k -> new HashMap<>()).put(toNode, edge);
+            reverseEdgesMap.computeIfAbsent(toNode, k -> new HashMap<>()).put(fromNode, edge);
+            cycle = null;
+            return true;
+        }
+
+        /**
+         * Find a cycle in the added nodes and edges.
+         *
+         * @return the nodes in the cycle by the edge direction, e.g. [a, b, c] means a -> b -> c -> a, empty if
+         * there is no cycle
+         */
+        public List<Node> findCycle() {
+            if (cycle == null) {
+                cycle = Collections.unmodifiableList(
+                        detectCycle(nodesMap.keySet(), edgesMap, reverseEdgesMap));
+            }
+            return cycle;
+        }
+
+        /**
+         * Build the DAG.
+         *
+         * @return the DAG
+         * @throws IllegalArgumentException if the added edges contain a cycle
+         */
+        public DAG<Node, NodeInfo, EdgeInfo> build() {
+            checkAcyclic();
+            built = true;
+            return new DAG<>(nodesMap, edgesMap, reverseEdgesMap);
+        }
+
+        private void checkAcyclic() {
+            checkNotBuilt();
+            final List<Node> cycleNodes = findCycle();
+            if (!cycleNodes.isEmpty()) {
+                throw new IllegalArgumentException("The graph has cycle: " + cycleNodes);
+            }
+        }
+
+        private void checkNotBuilt() {
+            if (built) {
+                throw new IllegalStateException("The DAG has been built, the builder cannot be reused");
+            }
+        }
+    }
+
     /**
      * Get all the nodes that are in the graph
      *
@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A sparse line offset index of a log file, it records the byte offset of every {@code indexInterval} lines, so that
+ * a page of lines can be read by seeking to the nearest indexed line rather than reading the file from the beginning.
+ * <p>
+ * The index is built lazily on the first query, and is extended on the later queries by only scanning the bytes
+ * appended since the last query, so it works well for the log file which is still being written. If the file is
+ * replaced or truncated, the index will be rebuilt.
+ * <p>
+ * The lines are split by '\n', '\r' or "\r\n" like {@link java.io.BufferedReader#readLine()}, and decoded by UTF-8.
+ */
+public class LogFileLineIndex {
+
+    public static final int DEFAULT_INDEX_INTERVAL = 1000;
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private static final int LINE_COMPLETE = 1;
+
+    private static final int LINE_PARTIAL = 0;
+
+    private static final int NO_LINE = -1;
+
+    private final Path filePath;
+
+    private final int indexInterval;
+
+    private Object fileKey;
+
+    /**
+     * lineOffsets[i] is the byte offset of the line i * indexInterval.
+     */
+    private long[] lineOffsets;
+
+    private int lineOffsetsSize;
+
+    /**
+     * The count of the complete lines which have been indexed.
+     */
+    private int indexedLineCount;
+
+    /**
+     * The byte offset after the last indexed line, the index will be extended from here.
+     */
+    private long indexedLength;
+
+    public LogFileLineIndex(Path filePath) {
+        this(filePath, DEFAULT_INDEX_INTERVAL);
+    }
+
+    public LogFileLineIndex(Path filePath, int indexInterval) {
+        if (indexInterval <= 0) {
+            throw new IllegalArgumentException("The indexInterval should be positive: " + indexInterval);
+        }
+        this.filePath = filePath;
+        this.indexInterval = indexInterval;
+        reset(null);
+    }
+
+    /**
+     * Read the lines in [skipLine, skipLine + limit) of the log file.
+     *
+     * @param skipLine the count of lines to skip
+     * @param limit the max count of lines to read
+     * @return the lines, the last line might be incomplete if the file is being written
+     */
+    public List<String> readLines(int skipLine, int limit) throws IOException {
+        if (skipLine < 0 || limit < 0) {
+            throw new IllegalArgumentException("The skipLine: " + skipLine + " and limit: " + limit
+                    + " should not be negative");
+        }
+        if (limit == 0) {
+            return Collections.emptyList();
+        }
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            final long fileSize = channel.size();
+            final long startOffset;
+            final int startLine;
+            synchronized (this) {
+                refresh(channel, fileSize);
+                final int offsetIndex = Math.min(skipLine / indexInterval, lineOffsetsSize - 1);
+                startOffset = lineOffsets[offsetIndex];
+                startLine = offsetIndex * indexInterval;
+            }
+
+            final LineReader lineReader = new LineReader(channel, startOffset, fileSize);
+            for (int i = startLine; i < skipLine; i++) {
+                if (lineReader.nextLine(null) == NO_LINE) {
+                    return Collections.emptyList();
+                }
+            }
+            final List<String> lines = new ArrayList<>(Math.min(limit, indexInterval));
+            final ByteArrayOutputStream lineBytes = new ByteArrayOutputStream();
+            while (lines.size() < limit) {
+                lineBytes.reset();
+                if (lineReader.nextLine(lineBytes) == NO_LINE) {
+                    break;
+                }
+                lines.add(new String(lineBytes.toByteArray(), StandardCharsets.UTF_8));
+            }
+            return lines;
+        }
+    }
+
+    /**
+     * Get the count of the complete lines which have been indexed, used for test.
+     */
+    synchronized int getIndexedLineCount() {
+        return indexedLineCount;
+    }
+
+    private void refresh(FileChannel channel, long fileSize) throws IOException {
+        final Object currentFileKey =
+                Files.readAttributes(filePath, BasicFileAttributes.class).fileKey();
+        if (!Objects.equals(fileKey, currentFileKey) || fileSize < indexedLength) {
+            reset(currentFileKey);
+        }
+        if (fileSize == indexedLength) {
+            return;
+        }
+        final LineReader lineReader = new LineReader(channel, indexedLength, fileSize);
+        while (lineReader.nextLine(null) == LINE_COMPLETE) {
+            indexedLineCount++;
+            indexedLength = lineReader.getPosition();
+            if (indexedLineCount % indexInterval == 0) {
+                appendLineOffset(indexedLength);
+            }
+        }
+    }
+
+    private void reset(Object currentFileKey) {
+        fileKey = currentFileKey;
+        lineOffsets = new long[16];
+        lineOffsetsSize = 1;
+        indexedLineCount = 0;
+        indexedLength = 0;
+    }
+
+    private void appendLineOffset(long offset) {
+        if (lineOffsetsSize == lineOffsets.length) {
+            lineOffsets = Arrays.copyOf(lineOffsets, lineOffsetsSize * 2);
+        }
+        lineOffsets[lineOffsetsSize++] = offset;
+    }
+
+    /**
+     * Read the lines in [position, endPosition) of the file by positional reads, so it will not affect the other
+     * readers of the same channel.
+     */
+    private static class LineReader {
+
+        private final FileChannel channel;
+
+        private final long endPosition;
+
+        private final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+        private long position;
+
+        private long bufferEndPosition;
+
+        LineReader(FileChannel channel, long position, long endPosition) {
+            this.channel = channel;
+            this.position = position;
+            this.bufferEndPosition = position;
+            this.endPosition = endPosition;
+            buffer.limit(0);
+        }
+
+        long getPosition() {
+            return position;
+        }
+
+        /**
+         * Read the next line.
+         *
+         * @param lineBytes the output of the line content without the line terminator, null means skip the line
+         * @return {@link #LINE_COMPLETE} if the line ends with a terminator, {@link #LINE_PARTIAL} if the line ends
+         * with the end of the readable bytes, in this case the line might be continued by the later appended bytes,
+         * {@link #NO_LINE} if there is no more bytes
+         */
+        int nextLine(ByteArrayOutputStream lineBytes) throws IOException {
+            if (!ensureReadable()) {
+                return NO_LINE;
+            }
+            while (ensureReadable()) {
+                final int start = buffer.position();
+                int end = start;
+                final int limit = buffer.limit();
+                final byte[] array = buffer.array();
+                while (end < limit && array[end] != '\n' && array[end] != '\r') {
+                    end++;
+                }
+                if (lineBytes != null) {
+                    lineBytes.write(array, start, end - start);
+                }
+                consume(end - start);
+                if (end == limit) {
+                    continue;
+                }
+                final byte terminator = array[end];
+                consume(1);
+                if (terminator == '\n') {
+                    return LINE_COMPLETE;
+                }
+                // '\r' might be followed by '\n'
+                if (!ensureReadable()) {
+                    return LINE_PARTIAL;
+                }
+                if (buffer.get(buffer.position()) == '\n') {
+                    consume(1);
+                }
+                return LINE_COMPLETE;
+            }
+            return LINE_PARTIAL;
+        }
+
+        private void consume(int length) {
+            buffer.position(buffer.position() + length);
+            position += length;
+        }
+
+        private boolean ensureReadable() throws IOException {
+            if (buffer.hasRemaining()) {
+                return true;
+            }
+            if (bufferEndPosition >= endPosition) {
+                return false;
+            }
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), endPosition - bufferEndPosition));
+            while (buffer.hasRemaining()) {
+                final int readBytes = channel.read(buffer, bufferEndPosition + buffer.position());
+                if (readBytes < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            bufferEndPosition += buffer.limit();
+            return buffer.hasRemaining();
+        }
+    }
+}
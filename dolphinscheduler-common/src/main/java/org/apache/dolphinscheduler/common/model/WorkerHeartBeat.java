@@ -30,5 +30,7 @@ public class WorkerHeartBeat extends BaseHeartBeat implements HeartBeat {
 
     private int workerHostWeight; // worker host weight
     private double threadPoolUsage; // worker waiting task count
+    private int taskSlotCapacity; // the max task count the worker accepts, 0 means not limited
+    private int runningTaskCount; // the task count accepted by the worker
 
 }
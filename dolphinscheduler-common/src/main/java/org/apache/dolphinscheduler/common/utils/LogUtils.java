@@ -17,6 +17,8 @@
 
 package org.apache.dolphinscheduler.common.utils;
 
+import org.apache.dolphinscheduler.common.log.LogFileChunk;
+import org.apache.dolphinscheduler.common.log.LogFileLineIndex;
 import org.apache.dolphinscheduler.common.log.remote.RemoteLogUtils;
 
 import java.io.BufferedReader;
@@ -26,12 +28,15 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -39,9 +44,24 @@ import org.slf4j.LoggerFactory;
 
 import ch.qos.logback.classic.LoggerContext;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 @Slf4j
 public class LogUtils {
 
+    // The line index of the log file is cached, so that the paged query of a large log file doesn't need to read the
+    // file from the beginning every time.
+    private static final Cache<String, LogFileLineIndex> LOG_FILE_LINE_INDEX_CACHE = CacheBuilder.newBuilder()
+            .expireAfterAccess(30, TimeUnit.MINUTES)
+            .maximumSize(1000)
+            .build();
+
+    /**
+     * The max bytes of a chunk when reading the file chunk by chunk.
+     */
+    public static final int MAX_FILE_CONTENT_CHUNK_BYTES = 4 * 1024 * 1024;
+
     public static byte[] getFileContentBytesFromLocal(String filePath) {
         try (
                 InputStream in = new FileInputStream(filePath);
@@ -74,14 +94,75 @@ public class LogUtils {
         return getFileContentBytesFromLocal(filePath);
     }
 
+    /**
+     * Read the bytes of the file from the given byte offset, this is used to download the file chunk by chunk, so that
+     * the whole file will not be loaded into memory.
+     *
+     * @param filePath file path
+     * @param offset the byte offset to read from
+     * @param maxBytes the max bytes to read, should not be greater than {@link #MAX_FILE_CONTENT_CHUNK_BYTES}
+     * @return the bytes, the length is less than maxBytes only if the end of the file is reached
+     */
+    public static byte[] getFileContentBytesFromLocal(String filePath,
+                                                      long offset,
+                                                      int maxBytes) {
+        if (offset < 0 || maxBytes < 0 || maxBytes > MAX_FILE_CONTENT_CHUNK_BYTES) {
+            throw new IllegalArgumentException("The offset: " + offset + " should not be negative, and the maxBytes: "
+                    + maxBytes + " should be in [0, " + MAX_FILE_CONTENT_CHUNK_BYTES + "]");
+        }
+        File file = new File(filePath);
+        if (!file.exists() || !file.isFile()) {
+            throw new RuntimeException("The file path: " + filePath + " not exists");
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long fileSize = channel.size();
+            if (offset >= fileSize) {
+                return new byte[0];
+            }
+            final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(maxBytes, fileSize - offset));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            return buffer.position() == buffer.capacity()
+                    ? buffer.array()
+                    : Arrays.copyOf(buffer.array(), buffer.position());
+        } catch (IOException e) {
+            log.error("read file error", e);
+            throw new RuntimeException(String.format("Read file: %s error", filePath), e);
+        }
+    }
+
+    public static byte[] getFileContentBytesFromRemote(String filePath,
+                                                       long offset,
+                                                       int maxBytes) {
+        RemoteLogUtils.getRemoteLog(filePath);
+        return getFileContentBytesFromLocal(filePath, offset, maxBytes);
+    }
+
+    public static byte[] getFileContentBytes(String filePath,
+                                             long offset,
+                                             int maxBytes) {
+        File file = new File(filePath);
+        if (file.exists()) {
+            return getFileContentBytesFromLocal(filePath, offset, maxBytes);
+        }
+        if (RemoteLogUtils.isRemoteLoggingEnable()) {
+            return getFileContentBytesFromRemote(filePath, offset, maxBytes);
+        }
+        return getFileContentBytesFromLocal(filePath, offset, maxBytes);
+    }
+
     public static List<String> readPartFileContentFromLocal(String filePath,
                                                             int skipLine,
                                                             int limit) {
         File file = new File(filePath);
         if (file.exists() && file.isFile()) {
-            try (Stream<String> stream = Files.lines(Paths.get(filePath))) {
-                return stream.skip(skipLine).limit(limit).collect(Collectors.toList());
-            } catch (IOException e) {
+            try {
+                return LOG_FILE_LINE_INDEX_CACHE.get(filePath, () -> new LogFileLineIndex(Paths.get(filePath)))
+                        .readLines(skipLine, limit);
+            } catch (IOException | ExecutionException e) {
                 log.error("read file error", e);
                 throw new RuntimeException(String.format("Read file: %s error", filePath), e);
             }
@@ -90,6 +171,97 @@ public class LogUtils {
         }
     }
 
+    /**
+     * Read the content of the file from the given byte offset, this is used to tail the log file which is being
+     * written, the caller can poll the new content by the returned next offset.
+     * <p>
+     * The returned content will not end with an incomplete UTF-8 character, and if the offset is beyond the end of
+     * the file, the content will be empty and the next offset will be the file size.
+     *
+     * @param filePath file path
+     * @param offset the byte offset to read from
+     * @param maxBytes the max bytes to read
+     * @return the content and the next offset
+     */
+    public static LogFileChunk readFileContentFromLocal(String filePath,
+                                                        long offset,
+                                                        int maxBytes) {
+        File file = new File(filePath);
+        if (!file.exists() || !file.isFile()) {
+            throw new RuntimeException("The file path: " + filePath + " not exists");
+        }
+        if (offset < 0 || maxBytes < 0) {
+            throw new IllegalArgumentException("The offset: " + offset + " and maxBytes: " + maxBytes
+                    + " should not be negative");
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long fileSize = channel.size();
+            if (offset >= fileSize) {
+                return new LogFileChunk("", fileSize);
+            }
+            final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(maxBytes, fileSize - offset));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            final int length = getCompleteUtf8Length(buffer.array(), buffer.position());
+            return new LogFileChunk(new String(buffer.array(), 0, length, StandardCharsets.UTF_8), offset + length);
+        } catch (IOException e) {
+            log.error("read file error", e);
+            throw new RuntimeException(String.format("Read file: %s error", filePath), e);
+        }
+    }
+
+    public static LogFileChunk readFileContentFromRemote(String filePath,
+                                                         long offset,
+                                                         int maxBytes) {
+        RemoteLogUtils.getRemoteLog(filePath);
+        return readFileContentFromLocal(filePath, offset, maxBytes);
+    }
+
+    public static LogFileChunk readFileContent(String filePath,
+                                               long offset,
+                                               int maxBytes) {
+        File file = new File(filePath);
+        if (file.exists()) {
+            return readFileContentFromLocal(filePath, offset, maxBytes);
+        }
+        if (RemoteLogUtils.isRemoteLoggingEnable()) {
+            return readFileContentFromRemote(filePath, offset, maxBytes);
+        }
+        return readFileContentFromLocal(filePath, offset, maxBytes);
+    }
+
+    /**
+     * Get the length of the bytes without the incomplete UTF-8 character at the end.
+     */
+    private static int getCompleteUtf8Length(byte[] bytes, int length) {
+        // The UTF-8 character is at most 4 bytes, find the lead byte of the last character
+        for (int i = length - 1; i >= 0 && i >= length - 4; i--) {
+            final int b = bytes[i] & 0xFF;
+            if ((b & 0xC0) == 0x80) {
+                // continuation byte
+                continue;
+            }
+            final int characterLength;
+            if (b < 0x80) {
+                characterLength = 1;
+            } else if ((b & 0xE0) == 0xC0) {
+                characterLength = 2;
+            } else if ((b & 0xF0) == 0xE0) {
+                characterLength = 3;
+            } else if ((b & 0xF8) == 0xF0) {
+                characterLength = 4;
+            } else {
+                // invalid lead byte, it will be decoded as the replacement character
+                return length;
+            }
+            return i + characterLength <= length ? length : i;
+        }
+        return length;
+    }
+
     public static List<String> readPartFileContentFromRemote(String filePath,
                                                              int skipLine,
                                                              int limit) {
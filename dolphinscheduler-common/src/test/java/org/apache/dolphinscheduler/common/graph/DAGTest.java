@@ -346,4 +346,60 @@ public class DAGTest {
         }
     }
 
+    @Test
+    public void testBuilderBuild() throws Exception {
+        DAG.Builder<Integer, String, String> builder = DAG.builder();
+        for (int i = 1; i <= 7; ++i) {
+            builder.addNode(i, "v(" + i + ")");
+        }
+        Assertions.assertTrue(builder.addEdge(1, 2));
+        Assertions.assertTrue(builder.addEdge(2, 5));
+        Assertions.assertTrue(builder.addEdge(3, 5));
+        Assertions.assertTrue(builder.addEdge(4, 6));
+        Assertions.assertTrue(builder.addEdge(5, 6));
+        Assertions.assertTrue(builder.addEdge(6, 7));
+        // self loop and missing node
+        Assertions.assertFalse(builder.addEdge(1, 1));
+        Assertions.assertFalse(builder.addEdge(1, 8));
+        Assertions.assertTrue(builder.findCycle().isEmpty());
+
+        DAG<Integer, String, String> dag = builder.build();
+        Assertions.assertEquals(7, dag.getNodesCount());
+        Assertions.assertEquals(6, dag.getEdgesCount());
+        Assertions.assertFalse(dag.hasCycle());
+        Assertions.assertTrue(dag.getBeginNode().containsAll(Arrays.asList(1, 3, 4)));
+        Assertions.assertEquals(Arrays.asList(7), new ArrayList<>(dag.getEndNode()));
+        Assertions.assertEquals(7, dag.topologicalSort().size());
+        // the built DAG can still be modified
+        Assertions.assertFalse(dag.addEdge(7, 1));
+        Assertions.assertThrows(IllegalStateException.class, () -> builder.addNode(8, "v(8)"));
+    }
+
+    @Test
+    public void testBuilderFindCycle() {
+        DAG.Builder<Integer, String, String> builder = DAG.builder();
+        for (int i = 1; i <= 5; ++i) {
+            builder.addNode(i, "v(" + i + ")");
+        }
+        // 1->2->3->4->2, 4->5
+        Assertions.assertTrue(builder.addEdge(1, 2));
+        Assertions.assertTrue(builder.addEdge(2, 3));
+        Assertions.assertTrue(builder.addEdge(3, 4));
+        Assertions.assertTrue(builder.addEdge(4, 5));
+        Assertions.assertTrue(builder.findCycle().isEmpty());
+        Assertions.assertTrue(builder.addEdge(4, 2));
+
+        List<Integer> cycle = builder.findCycle();
+        Assertions.assertEquals(3, cycle.size());
+        for (int i = 0; i < cycle.size(); i++) {
+            Integer from = cycle.get(i);
+            Integer to = cycle.get((i + 1) % cycle.size());
+            Assertions.assertTrue(Arrays.asList(2, 3, 4).contains(from));
+            Assertions.assertTrue(Arrays.asList(Arrays.asList(2, 3), Arrays.asList(3, 4), Arrays.asList(4, 2))
+                    .contains(Arrays.asList(from, to)));
+        }
+        IllegalArgumentException exception =
+                Assertions.assertThrows(IllegalArgumentException.class, builder::build);
+        Assertions.assertTrue(exception.getMessage().contains("The graph has cycle"));
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LogFileLineIndexTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void readLines_sameAsReadFromBeginning() throws IOException {
+        final Path logFile = tempDir.resolve("task.log");
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append("line-").append(i);
+            // mix the line terminators and empty lines
+            if (i % 7 == 0) {
+                content.append("\r\n");
+            } else if (i % 11 == 0) {
+                content.append("\r");
+            } else if (i % 13 == 0) {
+                content.append("\n\n");
+            } else {
+                content.append("\n");
+            }
+        }
+        content.append("\u65e5\u5fd7-last line without terminator");
+        Files.write(logFile, content.toString().getBytes(StandardCharsets.UTF_8));
+
+        final LogFileLineIndex logFileLineIndex = new LogFileLineIndex(logFile, 10);
+        for (int skipLine : new int[]{0, 1, 9, 10, 11, 500, 999, 1070, 1076, 1077, 2000}) {
+            for (int limit : new int[]{0, 1, 10, 100}) {
+                Assertions.assertEquals(readLinesFromBeginning(logFile, skipLine, limit),
+                        logFileLineIndex.readLines(skipLine, limit),
+                        "skipLine: " + skipLine + ", limit: " + limit);
+            }
+        }
+    }
+
+    @Test
+    void readLines_whenFileIsAppended() throws IOException {
+        final Path logFile = tempDir.resolve("task.log");
+        Files.write(logFile, "line-0\nline-1\nline-".getBytes(StandardCharsets.UTF_8));
+
+        final LogFileLineIndex logFileLineIndex = new LogFileLineIndex(logFile, 2);
+        assertThat(logFileLineIndex.readLines(0, 10)).containsExactly("line-0", "line-1", "line-").inOrder();
+        // the incomplete line should not be indexed
+        assertThat(logFileLineIndex.getIndexedLineCount()).isEqualTo(2);
+
+        Files.write(logFile, "2\r".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        assertThat(logFileLineIndex.readLines(2, 10)).containsExactly("line-2");
+        // the '\r' might be followed by '\n'
+        assertThat(logFileLineIndex.getIndexedLineCount()).isEqualTo(2);
+
+        Files.write(logFile, "\nline-3\nline-4\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        assertThat(logFileLineIndex.readLines(2, 10)).containsExactly("line-2", "line-3", "line-4").inOrder();
+        assertThat(logFileLineIndex.readLines(4, 10)).containsExactly("line-4");
+        assertThat(logFileLineIndex.getIndexedLineCount()).isEqualTo(5);
+    }
+
+    @Test
+    void readLines_whenFileIsReplaced() throws IOException {
+        final Path logFile = tempDir.resolve("task.log");
+        Files.write(logFile, "line-0\nline-1\nline-2\nline-3\n".getBytes(StandardCharsets.UTF_8));
+
+        final LogFileLineIndex logFileLineIndex = new LogFileLineIndex(logFile, 2);
+        assertThat(logFileLineIndex.readLines(2, 1)).containsExactly("line-2");
+
+        Files.delete(logFile);
+        Files.write(logFile, "new-0\nnew-1\n".getBytes(StandardCharsets.UTF_8));
+        assertThat(logFileLineIndex.readLines(0, 10)).containsExactly("new-0", "new-1").inOrder();
+        assertThat(logFileLineIndex.readLines(2, 10)).isEmpty();
+    }
+
+    private List<String> readLinesFromBeginning(Path logFile, int skipLine, int limit) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+            return reader.lines().skip(skipLine).limit(limit).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.utils;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.common.log.LogFileChunk;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LogUtilsTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void readFileContentFromLocal() throws IOException {
+        final Path logFile = tempDir.resolve("task.log");
+        // "\u65e5" is 3 bytes in UTF-8
+        Files.write(logFile, "ab\u65e5c".getBytes(StandardCharsets.UTF_8));
+        final String filePath = logFile.toString();
+
+        LogFileChunk logFileChunk = LogUtils.readFileContentFromLocal(filePath, 0, 3);
+        assertThat(logFileChunk).isEqualTo(new LogFileChunk("ab", 2));
+
+        logFileChunk = LogUtils.readFileContentFromLocal(filePath, logFileChunk.getNextOffset(), 100);
+        assertThat(logFileChunk).isEqualTo(new LogFileChunk("\u65e5c", 6));
+
+        logFileChunk = LogUtils.readFileContentFromLocal(filePath, logFileChunk.getNextOffset(), 100);
+        assertThat(logFileChunk).isEqualTo(new LogFileChunk("", 6));
+
+        Files.write(logFile, "\nd".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        logFileChunk = LogUtils.readFileContentFromLocal(filePath, logFileChunk.getNextOffset(), 100);
+        assertThat(logFileChunk).isEqualTo(new LogFileChunk("\nd", 8));
+    }
+
+    @Test
+    void getFileContentBytesFromLocal() throws IOException {
+        final Path logFile = tempDir.resolve("task.log");
+        final byte[] content = "line-0\nline-1\nline-2\n".getBytes(StandardCharsets.UTF_8);
+        Files.write(logFile, content);
+        final String filePath = logFile.toString();
+
+        final ByteArrayOutputStream downloadedBytes = new ByteArrayOutputStream();
+        long offset = 0;
+        byte[] chunk;
+        do {
+            chunk = LogUtils.getFileContentBytesFromLocal(filePath, offset, 4);
+            downloadedBytes.write(chunk);
+            offset += chunk.length;
+        } while (chunk.length == 4);
+        Assertions.assertArrayEquals(content, downloadedBytes.toByteArray());
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> LogUtils.getFileContentBytesFromLocal(filePath, 0, LogUtils.MAX_FILE_CONTENT_CHUNK_BYTES + 1));
+    }
+}
@@ -59,6 +59,9 @@ public interface CommandMapper extends BaseMapper<Command> {
                                        @Param("idStep") int idStep,
                                        @Param("fetchNumber") int fetchNum);
 
+    List<Integer> queryCommandIdsByIdCursor(@Param("minIdExclusive") int minIdExclusive,
+                                            @Param("fetchNumber") int fetchNum);
+
     void deleteByWorkflowInstanceIds(@Param("workflowInstanceIds") List<Integer> workflowInstanceIds);
 
     IPage<Command> queryCommandPageByIds(Page<Command> page,
@@ -74,5 +74,9 @@ public interface TaskGroupMapper extends BaseMapper<TaskGroup> {
 
     int acquireTaskGroupSlot(@Param("id") Integer id);
 
+    int acquireTaskGroupSlots(@Param("id") Integer id, @Param("slotCount") int slotCount);
+
     int releaseTaskGroupSlot(@Param("id") Integer id);
+
+    int releaseTaskGroupSlots(@Param("id") Integer id, @Param("slotCount") int slotCount);
 }
@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.dao.entity.TaskGroupQueue;
 
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Date;
 import java.util.List;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
@@ -136,4 +137,14 @@ public interface TaskGroupQueueMapper extends BaseMapper<TaskGroupQueue> {
                                                                  @Param("forceStart") int forceStart,
                                                                  @Param("minTaskGroupQueueId") int minTaskGroupQueueId,
                                                                  @Param("limit") int limit);
+
+    List<TaskGroupQueue> queryWaitingTaskGroupQueueByGroupId(@Param("taskGroupId") Integer taskGroupId,
+                                                             @Param("inQueue") int inQueue,
+                                                             @Param("forceStart") int forceStart,
+                                                             @Param("status") int status,
+                                                             @Param("limit") int limit);
+
+    int updateStatusByIds(@Param("ids") List<Integer> ids,
+                          @Param("status") int status,
+                          @Param("updateTime") Date updateTime);
 }
@@ -56,6 +56,20 @@ public interface WorkflowInstanceMapper extends BaseMapper<WorkflowInstance> {
     List<WorkflowInstance> queryByHostAndStatus(@Param("host") String host,
                                                 @Param("states") int[] stateArray);
 
+    /**
+     * query workflow instances by host and stats, whose id is greater than minIdExclusive, order by id asc
+     *
+     * @param host           host
+     * @param stateArray     stateArray
+     * @param minIdExclusive the workflow instance id should be greater than it
+     * @param fetchNumber    the max number of workflow instances to fetch
+     * @return workflow instance list
+     */
+    List<WorkflowInstance> queryByHostAndStatusAndIdCursor(@Param("host") String host,
+                                                           @Param("states") int[] stateArray,
+                                                           @Param("minIdExclusive") int minIdExclusive,
+                                                           @Param("fetchNumber") int fetchNumber);
+
     /**
      * query workflow instance host by stateArray
      *
@@ -18,6 +18,8 @@
 package org.apache.dolphinscheduler.dao.repository;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
 
 import java.io.Serializable;
 import java.util.Collection;
@@ -28,10 +30,17 @@ import java.util.Optional;
 import lombok.NonNull;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.enums.SqlMethod;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
 
 public abstract class BaseDao<ENTITY, MYBATIS_MAPPER extends BaseMapper<ENTITY>> implements IDao<ENTITY> {
 
+    private static final Log log = LogFactory.getLog(BaseDao.class);
+
+    private static final int INSERT_BATCH_SIZE = 1000;
+
     protected MYBATIS_MAPPER mybatisMapper;
 
     public BaseDao(@NonNull MYBATIS_MAPPER mybatisMapper) {
@@ -79,9 +88,16 @@ public abstract class BaseDao<ENTITY, MYBATIS_MAPPER extends BaseMapper<ENTITY>>
         if (CollectionUtils.isEmpty(models)) {
             return;
         }
-        for (ENTITY model : models) {
-            insert(model);
+        if (models.size() == 1) {
+            insert(models.iterator().next());
+            return;
         }
+        // Use the jdbc batch to insert the models, the generated ids will be set back into the models
+        final Class<?> entityClass = models.iterator().next().getClass();
+        final String insertStatement =
+                TableInfoHelper.getTableInfo(entityClass).getSqlStatement(SqlMethod.INSERT_ONE.getMethod());
+        SqlHelper.executeBatch(entityClass, log, models, INSERT_BATCH_SIZE,
+                (sqlSession, model) -> sqlSession.insert(insertStatement, model));
     }
 
     @Override
@@ -36,4 +36,15 @@ public interface CommandDao extends IDao<Command> {
                                        int totalSlot,
                                        int idStep,
                                        int fetchNum);
+
+    /**
+     * Query the command ids which are greater than the given cursor, ordered by id asc.
+     * <p> This query only touches the primary key index, so its cost depends on the fetch number rather than the
+     * table size.
+     *
+     * @param minIdExclusive the cursor, only the command whose id is greater than it will be returned
+     * @param fetchNum       fetch number
+     * @return command id list
+     */
+    List<Integer> queryCommandIdsByIdCursor(int minIdExclusive, int fetchNum);
 }
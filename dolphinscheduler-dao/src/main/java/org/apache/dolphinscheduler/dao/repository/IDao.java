@@ -57,7 +57,7 @@ public interface IDao<Entity> {
     int insert(@NonNull Entity model);
 
     /**
-     * Insert the entities.
+     * Insert the entities in batch, the generated id will be set into the entities.
      */
     void insertBatch(Collection<Entity> models);
 
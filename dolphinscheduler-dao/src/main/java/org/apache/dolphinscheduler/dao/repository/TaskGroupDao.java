@@ -52,6 +52,16 @@ public interface TaskGroupDao extends IDao<TaskGroup> {
      */
     boolean acquireTaskGroupSlot(Integer taskGroupId);
 
+    /**
+     * Acquire the given number of slots for the TaskGroup in one update, set the useSize = useSize + slotCount if the
+     * useSize will not exceed the groupSize.
+     *
+     * @param taskGroupId taskGroupId which shouldn't be null
+     * @param slotCount   the number of slots to acquire
+     * @return true if acquire successfully, false otherwise.
+     */
+    boolean acquireTaskGroupSlots(Integer taskGroupId, int slotCount);
+
     /**
      * Release a slot for the TaskGroup which useSize should > 0, set the useSize = useSize - 1.
      *
@@ -59,4 +69,14 @@ public interface TaskGroupDao extends IDao<TaskGroup> {
      * @return true if release successfully, false otherwise.
      */
     boolean releaseTaskGroupSlot(Integer taskGroupId);
+
+    /**
+     * Release the given number of slots for the TaskGroup in one update, set the useSize = useSize - slotCount if the
+     * useSize will not be negative.
+     *
+     * @param taskGroupId taskGroupId which shouldn't be null
+     * @param slotCount   the number of slots to release
+     * @return true if release successfully, false otherwise.
+     */
+    boolean releaseTaskGroupSlots(Integer taskGroupId, int slotCount);
 }
@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.dao.repository;
 
+import org.apache.dolphinscheduler.common.enums.TaskGroupQueueStatus;
 import org.apache.dolphinscheduler.dao.entity.TaskGroupQueue;
 import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
 
@@ -92,4 +93,26 @@ public interface TaskGroupQueueDao extends IDao<TaskGroupQueue> {
      * @return TaskGroupQueue ordered by priority desc
      */
     List<TaskGroupQueue> queryWaitNotifyForceStartTaskGroupQueue(int minTaskGroupQueueId, int limit);
+
+    /**
+     * Query the {@link TaskGroupQueue} which are waiting for the slot of the given task group, which
+     * in_queue is {@link org.apache.dolphinscheduler.common.enums.Flag#YES}
+     * and forceStart is {@link org.apache.dolphinscheduler.common.enums.Flag#NO}
+     * and status is {@link TaskGroupQueueStatus#WAIT_QUEUE}
+     * order by priority desc, id asc
+     * limit #{limit}
+     *
+     * @param taskGroupId taskGroupId
+     * @param limit       the max number of TaskGroupQueue to query
+     * @return TaskGroupQueue ordered by priority desc
+     */
+    List<TaskGroupQueue> queryWaitingTaskGroupQueueByGroupId(Integer taskGroupId, int limit);
+
+    /**
+     * Update the status of the given {@link TaskGroupQueue}s in one update.
+     *
+     * @param taskGroupQueueIds taskGroupQueueIds
+     * @param status            the new status
+     */
+    void updateStatusByIds(List<Integer> taskGroupQueueIds, TaskGroupQueueStatus status);
 }
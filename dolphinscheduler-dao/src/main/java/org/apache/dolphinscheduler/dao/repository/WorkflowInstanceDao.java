@@ -93,7 +93,8 @@ public interface WorkflowInstanceDao extends IDao<WorkflowInstance> {
     List<String> queryNeedFailoverMasters();
 
     /**
-     * Query the workflow instances under the master that need to be failover.
+     * Query a page of the workflow instances under the master that need to be failover, the result is ordered by id,
+     * and the id of each workflow instance is greater than the given minIdExclusive.
      */
-    List<WorkflowInstance> queryNeedFailoverWorkflowInstances(String masterAddress);
+    List<WorkflowInstance> queryNeedFailoverWorkflowInstances(String masterAddress, int minIdExclusive, int pageSize);
 }
@@ -38,4 +38,9 @@ public class CommandDaoImpl extends BaseDao<Command, CommandMapper> implements C
         return mybatisMapper.queryCommandByIdSlot(currentSlotIndex, totalSlot, idStep, fetchNum);
     }
 
+    @Override
+    public List<Integer> queryCommandIdsByIdCursor(int minIdExclusive, int fetchNum) {
+        return mybatisMapper.queryCommandIdsByIdCursor(minIdExclusive, fetchNum);
+    }
+
 }
@@ -60,6 +60,17 @@ public class TaskGroupDaoImpl extends BaseDao<TaskGroup, TaskGroupMapper> implem
         return mybatisMapper.acquireTaskGroupSlot(taskGroupId) > 0;
     }
 
+    @Override
+    public boolean acquireTaskGroupSlots(Integer taskGroupId, int slotCount) {
+        if (taskGroupId == null) {
+            throw new IllegalArgumentException("taskGroupId cannot be null");
+        }
+        if (slotCount <= 0) {
+            throw new IllegalArgumentException("slotCount should be positive");
+        }
+        return mybatisMapper.acquireTaskGroupSlots(taskGroupId, slotCount) > 0;
+    }
+
     @Override
     public boolean releaseTaskGroupSlot(Integer taskGroupId) {
         if (taskGroupId == null) {
@@ -67,4 +78,15 @@ public class TaskGroupDaoImpl extends BaseDao<TaskGroup, TaskGroupMapper> implem
         }
         return mybatisMapper.releaseTaskGroupSlot(taskGroupId) > 0;
     }
+
+    @Override
+    public boolean releaseTaskGroupSlots(Integer taskGroupId, int slotCount) {
+        if (taskGroupId == null) {
+            throw new IllegalArgumentException("taskGroupId cannot be null");
+        }
+        if (slotCount <= 0) {
+            throw new IllegalArgumentException("slotCount should be positive");
+        }
+        return mybatisMapper.releaseTaskGroupSlots(taskGroupId, slotCount) > 0;
+    }
 }
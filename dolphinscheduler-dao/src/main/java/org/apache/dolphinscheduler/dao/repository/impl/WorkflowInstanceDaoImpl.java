@@ -169,8 +169,12 @@ public class WorkflowInstanceDaoImpl extends BaseDao<WorkflowInstance, WorkflowI
     }
 
     @Override
-    public List<WorkflowInstance> queryNeedFailoverWorkflowInstances(String masterAddress) {
-        return mybatisMapper.queryByHostAndStatus(masterAddress,
-                WorkflowExecutionStatus.getNeedFailoverWorkflowInstanceState());
+    public List<WorkflowInstance> queryNeedFailoverWorkflowInstances(String masterAddress,
+                                                                     int minIdExclusive,
+                                                                     int pageSize) {
+        return mybatisMapper.queryByHostAndStatusAndIdCursor(masterAddress,
+                WorkflowExecutionStatus.getNeedFailoverWorkflowInstanceState(),
+                minIdExclusive,
+                pageSize);
     }
 }
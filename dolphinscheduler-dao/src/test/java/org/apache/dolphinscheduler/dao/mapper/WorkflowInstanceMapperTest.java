@@ -152,6 +152,31 @@ public class WorkflowInstanceMapperTest extends BaseDaoTest {
         Assertions.assertNotEquals(0, workflowInstances.size());
     }
 
+    @Test
+    public void testQueryByHostAndStatusAndIdCursor() {
+        WorkflowInstance workflowInstance1 = insertOne();
+        workflowInstance1.setHost("192.168.2.156:5678");
+        workflowInstanceMapper.updateById(workflowInstance1);
+        WorkflowInstance workflowInstance2 = insertOne();
+        workflowInstance2.setHost("192.168.2.156:5678");
+        workflowInstanceMapper.updateById(workflowInstance2);
+        WorkflowInstance workflowInstance3 = insertOne();
+        workflowInstance3.setHost("192.168.2.157:5678");
+        workflowInstanceMapper.updateById(workflowInstance3);
+
+        int[] stateArray = new int[]{WorkflowExecutionStatus.RUNNING_EXECUTION.getCode()};
+        List<WorkflowInstance> firstPage =
+                workflowInstanceMapper.queryByHostAndStatusAndIdCursor("192.168.2.156:5678", stateArray, 0, 1);
+        List<WorkflowInstance> secondPage = workflowInstanceMapper.queryByHostAndStatusAndIdCursor(
+                "192.168.2.156:5678", stateArray, firstPage.get(0).getId(), 1);
+        List<WorkflowInstance> thirdPage = workflowInstanceMapper.queryByHostAndStatusAndIdCursor(
+                "192.168.2.156:5678", stateArray, secondPage.get(0).getId(), 1);
+
+        Assertions.assertEquals(workflowInstance1.getId(), firstPage.get(0).getId());
+        Assertions.assertEquals(workflowInstance2.getId(), secondPage.get(0).getId());
+        Assertions.assertEquals(0, thirdPage.size());
+    }
+
     /**
      * test query process instance page
      */
@@ -70,6 +70,28 @@ class CommandDaoImplTest extends BaseDaoTest {
 
     }
 
+    @RepeatedTest(value = 10)
+    void queryCommandIdsByIdCursor() {
+        int fetchSize = RandomUtils.nextInt(10, 100);
+        int commandSize = RandomUtils.nextInt(1, 1000);
+        for (int j = 0; j < commandSize; j++) {
+            commandDao.insert(generateCommand(CommandType.START_PROCESS, 0));
+        }
+        List<Command> allCommands = commandDao.queryAll();
+        int cursor = allCommands.get(RandomUtils.nextInt(0, allCommands.size())).getId();
+
+        List<Integer> commandIds = commandDao.queryCommandIdsByIdCursor(cursor, fetchSize);
+        assertThat(commandIds)
+                .containsExactlyElementsIn(allCommands
+                        .stream()
+                        .map(Command::getId)
+                        .filter(id -> id > cursor)
+                        .sorted()
+                        .limit(fetchSize)
+                        .toArray())
+                .inOrder();
+    }
+
     private Command generateCommand(CommandType commandType, int processDefinitionCode) {
         Command command = new Command();
         command.setCommandType(commandType);
@@ -101,6 +101,28 @@ class TaskGroupDaoImplTest extends BaseDaoTest {
         assertEquals(0, taskGroup.getUseSize());
     }
 
+    @Test
+    void acquireTaskGroupSlots() {
+        TaskGroup taskGroup = createTaskGroup("testAcquireSlots", 1, 3);
+        taskGroupDao.insert(taskGroup);
+        assertFalse(taskGroupDao.acquireTaskGroupSlots(taskGroup.getId(), 3));
+        assertTrue(taskGroupDao.acquireTaskGroupSlots(taskGroup.getId(), 2));
+
+        taskGroup = taskGroupDao.queryById(taskGroup.getId());
+        assertEquals(3, taskGroup.getUseSize());
+    }
+
+    @Test
+    void releaseTaskGroupSlots() {
+        TaskGroup taskGroup = createTaskGroup("testReleaseSlots", 2, 3);
+        taskGroupDao.insert(taskGroup);
+        assertFalse(taskGroupDao.releaseTaskGroupSlots(taskGroup.getId(), 3));
+        assertTrue(taskGroupDao.releaseTaskGroupSlots(taskGroup.getId(), 2));
+
+        taskGroup = taskGroupDao.queryById(taskGroup.getId());
+        assertEquals(0, taskGroup.getUseSize());
+    }
+
     private TaskGroup createTaskGroup(String name, int useSize, int groupSize) {
         return TaskGroup.builder()
                 .name(name)
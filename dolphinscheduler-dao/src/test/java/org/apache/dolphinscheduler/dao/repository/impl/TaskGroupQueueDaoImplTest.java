@@ -167,6 +167,35 @@ class TaskGroupQueueDaoImplTest extends BaseDaoTest {
         assertEquals(insertCount, queryCount);
     }
 
+    @Test
+    void queryWaitingTaskGroupQueueByGroupId() {
+        TaskGroupQueue lowPriority = createTaskGroupQueue(Flag.NO, TaskGroupQueueStatus.WAIT_QUEUE);
+        TaskGroupQueue highPriority = createTaskGroupQueue(Flag.NO, TaskGroupQueueStatus.WAIT_QUEUE);
+        highPriority.setPriority(1);
+        TaskGroupQueue forceStart = createTaskGroupQueue(Flag.YES, TaskGroupQueueStatus.WAIT_QUEUE);
+        TaskGroupQueue acquired = createTaskGroupQueue(Flag.NO, TaskGroupQueueStatus.ACQUIRE_SUCCESS);
+        taskGroupQueueDao.insertBatch(Lists.newArrayList(lowPriority, highPriority, forceStart, acquired));
+
+        List<TaskGroupQueue> taskGroupQueues = taskGroupQueueDao.queryWaitingTaskGroupQueueByGroupId(1, 10);
+        assertEquals(2, taskGroupQueues.size());
+        assertEquals(highPriority.getId(), taskGroupQueues.get(0).getId());
+        assertEquals(lowPriority.getId(), taskGroupQueues.get(1).getId());
+
+        assertEquals(1, taskGroupQueueDao.queryWaitingTaskGroupQueueByGroupId(1, 1).size());
+        assertEquals(0, taskGroupQueueDao.queryWaitingTaskGroupQueueByGroupId(2, 10).size());
+    }
+
+    @Test
+    void updateStatusByIds() {
+        TaskGroupQueue taskGroupQueue1 = createTaskGroupQueue(Flag.NO, TaskGroupQueueStatus.WAIT_QUEUE);
+        TaskGroupQueue taskGroupQueue2 = createTaskGroupQueue(Flag.NO, TaskGroupQueueStatus.WAIT_QUEUE);
+        taskGroupQueueDao.insertBatch(Lists.newArrayList(taskGroupQueue1, taskGroupQueue2));
+
+        taskGroupQueueDao.updateStatusByIds(Lists.newArrayList(taskGroupQueue1.getId(), taskGroupQueue2.getId()),
+                TaskGroupQueueStatus.ACQUIRE_SUCCESS);
+        assertEquals(2, taskGroupQueueDao.countUsingTaskGroupQueueByGroupId(1));
+    }
+
     private TaskGroupQueue createTaskGroupQueue(Flag forceStart, TaskGroupQueueStatus taskGroupQueueStatus) {
         return TaskGroupQueue.builder()
                 .taskId(1)
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.repository.impl;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.dao.BaseDaoTest;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class TaskInstanceDaoImplTest extends BaseDaoTest {
+
+    @Autowired
+    private TaskInstanceDao taskInstanceDao;
+
+    @Test
+    void insertBatch() {
+        final List<TaskInstance> taskInstances = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            taskInstances.add(createTaskInstance("task-" + i));
+        }
+        taskInstanceDao.insertBatch(taskInstances);
+
+        final List<Integer> taskInstanceIds =
+                taskInstances.stream().map(TaskInstance::getId).collect(Collectors.toList());
+        assertThat(taskInstanceIds).doesNotContain(null);
+        assertThat(taskInstanceIds).containsNoDuplicates();
+        for (TaskInstance taskInstance : taskInstances) {
+            assertThat(taskInstanceDao.queryById(taskInstance.getId()).getName())
+                    .isEqualTo(taskInstance.getName());
+        }
+    }
+
+    private TaskInstance createTaskInstance(String name) {
+        final TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setName(name);
+        taskInstance.setTaskType("SHELL");
+        taskInstance.setTaskCode(1L);
+        taskInstance.setTaskDefinitionVersion(1);
+        taskInstance.setWorkflowInstanceId(1);
+        taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
+        taskInstance.setFirstSubmitTime(new Date());
+        taskInstance.setSubmitTime(new Date());
+        taskInstance.setFlag(Flag.YES);
+        taskInstance.setRetryTimes(0);
+        return taskInstance;
+    }
+}
@@ -35,6 +35,7 @@ import java.sql.SQLException;
 import lombok.extern.slf4j.Slf4j;
 
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 
 @Slf4j
 public abstract class BasePooledDataSourceClient implements PooledDataSourceClient {
@@ -76,6 +77,20 @@ public abstract class BasePooledDataSourceClient implements PooledDataSourceClie
         return dataSource.getConnection();
     }
 
+    /**
+     * Remove the connection from the pool, the physical connection is closed rather than reused by others.
+     */
+    public void evictConnection(Connection connection) {
+        dataSource.evictConnection(connection);
+    }
+
+    /**
+     * Get the pool statistics, null if the pool is not started yet.
+     */
+    public HikariPoolMXBean getHikariPoolMXBean() {
+        return dataSource.getHikariPoolMXBean();
+    }
+
     @Override
     public void close() {
         log.info("do close dataSource {}.", baseConnectionParam.getDatabase());
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.datasource.api.client;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.apache.dolphinscheduler.plugin.datasource.api.metrics.DataSourceClientMetrics;
+import org.apache.dolphinscheduler.spi.datasource.BaseConnectionParam;
+import org.apache.dolphinscheduler.spi.datasource.PooledDataSourceClient;
+import org.apache.dolphinscheduler.spi.enums.DbType;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The pooled datasource client shared by the callers of
+ * {@link org.apache.dolphinscheduler.plugin.datasource.api.plugin.DataSourceClientProvider}.
+ * <p> Each connection got from this client holds a reference of it until the connection is closed. Once the client is
+ * retired, e.g. evicted from the cache, it is closed after all the leased connections are returned, so the running
+ * tasks will not lose their connections. The client is owned by the cache, {@link #close()} by the caller does nothing.
+ */
+@Slf4j
+public class ReferenceCountedPooledDataSourceClient implements PooledDataSourceClient {
+
+    @Getter
+    private final String datasourceUniqueId;
+
+    private final PooledDataSourceClient delegate;
+
+    @Getter
+    private volatile int leasedConnections;
+
+    @Getter
+    private volatile boolean retired;
+
+    @Getter
+    private volatile boolean closed;
+
+    @Getter
+    @Setter
+    private Timer connectionAcquireTimer;
+
+    public ReferenceCountedPooledDataSourceClient(String datasourceUniqueId, PooledDataSourceClient delegate) {
+        this.datasourceUniqueId = checkNotNull(datasourceUniqueId, "datasourceUniqueId is null");
+        this.delegate = checkNotNull(delegate, "delegate is null");
+    }
+
+    @Override
+    public DataSource createDataSourcePool(BaseConnectionParam baseConnectionParam, DbType dbType) {
+        return delegate.createDataSourcePool(baseConnectionParam, dbType);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = leaseConnection(false);
+        if (connection == null) {
+            throw new SQLException("The pooled datasource client is closed");
+        }
+        return connection;
+    }
+
+    /**
+     * Get a connection which holds a reference of this client until it is closed.
+     *
+     * @param evictOnClose whether to evict the connection from the pool when it is closed, used when the caller
+     *                     changes the session state of the connection, so the state will not leak to the others.
+     * @return the connection, or null if this client is already closed
+     */
+    public Connection leaseConnection(boolean evictOnClose) throws SQLException {
+        synchronized (this) {
+            if (closed) {
+                return null;
+            }
+            leasedConnections++;
+        }
+        long startTime = System.nanoTime();
+        try {
+            Connection connection = delegate.getConnection();
+            if (connectionAcquireTimer != null) {
+                connectionAcquireTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            }
+            return wrapConnection(connection, evictOnClose);
+        } catch (Throwable e) {
+            release();
+            throw e;
+        }
+    }
+
+    /**
+     * Retire this client, it is closed once all the leased connections are returned.
+     */
+    public void retire() {
+        synchronized (this) {
+            if (retired) {
+                return;
+            }
+            retired = true;
+            if (leasedConnections > 0) {
+                log.info("Datasource client: {} is retired, will be closed once the {} leased connections returned",
+                        datasourceUniqueId, leasedConnections);
+                return;
+            }
+        }
+        doClose();
+    }
+
+    public HikariPoolMXBean getHikariPoolMXBean() {
+        if (delegate instanceof BasePooledDataSourceClient) {
+            return ((BasePooledDataSourceClient) delegate).getHikariPoolMXBean();
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        // the client is owned by the cache, it is closed after it is retired and drained
+    }
+
+    private void release() {
+        synchronized (this) {
+            leasedConnections--;
+            if (!retired || leasedConnections > 0) {
+                return;
+            }
+        }
+        doClose();
+    }
+
+    private void doClose() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        DataSourceClientMetrics.removeDataSourceClientMeters(this);
+        try {
+            delegate.close();
+            log.info("Datasource client: {} is closed", datasourceUniqueId);
+        } catch (Exception e) {
+            log.error("Close datasource client: {} error", datasourceUniqueId, e);
+        }
+    }
+
+    private Connection wrapConnection(Connection connection, boolean evictOnClose) {
+        AtomicBoolean released = new AtomicBoolean(false);
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            // Evict before close, so the connection is closed rather than returned to the pool
+                            if (evictOnClose && !released.get() && delegate instanceof BasePooledDataSourceClient) {
+                                ((BasePooledDataSourceClient) delegate).evictConnection(connection);
+                            }
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -377,6 +377,21 @@ public class DataSourceConstants {
      */
     public static final String KERBEROS_EXPIRE_TIME = "kerberos.expire.time";
 
+    /**
+     * the max number of the pooled datasource clients cached
+     */
+    public static final String POOLED_CLIENT_CACHE_MAX_SIZE = "datasource.pooled.client.cache.max.size";
+
+    /**
+     * the pooled datasource client is closed once it is not accessed for this time, the unit is hour
+     */
+    public static final String POOLED_CLIENT_CACHE_EXPIRE_TIME = "datasource.pooled.client.cache.expire.time";
+
+    /**
+     * whether the sql and procedure tasks lease the connections from the pooled datasource clients
+     */
+    public static final String POOLED_TASK_CONNECTION_ENABLED = "datasource.pooled.task.connection.enabled";
+
     /**
      * java.security.krb5.conf
      */
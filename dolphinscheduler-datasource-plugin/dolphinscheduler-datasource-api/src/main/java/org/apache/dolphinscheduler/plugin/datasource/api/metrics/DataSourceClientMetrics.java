@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.datasource.api.metrics;
+
+import org.apache.dolphinscheduler.plugin.datasource.api.client.ReferenceCountedPooledDataSourceClient;
+import org.apache.dolphinscheduler.spi.datasource.BaseConnectionParam;
+import org.apache.dolphinscheduler.spi.enums.DbType;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+import lombok.experimental.UtilityClass;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The meters of the pooled datasource clients.
+ * <p> The meters are owned by the datasource rather than the client, since the evicted client might still be draining
+ * when its replacement with the same datasource unique id is created. The gauges always read the client which is
+ * registered last, and the meters are only removed once that client is closed.
+ */
+@UtilityClass
+public class DataSourceClientMetrics {
+
+    // datasourceUniqueId -> meters
+    private final Map<String, DataSourceMeters> DATASOURCE_METERS = new ConcurrentHashMap<>();
+
+    public void registerDataSourceClientMeters(final ReferenceCountedPooledDataSourceClient client,
+                                               final DbType dbType,
+                                               final BaseConnectionParam baseConnectionParam) {
+        final DataSourceMeters dataSourceMeters = DATASOURCE_METERS.compute(client.getDatasourceUniqueId(),
+                (datasourceUniqueId, existingMeters) -> {
+                    final DataSourceMeters meters = existingMeters == null
+                            ? createDataSourceMeters(datasourceUniqueId, dbType, baseConnectionParam)
+                            : existingMeters;
+                    meters.client = client;
+                    return meters;
+                });
+        client.setConnectionAcquireTimer(dataSourceMeters.connectionAcquireTimer);
+    }
+
+    /**
+     * Remove the meters of the closed client, the meters are kept if they are taken over by another client.
+     */
+    public void removeDataSourceClientMeters(final ReferenceCountedPooledDataSourceClient client) {
+        client.setConnectionAcquireTimer(null);
+        DATASOURCE_METERS.computeIfPresent(client.getDatasourceUniqueId(), (datasourceUniqueId, meters) -> {
+            if (meters.client != client) {
+                return meters;
+            }
+            meters.meters.forEach(Metrics.globalRegistry::remove);
+            return null;
+        });
+    }
+
+    private DataSourceMeters createDataSourceMeters(final String datasourceUniqueId,
+                                                    final DbType dbType,
+                                                    final BaseConnectionParam baseConnectionParam) {
+        final Tags tags = Tags.of(
+                "db_type", dbType.getName(),
+                // the jdbc url may contain the credentials in the query string
+                "datasource", baseConnectionParam.getUser() + "@"
+                        + StringUtils.substringBefore(baseConnectionParam.getJdbcUrl(), "?"),
+                // the unique id contains the password, so only its hash is exposed to tell apart the datasources
+                "datasource_id", Integer.toHexString(datasourceUniqueId.hashCode()));
+        final DataSourceMeters dataSourceMeters = new DataSourceMeters();
+
+        registerPoolGauge(dataSourceMeters, tags, "ds.datasource.pool.active.connections",
+                "The active connections of the datasource pool", HikariPoolMXBean::getActiveConnections);
+        registerPoolGauge(dataSourceMeters, tags, "ds.datasource.pool.idle.connections",
+                "The idle connections of the datasource pool", HikariPoolMXBean::getIdleConnections);
+        registerPoolGauge(dataSourceMeters, tags, "ds.datasource.pool.pending.threads",
+                "The threads waiting for a connection of the datasource pool",
+                HikariPoolMXBean::getThreadsAwaitingConnection);
+        dataSourceMeters.meters.add(
+                Gauge.builder("ds.datasource.pool.leased.connections", dataSourceMeters,
+                        meters -> meters.client.getLeasedConnections())
+                        .tags(tags)
+                        .description("The connections leased from the datasource client and not returned yet")
+                        .register(Metrics.globalRegistry));
+
+        dataSourceMeters.connectionAcquireTimer = Timer.builder("ds.datasource.pool.connection.acquire.time")
+                .tags(tags)
+                .description("The time waiting for a connection from the datasource pool")
+                .register(Metrics.globalRegistry);
+        dataSourceMeters.meters.add(dataSourceMeters.connectionAcquireTimer);
+        return dataSourceMeters;
+    }
+
+    private void registerPoolGauge(final DataSourceMeters dataSourceMeters,
+                                   final Tags tags,
+                                   final String name,
+                                   final String description,
+                                   final ToIntFunction<HikariPoolMXBean> poolMetric) {
+        dataSourceMeters.meters.add(
+                Gauge.builder(name, dataSourceMeters, meters -> {
+                    // the pool is started lazily when the first connection is got
+                    final HikariPoolMXBean hikariPoolMXBean = meters.client.getHikariPoolMXBean();
+                    return hikariPoolMXBean == null ? 0 : poolMetric.applyAsInt(hikariPoolMXBean);
+                })
+                        .tags(tags)
+                        .description(description)
+                        .register(Metrics.globalRegistry));
+    }
+
+    private static class DataSourceMeters {
+
+        // the client which is registered last
+        private volatile ReferenceCountedPooledDataSourceClient client;
+
+        private final List<Meter> meters = new ArrayList<>();
+
+        private Timer connectionAcquireTimer;
+    }
+
+}
@@ -18,14 +18,15 @@
 package org.apache.dolphinscheduler.plugin.datasource.api.plugin;
 
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
+import org.apache.dolphinscheduler.plugin.datasource.api.client.ReferenceCountedPooledDataSourceClient;
 import org.apache.dolphinscheduler.plugin.datasource.api.constants.DataSourceConstants;
+import org.apache.dolphinscheduler.plugin.datasource.api.metrics.DataSourceClientMetrics;
 import org.apache.dolphinscheduler.plugin.datasource.api.utils.DataSourceUtils;
 import org.apache.dolphinscheduler.spi.datasource.AdHocDataSourceClient;
 import org.apache.dolphinscheduler.spi.datasource.BaseConnectionParam;
 import org.apache.dolphinscheduler.spi.datasource.ConnectionParam;
 import org.apache.dolphinscheduler.spi.datasource.DataSourceChannel;
 import org.apache.dolphinscheduler.spi.datasource.DataSourceClient;
-import org.apache.dolphinscheduler.spi.datasource.PooledDataSourceClient;
 import org.apache.dolphinscheduler.spi.enums.DbType;
 
 import java.sql.Connection;
@@ -45,18 +46,20 @@ public class DataSourceClientProvider {
 
     // We use the cache here to avoid creating a new datasource client every time,
     // One DataSourceClient corresponds to one unique datasource.
-    private static final Cache<String, PooledDataSourceClient> POOLED_DATASOURCE_CLIENT_CACHE =
+    // The client removed from the cache is closed after all its leased connections are returned.
+    private static final Cache<String, ReferenceCountedPooledDataSourceClient> POOLED_DATASOURCE_CLIENT_CACHE =
             CacheBuilder.newBuilder()
+                    .expireAfterAccess(PropertyUtils.getLong(DataSourceConstants.POOLED_CLIENT_CACHE_EXPIRE_TIME, 1L),
+                            TimeUnit.HOURS)
                     .expireAfterWrite(PropertyUtils.getLong(DataSourceConstants.KERBEROS_EXPIRE_TIME, 24L),
                             TimeUnit.HOURS)
-                    .removalListener((RemovalListener<String, PooledDataSourceClient>) notification -> {
-                        try (PooledDataSourceClient closedClient = notification.getValue()) {
-                            log.info("Datasource: {} is removed from cache due to expire", notification.getKey());
-                        } catch (Exception e) {
-                            log.error("Close datasource client error", e);
-                        }
-                    })
-                    .maximumSize(100)
+                    .removalListener(
+                            (RemovalListener<String, ReferenceCountedPooledDataSourceClient>) notification -> {
+                                log.info("Datasource: {} is removed from cache due to {}", notification.getKey(),
+                                        notification.getCause());
+                                notification.getValue().retire();
+                            })
+                    .maximumSize(PropertyUtils.getInt(DataSourceConstants.POOLED_CLIENT_CACHE_MAX_SIZE, 100))
                     .build();
     private static final DataSourcePluginManager dataSourcePluginManager = new DataSourcePluginManager();
 
@@ -74,13 +77,62 @@ public class DataSourceClientProvider {
             if (null == dataSourceChannel) {
                 throw new RuntimeException(String.format("datasource plugin '%s' is not found", dbType.getName()));
             }
-            return dataSourceChannel.createPooledDataSourceClient(baseConnectionParam, dbType);
+            ReferenceCountedPooledDataSourceClient pooledDataSourceClient =
+                    new ReferenceCountedPooledDataSourceClient(datasourceUniqueId,
+                            dataSourceChannel.createPooledDataSourceClient(baseConnectionParam, dbType));
+            DataSourceClientMetrics.registerDataSourceClientMeters(pooledDataSourceClient, dbType,
+                    baseConnectionParam);
+            return pooledDataSourceClient;
         });
     }
 
+    /**
+     * Get a connection from the pooled datasource client, the connection must be closed after use, the client will not
+     * be closed before all the connections got from it are closed.
+     */
     public static Connection getPooledConnection(DbType dbType,
                                                  ConnectionParam connectionParam) throws SQLException, ExecutionException {
-        return getPooledDataSourceClient(dbType, connectionParam).getConnection();
+        return getPooledConnection(dbType, connectionParam, false);
+    }
+
+    /**
+     * Get a connection from the pooled datasource client, the connection must be closed after use.
+     *
+     * @param evictOnClose whether to evict the connection from the pool when it is closed, should be true if the
+     *                     caller changes the session state of the connection, e.g. sets the session variables.
+     */
+    public static Connection getPooledConnection(DbType dbType,
+                                                 ConnectionParam connectionParam,
+                                                 boolean evictOnClose) throws SQLException, ExecutionException {
+        while (true) {
+            ReferenceCountedPooledDataSourceClient pooledDataSourceClient =
+                    (ReferenceCountedPooledDataSourceClient) getPooledDataSourceClient(dbType, connectionParam);
+            Connection connection = pooledDataSourceClient.leaseConnection(evictOnClose);
+            if (connection != null) {
+                return connection;
+            }
+            // the client is closed after it is got from the cache, remove it if it is still cached and retry
+            POOLED_DATASOURCE_CLIENT_CACHE.asMap().remove(pooledDataSourceClient.getDatasourceUniqueId(),
+                    pooledDataSourceClient);
+        }
+    }
+
+    /**
+     * Get the connection used by the task.
+     * <p> The connection is leased from the pooled datasource client if
+     * {@link DataSourceConstants#POOLED_TASK_CONNECTION_ENABLED} is true, otherwise an ad hoc connection is created and
+     * closed after the task.
+     *
+     * @param sessionStateChanged whether the task changes the session state of the connection, the pooled connection
+     *                            will be evicted rather than reused by the other tasks.
+     */
+    public static Connection getTaskConnection(DbType dbType,
+                                               ConnectionParam connectionParam,
+                                               boolean sessionStateChanged) throws SQLException, ExecutionException {
+        if (PropertyUtils.getBoolean(DataSourceConstants.POOLED_TASK_CONNECTION_ENABLED, false)) {
+            return getPooledConnection(dbType, connectionParam, sessionStateChanged);
+        }
+        return getAdHocConnection(dbType, connectionParam);
     }
 
     public static AdHocDataSourceClient getAdHocDataSourceClient(DbType dbType, ConnectionParam connectionParam) {
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.datasource.api.client;
+
+import org.apache.dolphinscheduler.spi.datasource.PooledDataSourceClient;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class ReferenceCountedPooledDataSourceClientTest {
+
+    @Mock
+    private PooledDataSourceClient pooledDataSourceClient;
+
+    private ReferenceCountedPooledDataSourceClient referenceCountedClient;
+
+    @BeforeEach
+    public void before() throws SQLException {
+        Mockito.lenient().when(pooledDataSourceClient.getConnection())
+                .thenAnswer(invocation -> Mockito.mock(Connection.class));
+        referenceCountedClient = new ReferenceCountedPooledDataSourceClient("test", pooledDataSourceClient);
+    }
+
+    @Test
+    public void testCloseAfterAllConnectionsReturned() throws Exception {
+        Connection connection1 = referenceCountedClient.getConnection();
+        Connection connection2 = referenceCountedClient.getConnection();
+        Assertions.assertEquals(2, referenceCountedClient.getLeasedConnections());
+
+        referenceCountedClient.retire();
+        Assertions.assertTrue(referenceCountedClient.isRetired());
+        Assertions.assertFalse(referenceCountedClient.isClosed());
+
+        connection1.close();
+        // close the same connection again should not release the reference twice
+        connection1.close();
+        Assertions.assertEquals(1, referenceCountedClient.getLeasedConnections());
+        Mockito.verify(pooledDataSourceClient, Mockito.never()).close();
+
+        connection2.close();
+        Assertions.assertEquals(0, referenceCountedClient.getLeasedConnections());
+        Assertions.assertTrue(referenceCountedClient.isClosed());
+        Mockito.verify(pooledDataSourceClient, Mockito.times(1)).close();
+
+        Assertions.assertNull(referenceCountedClient.leaseConnection(false));
+        Assertions.assertThrows(SQLException.class, referenceCountedClient::getConnection);
+    }
+
+    @Test
+    public void testCloseOnceRetiredWithoutConnections() throws Exception {
+        referenceCountedClient.getConnection().close();
+        referenceCountedClient.close();
+        Mockito.verify(pooledDataSourceClient, Mockito.never()).close();
+
+        referenceCountedClient.retire();
+        referenceCountedClient.retire();
+        Assertions.assertTrue(referenceCountedClient.isClosed());
+        Mockito.verify(pooledDataSourceClient, Mockito.times(1)).close();
+    }
+
+    @Test
+    public void testReleaseWhenGetConnectionFailed() throws Exception {
+        Mockito.when(pooledDataSourceClient.getConnection()).thenThrow(new SQLException("timeout"));
+
+        Assertions.assertThrows(SQLException.class, referenceCountedClient::getConnection);
+        Assertions.assertEquals(0, referenceCountedClient.getLeasedConnections());
+    }
+
+    @Test
+    public void testDelegateConnectionMethods() throws Exception {
+        Connection delegateConnection = Mockito.mock(Connection.class);
+        Mockito.when(pooledDataSourceClient.getConnection()).thenReturn(delegateConnection);
+        Mockito.when(delegateConnection.getAutoCommit()).thenReturn(true);
+        Mockito.doThrow(new SQLException("rollback")).when(delegateConnection).rollback();
+
+        try (Connection connection = referenceCountedClient.getConnection()) {
+            Assertions.assertTrue(connection.getAutoCommit());
+            SQLException exception = Assertions.assertThrows(SQLException.class, connection::rollback);
+            Assertions.assertEquals("rollback", exception.getMessage());
+        }
+        Mockito.verify(delegateConnection).close();
+    }
+
+    @Test
+    public void testEvictConnectionOnClose() throws Exception {
+        BasePooledDataSourceClient basePooledDataSourceClient = Mockito.mock(BasePooledDataSourceClient.class);
+        Connection reusedDelegateConnection = Mockito.mock(Connection.class);
+        Connection evictedDelegateConnection = Mockito.mock(Connection.class);
+        Mockito.when(basePooledDataSourceClient.getConnection())
+                .thenReturn(reusedDelegateConnection, evictedDelegateConnection);
+        ReferenceCountedPooledDataSourceClient client =
+                new ReferenceCountedPooledDataSourceClient("test", basePooledDataSourceClient);
+
+        client.leaseConnection(false).close();
+        Mockito.verify(basePooledDataSourceClient, Mockito.never()).evictConnection(Mockito.any());
+
+        Connection evictedConnection = client.leaseConnection(true);
+        evictedConnection.close();
+        // close the same connection again should not evict it twice
+        evictedConnection.close();
+        InOrder inOrder = Mockito.inOrder(basePooledDataSourceClient, evictedDelegateConnection);
+        inOrder.verify(basePooledDataSourceClient).evictConnection(evictedDelegateConnection);
+        inOrder.verify(evictedDelegateConnection, Mockito.atLeastOnce()).close();
+        Mockito.verify(basePooledDataSourceClient, Mockito.times(1)).evictConnection(Mockito.any());
+        Assertions.assertEquals(0, client.getLeasedConnections());
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.plugin.datasource.api.metrics;
+
+import org.apache.dolphinscheduler.plugin.datasource.api.client.ReferenceCountedPooledDataSourceClient;
+import org.apache.dolphinscheduler.spi.datasource.BaseConnectionParam;
+import org.apache.dolphinscheduler.spi.datasource.PooledDataSourceClient;
+import org.apache.dolphinscheduler.spi.enums.DbType;
+
+import java.sql.Connection;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class DataSourceClientMetricsTest {
+
+    private static final String LEASED_CONNECTIONS = "ds.datasource.pool.leased.connections";
+
+    private BaseConnectionParam baseConnectionParam;
+
+    @BeforeEach
+    public void before() {
+        Metrics.globalRegistry.clear();
+        Metrics.addRegistry(new SimpleMeterRegistry());
+        baseConnectionParam = Mockito.mock(BaseConnectionParam.class);
+        Mockito.when(baseConnectionParam.getUser()).thenReturn("root");
+        Mockito.when(baseConnectionParam.getJdbcUrl()).thenReturn("jdbc:mysql://localhost:3306/test");
+    }
+
+    @Test
+    public void testKeepMetersWhenEvictedClientDrained() throws Exception {
+        ReferenceCountedPooledDataSourceClient evictedClient = createClient("evicted");
+        DataSourceClientMetrics.registerDataSourceClientMeters(evictedClient, DbType.MYSQL, baseConnectionParam);
+        Connection connection = evictedClient.getConnection();
+        evictedClient.retire();
+
+        // The replacement client takes over the meters of the datasource
+        ReferenceCountedPooledDataSourceClient replacementClient = createClient("evicted");
+        DataSourceClientMetrics.registerDataSourceClientMeters(replacementClient, DbType.MYSQL,
+                baseConnectionParam);
+        Connection replacementConnection1 = replacementClient.getConnection();
+        Connection replacementConnection2 = replacementClient.getConnection();
+        Assertions.assertEquals(2, getLeasedConnections());
+
+        // The drained client doesn't remove the meters used by the replacement client
+        connection.close();
+        Assertions.assertTrue(evictedClient.isClosed());
+        Assertions.assertNull(evictedClient.getConnectionAcquireTimer());
+        Assertions.assertNotNull(replacementClient.getConnectionAcquireTimer());
+        Assertions.assertEquals(2, getLeasedConnections());
+
+        replacementClient.retire();
+        replacementConnection1.close();
+        Assertions.assertEquals(1, getLeasedConnections());
+        replacementConnection2.close();
+        Assertions.assertNull(Metrics.globalRegistry.find(LEASED_CONNECTIONS).gauge());
+    }
+
+    @Test
+    public void testRemoveMetersWhenLastClientClosed() throws Exception {
+        ReferenceCountedPooledDataSourceClient client = createClient("closed");
+        DataSourceClientMetrics.registerDataSourceClientMeters(client, DbType.MYSQL, baseConnectionParam);
+        Assertions.assertEquals(0, getLeasedConnections());
+
+        client.retire();
+        Assertions.assertNull(Metrics.globalRegistry.find(LEASED_CONNECTIONS).gauge());
+    }
+
+    private ReferenceCountedPooledDataSourceClient createClient(String datasourceUniqueId) throws Exception {
+        PooledDataSourceClient pooledDataSourceClient = Mockito.mock(PooledDataSourceClient.class);
+        Mockito.lenient().when(pooledDataSourceClient.getConnection())
+                .thenAnswer(invocation -> Mockito.mock(Connection.class));
+        return new ReferenceCountedPooledDataSourceClient(datasourceUniqueId, pooledDataSourceClient);
+    }
+
+    private double getLeasedConnections() {
+        Gauge gauge = Metrics.globalRegistry.find(LEASED_CONNECTIONS).gauge();
+        Assertions.assertNotNull(gauge);
+        return gauge.value();
+    }
+}
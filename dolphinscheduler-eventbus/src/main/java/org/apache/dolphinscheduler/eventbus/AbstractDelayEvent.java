@@ -42,6 +42,13 @@ public abstract class AbstractDelayEvent implements IEvent, Delayed {
         }
     }
 
+    /**
+     * The time when the event can be consumed, if the event is not a delay event, this is the time when the event is created.
+     */
+    public long getTriggerTimeInMillis() {
+        return triggerTimeInMillis;
+    }
+
     @Override
     public long getDelay(TimeUnit unit) {
         long delay = triggerTimeInMillis - System.currentTimeMillis();
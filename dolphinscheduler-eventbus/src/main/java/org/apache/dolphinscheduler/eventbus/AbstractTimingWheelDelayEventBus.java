@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.eventbus;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The event bus that supports delay event, the delay events are stored in a hashed timing wheel.
+ * <p> The event which can be fired now is published into a lock-free ready queue directly, the delay event is
+ * published into a lock-free pending queue, and will be moved into the timing wheel by the polling thread. The
+ * timing wheel is only touched by the polling thread, so publishing an event never needs a lock.
+ * <p> The delay event will be polled after its trigger time, at most one tick later.
+ */
+public abstract class AbstractTimingWheelDelayEventBus<T extends AbstractDelayEvent> implements IEventBus<T> {
+
+    private static final long DEFAULT_TICK_DURATION_MILLS = 10;
+
+    private static final int DEFAULT_WHEEL_SIZE = 64;
+
+    private final Queue<T> readyEventQueue = new ConcurrentLinkedQueue<>();
+
+    private final Queue<T> pendingDelayEventQueue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger eventCount = new AtomicInteger();
+
+    // The count of the delay events in the pending queue and the wheel
+    private final AtomicInteger delayEventCount = new AtomicInteger();
+
+    private final AtomicBoolean wheelAdvancing = new AtomicBoolean(false);
+
+    private final long tickDurationMills;
+
+    private final int wheelSize;
+
+    // The wheel is created when the first delay event arrives, since most of the buses never have delay events
+    private ArrayDeque<T>[] wheel;
+
+    private long lastExpiredTick = -1;
+
+    protected AbstractTimingWheelDelayEventBus() {
+        this(DEFAULT_TICK_DURATION_MILLS, DEFAULT_WHEEL_SIZE);
+    }
+
+    protected AbstractTimingWheelDelayEventBus(final long tickDurationMills, final int wheelSize) {
+        if (tickDurationMills <= 0) {
+            throw new IllegalArgumentException("tickDurationMills must be greater than 0");
+        }
+        if (wheelSize <= 0 || (wheelSize & (wheelSize - 1)) != 0) {
+            throw new IllegalArgumentException("wheelSize must be a power of 2");
+        }
+        this.tickDurationMills = tickDurationMills;
+        this.wheelSize = wheelSize;
+    }
+
+    @Override
+    public void publish(final T event) {
+        // Increase the count before the event is visible, so the bus will never be seen as empty when it has event
+        eventCount.incrementAndGet();
+        if (event.getTriggerTimeInMillis() <= System.currentTimeMillis()) {
+            readyEventQueue.add(event);
+        } else {
+            delayEventCount.incrementAndGet();
+            pendingDelayEventQueue.add(event);
+        }
+    }
+
+    @Override
+    public Optional<T> poll() {
+        advanceWheel();
+        final T event = readyEventQueue.poll();
+        if (event == null) {
+            return Optional.empty();
+        }
+        eventCount.decrementAndGet();
+        return Optional.of(event);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return eventCount.get() == 0;
+    }
+
+    /**
+     * The count of the events in the bus, include the delay events which cannot be fired now.
+     */
+    public int size() {
+        return eventCount.get();
+    }
+
+    /**
+     * Move the pending delay events into the wheel, and move the expired events in the passed ticks into the ready
+     * queue. If another thread is advancing the wheel, this method will return directly.
+     */
+    private void advanceWheel() {
+        if (delayEventCount.get() == 0) {
+            return;
+        }
+        if (!wheelAdvancing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            final long now = System.currentTimeMillis();
+            final long currentTick = now / tickDurationMills;
+            transferPendingDelayEvents(now);
+            if (wheel == null) {
+                return;
+            }
+            // The events in the current tick are not all expired, will be checked when the tick passed
+            // If the wheel has not been advanced for more than one round, each bucket only needs to be checked once
+            for (long tick = Math.max(lastExpiredTick + 1, currentTick - wheelSize); tick < currentTick; tick++) {
+                expireBucket(wheel[(int) (tick & (wheelSize - 1))], now);
+            }
+            lastExpiredTick = currentTick - 1;
+        } finally {
+            wheelAdvancing.set(false);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void transferPendingDelayEvents(final long now) {
+        T event;
+        while ((event = pendingDelayEventQueue.poll()) != null) {
+            final long triggerTimeInMillis = event.getTriggerTimeInMillis();
+            if (triggerTimeInMillis <= now) {
+                readyEventQueue.add(event);
+                delayEventCount.decrementAndGet();
+                continue;
+            }
+            if (wheel == null) {
+                wheel = new ArrayDeque[wheelSize];
+            }
+            final int bucketIndex = (int) ((triggerTimeInMillis / tickDurationMills) & (wheelSize - 1));
+            if (wheel[bucketIndex] == null) {
+                wheel[bucketIndex] = new ArrayDeque<>();
+            }
+            wheel[bucketIndex].add(event);
+        }
+    }
+
+    private void expireBucket(final ArrayDeque<T> bucket, final long now) {
+        if (bucket == null || bucket.isEmpty()) {
+            return;
+        }
+        // The bucket may contain the events of the later rounds, they will be kept until their trigger time
+        final Iterator<T> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            final T event = iterator.next();
+            if (event.getTriggerTimeInMillis() <= now) {
+                iterator.remove();
+                readyEventQueue.add(event);
+                delayEventCount.decrementAndGet();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.eventbus;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class AbstractTimingWheelDelayEventBusTest {
+
+    @Test
+    void testPublishAndPollReadyEvent() {
+        final TestEventBus eventBus = new TestEventBus();
+        assertThat(eventBus.isEmpty()).isTrue();
+
+        final TestEvent event1 = new TestEvent(0);
+        final TestEvent event2 = new TestEvent(0);
+        eventBus.publish(event1);
+        eventBus.publish(event2);
+        assertThat(eventBus.size()).isEqualTo(2);
+
+        assertThat(eventBus.poll()).hasValue(event1);
+        assertThat(eventBus.poll()).hasValue(event2);
+        assertThat(eventBus.poll()).isEmpty();
+        assertThat(eventBus.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testPollDelayEvent() {
+        final TestEventBus eventBus = new TestEventBus();
+        final TestEvent delayEvent = new TestEvent(500);
+        eventBus.publish(delayEvent);
+
+        assertThat(eventBus.poll()).isEmpty();
+        assertThat(eventBus.isEmpty()).isFalse();
+        await().atLeast(Duration.ofMillis(400))
+                .atMost(Duration.ofSeconds(2))
+                .until(() -> eventBus.poll().isPresent());
+        assertThat(eventBus.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testPollDelayEventInLaterRound() {
+        // One round of the wheel is 4ms, the event will stay in the wheel for several rounds
+        final TestEventBus eventBus = new TestEventBus(1, 4);
+        final TestEvent delayEvent = new TestEvent(100);
+        final TestEvent readyEvent = new TestEvent(0);
+        eventBus.publish(delayEvent);
+        eventBus.publish(readyEvent);
+
+        assertThat(eventBus.poll()).hasValue(readyEvent);
+        final List<TestEvent> polledEvents = new ArrayList<>();
+        await().atMost(Duration.ofSeconds(2))
+                .until(() -> {
+                    eventBus.poll().ifPresent(polledEvents::add);
+                    return !polledEvents.isEmpty();
+                });
+        assertThat(polledEvents).containsExactly(delayEvent);
+        assertThat(System.currentTimeMillis()).isAtLeast(delayEvent.getTriggerTimeInMillis());
+    }
+
+    @Test
+    void testPublishConcurrently() {
+        final TestEventBus eventBus = new TestEventBus();
+        final int producerCount = 4;
+        final int eventCountPerProducer = 1000;
+        final List<CompletableFuture<Void>> producers = new ArrayList<>();
+        for (int i = 0; i < producerCount; i++) {
+            producers.add(CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < eventCountPerProducer; j++) {
+                    eventBus.publish(new TestEvent(j % 10));
+                }
+            }));
+        }
+        CompletableFuture.allOf(producers.toArray(new CompletableFuture[0])).join();
+        assertThat(eventBus.size()).isEqualTo(producerCount * eventCountPerProducer);
+
+        final int[] polledCount = {0};
+        await().atMost(Duration.ofSeconds(2))
+                .until(() -> {
+                    Optional<TestEvent> event;
+                    while ((event = eventBus.poll()).isPresent()) {
+                        polledCount[0]++;
+                    }
+                    return eventBus.isEmpty();
+                });
+        assertThat(polledCount[0]).isEqualTo(producerCount * eventCountPerProducer);
+    }
+
+    @Test
+    void testInvalidWheelSize() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TestEventBus(10, 3));
+    }
+
+    private static class TestEvent extends AbstractDelayEvent {
+
+        TestEvent(long delayTime) {
+            super(delayTime);
+        }
+    }
+
+    private static class TestEventBus extends AbstractTimingWheelDelayEventBus<TestEvent> {
+
+        TestEventBus() {
+            super();
+        }
+
+        TestEventBus(long tickDurationMills, int wheelSize) {
+            super(tickDurationMills, wheelSize);
+        }
+    }
+}
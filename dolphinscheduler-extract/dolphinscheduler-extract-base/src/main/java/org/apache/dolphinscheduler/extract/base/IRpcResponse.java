@@ -23,8 +23,11 @@ public interface IRpcResponse {
 
     String getMessage();
 
-    byte[] getBody();
-
-    byte[] toBytes();
+    /**
+     * Deserialize the body of the response, which is the result of the rpc method.
+     *
+     * @return null if the rpc method returns nothing
+     */
+    <T> T getBody(Class<T> bodyType);
 
 }
@@ -17,12 +17,17 @@
 
 package org.apache.dolphinscheduler.extract.base;
 
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.ISerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * The body of the request transporter serialized by {@link org.apache.dolphinscheduler.extract.base.serialize.JsonRpcSerializer},
+ * each arg is serialized separately, see {@link ISerializer#serializeArgs(Object[])}.
+ */
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -33,13 +38,17 @@ public class StandardRpcRequest implements IRpcRequest {
     private Class<?>[] argsTypes;
 
     public static StandardRpcRequest of(Object[] args) {
+        return of(args, SerializerType.JSON.getSerializer());
+    }
+
+    public static StandardRpcRequest of(Object[] args, ISerializer serializer) {
         if (args == null || args.length == 0) {
             return new StandardRpcRequest(null, null);
         }
         final byte[][] argsBytes = new byte[args.length][];
         final Class<?>[] argsTypes = new Class[args.length];
         for (int i = 0; i < args.length; i++) {
-            argsBytes[i] = JsonSerializer.serialize(args[i]);
+            argsBytes[i] = serializer.serialize(args[i]);
             argsTypes[i] = args[i] == null ? null : args[i].getClass();
         }
         return new StandardRpcRequest(argsBytes, argsTypes);
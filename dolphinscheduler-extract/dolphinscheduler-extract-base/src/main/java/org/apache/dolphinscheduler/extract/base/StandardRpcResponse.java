@@ -17,10 +17,14 @@
 
 package org.apache.dolphinscheduler.extract.base;
 
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
 
 import lombok.Data;
 
+/**
+ * The response written by {@link org.apache.dolphinscheduler.extract.base.serialize.JsonRpcSerializer}, the result is
+ * serialized separately in this format, so the old peers can deserialize it.
+ */
 @Data
 public class StandardRpcResponse implements IRpcResponse {
 
@@ -48,7 +52,10 @@ public class StandardRpcResponse implements IRpcResponse {
     }
 
     @Override
-    public byte[] toBytes() {
-        return JsonSerializer.serialize(this);
+    public <T> T getBody(Class<T> bodyType) {
+        if (body == null) {
+            return null;
+        }
+        return SerializerType.JSON.getSerializer().deserialize(body, bodyType);
     }
 }
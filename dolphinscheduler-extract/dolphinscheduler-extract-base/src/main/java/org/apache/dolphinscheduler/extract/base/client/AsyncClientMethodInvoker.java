@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.client;
+
+import org.apache.dolphinscheduler.extract.base.RpcMethod;
+import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
+import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
+import org.apache.dolphinscheduler.extract.base.serialize.ISerializer;
+import org.apache.dolphinscheduler.extract.base.utils.Host;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Used to invoke the {@link RpcMethod} which return {@link CompletableFuture}, the caller thread will not be blocked,
+ * the returned future will be completed in the netty event loop.
+ */
+class AsyncClientMethodInvoker extends AbstractClientMethodInvoker {
+
+    private final Class<?> responseClass;
+
+    AsyncClientMethodInvoker(Host serverHost, Method localMethod, NettyRemotingClient nettyRemotingClient) {
+        super(serverHost, localMethod, nettyRemotingClient);
+        this.responseClass = getResponseClass(localMethod);
+    }
+
+    static boolean isAsyncMethod(Method method) {
+        return CompletableFuture.class.equals(method.getReturnType());
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        RpcMethod rpcMethod = method.getAnnotation(RpcMethod.class);
+        ISerializer serializer = nettyRemotingClient.getSerializer(serverHost);
+        Transporter transporter = Transporter.of(
+                TransporterHeader.of(methodIdentifier),
+                args,
+                serializer);
+
+        return nettyRemotingClient.sendAsync(serverHost, transporter, rpcMethod.timeout())
+                .thenApply(iRpcResponse -> {
+                    if (!iRpcResponse.isSuccess()) {
+                        throw MethodInvocationException.of(iRpcResponse.getMessage());
+                    }
+                    return iRpcResponse.getBody(responseClass);
+                });
+    }
+
+    private static Class<?> getResponseClass(Method method) {
+        Type returnType = method.getGenericReturnType();
+        if (!(returnType instanceof ParameterizedType)) {
+            return Object.class;
+        }
+        Type responseType = ((ParameterizedType) returnType).getActualTypeArguments()[0];
+        if (responseType instanceof Class) {
+            return (Class<?>) responseType;
+        }
+        if (responseType instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) responseType).getRawType();
+        }
+        return Object.class;
+    }
+}
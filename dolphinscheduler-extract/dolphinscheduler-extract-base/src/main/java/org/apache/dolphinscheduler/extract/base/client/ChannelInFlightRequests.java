@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.client;
+
+import org.apache.dolphinscheduler.extract.base.future.ReleaseSemaphore;
+import org.apache.dolphinscheduler.extract.base.future.ResponseFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+
+/**
+ * The requests which are sent through a channel and are still waiting for the response.
+ * <p> The count of in-flight requests is limited by {@code maxInFlightRequests}, once the limit is reached, the new
+ * request will be rejected rather than be blocked.
+ */
+class ChannelInFlightRequests {
+
+    private static final AttributeKey<ChannelInFlightRequests> IN_FLIGHT_REQUESTS_KEY =
+            AttributeKey.valueOf("inFlightRequests");
+
+    private final Map<Long, ResponseFuture> responseFutures = new ConcurrentHashMap<>();
+
+    private final Semaphore semaphore;
+
+    private final int maxInFlightRequests;
+
+    private ChannelInFlightRequests(int maxInFlightRequests) {
+        this.maxInFlightRequests = maxInFlightRequests;
+        this.semaphore = new Semaphore(maxInFlightRequests);
+    }
+
+    static void bind(Channel channel, int maxInFlightRequests) {
+        channel.attr(IN_FLIGHT_REQUESTS_KEY).set(new ChannelInFlightRequests(maxInFlightRequests));
+    }
+
+    static ChannelInFlightRequests of(Channel channel) {
+        return channel.attr(IN_FLIGHT_REQUESTS_KEY).get();
+    }
+
+    /**
+     * Add the request into the in-flight requests, the request will be removed once it is completed.
+     *
+     * @return false if the in-flight requests exceed {@link #getMaxInFlightRequests()}.
+     */
+    boolean add(ResponseFuture responseFuture) {
+        if (!semaphore.tryAcquire()) {
+            return false;
+        }
+        final ReleaseSemaphore releaseSemaphore = new ReleaseSemaphore(semaphore);
+        responseFutures.put(responseFuture.getOpaque(), responseFuture);
+        responseFuture.whenComplete((response, throwable) -> {
+            responseFutures.remove(responseFuture.getOpaque());
+            releaseSemaphore.release();
+        });
+        return true;
+    }
+
+    ResponseFuture get(long opaque) {
+        return responseFutures.get(opaque);
+    }
+
+    /**
+     * Fail all the in-flight requests, used when the channel is inactive, so the caller doesn't need to wait until
+     * timeout.
+     */
+    void failAll(Throwable cause) {
+        List<ResponseFuture> inFlightFutures = new ArrayList<>(responseFutures.values());
+        for (ResponseFuture responseFuture : inFlightFutures) {
+            responseFuture.putCause(cause);
+        }
+    }
+
+    int size() {
+        return responseFutures.size();
+    }
+
+    int getMaxInFlightRequests() {
+        return maxInFlightRequests;
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.client;
+
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
+import org.apache.dolphinscheduler.extract.base.serialize.ISerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
+
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+
+/**
+ * The serializer used to send the requests through a channel.
+ * <p> Each channel starts with {@link SerializerType#JSON} which all the servers support, and switches to the
+ * serializer advertised by {@link TransporterHeader#getPreferredSerializerVersion()} of the response, so the old
+ * servers which don't advertise any serializer keep receiving the json requests during the rolling upgrade.
+ */
+final class ChannelSerializer {
+
+    private static final AttributeKey<ISerializer> SERIALIZER_KEY = AttributeKey.valueOf("serializer");
+
+    private ChannelSerializer() {
+    }
+
+    static ISerializer of(Channel channel) {
+        final ISerializer serializer = channel.attr(SERIALIZER_KEY).get();
+        return serializer == null ? SerializerType.JSON.getSerializer() : serializer;
+    }
+
+    /**
+     * Switch to the serializer advertised by the server, the unknown serializer e.g. advertised by a newer server is
+     * ignored.
+     */
+    static void negotiate(Channel channel, TransporterHeader responseHeader) {
+        final Byte preferredSerializerVersion = responseHeader.getPreferredSerializerVersion();
+        if (preferredSerializerVersion == null) {
+            return;
+        }
+        SerializerType.findSerializer(preferredSerializerVersion)
+                .ifPresent(serializer -> channel.attr(SERIALIZER_KEY).set(serializer));
+    }
+
+}
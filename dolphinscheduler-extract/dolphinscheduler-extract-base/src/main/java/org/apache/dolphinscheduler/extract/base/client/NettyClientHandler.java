@@ -17,14 +17,15 @@
 
 package org.apache.dolphinscheduler.extract.base.client;
 
-import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
+import org.apache.dolphinscheduler.extract.base.IRpcResponse;
+import org.apache.dolphinscheduler.extract.base.exception.RemotingException;
 import org.apache.dolphinscheduler.extract.base.future.ResponseFuture;
 import org.apache.dolphinscheduler.extract.base.protocal.HeartBeatTransporter;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
 import org.apache.dolphinscheduler.extract.base.utils.ChannelUtils;
 
 import lombok.extern.slf4j.Slf4j;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
@@ -43,24 +44,41 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
 
     @Override
     public void channelInactive(ChannelHandlerContext ctx) {
+        ChannelInFlightRequests channelInFlightRequests = ChannelInFlightRequests.of(ctx.channel());
+        if (channelInFlightRequests != null) {
+            channelInFlightRequests.failAll(
+                    new RemotingException("The channel: " + ctx.channel() + " is inactive"));
+        }
         nettyRemotingClient.closeChannel(ChannelUtils.toAddress(ctx.channel()));
         ctx.channel().close();
     }
 
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) {
-        processReceived((Transporter) msg);
+        processReceived(ctx.channel(), (Transporter) msg);
     }
 
-    private void processReceived(final Transporter transporter) {
-        ResponseFuture future = ResponseFuture.getFuture(transporter.getHeader().getOpaque());
-        if (future == null) {
-            log.warn("Cannot find the ResponseFuture if transporter: {}", transporter);
-            return;
+    private void processReceived(final Channel channel, final Transporter transporter) {
+        try {
+            ChannelSerializer.negotiate(channel, transporter.getHeader());
+            ChannelInFlightRequests channelInFlightRequests = ChannelInFlightRequests.of(channel);
+            ResponseFuture future = channelInFlightRequests == null ? null
+                    : channelInFlightRequests.get(transporter.getHeader().getOpaque());
+            if (future == null) {
+                log.warn("Cannot find the ResponseFuture if transporter: {}", transporter);
+                return;
+            }
+            final IRpcResponse iRpcResponse;
+            try {
+                iRpcResponse = transporter.getSerializer().deserializeResponse(transporter.getBody());
+            } catch (IllegalArgumentException e) {
+                future.putCause(new RemotingException("Deserialize the response: " + transporter + " failed", e));
+                return;
+            }
+            future.putResponse(iRpcResponse);
+        } finally {
+            transporter.releaseBody();
         }
-        StandardRpcResponse deserialize = JsonSerializer.deserialize(transporter.getBody(), StandardRpcResponse.class);
-        future.setIRpcResponse(deserialize);
-        future.putResponse(deserialize);
     }
 
     @Override
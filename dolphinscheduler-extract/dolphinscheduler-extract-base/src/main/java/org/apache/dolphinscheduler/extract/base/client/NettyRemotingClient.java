@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.extract.base.SyncRequestDto;
 import org.apache.dolphinscheduler.extract.base.config.NettyClientConfig;
 import org.apache.dolphinscheduler.extract.base.exception.RemotingException;
 import org.apache.dolphinscheduler.extract.base.exception.RemotingTimeoutException;
+import org.apache.dolphinscheduler.extract.base.exception.RemotingTooMuchRequestException;
 import org.apache.dolphinscheduler.extract.base.future.ResponseFuture;
 import org.apache.dolphinscheduler.extract.base.metrics.ClientSyncDurationMetrics;
 import org.apache.dolphinscheduler.extract.base.metrics.ClientSyncExceptionMetrics;
@@ -30,12 +31,16 @@ import org.apache.dolphinscheduler.extract.base.metrics.RpcMetrics;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterDecoder;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterEncoder;
+import org.apache.dolphinscheduler.extract.base.serialize.ISerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
 import org.apache.dolphinscheduler.extract.base.utils.NettyUtils;
 
 import java.net.InetSocketAddress;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -53,6 +58,8 @@ import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
 
 @Slf4j
 public class NettyRemotingClient implements AutoCloseable {
@@ -60,7 +67,11 @@ public class NettyRemotingClient implements AutoCloseable {
     private final Bootstrap bootstrap = new Bootstrap();
 
     private final ReentrantLock channelsLock = new ReentrantLock();
-    private final Map<Host, Channel> channels = new ConcurrentHashMap<>();
+
+    /**
+     * Host -> the connect future of the channel to the host, the requests sent during connecting share the same future.
+     */
+    private final Map<Host, ChannelFuture> channels = new ConcurrentHashMap<>();
 
     private final AtomicBoolean isStarted = new AtomicBoolean(false);
 
@@ -70,6 +81,13 @@ public class NettyRemotingClient implements AutoCloseable {
 
     private final NettyClientHandler clientHandler;
 
+    /**
+     * The timeout wheel used to fail the in-flight requests which don't receive response in time.
+     */
+    private final HashedWheelTimer responseTimeoutTimer;
+
+    private static final long RESPONSE_TIMEOUT_TICK_MILLIS = 10;
+
     public NettyRemotingClient(final NettyClientConfig clientConfig) {
         this.clientConfig = clientConfig;
         ThreadFactory nettyClientThreadFactory = ThreadUtils.newDaemonThreadFactory("NettyClientThread-");
@@ -79,6 +97,10 @@ public class NettyRemotingClient implements AutoCloseable {
             this.workerGroup = new NioEventLoopGroup(clientConfig.getWorkerThreads(), nettyClientThreadFactory);
         }
         this.clientHandler = new NettyClientHandler(this);
+        this.responseTimeoutTimer = new HashedWheelTimer(
+                ThreadUtils.newDaemonThreadFactory("NettyClientResponseTimeoutTimer-"),
+                RESPONSE_TIMEOUT_TICK_MILLIS,
+                TimeUnit.MILLISECONDS);
 
         this.start();
     }
@@ -97,6 +119,7 @@ public class NettyRemotingClient implements AutoCloseable {
 
                     @Override
                     public void initChannel(SocketChannel ch) {
+                        ChannelInFlightRequests.bind(ch, clientConfig.getMaxInFlightRequestsPerChannel());
                         ch.pipeline()
                                 .addLast("client-idle-handler",
                                         new IdleStateHandler(
@@ -110,53 +133,44 @@ public class NettyRemotingClient implements AutoCloseable {
         isStarted.compareAndSet(false, true);
     }
 
+    /**
+     * The serializer used to serialize the request to the given host, the server always replies with the serializer
+     * of the request.
+     * <p> It's negotiated by the channel to the host, see {@link ChannelSerializer}, and falls back to json if there
+     * is no active channel yet.
+     */
+    public ISerializer getSerializer(Host host) {
+        final ChannelFuture channelFuture = channels.get(host);
+        if (channelFuture == null || !channelFuture.isSuccess() || !channelFuture.channel().isActive()) {
+            return SerializerType.JSON.getSerializer();
+        }
+        return ChannelSerializer.of(channelFuture.channel());
+    }
+
     public IRpcResponse sendSync(SyncRequestDto syncRequestDto) throws RemotingException {
         long start = System.currentTimeMillis();
 
         final Host host = syncRequestDto.getServerHost();
         final Transporter transporter = syncRequestDto.getTransporter();
-        final long timeoutMillis = syncRequestDto.getTimeoutMillis() < 0 ? clientConfig.getConnectTimeoutMillis()
-                : syncRequestDto.getTimeoutMillis();
-        final long opaque = transporter.getHeader().getOpaque();
 
         try {
-            final Channel channel = getOrCreateChannel(host);
-            if (channel == null) {
-                throw new RemotingException(String.format("connect to : %s fail", host));
-            }
-            final ResponseFuture responseFuture = new ResponseFuture(opaque, timeoutMillis);
-            channel.writeAndFlush(transporter).addListener(future -> {
-                if (future.isSuccess()) {
-                    responseFuture.setSendOk(true);
-                    return;
-                } else {
-                    responseFuture.setSendOk(false);
-                }
-                responseFuture.setCause(future.cause());
-                responseFuture.putResponse(null);
-                log.error("Send Sync request {} to host {} failed", transporter, host, responseFuture.getCause());
-            });
             /*
-             * sync wait for result
+             * sync wait for result, the future will always be completed by the response or the timeout wheel
              */
-            IRpcResponse iRpcResponse = responseFuture.waitResponse();
-            if (iRpcResponse == null) {
-                if (responseFuture.isSendOK()) {
-                    throw new RemotingTimeoutException(host.toString(), timeoutMillis, responseFuture.getCause());
-                } else {
-                    throw new RemotingException(host.toString(), responseFuture.getCause());
-                }
-            }
-            return iRpcResponse;
+            return sendAsync(host, transporter, syncRequestDto.getTimeoutMillis()).get();
         } catch (Exception ex) {
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            final Throwable cause = ex instanceof ExecutionException ? ex.getCause() : ex;
             ClientSyncExceptionMetrics clientSyncExceptionMetrics = ClientSyncExceptionMetrics
                     .of(syncRequestDto)
-                    .withThrowable(ex);
+                    .withThrowable(cause);
             RpcMetrics.recordClientSyncRequestException(clientSyncExceptionMetrics);
-            if (ex instanceof RemotingException) {
-                throw (RemotingException) ex;
+            if (cause instanceof RemotingException) {
+                throw (RemotingException) cause;
             } else {
-                throw new RemotingException(ex);
+                throw new RemotingException(cause);
             }
         } finally {
             ClientSyncDurationMetrics clientSyncDurationMetrics = ClientSyncDurationMetrics
@@ -166,44 +180,125 @@ public class NettyRemotingClient implements AutoCloseable {
         }
     }
 
-    Channel getOrCreateChannel(Host host) {
-        Channel channel = channels.get(host);
-        if (channel != null && channel.isActive()) {
-            return channel;
+    /**
+     * Send the request without blocking the caller thread.
+     * <p> If there is no active channel to the host, the connection is established in the netty event loop and the
+     * request is sent once connected, the caller thread never waits for the connection.
+     * <p> The returned future will be completed in the netty event loop once the response is received, or be
+     * completed exceptionally with {@link RemotingTimeoutException} by the timeout wheel, with
+     * {@link RemotingTooMuchRequestException} if the in-flight requests of the channel exceed
+     * {@link NettyClientConfig#getMaxInFlightRequestsPerChannel()}, or with {@link RemotingException} if the request
+     * cannot be sent.
+     *
+     * @param timeoutMillis the timeout of the request including the time to connect, if less than 0 will use the
+     *                      connect timeout.
+     */
+    public CompletableFuture<IRpcResponse> sendAsync(final Host host,
+                                                     final Transporter transporter,
+                                                     final long timeoutMillis) {
+        final long requestTimeoutMillis = timeoutMillis < 0 ? clientConfig.getConnectTimeoutMillis() : timeoutMillis;
+        final ResponseFuture responseFuture =
+                new ResponseFuture(transporter.getHeader().getOpaque(), requestTimeoutMillis);
+
+        final ChannelFuture channelFuture;
+        try {
+            channelFuture = getOrCreateChannel(host);
+        } catch (Exception ex) {
+            responseFuture.putCause(new RemotingException(String.format("connect to : %s fail", host), ex));
+            return responseFuture;
+        }
+
+        final Timeout timeout = responseTimeoutTimer.newTimeout(
+                t -> responseFuture.putCause(new RemotingTimeoutException(host.toString(), requestTimeoutMillis)),
+                requestTimeoutMillis,
+                TimeUnit.MILLISECONDS);
+        responseFuture.whenComplete((response, throwable) -> timeout.cancel());
+
+        if (channelFuture.isDone()) {
+            // The channel is connected, send in the caller thread directly rather than scheduling to the event loop
+            send(host, channelFuture, transporter, responseFuture);
+        } else {
+            channelFuture.addListener(future -> send(host, channelFuture, transporter, responseFuture));
+        }
+        return responseFuture;
+    }
+
+    private void send(final Host host,
+                      final ChannelFuture channelFuture,
+                      final Transporter transporter,
+                      final ResponseFuture responseFuture) {
+        if (!channelFuture.isSuccess()) {
+            responseFuture.putCause(
+                    new RemotingException(String.format("connect to : %s fail", host), channelFuture.cause()));
+            return;
+        }
+        if (responseFuture.isDone()) {
+            // The request is timeout during connecting
+            return;
+        }
+        final Channel channel = channelFuture.channel();
+        final ChannelInFlightRequests channelInFlightRequests = ChannelInFlightRequests.of(channel);
+        if (!channelInFlightRequests.add(responseFuture)) {
+            responseFuture.putCause(new RemotingTooMuchRequestException(
+                    String.format("The in-flight requests to %s exceed the limit: %s",
+                            host, channelInFlightRequests.getMaxInFlightRequests())));
+            return;
+        }
+        channel.writeAndFlush(transporter).addListener(future -> {
+            if (future.isSuccess()) {
+                return;
+            }
+            log.error("Send request {} to host {} failed", transporter, host, future.cause());
+            responseFuture.putCause(new RemotingException(host.toString(), future.cause()));
+        });
+    }
+
+    /**
+     * Get the connect future of the channel to the host, a new connection is created if there is no active or
+     * connecting channel, the future might not be completed.
+     */
+    ChannelFuture getOrCreateChannel(Host host) {
+        ChannelFuture channelFuture = channels.get(host);
+        if (isActiveOrConnecting(channelFuture)) {
+            return channelFuture;
         }
         try {
             channelsLock.lock();
-            channel = channels.get(host);
-            if (channel != null && channel.isActive()) {
-                return channel;
+            channelFuture = channels.get(host);
+            if (isActiveOrConnecting(channelFuture)) {
+                return channelFuture;
             }
-            channel = createChannel(host);
-            channels.put(host, channel);
+            channelFuture = createChannel(host);
+            channels.put(host, channelFuture);
         } finally {
             channelsLock.unlock();
         }
-        return channel;
+        return channelFuture;
+    }
+
+    private boolean isActiveOrConnecting(ChannelFuture channelFuture) {
+        if (channelFuture == null) {
+            return false;
+        }
+        return !channelFuture.isDone() || (channelFuture.isSuccess() && channelFuture.channel().isActive());
     }
 
     /**
-     * create channel
+     * Connect to the host without waiting for the connection, the failed connection is removed so the next request
+     * will connect again.
      *
      * @param host host
-     * @return channel
+     * @return the connect future of the channel
      */
-    Channel createChannel(Host host) {
-        try {
-            ChannelFuture future = bootstrap.connect(new InetSocketAddress(host.getIp(), host.getPort()));
-            future = future.sync();
-            if (future.isSuccess()) {
-                return future.channel();
-            } else {
-                throw new IllegalArgumentException("connect to host: " + host + " failed", future.cause());
+    ChannelFuture createChannel(Host host) {
+        final ChannelFuture channelFuture = bootstrap.connect(new InetSocketAddress(host.getIp(), host.getPort()));
+        channelFuture.addListener(future -> {
+            if (!future.isSuccess()) {
+                log.warn("Connect to host: {} failed", host, future.cause());
+                channels.remove(host, channelFuture);
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Connect to host: " + host + " failed", e);
-        }
+        });
+        return channelFuture;
     }
 
     @Override
@@ -211,6 +306,7 @@ public class NettyRemotingClient implements AutoCloseable {
         if (isStarted.compareAndSet(true, false)) {
             try {
                 closeChannels();
+                responseTimeoutTimer.stop();
                 if (workerGroup != null) {
                     this.workerGroup.shutdownGracefully();
                 }
@@ -224,7 +320,7 @@ public class NettyRemotingClient implements AutoCloseable {
     private void closeChannels() {
         try {
             channelsLock.lock();
-            channels.values().forEach(Channel::close);
+            channels.values().forEach(channelFuture -> channelFuture.channel().close());
         } finally {
             channelsLock.unlock();
         }
@@ -233,9 +329,9 @@ public class NettyRemotingClient implements AutoCloseable {
     public void closeChannel(Host host) {
         try {
             channelsLock.lock();
-            Channel channel = this.channels.remove(host);
-            if (channel != null) {
-                channel.close();
+            ChannelFuture channelFuture = this.channels.remove(host);
+            if (channelFuture != null) {
+                channelFuture.channel().close();
             }
         } finally {
             channelsLock.unlock();
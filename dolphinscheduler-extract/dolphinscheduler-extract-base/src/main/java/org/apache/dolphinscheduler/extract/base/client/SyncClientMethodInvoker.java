@@ -19,12 +19,11 @@ package org.apache.dolphinscheduler.extract.base.client;
 
 import org.apache.dolphinscheduler.extract.base.IRpcResponse;
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
-import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
 import org.apache.dolphinscheduler.extract.base.SyncRequestDto;
 import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.ISerializer;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
 
 import java.lang.reflect.Method;
@@ -38,9 +37,11 @@ class SyncClientMethodInvoker extends AbstractClientMethodInvoker {
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
         RpcMethod sync = method.getAnnotation(RpcMethod.class);
-        Transporter transporter = new Transporter();
-        transporter.setBody(JsonSerializer.serialize(StandardRpcRequest.of(args)));
-        transporter.setHeader(TransporterHeader.of(methodIdentifier));
+        ISerializer serializer = nettyRemotingClient.getSerializer(serverHost);
+        Transporter transporter = Transporter.of(
+                TransporterHeader.of(methodIdentifier),
+                args,
+                serializer);
 
         SyncRequestDto syncRequestDto = SyncRequestDto.builder()
                 .timeoutMillis(sync.timeout())
@@ -51,10 +52,6 @@ class SyncClientMethodInvoker extends AbstractClientMethodInvoker {
         if (!iRpcResponse.isSuccess()) {
             throw MethodInvocationException.of(iRpcResponse.getMessage());
         }
-        if (iRpcResponse.getBody() == null) {
-            return null;
-        }
-        Class<?> responseClass = method.getReturnType();
-        return JsonSerializer.deserialize(iRpcResponse.getBody(), responseClass);
+        return iRpcResponse.getBody(method.getReturnType());
     }
 }
@@ -76,4 +76,11 @@ public class NettyClientConfig {
     @Builder.Default
     private int defaultRpcTimeoutMillis = 10_000;
 
+    /**
+     * The max requests which are waiting for the response in each channel, the new request will fail with
+     * {@link org.apache.dolphinscheduler.extract.base.exception.RemotingTooMuchRequestException} once exceeded.
+     */
+    @Builder.Default
+    private int maxInFlightRequestsPerChannel = 1024;
+
 }
@@ -17,6 +17,8 @@
 
 package org.apache.dolphinscheduler.extract.base.config;
 
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
+
 import java.time.Duration;
 
 import lombok.AllArgsConstructor;
@@ -79,4 +81,11 @@ public class NettyServerConfig {
      */
     private int listenPort;
 
+    /**
+     * The serializer which the clients are asked to use, it is advertised in each response, the clients keep using
+     * {@link SerializerType#JSON} until they receive the advertisement, and the old clients always use json.
+     */
+    @Builder.Default
+    private SerializerType serializerType = SerializerType.JSON;
+
 }
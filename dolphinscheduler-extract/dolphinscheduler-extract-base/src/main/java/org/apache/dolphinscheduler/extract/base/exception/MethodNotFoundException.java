@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.exception;
+
+/**
+ * Thrown when the server doesn't provide the invoked method, e.g. the server is an older version which doesn't have the
+ * method yet, the caller can fall back to the method which is provided by the older version.
+ */
+public class MethodNotFoundException extends MethodInvocationException {
+
+    public static final String MESSAGE_PREFIX = "Cannot find the ServerMethodInvoker of ";
+
+    public MethodNotFoundException(String message) {
+        super(message);
+    }
+
+    public static boolean isMethodNotFoundMessage(String message) {
+        return message != null && message.startsWith(MESSAGE_PREFIX);
+    }
+
+}
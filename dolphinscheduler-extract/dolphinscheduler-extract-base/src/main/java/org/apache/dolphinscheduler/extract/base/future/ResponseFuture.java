@@ -19,90 +19,41 @@ package org.apache.dolphinscheduler.extract.base.future;
 
 import org.apache.dolphinscheduler.extract.base.IRpcResponse;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
 
 import lombok.Getter;
-import lombok.Setter;
 import lombok.ToString;
-import lombok.extern.slf4j.Slf4j;
 
-@ToString
-@Slf4j
-public class ResponseFuture {
-
-    private static final ConcurrentHashMap<Long, ResponseFuture> FUTURE_TABLE = new ConcurrentHashMap<>();
+/**
+ * The future of a rpc request, will be completed by the netty event loop once the response is received, or by the
+ * timeout wheel of the client if the response is not received in {@link #getTimeoutMillis()}.
+ * <p> Don't do blocking operation in the callback of the future, since the callback might be executed in the netty
+ * event loop.
+ */
+@Getter
+@ToString(callSuper = false, onlyExplicitlyIncluded = true)
+public class ResponseFuture extends CompletableFuture<IRpcResponse> {
 
+    @ToString.Include
     private final long opaque;
 
-    // remove the timeout
+    @ToString.Include
     private final long timeoutMillis;
 
-    private final CountDownLatch latch = new CountDownLatch(1);
-
+    @ToString.Include
     private final long beginTimestamp = System.currentTimeMillis();
 
-    @Getter
-    @Setter
-    private IRpcResponse iRpcResponse;
-
-    private volatile boolean sendOk = true;
-
-    private Throwable cause;
-
     public ResponseFuture(long opaque, long timeoutMillis) {
         this.opaque = opaque;
         this.timeoutMillis = timeoutMillis;
-        FUTURE_TABLE.put(opaque, this);
-    }
-
-    /**
-     * wait for response
-     *
-     * @return command
-     */
-    public IRpcResponse waitResponse() throws InterruptedException {
-        if (!latch.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
-            log.warn("Wait response in {}/ms timeout, request id {}", timeoutMillis, opaque);
-        }
-        return this.iRpcResponse;
-    }
-
-    public void putResponse(final IRpcResponse iRpcResponse) {
-        this.iRpcResponse = iRpcResponse;
-        this.latch.countDown();
-        FUTURE_TABLE.remove(opaque);
-    }
-
-    public static ResponseFuture getFuture(long opaque) {
-        return FUTURE_TABLE.get(opaque);
-    }
-
-    /**
-     * whether timeout
-     *
-     * @return timeout
-     */
-    public boolean isTimeout() {
-        long diff = System.currentTimeMillis() - this.beginTimestamp;
-        return diff > this.timeoutMillis;
-    }
-
-    public boolean isSendOK() {
-        return sendOk;
-    }
-
-    public void setSendOk(boolean sendOk) {
-        this.sendOk = sendOk;
     }
 
-    public void setCause(Throwable cause) {
-        this.cause = cause;
+    public boolean putResponse(final IRpcResponse iRpcResponse) {
+        return complete(iRpcResponse);
     }
 
-    public Throwable getCause() {
-        return cause;
+    public boolean putCause(final Throwable cause) {
+        return completeExceptionally(cause);
     }
 
 }
@@ -17,14 +17,15 @@
 
 package org.apache.dolphinscheduler.extract.base.protocal;
 
-import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
 
 public class HeartBeatTransporter extends Transporter {
 
     public static final String METHOD_IDENTIFY = "HEART_BEAT";
 
     private static final Transporter HEART_BEAT_TRANSPORTER =
-            of(TransporterHeader.of(METHOD_IDENTIFY), new StandardRpcResponse());
+            of(TransporterHeader.of(METHOD_IDENTIFY),
+                    SerializerType.JSON.getSerializer().serializeSuccessResponse(null));
 
     public static Transporter getHeartBeatTransporter() {
         return HEART_BEAT_TRANSPORTER;
@@ -17,14 +17,16 @@
 
 package org.apache.dolphinscheduler.extract.base.protocal;
 
-import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
-import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.ISerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
 
 import java.io.Serializable;
 
 import lombok.Data;
 import lombok.NonNull;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.ReferenceCountUtil;
 
 @Data
 public class Transporter implements Serializable {
@@ -32,24 +34,52 @@ public class Transporter implements Serializable {
     private static final long serialVersionUID = -1L;
 
     public static final byte MAGIC = (byte) 0xbabe;
+
+    /**
+     * The default version, the version is used to identify the {@link ISerializer} of the header and body.
+     */
     public static final byte VERSION = 0;
 
+    private byte version = VERSION;
     private TransporterHeader header;
-    private byte[] body;
 
-    public static Transporter of(@NonNull TransporterHeader header, StandardRpcResponse iRpcResponse) {
-        return of(header, JsonSerializer.serialize(iRpcResponse));
-    }
+    /**
+     * The body of the transporter, the received transporter holds a retained slice of the received buffer, which
+     * should be released by {@link #releaseBody()} once the body is deserialized.
+     */
+    private ByteBuf body;
 
-    public static Transporter of(@NonNull TransporterHeader header, StandardRpcRequest iRpcRequest) {
-        return of(header, JsonSerializer.serialize(iRpcRequest));
+    /**
+     * Create the request transporter, the args are serialized by {@link ISerializer#serializeArgs(Object[])}.
+     */
+    public static Transporter of(@NonNull TransporterHeader header,
+                                 Object[] args,
+                                 @NonNull ISerializer serializer) {
+        return of(header, serializer.serializeArgs(args), serializer.getVersion());
     }
 
     public static Transporter of(@NonNull TransporterHeader header, byte[] body) {
+        return of(header, body, VERSION);
+    }
+
+    public static Transporter of(@NonNull TransporterHeader header, byte[] body, byte version) {
+        return of(header, Unpooled.wrappedBuffer(body), version);
+    }
+
+    public static Transporter of(@NonNull TransporterHeader header, ByteBuf body, byte version) {
         Transporter transporter = new Transporter();
+        transporter.setVersion(version);
         transporter.setHeader(header);
         transporter.setBody(body);
         return transporter;
     }
 
+    public ISerializer getSerializer() {
+        return SerializerType.getSerializer(version);
+    }
+
+    public void releaseBody() {
+        ReferenceCountUtil.safeRelease(body);
+    }
+
 }
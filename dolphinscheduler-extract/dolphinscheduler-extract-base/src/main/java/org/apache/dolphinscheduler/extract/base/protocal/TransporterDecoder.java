@@ -17,7 +17,8 @@
 
 package org.apache.dolphinscheduler.extract.base.protocal;
 
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.ISerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
 
 import java.util.List;
 
@@ -33,10 +34,10 @@ public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.Stat
         super(State.MAGIC);
     }
 
+    private ISerializer serializer;
     private int headerLength;
-    private byte[] header;
+    private TransporterHeader header;
     private int bodyLength;
-    private byte[] body;
 
     @Override
     protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
@@ -45,23 +46,22 @@ public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.Stat
                 checkMagic(in.readByte());
                 checkpoint(State.VERSION);
             case VERSION:
-                checkVersion(in.readByte());
+                serializer = SerializerType.getSerializer(in.readByte());
                 checkpoint(State.HEADER_LENGTH);
             case HEADER_LENGTH:
                 headerLength = in.readInt();
                 checkpoint(State.HEADER);
             case HEADER:
-                header = new byte[headerLength];
-                in.readBytes(header);
+                // decode the header from the buffer directly, avoid copying to an intermediate byte array
+                header = serializer.deserialize(in.readSlice(headerLength), TransporterHeader.class);
                 checkpoint(State.BODY_LENGTH);
             case BODY_LENGTH:
                 bodyLength = in.readInt();
                 checkpoint(State.BODY);
             case BODY:
-                body = new byte[bodyLength];
-                in.readBytes(body);
+                // retain the body rather than copy it, the handler deserializes it from the buffer and releases it
                 Transporter transporter =
-                        Transporter.of(JsonSerializer.deserialize(header, TransporterHeader.class), body);
+                        Transporter.of(header, in.readRetainedSlice(bodyLength), serializer.getVersion());
                 out.add(transporter);
                 checkpoint(State.MAGIC);
                 break;
@@ -76,12 +76,6 @@ public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.Stat
         }
     }
 
-    private void checkVersion(byte version) {
-        if (version != Transporter.VERSION) {
-            throw new IllegalArgumentException("illegal protocol [version]" + version);
-        }
-    }
-
     enum State {
         MAGIC,
         VERSION,
@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.extract.base.protocal;
 
 import org.apache.dolphinscheduler.extract.base.exception.RemotingException;
+import org.apache.dolphinscheduler.extract.base.serialize.ISerializer;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandler.Sharable;
@@ -32,18 +33,20 @@ public class TransporterEncoder extends MessageToByteEncoder<Transporter> {
         if (transporter == null) {
             throw new RemotingException("encode msg is null");
         }
+        ISerializer serializer = transporter.getSerializer();
         out.writeByte(Transporter.MAGIC);
-        out.writeByte(Transporter.VERSION);
+        out.writeByte(serializer.getVersion());
 
         // write header
-        byte[] header = transporter.getHeader().toBytes();
+        byte[] header = serializer.serialize(transporter.getHeader());
         out.writeInt(header.length);
         out.writeBytes(header);
 
         // write body
-        byte[] body = transporter.getBody();
-        out.writeInt(body.length);
-        out.writeBytes(body);
+        // write the readable bytes without moving the reader index, the body might be shared e.g. the heartbeat
+        ByteBuf body = transporter.getBody();
+        out.writeInt(body.readableBytes());
+        out.writeBytes(body, body.readerIndex(), body.readableBytes());
     }
 
 }
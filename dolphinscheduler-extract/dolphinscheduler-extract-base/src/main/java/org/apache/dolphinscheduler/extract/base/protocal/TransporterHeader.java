@@ -17,8 +17,6 @@
 
 package org.apache.dolphinscheduler.extract.base.protocal;
 
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
-
 import java.io.Serializable;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -34,6 +32,13 @@ public class TransporterHeader implements Serializable {
     private String methodIdentifier;
     private long opaque;
 
+    /**
+     * The version of the serializer which the server asks the client to use for the following requests, only set in
+     * the response. The old peers ignore this field, so the client keeps using the default json serializer until the
+     * server advertises another one.
+     */
+    private Byte preferredSerializerVersion;
+
     // Used for JsonDeSerializer
     public TransporterHeader() {
 
@@ -56,8 +61,4 @@ public class TransporterHeader implements Serializable {
         return new TransporterHeader(opaque, methodIdentifier);
     }
 
-    public byte[] toBytes() {
-        return JsonSerializer.serialize(this);
-    }
-
 }
@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import static com.fasterxml.jackson.databind.DeserializationFeature.ACCEPT_EMPTY_ARRAY_AS_NULL_OBJECT;
+import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
+import static com.fasterxml.jackson.databind.DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL;
+import static com.fasterxml.jackson.databind.MapperFeature.REQUIRE_SETTERS_FOR_GETTERS;
+import static org.apache.dolphinscheduler.common.constants.DateConstants.YYYY_MM_DD_HH_MM_SS;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.extract.base.IRpcResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+
+/**
+ * The serializer based on jackson, all the jackson based serializers share the same mapper configuration, so the rpc
+ * request/response behaves the same no matter which data format is used.
+ */
+@Slf4j
+public abstract class AbstractJacksonSerializer implements ISerializer {
+
+    private final ObjectMapper objectMapper;
+
+    protected AbstractJacksonSerializer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    protected static <M extends ObjectMapper, B extends MapperBuilder<M, B>> B configure(B mapperBuilder) {
+        return mapperBuilder
+                .configure(FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .configure(ACCEPT_EMPTY_ARRAY_AS_NULL_OBJECT, true)
+                .configure(READ_UNKNOWN_ENUM_VALUES_AS_NULL, true)
+                .configure(REQUIRE_SETTERS_FOR_GETTERS, true)
+                .addModule(new SimpleModule()
+                        .addSerializer(LocalDateTime.class, new JSONUtils.LocalDateTimeSerializer())
+                        .addDeserializer(LocalDateTime.class, new JSONUtils.LocalDateTimeDeserializer()))
+                .defaultTimeZone(TimeZone.getDefault())
+                .defaultDateFormat(new SimpleDateFormat(YYYY_MM_DD_HH_MM_SS));
+    }
+
+    @Override
+    public <T> byte[] serialize(T obj) {
+        if (obj == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsBytes(obj);
+        } catch (IOException e) {
+            log.error("serialize exception!", e);
+            return null;
+        }
+    }
+
+    @Override
+    public <T> T deserialize(byte[] src, Class<T> clazz) {
+        if (src == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(src, clazz);
+        } catch (IOException e) {
+            log.error("deserialize exception!", e);
+            return null;
+        }
+    }
+
+    @Override
+    public <T> T deserialize(ByteBuf src, Class<T> clazz) {
+        if (src == null) {
+            return null;
+        }
+        try (InputStream inputStream = new ByteBufInputStream(src)) {
+            return objectMapper.readValue(inputStream, clazz);
+        } catch (IOException e) {
+            log.error("deserialize exception!", e);
+            return null;
+        }
+    }
+
+    /**
+     * Write the args as a flat array of {@code [argType0, arg0, argType1, arg1, ...]}, each arg is written into the
+     * body directly rather than be serialized to bytes first and then be wrapped again.
+     */
+    @Override
+    public byte[] serializeArgs(Object[] args) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.writeStartArray();
+            if (args != null) {
+                for (Object arg : args) {
+                    if (arg == null) {
+                        generator.writeNull();
+                        generator.writeNull();
+                        continue;
+                    }
+                    generator.writeString(arg.getClass().getName());
+                    generator.writeObject(arg);
+                }
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Serialize the rpc args failed", e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    @Override
+    public Object[] deserializeArgs(ByteBuf src) {
+        try (
+                InputStream inputStream = new ByteBufInputStream(src);
+                JsonParser parser = objectMapper.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("The rpc args should be an array");
+            }
+            final List<Object> args = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IllegalArgumentException("The rpc args are truncated");
+                }
+                final Class<?> argType = parser.readValueAs(Class.class);
+                parser.nextToken();
+                if (argType == null) {
+                    parser.skipChildren();
+                    args.add(null);
+                } else {
+                    args.add(objectMapper.readValue(parser, argType));
+                }
+            }
+            return args.isEmpty() ? null : args.toArray();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Deserialize the rpc args failed", e);
+        }
+    }
+
+    /**
+     * Write the response as {@code {"success": true, "body": result}}, the result is written into the body directly.
+     */
+    @Override
+    public byte[] serializeSuccessResponse(Object result) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            if (result != null) {
+                generator.writeFieldName("body");
+                generator.writeObject(result);
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Serialize the rpc response failed", e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    @Override
+    public byte[] serializeFailedResponse(String message) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.writeStartObject();
+            generator.writeBooleanField("success", false);
+            generator.writeStringField("message", message);
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Serialize the rpc response failed", e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * The body is kept as tokens until the caller tells its type, so it is parsed only once.
+     */
+    @Override
+    public IRpcResponse deserializeResponse(ByteBuf src) {
+        try (
+                InputStream inputStream = new ByteBufInputStream(src);
+                JsonParser parser = objectMapper.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("The rpc response should be an object");
+            }
+            boolean success = false;
+            String message = null;
+            TokenBuffer body = null;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_OBJECT) {
+                if (token == null) {
+                    throw new IllegalArgumentException("The rpc response is truncated");
+                }
+                final String fieldName = parser.getCurrentName();
+                parser.nextToken();
+                switch (fieldName) {
+                    case "success":
+                        success = parser.getBooleanValue();
+                        break;
+                    case "message":
+                        message = parser.getValueAsString();
+                        break;
+                    case "body":
+                        body = new TokenBuffer(parser);
+                        body.copyCurrentStructure(parser);
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            return new JacksonRpcResponse(success, message, body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Deserialize the rpc response failed", e);
+        }
+    }
+
+    @AllArgsConstructor
+    private class JacksonRpcResponse implements IRpcResponse {
+
+        private final boolean success;
+
+        private final String message;
+
+        private final TokenBuffer body;
+
+        @Override
+        public boolean isSuccess() {
+            return success;
+        }
+
+        @Override
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public <T> T getBody(Class<T> bodyType) {
+            if (body == null) {
+                return null;
+            }
+            try (JsonParser parser = body.asParser(objectMapper)) {
+                return objectMapper.readValue(parser, bodyType);
+            } catch (IOException e) {
+                log.error("deserialize exception!", e);
+                return null;
+            }
+        }
+    }
+
+}
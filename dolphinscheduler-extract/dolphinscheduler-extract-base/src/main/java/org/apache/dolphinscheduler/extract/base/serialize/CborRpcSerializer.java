@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * The binary serializer based on CBOR, the byte array fields e.g. the response body are written as raw bytes rather
+ * than base64 strings, and the field values are decoded without creating intermediate json strings.
+ * <p> The old peers don't know this serializer, so the client only uses it once the server advertises it by
+ * {@link org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader#getPreferredSerializerVersion()}.
+ */
+public class CborRpcSerializer extends AbstractJacksonSerializer {
+
+    public static final byte VERSION = 1;
+
+    public CborRpcSerializer() {
+        super(configure(CBORMapper.builder()).build());
+    }
+
+    @Override
+    public byte getVersion() {
+        return VERSION;
+    }
+}
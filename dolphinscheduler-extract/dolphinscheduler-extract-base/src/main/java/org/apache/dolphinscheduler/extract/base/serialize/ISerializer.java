@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import org.apache.dolphinscheduler.extract.base.IRpcResponse;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * The serializer used to serialize the header and body of the {@link org.apache.dolphinscheduler.extract.base.protocal.Transporter}.
+ * <p> Each serializer is identified by the version byte of the transporter, the server will use the serializer
+ * which the request used to serialize the response.
+ */
+public interface ISerializer {
+
+    /**
+     * The version byte written into the transporter, used to identify the serializer.
+     */
+    byte getVersion();
+
+    <T> byte[] serialize(T obj);
+
+    <T> T deserialize(byte[] src, Class<T> clazz);
+
+    /**
+     * Deserialize from the readable bytes of the given buffer, the reader index of the buffer will be moved.
+     */
+    <T> T deserialize(ByteBuf src, Class<T> clazz);
+
+    /**
+     * Serialize the args of the rpc method as the body of the request transporter.
+     */
+    byte[] serializeArgs(Object[] args);
+
+    /**
+     * Deserialize the args of the rpc method from the body of the request transporter.
+     *
+     * @return null if there is no args
+     * @throws IllegalArgumentException if the body cannot be deserialized
+     */
+    Object[] deserializeArgs(ByteBuf src);
+
+    /**
+     * Serialize the result of the rpc method as the body of the success response transporter.
+     *
+     * @throws IllegalArgumentException if the result cannot be serialized
+     */
+    byte[] serializeSuccessResponse(Object result);
+
+    /**
+     * Serialize the failed message as the body of the failed response transporter.
+     */
+    byte[] serializeFailedResponse(String message);
+
+    /**
+     * Deserialize the rpc response from the body of the response transporter.
+     *
+     * @throws IllegalArgumentException if the body cannot be deserialized
+     */
+    IRpcResponse deserializeResponse(ByteBuf src);
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import org.apache.dolphinscheduler.extract.base.IRpcResponse;
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.netty.buffer.ByteBuf;
+
+/**
+ * The json serializer, this is the default serializer and the fallback of the other serializers.
+ * <p> All the peers support this serializer, so the args are kept in the format of {@link StandardRpcRequest} which
+ * the old peers deserialize.
+ */
+public class JsonRpcSerializer extends AbstractJacksonSerializer {
+
+    public static final byte VERSION = 0;
+
+    public JsonRpcSerializer() {
+        super(configure(JsonMapper.builder()).build());
+    }
+
+    @Override
+    public byte getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public byte[] serializeArgs(Object[] args) {
+        return serialize(StandardRpcRequest.of(args, this));
+    }
+
+    @Override
+    public Object[] deserializeArgs(ByteBuf src) {
+        StandardRpcRequest standardRpcRequest = deserialize(src, StandardRpcRequest.class);
+        if (standardRpcRequest == null) {
+            throw new IllegalArgumentException("Deserialize the rpc args failed");
+        }
+        if (standardRpcRequest.getArgs() == null || standardRpcRequest.getArgs().length == 0) {
+            return null;
+        }
+        Object[] args = new Object[standardRpcRequest.getArgs().length];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = deserialize(standardRpcRequest.getArgs()[i], standardRpcRequest.getArgsTypes()[i]);
+        }
+        return args;
+    }
+
+    @Override
+    public byte[] serializeSuccessResponse(Object result) {
+        if (result == null) {
+            return serialize(StandardRpcResponse.success(null, null));
+        }
+        byte[] body = serialize(result);
+        if (body == null) {
+            throw new IllegalArgumentException("Serialize the rpc response failed");
+        }
+        return serialize(StandardRpcResponse.success(body, result.getClass()));
+    }
+
+    @Override
+    public byte[] serializeFailedResponse(String message) {
+        return serialize(StandardRpcResponse.fail(message));
+    }
+
+    @Override
+    public IRpcResponse deserializeResponse(ByteBuf src) {
+        StandardRpcResponse standardRpcResponse = deserialize(src, StandardRpcResponse.class);
+        if (standardRpcResponse == null) {
+            throw new IllegalArgumentException("Deserialize the rpc response failed");
+        }
+        return standardRpcResponse;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import java.util.Optional;
+
+import lombok.Getter;
+
+public enum SerializerType {
+
+    JSON(new JsonRpcSerializer()),
+    CBOR(new CborRpcSerializer()),
+    ;
+
+    @Getter
+    private final ISerializer serializer;
+
+    SerializerType(ISerializer serializer) {
+        this.serializer = serializer;
+    }
+
+    /**
+     * Get the serializer by the version byte of the transporter.
+     *
+     * @throws IllegalArgumentException if the version is not supported
+     */
+    public static ISerializer getSerializer(byte version) {
+        return findSerializer(version)
+                .orElseThrow(() -> new IllegalArgumentException("illegal protocol [version]" + version));
+    }
+
+    /**
+     * Find the serializer by the version byte, return empty if the version is not supported, e.g. advertised by a
+     * newer peer.
+     */
+    public static Optional<ISerializer> findSerializer(byte version) {
+        for (SerializerType serializerType : values()) {
+            if (serializerType.serializer.getVersion() == version) {
+                return Optional.of(serializerType.serializer);
+            }
+        }
+        return Optional.empty();
+    }
+
+}
@@ -19,15 +19,16 @@ package org.apache.dolphinscheduler.extract.base.server;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
-import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
+import org.apache.dolphinscheduler.extract.base.exception.MethodNotFoundException;
 import org.apache.dolphinscheduler.extract.base.protocal.HeartBeatTransporter;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.ISerializer;
 import org.apache.dolphinscheduler.extract.base.utils.ChannelUtils;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
@@ -49,9 +50,16 @@ class JdkDynamicServerHandler extends ChannelInboundHandlerAdapter {
 
     private final Map<String, ServerMethodInvoker> methodInvokerMap;
 
-    JdkDynamicServerHandler(ExecutorService methodInvokeExecutor) {
+    /**
+     * The serializer advertised to the clients in each response, see
+     * {@link TransporterHeader#getPreferredSerializerVersion()}.
+     */
+    private final ISerializer preferredSerializer;
+
+    JdkDynamicServerHandler(ExecutorService methodInvokeExecutor, ISerializer preferredSerializer) {
         this.methodInvokeExecutor = methodInvokeExecutor;
         this.methodInvokerMap = new ConcurrentHashMap<>();
+        this.preferredSerializer = preferredSerializer;
     }
 
     @Override
@@ -74,62 +82,92 @@ class JdkDynamicServerHandler extends ChannelInboundHandlerAdapter {
     private void processReceived(final Channel channel, final Transporter transporter) {
         final String methodIdentifier = transporter.getHeader().getMethodIdentifier();
         if (HeartBeatTransporter.METHOD_IDENTIFY.equals(methodIdentifier)) {
+            transporter.releaseBody();
             if (log.isDebugEnabled()) {
                 log.debug("server receive heart beat from: host: {}", ChannelUtils.getRemoteAddress(channel));
             }
             return;
         }
         ServerMethodInvoker methodInvoker = methodInvokerMap.get(methodIdentifier);
+        // Use the same serializer as the request, so the client can deserialize the response
+        final ISerializer serializer = transporter.getSerializer();
         try {
             if (methodInvoker == null) {
+                transporter.releaseBody();
                 log.error("Cannot find the ServerMethodInvoker of : {}", transporter);
-                StandardRpcResponse iRpcResponse =
-                        StandardRpcResponse.fail("Cannot find the ServerMethodInvoker of " + methodIdentifier);
-                TransporterHeader transporterHeader =
-                        TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-                Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-                channel.writeAndFlush(response);
+                writeResponse(channel, transporter, serializer,
+                        serializer.serializeFailedResponse(MethodNotFoundException.MESSAGE_PREFIX + methodIdentifier));
                 return;
             }
             methodInvokeExecutor.execute(() -> {
-                StandardRpcResponse iRpcResponse;
                 try {
-                    StandardRpcRequest standardRpcRequest =
-                            JsonSerializer.deserialize(transporter.getBody(), StandardRpcRequest.class);
-                    Object[] args;
-                    if (standardRpcRequest.getArgs() == null || standardRpcRequest.getArgs().length == 0) {
-                        args = null;
-                    } else {
-                        args = new Object[standardRpcRequest.getArgs().length];
-                        for (int i = 0; i < standardRpcRequest.getArgs().length; i++) {
-                            args[i] = JsonSerializer.deserialize(standardRpcRequest.getArgs()[i],
-                                    standardRpcRequest.getArgsTypes()[i]);
-                        }
+                    final Object[] args;
+                    try {
+                        args = serializer.deserializeArgs(transporter.getBody());
+                    } finally {
+                        transporter.releaseBody();
                     }
                     Object result = methodInvoker.invoke(args);
-                    if (result == null) {
-                        iRpcResponse = StandardRpcResponse.success(null, null);
-                    } else {
-                        iRpcResponse = StandardRpcResponse.success(JsonSerializer.serialize(result), result.getClass());
+                    if (result instanceof CompletableFuture) {
+                        // The async method, write the response once the future is completed
+                        ((CompletableFuture<?>) result).whenComplete((asyncResult, throwable) -> {
+                            if (throwable != null) {
+                                writeFailedResponse(channel, transporter, serializer, throwable);
+                            } else {
+                                writeSuccessResponse(channel, transporter, serializer, asyncResult);
+                            }
+                        });
+                        return;
                     }
+                    writeSuccessResponse(channel, transporter, serializer, result);
                 } catch (Throwable e) {
-                    log.error("Invoke method {} failed, {}.", methodIdentifier, e.getMessage(), e);
-                    iRpcResponse = StandardRpcResponse.fail(e.getMessage());
+                    writeFailedResponse(channel, transporter, serializer, e);
                 }
-                TransporterHeader transporterHeader =
-                        TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-                Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-                channel.writeAndFlush(response);
             });
         } catch (RejectedExecutionException e) {
+            transporter.releaseBody();
             log.warn("NettyRemotingServer's thread pool is full, discard msg {} from {}", transporter,
                     ChannelUtils.getRemoteAddress(channel));
-            StandardRpcResponse iRpcResponse = StandardRpcResponse.fail("NettyRemotingServer's thread pool is full");
-            TransporterHeader transporterHeader =
-                    TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-            Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-            channel.writeAndFlush(response);
+            writeResponse(channel, transporter, serializer,
+                    serializer.serializeFailedResponse("NettyRemotingServer's thread pool is full"));
+        }
+    }
+
+    private void writeSuccessResponse(final Channel channel,
+                                      final Transporter transporter,
+                                      final ISerializer serializer,
+                                      final Object result) {
+        final byte[] responseBody;
+        try {
+            responseBody = serializer.serializeSuccessResponse(result);
+        } catch (Throwable e) {
+            writeFailedResponse(channel, transporter, serializer, e);
+            return;
         }
+        writeResponse(channel, transporter, serializer, responseBody);
+    }
+
+    private void writeFailedResponse(final Channel channel,
+                                     final Transporter transporter,
+                                     final ISerializer serializer,
+                                     final Throwable throwable) {
+        final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+        log.error("Invoke method {} failed, {}.", transporter.getHeader().getMethodIdentifier(), cause.getMessage(),
+                cause);
+        writeResponse(channel, transporter, serializer, serializer.serializeFailedResponse(cause.getMessage()));
+    }
+
+    private void writeResponse(final Channel channel,
+                               final Transporter transporter,
+                               final ISerializer serializer,
+                               final byte[] responseBody) {
+        TransporterHeader transporterHeader = TransporterHeader.of(
+                transporter.getHeader().getOpaque(), transporter.getHeader().getMethodIdentifier());
+        transporterHeader.setPreferredSerializerVersion(preferredSerializer.getVersion());
+        Transporter response = Transporter.of(transporterHeader, responseBody, serializer.getVersion());
+        channel.writeAndFlush(response);
     }
 
     @Override
@@ -71,7 +71,8 @@ class NettyRemotingServer {
         this.serverName = serverConfig.getServerName();
         this.methodInvokerExecutor = ThreadUtils.newDaemonFixedThreadExecutor(
                 serverName + "MethodInvoker-%d", Runtime.getRuntime().availableProcessors() * 2 + 1);
-        this.channelHandler = new JdkDynamicServerHandler(methodInvokerExecutor);
+        this.channelHandler =
+                new JdkDynamicServerHandler(methodInvokerExecutor, serverConfig.getSerializerType().getSerializer());
         ThreadFactory bossThreadFactory =
                 ThreadUtils.newDaemonThreadFactory(serverName + "BossThread-%d");
         ThreadFactory workerThreadFactory =
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
+
+import org.junit.jupiter.api.Test;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+
+class ChannelSerializerTest {
+
+    @Test
+    void negotiate() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        assertEquals(SerializerType.JSON.getSerializer(), ChannelSerializer.of(channel));
+
+        // the old servers don't advertise any serializer
+        ChannelSerializer.negotiate(channel, TransporterHeader.of(1L, "ping"));
+        assertEquals(SerializerType.JSON.getSerializer(), ChannelSerializer.of(channel));
+
+        ChannelSerializer.negotiate(channel, advertise(SerializerType.CBOR.getSerializer().getVersion()));
+        assertEquals(SerializerType.CBOR.getSerializer(), ChannelSerializer.of(channel));
+
+        // the serializer of a newer server is unknown
+        ChannelSerializer.negotiate(channel, advertise((byte) 127));
+        assertEquals(SerializerType.CBOR.getSerializer(), ChannelSerializer.of(channel));
+
+        ChannelSerializer.negotiate(channel, advertise(SerializerType.JSON.getSerializer().getVersion()));
+        assertEquals(SerializerType.JSON.getSerializer(), ChannelSerializer.of(channel));
+    }
+
+    private TransporterHeader advertise(byte serializerVersion) {
+        TransporterHeader transporterHeader = TransporterHeader.of(1L, "ping");
+        transporterHeader.setPreferredSerializerVersion(serializerVersion);
+        return transporterHeader;
+    }
+}
@@ -19,16 +19,25 @@ package org.apache.dolphinscheduler.extract.base.client;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
+import org.apache.dolphinscheduler.extract.base.config.NettyClientConfig;
 import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
 import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
+import org.apache.dolphinscheduler.extract.base.exception.MethodNotFoundException;
+import org.apache.dolphinscheduler.extract.base.exception.RemotingTimeoutException;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
 import org.apache.dolphinscheduler.extract.base.server.SpringServerMethodInvokerDiscovery;
+import org.apache.dolphinscheduler.extract.base.utils.Host;
 
 import org.apache.commons.lang3.RandomUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -81,6 +90,74 @@ public class ClientsTest {
         assertDoesNotThrow(proxyClient::voidMethod);
     }
 
+    @Test
+    public void testAsyncPing() throws Exception {
+        IService proxyClient = Clients
+                .withService(IService.class)
+                .withHost(serverAddress);
+        assertEquals("pong", proxyClient.asyncPing("ping").get());
+
+        ExecutionException executionException =
+                Assertions.assertThrows(ExecutionException.class, () -> proxyClient.asyncPing(null).get());
+        assertInstanceOf(MethodInvocationException.class, executionException.getCause());
+        assertEquals("ping: null is illegal", executionException.getCause().getMessage());
+    }
+
+    @Test
+    public void testAsyncTimeout() {
+        IService proxyClient = Clients
+                .withService(IService.class)
+                .withHost(serverAddress);
+        ExecutionException executionException =
+                Assertions.assertThrows(ExecutionException.class, () -> proxyClient.neverComplete().get());
+        assertInstanceOf(RemotingTimeoutException.class, executionException.getCause());
+    }
+
+    @Test
+    public void testMethodNotFound() {
+        IUpgradedService proxyClient = Clients
+                .withService(IUpgradedService.class)
+                .withHost(serverAddress);
+        Assertions.assertThrows(MethodNotFoundException.class, () -> proxyClient.newPing("ping"));
+
+        ExecutionException executionException =
+                Assertions.assertThrows(ExecutionException.class, () -> proxyClient.asyncNewPing("ping").get());
+        assertInstanceOf(MethodNotFoundException.class, executionException.getCause());
+    }
+
+    @Test
+    public void testNegotiateSerializer() throws Exception {
+        int listenPort = RandomUtils.nextInt(20000, 30000);
+        NettyServerConfig nettyServerConfig = NettyServerConfig.builder()
+                .serverName("CborServer")
+                .listenPort(listenPort)
+                .serializerType(SerializerType.CBOR)
+                .build();
+        SpringServerMethodInvokerDiscovery cborServer = new SpringServerMethodInvokerDiscovery(nettyServerConfig);
+        cborServer.registerServerMethodInvokerProvider(new IServiceImpl());
+        cborServer.start();
+        try (NettyRemotingClient nettyRemotingClient = new NettyRemotingClient(new NettyClientConfig())) {
+            JdkDynamicRpcClientProxyFactory proxyFactory = new JdkDynamicRpcClientProxyFactory(nettyRemotingClient);
+
+            // the default server asks for json
+            Host jsonServerHost = Host.of(serverAddress);
+            assertEquals("pong", proxyFactory.getProxyClient(serverAddress, IService.class).ping("ping"));
+            assertEquals(SerializerType.JSON.getSerializer(), nettyRemotingClient.getSerializer(jsonServerHost));
+
+            // the first request is sent by json, then switch to the serializer advertised by the server
+            String cborServerAddress = "localhost:" + listenPort;
+            Host cborServerHost = Host.of(cborServerAddress);
+            IService proxyClient = proxyFactory.getProxyClient(cborServerAddress, IService.class);
+            assertEquals(SerializerType.JSON.getSerializer(), nettyRemotingClient.getSerializer(cborServerHost));
+            assertEquals("pong", proxyClient.ping("ping"));
+            assertEquals(SerializerType.CBOR.getSerializer(), nettyRemotingClient.getSerializer(cborServerHost));
+            assertEquals("pong", proxyClient.ping("ping"));
+            assertEquals("pong", proxyClient.asyncPing("ping").get());
+        } finally {
+            cborServer.close();
+        }
+    }
+
     @AfterEach
     public void tearDown() {
         springServerMethodInvokerDiscovery.close();
@@ -94,6 +171,25 @@ public class ClientsTest {
 
         @RpcMethod
         void voidMethod();
+
+        @RpcMethod
+        CompletableFuture<String> asyncPing(String ping);
+
+        @RpcMethod(timeout = 100)
+        CompletableFuture<String> neverComplete();
+    }
+
+    /**
+     * The methods which are not provided by {@link IServiceImpl}, e.g. added in a newer version of the server.
+     */
+    @RpcService
+    public interface IUpgradedService {
+
+        @RpcMethod
+        String newPing(String ping);
+
+        @RpcMethod
+        CompletableFuture<String> asyncNewPing(String ping);
     }
 
     public static class IServiceImpl implements IService {
@@ -110,6 +206,16 @@ public class ClientsTest {
         public void voidMethod() {
             System.out.println("void method");
         }
+
+        @Override
+        public CompletableFuture<String> asyncPing(String ping) {
+            return CompletableFuture.supplyAsync(() -> ping(ping));
+        }
+
+        @Override
+        public CompletableFuture<String> neverComplete() {
+            return new CompletableFuture<>();
+        }
     }
 
 }
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.client;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.apache.dolphinscheduler.extract.base.IRpcResponse;
+import org.apache.dolphinscheduler.extract.base.config.NettyClientConfig;
+import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
+import org.apache.dolphinscheduler.extract.base.exception.RemotingException;
+import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
+import org.apache.dolphinscheduler.extract.base.server.SpringServerMethodInvokerDiscovery;
+import org.apache.dolphinscheduler.extract.base.utils.Host;
+
+import org.apache.commons.lang3.RandomUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.netty.channel.ChannelFuture;
+
+class NettyRemotingClientTest {
+
+    private NettyRemotingClient nettyRemotingClient;
+
+    @BeforeEach
+    void setUp() {
+        nettyRemotingClient = new NettyRemotingClient(NettyClientConfig.builder()
+                .connectTimeoutMillis(2000)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        nettyRemotingClient.close();
+    }
+
+    @Test
+    void sendAsync_notWaitForConnect() {
+        // The address is not routable, the connection will not be established until the connect timeout
+        Host host = Host.of("10.255.255.1:12345");
+        long start = System.currentTimeMillis();
+        CompletableFuture<IRpcResponse> responseFuture = nettyRemotingClient.sendAsync(host, createTransporter(), -1);
+        assertThat(System.currentTimeMillis() - start).isLessThan(1000L);
+
+        ExecutionException executionException = assertThrows(ExecutionException.class, responseFuture::get);
+        assertThat(executionException).hasCauseThat().isInstanceOf(RemotingException.class);
+    }
+
+    @Test
+    void sendAsync_connectFailed() {
+        // No server listens on the port
+        Host host = Host.of("localhost:" + RandomUtils.nextInt(30000, 40000));
+        ExecutionException executionException = assertThrows(ExecutionException.class,
+                () -> nettyRemotingClient.sendAsync(host, createTransporter(), 1000).get());
+        assertThat(executionException).hasCauseThat().isInstanceOf(RemotingException.class);
+        assertThat(executionException).hasCauseThat().hasMessageThat().contains("connect to");
+
+        // The failed connection is removed, the next request will connect again
+        ChannelFuture failedChannelFuture = nettyRemotingClient.getOrCreateChannel(host);
+        await().atMost(Duration.ofSeconds(3)).until(failedChannelFuture::isDone);
+        assertThat(nettyRemotingClient.getOrCreateChannel(host)).isNotSameInstanceAs(failedChannelFuture);
+    }
+
+    @Test
+    void sendAsync_requestsDuringConnectShareTheChannel() throws Exception {
+        int listenPort = RandomUtils.nextInt(10000, 20000);
+        SpringServerMethodInvokerDiscovery server = new SpringServerMethodInvokerDiscovery(NettyServerConfig.builder()
+                .serverName("NettyRemotingClientTestServer")
+                .listenPort(listenPort)
+                .build());
+        server.registerServerMethodInvokerProvider(new ClientsTest.IServiceImpl());
+        server.start();
+        try {
+            String serverAddress = "localhost:" + listenPort;
+            ClientsTest.IService proxyClient = new JdkDynamicRpcClientProxyFactory(nettyRemotingClient)
+                    .getProxyClient(serverAddress, ClientsTest.IService.class);
+            List<CompletableFuture<String>> pingFutures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                pingFutures.add(proxyClient.asyncPing("ping"));
+            }
+            for (CompletableFuture<String> pingFuture : pingFutures) {
+                assertThat(pingFuture.get()).isEqualTo("pong");
+            }
+            ChannelFuture channelFuture = nettyRemotingClient.getOrCreateChannel(Host.of(serverAddress));
+            assertThat(channelFuture.isSuccess()).isTrue();
+            assertThat(nettyRemotingClient.getOrCreateChannel(Host.of(serverAddress))).isSameInstanceAs(channelFuture);
+        } finally {
+            server.close();
+        }
+    }
+
+    private Transporter createTransporter() {
+        return Transporter.of(TransporterHeader.of("ping"), new Object[]{"ping"},
+                SerializerType.JSON.getSerializer());
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.protocal;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.apache.dolphinscheduler.extract.base.serialize.ISerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+class TransporterCodecTest {
+
+    @Test
+    void encodeAndDecode() {
+        for (SerializerType serializerType : SerializerType.values()) {
+            encodeAndDecode(serializerType);
+        }
+    }
+
+    private void encodeAndDecode(SerializerType serializerType) {
+        ISerializer serializer = serializerType.getSerializer();
+        Transporter transporter = Transporter.of(TransporterHeader.of(100L, "ping"), new Object[]{"ping"}, serializer);
+
+        EmbeddedChannel encodeChannel = new EmbeddedChannel(new TransporterEncoder());
+        encodeChannel.writeOutbound(transporter);
+        ByteBuf encoded = encodeChannel.readOutbound();
+
+        EmbeddedChannel decodeChannel = new EmbeddedChannel(new TransporterDecoder());
+        decodeChannel.writeInbound(encoded);
+        Transporter decoded = decodeChannel.readInbound();
+
+        assertEquals(serializer.getVersion(), decoded.getVersion());
+        assertEquals(transporter.getHeader(), decoded.getHeader());
+        assertEquals(transporter.getBody(), decoded.getBody());
+        assertArrayEquals(new Object[]{"ping"}, serializer.deserializeArgs(decoded.getBody()));
+
+        // the body is a retained slice of the received buffer
+        assertEquals(1, decoded.getBody().refCnt());
+        decoded.releaseBody();
+        assertEquals(0, decoded.getBody().refCnt());
+    }
+
+    @Test
+    void encodeSharedBody() {
+        Transporter heartBeat = HeartBeatTransporter.getHeartBeatTransporter();
+        int readableBytes = heartBeat.getBody().readableBytes();
+
+        EmbeddedChannel encodeChannel = new EmbeddedChannel(new TransporterEncoder());
+        encodeChannel.writeOutbound(heartBeat);
+        encodeChannel.writeOutbound(heartBeat);
+        ByteBuf first = encodeChannel.readOutbound();
+        ByteBuf second = encodeChannel.readOutbound();
+
+        assertEquals(readableBytes, heartBeat.getBody().readableBytes());
+        assertEquals(first, second);
+        first.release();
+        second.release();
+    }
+
+    @Test
+    void ignoreUnknownHeaderField() {
+        // the old peers deserialize the header without preferredSerializerVersion, in the same way as this unknown
+        // field
+        String header = "{\"methodIdentifier\":\"ping\",\"opaque\":100,\"fieldOfNewerVersion\":1}";
+
+        TransporterHeader transporterHeader =
+                SerializerType.JSON.getSerializer().deserialize(header.getBytes(StandardCharsets.UTF_8),
+                        TransporterHeader.class);
+        assertEquals(TransporterHeader.of(100L, "ping"), transporterHeader);
+    }
+}
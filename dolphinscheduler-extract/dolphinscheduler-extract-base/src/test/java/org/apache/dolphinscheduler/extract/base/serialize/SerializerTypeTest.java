@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.dolphinscheduler.extract.base.IRpcResponse;
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+class SerializerTypeTest {
+
+    @Test
+    void serializeArgs() {
+        for (SerializerType serializerType : SerializerType.values()) {
+            serializeArgs(serializerType);
+        }
+    }
+
+    private void serializeArgs(SerializerType serializerType) {
+        ISerializer serializer = serializerType.getSerializer();
+        Map<String, String> map = new HashMap<>();
+        map.put("key", "value");
+        Object[] args = new Object[]{"ping", 1L, null, map};
+
+        ByteBuf byteBuf = Unpooled.wrappedBuffer(serializer.serializeArgs(args));
+        assertArrayEquals(args, serializer.deserializeArgs(byteBuf));
+        assertEquals(0, byteBuf.readableBytes());
+
+        assertNull(serializer.deserializeArgs(Unpooled.wrappedBuffer(serializer.serializeArgs(null))));
+        assertNull(serializer.deserializeArgs(Unpooled.wrappedBuffer(serializer.serializeArgs(new Object[0]))));
+    }
+
+    @Test
+    void jsonArgsKeepTheFormatOfStandardRpcRequest() {
+        // the old peers only know the args in the format of StandardRpcRequest
+        ISerializer serializer = SerializerType.JSON.getSerializer();
+        byte[] bytes = serializer.serializeArgs(new Object[]{"ping", 1L});
+
+        StandardRpcRequest rpcRequest = serializer.deserialize(bytes, StandardRpcRequest.class);
+        assertArrayEquals(new Class[]{String.class, Long.class}, rpcRequest.getArgsTypes());
+        assertEquals("ping", serializer.deserialize(rpcRequest.getArgs()[0], String.class));
+        assertEquals(1L, serializer.deserialize(rpcRequest.getArgs()[1], Long.class));
+    }
+
+    @Test
+    void serializeResponse() {
+        for (SerializerType serializerType : SerializerType.values()) {
+            serializeResponse(serializerType);
+        }
+    }
+
+    private void serializeResponse(SerializerType serializerType) {
+        ISerializer serializer = serializerType.getSerializer();
+        Map<String, String> map = new HashMap<>();
+        map.put("key", "value");
+
+        ByteBuf byteBuf = Unpooled.wrappedBuffer(serializer.serializeSuccessResponse(map));
+        IRpcResponse success = serializer.deserializeResponse(byteBuf);
+        assertEquals(0, byteBuf.readableBytes());
+        assertTrue(success.isSuccess());
+        assertEquals(map, success.getBody(Map.class));
+
+        IRpcResponse empty = serializer.deserializeResponse(
+                Unpooled.wrappedBuffer(serializer.serializeSuccessResponse(null)));
+        assertTrue(empty.isSuccess());
+        assertNull(empty.getBody(Map.class));
+
+        IRpcResponse failed = serializer.deserializeResponse(
+                Unpooled.wrappedBuffer(serializer.serializeFailedResponse("method not found")));
+        assertFalse(failed.isSuccess());
+        assertEquals("method not found", failed.getMessage());
+        assertNull(failed.getBody(Map.class));
+    }
+
+    @Test
+    void jsonResponseKeepTheFormatOfStandardRpcResponse() {
+        // the old peers only know the response in the format of StandardRpcResponse
+        ISerializer serializer = SerializerType.JSON.getSerializer();
+        byte[] bytes = serializer.serializeSuccessResponse("pong");
+
+        StandardRpcResponse rpcResponse = serializer.deserialize(bytes, StandardRpcResponse.class);
+        assertTrue(rpcResponse.isSuccess());
+        assertEquals(String.class, rpcResponse.getBodyType());
+        assertEquals("pong", serializer.deserialize(rpcResponse.getBody(), String.class));
+    }
+
+    @Test
+    void deserializeIllegalResponse() {
+        ISerializer serializer = SerializerType.CBOR.getSerializer();
+        byte[] bytes = serializer.serializeSuccessResponse("pong");
+        ByteBuf truncated = Unpooled.wrappedBuffer(bytes, 0, bytes.length - 1);
+        assertThrows(IllegalArgumentException.class, () -> serializer.deserializeResponse(truncated));
+        ByteBuf notObject = Unpooled.wrappedBuffer(serializer.serialize("pong"));
+        assertThrows(IllegalArgumentException.class, () -> serializer.deserializeResponse(notObject));
+    }
+
+    @Test
+    void cborIsSmallerThanJson() {
+        Object[] args = new Object[]{"a payload which will be encoded as base64 twice in json".getBytes(
+                StandardCharsets.UTF_8)};
+        assertTrue(SerializerType.CBOR.getSerializer().serializeArgs(args).length < SerializerType.JSON
+                .getSerializer().serializeArgs(args).length);
+    }
+
+    @Test
+    void deserializeIllegalArgs() {
+        ISerializer serializer = SerializerType.CBOR.getSerializer();
+        byte[] bytes = serializer.serializeArgs(new Object[]{"ping"});
+        ByteBuf truncated = Unpooled.wrappedBuffer(bytes, 0, bytes.length - 1);
+        assertThrows(IllegalArgumentException.class, () -> serializer.deserializeArgs(truncated));
+        ByteBuf notArray = Unpooled.wrappedBuffer(serializer.serialize("ping"));
+        assertThrows(IllegalArgumentException.class, () -> serializer.deserializeArgs(notArray));
+    }
+
+    @Test
+    void getSerializer() {
+        assertEquals(SerializerType.JSON.getSerializer(), SerializerType.getSerializer(JsonRpcSerializer.VERSION));
+        assertEquals(SerializerType.CBOR.getSerializer(), SerializerType.getSerializer(CborRpcSerializer.VERSION));
+        assertThrows(IllegalArgumentException.class, () -> SerializerType.getSerializer((byte) 127));
+        assertFalse(SerializerType.findSerializer((byte) 127).isPresent());
+    }
+}
@@ -21,20 +21,41 @@ import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailQueryRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailQueryResponse;
 
 @RpcService
 public interface ILogService {
 
+    /**
+     * Download the whole log file in one response, the whole file will be loaded into memory.
+     *
+     * @deprecated use {@link #getTaskInstanceLogFileChunk(TaskInstanceLogFileChunkDownloadRequest)} to download the
+     * log file chunk by chunk.
+     */
+    @Deprecated
     @RpcMethod
     TaskInstanceLogFileDownloadResponse getTaskInstanceWholeLogFileBytes(TaskInstanceLogFileDownloadRequest taskInstanceLogFileDownloadRequest);
 
+    /**
+     * Download a chunk of the log file, the caller should download the next chunk from the offset plus the size of
+     * the returned bytes until the end is reached, so that only one bounded chunk is loaded into memory at a time.
+     */
+    @RpcMethod
+    TaskInstanceLogFileChunkDownloadResponse getTaskInstanceLogFileChunk(TaskInstanceLogFileChunkDownloadRequest taskInstanceLogFileChunkDownloadRequest);
+
     @RpcMethod
     TaskInstanceLogPageQueryResponse pageQueryTaskInstanceLog(TaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest);
 
+    @RpcMethod
+    TaskInstanceLogTailQueryResponse tailQueryTaskInstanceLog(TaskInstanceLogTailQueryRequest taskInstanceLogTailQueryRequest);
+
     @RpcMethod
     GetAppIdResponse getAppId(GetAppIdRequest getAppIdRequest);
 
@@ -35,6 +35,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
+import lombok.Getter;
+
 public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServerMetadata>
         implements
             IClusters<WorkerServerMetadata>,
@@ -49,6 +51,9 @@ public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServe
     private final List<IClustersChangeListener<WorkerServerMetadata>> workerClusterChangeListeners =
             new CopyOnWriteArrayList<>();
 
+    @Getter
+    private final WorkerTaskSlots workerTaskSlots = new WorkerTaskSlots();
+
     @Override
     public List<WorkerServerMetadata> getServers() {
         return UnmodifiableList.unmodifiableList(new ArrayList<>(workerMapping.values()));
@@ -77,6 +82,17 @@ public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServe
         return UnmodifiableList.unmodifiableList(normalWorkerAddresses);
     }
 
+    /**
+     * Get the normal workers which still have available task slots under the given worker group.
+     */
+    public List<String> getDispatchableWorkerServerAddressByGroup(String workerGroup) {
+        List<String> dispatchableWorkerAddresses = getNormalWorkerServerAddressByGroup(workerGroup)
+                .stream()
+                .filter(workerTaskSlots::hasAvailableSlot)
+                .collect(Collectors.toList());
+        return UnmodifiableList.unmodifiableList(dispatchableWorkerAddresses);
+    }
+
     public boolean containsWorkerGroup(String workerGroup) {
         return WorkerGroupUtils.getDefaultWorkerGroup().equals(workerGroup)
                 || workerGroupMapping.containsKey(workerGroup);
@@ -126,6 +142,7 @@ public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServe
     @Override
     public void onServerAdded(WorkerServerMetadata workerServer) {
         workerMapping.put(workerServer.getAddress(), workerServer);
+        workerTaskSlots.refresh(workerServer);
         for (IClustersChangeListener<WorkerServerMetadata> listener : workerClusterChangeListeners) {
             listener.onServerAdded(workerServer);
         }
@@ -134,6 +151,7 @@ public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServe
     @Override
     public void onServerRemove(WorkerServerMetadata workerServer) {
         workerMapping.remove(workerServer.getAddress(), workerServer);
+        workerTaskSlots.remove(workerServer.getAddress());
         for (IClustersChangeListener<WorkerServerMetadata> listener : workerClusterChangeListeners) {
             listener.onServerRemove(workerServer);
         }
@@ -142,6 +160,7 @@ public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServe
     @Override
     public void onServerUpdate(WorkerServerMetadata workerServer) {
         workerMapping.put(workerServer.getAddress(), workerServer);
+        workerTaskSlots.refresh(workerServer);
         for (IClustersChangeListener<WorkerServerMetadata> listener : workerClusterChangeListeners) {
             listener.onServerUpdate(workerServer);
         }
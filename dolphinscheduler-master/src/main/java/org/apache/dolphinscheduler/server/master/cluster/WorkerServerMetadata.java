@@ -38,6 +38,11 @@ public class WorkerServerMetadata extends BaseServerMetadata {
 
     private final double taskThreadPoolUsage;
 
+    // The max task count the worker accepts, 0 means the worker doesn't limit the task count
+    private final int taskSlotCapacity;
+
+    private final int runningTaskCount;
+
     public static WorkerServerMetadata parseFromHeartBeat(final WorkerHeartBeat workerHeartBeat) {
         return WorkerServerMetadata.builder()
                 .serverStartupTime(workerHeartBeat.getStartupTime())
@@ -47,6 +52,8 @@ public class WorkerServerMetadata extends BaseServerMetadata {
                 .serverStatus(workerHeartBeat.getServerStatus())
                 .workerWeight(workerHeartBeat.getWorkerHostWeight())
                 .taskThreadPoolUsage(workerHeartBeat.getThreadPoolUsage())
+                .taskSlotCapacity(workerHeartBeat.getTaskSlotCapacity())
+                .runningTaskCount(workerHeartBeat.getRunningTaskCount())
                 .build();
     }
 
@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cluster;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Track the remaining task slots of each worker, the capacity and the running task count come from the worker's
+ * heartbeat.
+ * <p> The slot is reserved optimistically once a task is going to be dispatched to the worker, and released once the
+ * task is finished or failed to dispatch, so the master doesn't need to wait for the next heartbeat to know whether the
+ * worker can accept more tasks. Each reservation is stamped once the worker accepts the task, and it expires once the
+ * second heartbeat received after that time is received, since a heartbeat received after the task is accepted might
+ * be reported before, while the next one is reported after it as long as the heartbeat is delivered within the
+ * heartbeat interval. Both times are taken from the master clock, so the clock drift of the worker doesn't matter. The
+ * reservations of the tasks which are still in flight are kept, so a heartbeat sent before they reach the worker will
+ * not make the master over commit the worker.
+ * <p> If the worker doesn't report its capacity, e.g. the worker will accept all the tasks, the worker is regarded
+ * as having unlimited slots.
+ */
+@Slf4j
+public class WorkerTaskSlots {
+
+    // The reservation of the task which is not accepted by the worker yet will never expire by the heartbeat
+    private static final long NOT_ACCEPTED = Long.MAX_VALUE;
+
+    // WorkerIdentifier(workerAddress) -> slot
+    private final Map<String, WorkerTaskSlot> workerTaskSlotMapping = new ConcurrentHashMap<>();
+
+    private final List<IWorkerTaskSlotListener> workerTaskSlotListeners = new CopyOnWriteArrayList<>();
+
+    public void registerListener(final IWorkerTaskSlotListener listener) {
+        workerTaskSlotListeners.add(listener);
+    }
+
+    /**
+     * Refresh the slots of the worker by the latest heartbeat.
+     */
+    public void refresh(final WorkerServerMetadata workerServer) {
+        refresh(workerServer, System.currentTimeMillis());
+    }
+
+    void refresh(final WorkerServerMetadata workerServer, final long heartBeatReceiveTime) {
+        final WorkerTaskSlot workerTaskSlot =
+                workerTaskSlotMapping.computeIfAbsent(workerServer.getAddress(), address -> new WorkerTaskSlot());
+        final int availableSlots;
+        synchronized (workerTaskSlot) {
+            workerTaskSlot.capacity = workerServer.getTaskSlotCapacity();
+            workerTaskSlot.runningTaskCount = workerServer.getRunningTaskCount();
+            final long lastHeartBeatReceiveTime = workerTaskSlot.lastHeartBeatReceiveTime;
+            workerTaskSlot.reservedTaskInstances.values()
+                    .removeIf(acceptedTime -> acceptedTime < lastHeartBeatReceiveTime);
+            workerTaskSlot.lastHeartBeatReceiveTime = heartBeatReceiveTime;
+            availableSlots = workerTaskSlot.getAvailableSlots();
+        }
+        notifySlotAvailable(workerServer.getAddress(), availableSlots);
+    }
+
+    public void remove(final String workerAddress) {
+        workerTaskSlotMapping.remove(workerAddress);
+    }
+
+    public boolean hasAvailableSlot(final String workerAddress) {
+        return getAvailableSlots(workerAddress) > 0;
+    }
+
+    /**
+     * Get the available slots of the worker, return {@link Integer#MAX_VALUE} if the worker is not limited.
+     */
+    public int getAvailableSlots(final String workerAddress) {
+        final WorkerTaskSlot workerTaskSlot = workerTaskSlotMapping.get(workerAddress);
+        if (workerTaskSlot == null) {
+            return Integer.MAX_VALUE;
+        }
+        synchronized (workerTaskSlot) {
+            return workerTaskSlot.getAvailableSlots();
+        }
+    }
+
+    /**
+     * Reserve a slot of the worker for the given task instance.
+     *
+     * @return true if the slot is reserved, false if there is no available slot in the worker.
+     */
+    public boolean tryReserveSlot(final String workerAddress, final int taskInstanceId) {
+        final WorkerTaskSlot workerTaskSlot = workerTaskSlotMapping.get(workerAddress);
+        if (workerTaskSlot == null) {
+            return true;
+        }
+        synchronized (workerTaskSlot) {
+            if (workerTaskSlot.getAvailableSlots() <= 0) {
+                return false;
+            }
+            workerTaskSlot.reservedTaskInstances.put(taskInstanceId, NOT_ACCEPTED);
+            return true;
+        }
+    }
+
+    /**
+     * Mark the reservation of the task instance as accepted by the worker, this is used when the task instance is
+     * dispatched successfully. The reservation will expire once the second heartbeat received after now is received.
+     */
+    public void acceptReservation(final String workerAddress, final int taskInstanceId) {
+        acceptReservation(workerAddress, taskInstanceId, System.currentTimeMillis());
+    }
+
+    void acceptReservation(final String workerAddress, final int taskInstanceId, final long acceptedTime) {
+        final WorkerTaskSlot workerTaskSlot = getWorkerTaskSlot(workerAddress);
+        if (workerTaskSlot == null) {
+            return;
+        }
+        synchronized (workerTaskSlot) {
+            workerTaskSlot.reservedTaskInstances.replace(taskInstanceId, acceptedTime);
+        }
+    }
+
+    /**
+     * Cancel the reservation of the task instance, this is used when the task instance failed to dispatch.
+     */
+    public void cancelReservation(final String workerAddress, final int taskInstanceId) {
+        final WorkerTaskSlot workerTaskSlot = getWorkerTaskSlot(workerAddress);
+        if (workerTaskSlot == null) {
+            return;
+        }
+        final int availableSlots;
+        synchronized (workerTaskSlot) {
+            if (workerTaskSlot.reservedTaskInstances.remove(taskInstanceId) == null) {
+                return;
+            }
+            availableSlots = workerTaskSlot.getAvailableSlots();
+        }
+        notifySlotAvailable(workerAddress, availableSlots);
+    }
+
+    /**
+     * Release the slot occupied by the task instance, this is used when the task instance is finished in the worker.
+     */
+    public void releaseSlot(final String workerAddress, final int taskInstanceId) {
+        final WorkerTaskSlot workerTaskSlot = getWorkerTaskSlot(workerAddress);
+        if (workerTaskSlot == null) {
+            return;
+        }
+        final int availableSlots;
+        synchronized (workerTaskSlot) {
+            // If the task is not in the reservations, then it has been counted by the heartbeat
+            if (workerTaskSlot.reservedTaskInstances.remove(taskInstanceId) == null) {
+                workerTaskSlot.runningTaskCount = Math.max(workerTaskSlot.runningTaskCount - 1, 0);
+            }
+            availableSlots = workerTaskSlot.getAvailableSlots();
+        }
+        notifySlotAvailable(workerAddress, availableSlots);
+    }
+
+    private WorkerTaskSlot getWorkerTaskSlot(final String workerAddress) {
+        if (workerAddress == null) {
+            return null;
+        }
+        return workerTaskSlotMapping.get(workerAddress);
+    }
+
+    private void notifySlotAvailable(final String workerAddress, final int availableSlots) {
+        if (availableSlots <= 0) {
+            return;
+        }
+        for (IWorkerTaskSlotListener listener : workerTaskSlotListeners) {
+            try {
+                listener.onSlotAvailable(workerAddress, availableSlots);
+            } catch (Exception e) {
+                log.error("Notify the available slots of worker: {} to listener failed", workerAddress, e);
+            }
+        }
+    }
+
+    private static class WorkerTaskSlot {
+
+        private int capacity;
+
+        private int runningTaskCount;
+
+        // The master time when the last heartbeat of the worker is received
+        private long lastHeartBeatReceiveTime;
+
+        // taskInstanceId -> the time when the task is accepted by the worker
+        private final Map<Integer, Long> reservedTaskInstances = new HashMap<>();
+
+        private int getAvailableSlots() {
+            if (capacity <= 0) {
+                return Integer.MAX_VALUE;
+            }
+            return capacity - runningTaskCount - reservedTaskInstances.size();
+        }
+    }
+
+    public interface IWorkerTaskSlotListener {
+
+        /**
+         * Invoked when the worker has available slots, e.g. a task is finished in the worker.
+         */
+        void onSlotAvailable(String workerAddress, int availableSlots);
+
+    }
+
+}
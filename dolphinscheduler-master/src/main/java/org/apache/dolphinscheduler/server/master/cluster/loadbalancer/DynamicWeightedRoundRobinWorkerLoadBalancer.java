@@ -80,7 +80,7 @@ public class DynamicWeightedRoundRobinWorkerLoadBalancer implements IWorkerLoadB
     @Override
     public Optional<String> select(@NotNull String workerGroup) {
         List<WeightedServer<WorkerServerMetadata>> weightedServers =
-                workerClusters.getNormalWorkerServerAddressByGroup(workerGroup)
+                workerClusters.getDispatchableWorkerServerAddressByGroup(workerGroup)
                         .stream()
                         .map(weightedServerMap::get)
                         .filter(Objects::nonNull) // filter non null here to avoid the two map changed between
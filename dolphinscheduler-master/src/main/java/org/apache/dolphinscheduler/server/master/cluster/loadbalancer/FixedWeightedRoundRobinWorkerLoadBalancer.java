@@ -73,7 +73,7 @@ public class FixedWeightedRoundRobinWorkerLoadBalancer implements IWorkerLoadBal
     @Override
     public Optional<String> select(@NotNull String workerGroup) {
         List<WeightedServer<WorkerServerMetadata>> weightedServers =
-                workerClusters.getNormalWorkerServerAddressByGroup(workerGroup)
+                workerClusters.getDispatchableWorkerServerAddressByGroup(workerGroup)
                         .stream()
                         .map(weightedServerMap::get)
                         // filter non null here to avoid the two map changed between
@@ -43,7 +43,7 @@ public class RandomWorkerLoadBalancer implements IWorkerLoadBalancer {
 
     @Override
     public Optional<String> select(@NotNull String workerGroup) {
-        List<String> workerServerAddresses = workerClusters.getNormalWorkerServerAddressByGroup(workerGroup);
+        List<String> workerServerAddresses = workerClusters.getDispatchableWorkerServerAddressByGroup(workerGroup);
         if (CollectionUtils.isEmpty(workerServerAddresses)) {
             return Optional.empty();
         }
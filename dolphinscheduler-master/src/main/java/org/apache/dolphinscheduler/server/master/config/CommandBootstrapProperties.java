@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import lombok.Data;
+
+import org.springframework.validation.Errors;
+
+@Data
+public class CommandBootstrapProperties {
+
+    /**
+     * The max number of commands which are bootstrapping at the same time, the master will claim new commands as soon
+     * as a bootstrapping command finished.
+     */
+    private int maxInFlightCommands = Runtime.getRuntime().availableProcessors() * 2;
+
+    /**
+     * The master will stop claiming new commands when the pending events of the running workflows exceed this value,
+     * so the new workflows will not slow down the running workflows.
+     */
+    private int maxPendingWorkflowEvents = 10_000;
+
+    public void validate(Errors errors) {
+        if (maxInFlightCommands <= 0) {
+            errors.rejectValue("command-bootstrap.max-in-flight-commands", null, "should be a positive value");
+        }
+        if (maxPendingWorkflowEvents <= 0) {
+            errors.rejectValue("command-bootstrap.max-pending-workflow-events", null, "should be a positive value");
+        }
+    }
+}
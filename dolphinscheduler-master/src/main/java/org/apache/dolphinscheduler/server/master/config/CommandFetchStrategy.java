@@ -34,6 +34,11 @@ public class CommandFetchStrategy {
 
     public enum CommandFetchStrategyType {
         ID_SLOT_BASED,
+        /**
+         * Use the same slot rule as {@link #ID_SLOT_BASED}, but scan the command table by an id cursor, so the
+         * query can be served by the primary key index. This strategy use {@link IdSlotBasedFetchConfig}.
+         */
+        ID_SLOT_CURSOR_BASED,
         ;
     }
 
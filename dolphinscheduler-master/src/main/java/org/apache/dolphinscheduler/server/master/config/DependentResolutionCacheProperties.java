@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.validation.Errors;
+
+@Data
+public class DependentResolutionCacheProperties {
+
+    /**
+     * Whether to share the upstream workflow/task instances queried by the DEPENDENT tasks in the master.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The cached upstream instance expire after this duration, the upstream workflow running in other masters will be
+     * seen after the cache expired.
+     */
+    private Duration expireTime = Duration.ofSeconds(5);
+
+    /**
+     * The max number of cached upstream instances.
+     */
+    private long maximumSize = 10000;
+
+    public void validate(Errors errors) {
+        if (expireTime.isNegative() || expireTime.isZero()) {
+            errors.rejectValue("dependent-resolution-cache.expire-time", null, "should be a positive duration");
+        }
+        if (maximumSize <= 0) {
+            errors.rejectValue("dependent-resolution-cache.maximum-size", null, "should be a positive value");
+        }
+    }
+}
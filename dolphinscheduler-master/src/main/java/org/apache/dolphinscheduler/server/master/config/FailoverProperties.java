@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import lombok.Data;
+
+import org.springframework.validation.Errors;
+
+@Data
+public class FailoverProperties {
+
+    /**
+     * The number of workflow instances loaded from the database in one page when failover a master, only one page
+     * will be held in memory at the same time.
+     */
+    private int workflowPageSize = 500;
+
+    /**
+     * The number of threads used to failover the workflow instances in one page in parallel.
+     */
+    private int workflowFailoverThreadCount = Runtime.getRuntime().availableProcessors();
+
+    public void validate(Errors errors) {
+        if (workflowPageSize <= 0) {
+            errors.rejectValue("failover.workflow-page-size", null, "should be a positive value");
+        }
+        if (workflowFailoverThreadCount <= 0) {
+            errors.rejectValue("failover.workflow-failover-thread-count", null, "should be a positive value");
+        }
+    }
+}
@@ -18,8 +18,10 @@
 package org.apache.dolphinscheduler.server.master.config;
 
 import org.apache.dolphinscheduler.common.utils.NetUtils;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
 import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
 import org.apache.dolphinscheduler.server.master.cluster.loadbalancer.WorkerLoadBalancerConfigurationProperties;
+import org.apache.dolphinscheduler.server.master.engine.placement.WorkflowEventBusFireWorkerPlacementProperties;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -46,8 +48,17 @@ public class MasterConfig implements Validator {
      */
     private int listenPort = 5678;
 
+    /**
+     * The serializer which the clients are asked to use when sending RPC requests to the master, the clients keep
+     * using JSON until the master advertises it in the response.
+     */
+    private SerializerType rpcSerializerType = SerializerType.JSON;
+
     private int workflowEventBusFireThreadCount = Runtime.getRuntime().availableProcessors() * 2 + 1;
 
+    private WorkflowEventBusFireWorkerPlacementProperties workflowEventBusFireWorkerPlacement =
+            new WorkflowEventBusFireWorkerPlacementProperties();
+
     // todo: change to sync thread pool/ async thread pool ?
     private int masterSyncTaskExecutorThreadPoolSize = Runtime.getRuntime().availableProcessors();
 
@@ -63,6 +74,14 @@ public class MasterConfig implements Validator {
 
     private CommandFetchStrategy commandFetchStrategy = new CommandFetchStrategy();
 
+    private CommandBootstrapProperties commandBootstrap = new CommandBootstrapProperties();
+
+    private TaskDispatchProperties taskDispatch = new TaskDispatchProperties();
+
+    private FailoverProperties failover = new FailoverProperties();
+
+    private DependentResolutionCacheProperties dependentResolutionCache = new DependentResolutionCacheProperties();
+
     private WorkerLoadBalancerConfigurationProperties workerLoadBalancerConfigurationProperties =
             new WorkerLoadBalancerConfigurationProperties();
 
@@ -88,6 +107,10 @@ public class MasterConfig implements Validator {
             errors.rejectValue("listen-port", null, "is invalidated");
         }
 
+        if (masterConfig.getRpcSerializerType() == null) {
+            errors.rejectValue("rpc-serializer-type", null, "should not be null");
+        }
+
         if (masterConfig.getWorkflowEventBusFireThreadCount() <= 0) {
             errors.rejectValue("workflow-event-bus-fire-thread-count", null, "should be a positive value");
         }
@@ -102,7 +125,12 @@ public class MasterConfig implements Validator {
         if (StringUtils.isEmpty(masterConfig.getMasterAddress())) {
             masterConfig.setMasterAddress(NetUtils.getAddr(masterConfig.getListenPort()));
         }
+        workflowEventBusFireWorkerPlacement.validate(errors);
         commandFetchStrategy.validate(errors);
+        commandBootstrap.validate(errors);
+        taskDispatch.validate(errors);
+        failover.validate(errors);
+        dependentResolutionCache.validate(errors);
         workerLoadBalancerConfigurationProperties.validate(errors);
 
         masterConfig.setMasterRegistryPath(
@@ -114,13 +142,19 @@ public class MasterConfig implements Validator {
         String config =
                 "\n****************************Master Configuration**************************************" +
                         "\n  listen-port -> " + listenPort +
+                        "\n  rpc-serializer-type -> " + rpcSerializerType +
                         "\n  workflow-event-bus-fire-thread-count -> " + workflowEventBusFireThreadCount +
+                        "\n  workflow-event-bus-fire-worker-placement -> " + workflowEventBusFireWorkerPlacement +
                         "\n  max-heartbeat-interval -> " + maxHeartbeatInterval +
                         "\n  server-load-protection -> " + serverLoadProtection +
                         "\n  master-address -> " + masterAddress +
                         "\n  master-registry-path: " + masterRegistryPath +
                         "\n  worker-group-refresh-interval: " + workerGroupRefreshInterval +
                         "\n  command-fetch-strategy: " + commandFetchStrategy +
+                        "\n  command-bootstrap: " + commandBootstrap +
+                        "\n  task-dispatch: " + taskDispatch +
+                        "\n  failover: " + failover +
+                        "\n  dependent-resolution-cache: " + dependentResolutionCache +
                         "\n  worker-load-balancer-configuration-properties: "
                         + workerLoadBalancerConfigurationProperties +
                         "\n****************************Master Configuration**************************************";
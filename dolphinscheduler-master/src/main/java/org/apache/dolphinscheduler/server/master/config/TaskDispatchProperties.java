@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.validation.Errors;
+
+@Data
+public class TaskDispatchProperties {
+
+    /**
+     * The max number of tasks which will be dispatched to the same worker in one request.
+     */
+    private int batchSize = 100;
+
+    /**
+     * How long the dispatcher waits for the tasks which keep arriving when more than one task is ready, so they can be
+     * dispatched in one request. This adds up to the linger time to the dispatch latency of a burst, a single ready
+     * task is dispatched immediately, 0 means never wait.
+     */
+    private Duration lingerTime = Duration.ofMillis(10);
+
+    /**
+     * The number of threads used to dispatch tasks, the dispatch waiting queue will be split into the same number of
+     * shards by task instance id, so the tasks in the same worker group can be dispatched in parallel.
+     */
+    private int dispatchThreadCount = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The number of threads used to dispatch tasks one by one to the workers which don't support the batch dispatch,
+     * e.g. the old workers during a rolling upgrade.
+     */
+    private int singleDispatchThreadCount = 4;
+
+    public void validate(Errors errors) {
+        if (batchSize <= 0) {
+            errors.rejectValue("task-dispatch.batch-size", null, "should be a positive value");
+        }
+        if (lingerTime == null || lingerTime.isNegative()) {
+            errors.rejectValue("task-dispatch.linger-time", null, "should be a valid duration");
+        }
+        if (dispatchThreadCount <= 0) {
+            errors.rejectValue("task-dispatch.dispatch-thread-count", null, "should be a positive value");
+        }
+        if (singleDispatchThreadCount <= 0) {
+            errors.rejectValue("task-dispatch.single-dispatch-thread-count", null, "should be a positive value");
+        }
+    }
+}
@@ -22,7 +22,6 @@ import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.common.enums.TaskGroupQueueStatus;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
-import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.dao.entity.TaskGroup;
 import org.apache.dolphinscheduler.dao.entity.TaskGroupQueue;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
@@ -44,9 +43,14 @@ import org.apache.dolphinscheduler.server.master.utils.TaskGroupUtils;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.time.StopWatch;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -76,6 +80,10 @@ import org.springframework.stereotype.Component;
  *         taskGroupCoordinator.releaseTaskGroupSlot(taskInstance);
  *     }
  * </pre>
+ * <p>
+ * Acquiring or releasing a slot wakes up the TaskGroupCoordinator to deal with the related task group immediately, the
+ * full round which amends all the task groups is still executed every 5 seconds to handle the changes from the other
+ * servers, e.g. force start a TaskGroupQueue.
  */
 @Slf4j
 @Component
@@ -100,6 +108,14 @@ public class TaskGroupCoordinator extends BaseDaemonThread implements AutoClosea
 
     private static int DEFAULT_LIMIT = 1000;
 
+    private static final long FULL_ROUND_INTERVAL_MILLIS = Constants.SLEEP_TIME_MILLIS * 5;
+
+    /**
+     * The id of the task groups whose slot is acquired or released, the TaskGroupCoordinator will be woken up to deal
+     * with them.
+     */
+    private final LinkedBlockingQueue<Integer> slotChangedTaskGroupIds = new LinkedBlockingQueue<>();
+
     public TaskGroupCoordinator() {
         super("TaskGroupCoordinator");
     }
@@ -114,31 +130,72 @@ public class TaskGroupCoordinator extends BaseDaemonThread implements AutoClosea
 
     @Override
     public void run() {
+        long nextFullRoundTime = 0;
         while (flag) {
             try {
-                registryClient.getLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
-                try {
-                    StopWatch taskGroupCoordinatorRoundCost = StopWatch.createStarted();
-
-                    amendTaskGroupUseSize();
-                    amendTaskGroupQueueStatus();
-                    dealWithForceStartTaskGroupQueue();
-                    dealWithWaitingTaskGroupQueue();
-
-                    taskGroupCoordinatorRoundCost.stop();
-                    log.info("TaskGroupCoordinator round cost: {}/ms", taskGroupCoordinatorRoundCost.getTime());
-                } finally {
-                    registryClient.releaseLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
+                final long waitTime = nextFullRoundTime - System.currentTimeMillis();
+                if (waitTime > 0) {
+                    final Integer taskGroupId = slotChangedTaskGroupIds.poll(waitTime, TimeUnit.MILLISECONDS);
+                    if (taskGroupId != null) {
+                        final Set<Integer> taskGroupIds = new LinkedHashSet<>();
+                        taskGroupIds.add(taskGroupId);
+                        slotChangedTaskGroupIds.drainTo(taskGroupIds);
+                        dealWithSlotChangedTaskGroups(taskGroupIds);
+                    }
+                    continue;
                 }
+                // The slot changed task groups will be dealt in the full round
+                slotChangedTaskGroupIds.clear();
+                nextFullRoundTime = System.currentTimeMillis() + FULL_ROUND_INTERVAL_MILLIS;
+                dealWithAllTaskGroups();
+            } catch (InterruptedException e) {
+                log.info("TaskGroupCoordinator is interrupted");
+                Thread.currentThread().interrupt();
+                break;
             } catch (Throwable e) {
                 log.error("TaskGroupCoordinator error", e);
-            } finally {
-                // sleep 5s
-                ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS * 5);
             }
         }
     }
 
+    private void dealWithAllTaskGroups() {
+        registryClient.getLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
+        try {
+            StopWatch taskGroupCoordinatorRoundCost = StopWatch.createStarted();
+
+            // Clear the finished TaskGroupQueue first, so that the amended useSize contains the released slots
+            amendTaskGroupQueueStatus();
+            amendTaskGroupUseSize();
+            dealWithForceStartTaskGroupQueue();
+            dealWithWaitingTaskGroupQueue();
+
+            taskGroupCoordinatorRoundCost.stop();
+            log.info("TaskGroupCoordinator round cost: {}/ms", taskGroupCoordinatorRoundCost.getTime());
+        } finally {
+            registryClient.releaseLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
+        }
+    }
+
+    private void dealWithSlotChangedTaskGroups(Set<Integer> taskGroupIds) {
+        registryClient.getLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
+        try {
+            StopWatch taskGroupCoordinatorRoundCost = StopWatch.createStarted();
+            for (Integer taskGroupId : taskGroupIds) {
+                TaskGroup taskGroup = taskGroupDao.queryById(taskGroupId);
+                if (taskGroup == null) {
+                    log.debug("The TaskGroup: {} does not exist, skip it", taskGroupId);
+                    continue;
+                }
+                dealWithWaitingTaskGroupQueue(taskGroup);
+            }
+            taskGroupCoordinatorRoundCost.stop();
+            log.debug("TaskGroupCoordinator deal with slot changed TaskGroups: {} cost: {}/ms",
+                    taskGroupIds, taskGroupCoordinatorRoundCost.getTime());
+        } finally {
+            registryClient.releaseLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
+        }
+    }
+
     /**
      * Make sure the TaskGroup useSize is equal to the TaskGroupQueue which status is {@link TaskGroupQueueStatus#ACQUIRE_SUCCESS} and forceStart is {@link org.apache.dolphinscheduler.common.enums.Flag#NO}.
      */
@@ -273,62 +330,62 @@ public class TaskGroupCoordinator extends BaseDaemonThread implements AutoClosea
 
     private void dealWithWaitingTaskGroupQueue() {
         // Find the TaskGroup which usage < maxSize.
-        // Find the highest priority inQueue task group queue(Which is inQueue and status is Waiting and force start is
-        // NO) belong to the
-        // task group.
         List<TaskGroup> taskGroups = taskGroupDao.queryAvailableTaskGroups();
         if (CollectionUtils.isEmpty(taskGroups)) {
             log.debug("There is no available task group");
             return;
         }
         for (TaskGroup taskGroup : taskGroups) {
-            int availableSize = taskGroup.getGroupSize() - taskGroup.getUseSize();
-            if (availableSize <= 0) {
-                log.info("TaskGroup {} is full, available size is {}", taskGroup, availableSize);
-                continue;
-            }
-            List<TaskGroupQueue> taskGroupQueues =
-                    taskGroupQueueDao.queryAllInQueueTaskGroupQueueByGroupId(taskGroup.getId())
-                            .stream()
-                            .filter(taskGroupQueue -> Flag.NO.getCode() == taskGroupQueue.getForceStart())
-                            .filter(taskGroupQueue -> TaskGroupQueueStatus.WAIT_QUEUE == taskGroupQueue.getStatus())
-                            .limit(availableSize)
-                            .collect(Collectors.toList());
-            if (CollectionUtils.isEmpty(taskGroupQueues)) {
-                log.debug("There is no waiting task group queue for task group {}", taskGroup.getName());
-                continue;
-            }
-            for (TaskGroupQueue taskGroupQueue : taskGroupQueues) {
-                try {
-                    LogUtils.setTaskInstanceIdMDC(taskGroupQueue.getTaskId());
-                    // Reduce the taskGroupSize
-                    boolean acquireResult = taskGroupDao.acquireTaskGroupSlot(taskGroup.getId());
-                    if (!acquireResult) {
-                        log.error("Failed to acquire task group slot for task group {}", taskGroup);
-                        continue;
-                    }
-                    // Notify the waiting task instance
-                    // We notify first, it notify failed, the taskGroupQueue will be in queue, and then we will retry it
-                    // next time.
-                    notifyWaitingTaskInstance(taskGroupQueue);
-
-                    // Set the taskGroupQueue status to RUNNING and remove from queue
-                    taskGroupQueue.setInQueue(Flag.YES.getCode());
-                    taskGroupQueue.setStatus(TaskGroupQueueStatus.ACQUIRE_SUCCESS);
-                    taskGroupQueue.setUpdateTime(new Date());
-                    taskGroupQueueDao.updateById(taskGroupQueue);
-                } catch (UnsupportedOperationException unsupportedOperationException) {
-                    deleteTaskGroupQueueSlot(taskGroupQueue);
-                    log.info(
-                            "Notify the Waiting TaskInstance: {} for taskGroupQueue: {} failed, will release the taskGroupQueue",
-                            taskGroupQueue.getTaskName(), taskGroupQueue.getId(), unsupportedOperationException);
-                } catch (Throwable throwable) {
-                    log.error("Notify Waiting TaskGroupQueue: {} failed", taskGroupQueue, throwable);
-                } finally {
-                    LogUtils.removeTaskInstanceIdMDC();
-                }
+            dealWithWaitingTaskGroupQueue(taskGroup);
+        }
+    }
+
+    private void dealWithWaitingTaskGroupQueue(TaskGroup taskGroup) {
+        // Find the highest priority inQueue task group queue(Which is inQueue and status is Waiting and force start is
+        // NO) belong to the task group.
+        int availableSize = taskGroup.getGroupSize() - taskGroup.getUseSize();
+        if (availableSize <= 0) {
+            log.info("TaskGroup {} is full, available size is {}", taskGroup, availableSize);
+            return;
+        }
+        List<TaskGroupQueue> taskGroupQueues =
+                taskGroupQueueDao.queryWaitingTaskGroupQueueByGroupId(taskGroup.getId(), availableSize);
+        if (CollectionUtils.isEmpty(taskGroupQueues)) {
+            log.debug("There is no waiting task group queue for task group {}", taskGroup.getName());
+            return;
+        }
+        // Reduce the taskGroupSize for all the waiting task group queue at once
+        if (!taskGroupDao.acquireTaskGroupSlots(taskGroup.getId(), taskGroupQueues.size())) {
+            log.warn("Failed to acquire {} task group slots for task group {}, will retry next time",
+                    taskGroupQueues.size(), taskGroup);
+            return;
+        }
+        List<Integer> acquiredTaskGroupQueueIds = new ArrayList<>();
+        for (TaskGroupQueue taskGroupQueue : taskGroupQueues) {
+            try {
+                LogUtils.setTaskInstanceIdMDC(taskGroupQueue.getTaskId());
+                // Notify the waiting task instance
+                // We notify first, it notify failed, the taskGroupQueue will be in queue, and then we will retry it
+                // next time.
+                notifyWaitingTaskInstance(taskGroupQueue);
+                acquiredTaskGroupQueueIds.add(taskGroupQueue.getId());
+            } catch (UnsupportedOperationException unsupportedOperationException) {
+                deleteTaskGroupQueueSlot(taskGroupQueue);
+                log.info(
+                        "Notify the Waiting TaskInstance: {} for taskGroupQueue: {} failed, will release the taskGroupQueue",
+                        taskGroupQueue.getTaskName(), taskGroupQueue.getId(), unsupportedOperationException);
+            } catch (Throwable throwable) {
+                log.error("Notify Waiting TaskGroupQueue: {} failed", taskGroupQueue, throwable);
+            } finally {
+                LogUtils.removeTaskInstanceIdMDC();
             }
         }
+        // Set the notified taskGroupQueue status to ACQUIRE_SUCCESS, and give back the slots which are not used
+        taskGroupQueueDao.updateStatusByIds(acquiredTaskGroupQueueIds, TaskGroupQueueStatus.ACQUIRE_SUCCESS);
+        int unusedSlotCount = taskGroupQueues.size() - acquiredTaskGroupQueueIds.size();
+        if (unusedSlotCount > 0) {
+            taskGroupDao.releaseTaskGroupSlots(taskGroup.getId(), unusedSlotCount);
+        }
     }
 
     /**
@@ -391,6 +448,7 @@ public class TaskGroupCoordinator extends BaseDaemonThread implements AutoClosea
                 .build();
         log.info("Success insert TaskGroupQueue: {} for TaskInstance: {}", taskGroupQueue, taskInstance.getName());
         taskGroupQueueDao.insert(taskGroupQueue);
+        slotChangedTaskGroupIds.offer(taskInstance.getTaskGroupId());
     }
 
     /**
@@ -429,8 +487,20 @@ public class TaskGroupCoordinator extends BaseDaemonThread implements AutoClosea
         }
         List<TaskGroupQueue> taskGroupQueues = taskGroupQueueDao.queryByTaskInstanceId(taskInstance.getId());
         for (TaskGroupQueue taskGroupQueue : taskGroupQueues) {
+            // Give back the slot before delete the taskGroupQueue, so the slot can be acquired by the waiting
+            // TaskInstance immediately
+            if (isUsingTaskGroupSlot(taskGroupQueue)) {
+                taskGroupDao.releaseTaskGroupSlot(taskGroupQueue.getGroupId());
+            }
             deleteTaskGroupQueueSlot(taskGroupQueue);
         }
+        slotChangedTaskGroupIds.offer(taskInstance.getTaskGroupId());
+    }
+
+    private boolean isUsingTaskGroupSlot(TaskGroupQueue taskGroupQueue) {
+        return TaskGroupQueueStatus.ACQUIRE_SUCCESS == taskGroupQueue.getStatus()
+                && Flag.NO.getCode() == taskGroupQueue.getForceStart()
+                && Flag.YES.getCode() == taskGroupQueue.getInQueue();
     }
 
     private void notifyWaitingTaskInstance(TaskGroupQueue taskGroupQueue) {
@@ -17,7 +17,7 @@
 
 package org.apache.dolphinscheduler.server.master.engine;
 
-import org.apache.dolphinscheduler.eventbus.AbstractDelayEventBus;
+import org.apache.dolphinscheduler.eventbus.AbstractTimingWheelDelayEventBus;
 
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -31,14 +31,32 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 @Getter
-public class WorkflowEventBus extends AbstractDelayEventBus<AbstractLifecycleEvent> {
+public class WorkflowEventBus extends AbstractTimingWheelDelayEventBus<AbstractLifecycleEvent> {
 
     private final WorkflowEventBusSummary workflowEventBusSummary = new WorkflowEventBusSummary();
 
+    /**
+     * The listener will be notified after an event has been published, used to wake up the fire worker which the bus
+     * belongs to.
+     */
+    private volatile Runnable eventPublishedListener;
+
     public void publish(final AbstractLifecycleEvent event) {
         super.publish(event);
         workflowEventBusSummary.increaseEventCount();
         log.info("Publish event: {}", event);
+        final Runnable listener = eventPublishedListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    public void registerEventPublishedListener(final Runnable eventPublishedListener) {
+        this.eventPublishedListener = eventPublishedListener;
+    }
+
+    public void unRegisterEventPublishedListener() {
+        this.eventPublishedListener = null;
     }
 
     @Data
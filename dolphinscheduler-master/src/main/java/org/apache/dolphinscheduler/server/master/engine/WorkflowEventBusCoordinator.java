@@ -17,9 +17,16 @@
 
 package org.apache.dolphinscheduler.server.master.engine;
 
-import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.engine.placement.IWorkflowEventBusFireWorkerPlacement;
+import org.apache.dolphinscheduler.server.master.engine.placement.WorkflowEventBusFireWorkerPlacementProperties;
 import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
-import org.apache.dolphinscheduler.server.master.runner.IWorkflowExecuteContext;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -35,18 +42,46 @@ public class WorkflowEventBusCoordinator implements AutoCloseable {
     @Autowired
     private WorkflowEventBusFireWorkers workflowEventBusFireWorkers;
 
+    @Autowired
+    private IWorkflowEventBusFireWorkerPlacement workflowEventBusFireWorkerPlacement;
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    /**
+     * workflowInstanceId -> the slot of the WorkflowEventBusFireWorker which the workflow registered
+     */
+    private final Map<Integer, Integer> workflowEventBusFireWorkerSlots = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService migrationCheckExecutor;
+
     public void start() {
         workflowEventBusFireWorkers.start();
+        final WorkflowEventBusFireWorkerPlacementProperties placementProperties =
+                masterConfig.getWorkflowEventBusFireWorkerPlacement();
+        if (placementProperties.isMigrationEnabled()) {
+            final long migrationCheckInterval = placementProperties.getMigrationCheckInterval().toMillis();
+            migrationCheckExecutor =
+                    ThreadUtils.newSingleDaemonScheduledExecutorService("DS-WorkflowEventBusMigrationChecker");
+            migrationCheckExecutor.scheduleWithFixedDelay(
+                    this::migrateBusyWorkflowIfUnbalanced,
+                    migrationCheckInterval,
+                    migrationCheckInterval,
+                    TimeUnit.MILLISECONDS);
+        }
         log.info("WorkflowEventBusCoordinator started");
     }
 
     /**
      * Register a WorkflowExecuteRunnable to the corresponding WorkflowEventBusFireWorker, once the WorkflowExecuteRunnable has been registered,
      * then the event will auto handler by the WorkflowEventBusFireWorker
+     * <p> The WorkflowEventBusFireWorker is selected by the {@link IWorkflowEventBusFireWorkerPlacement}.
      */
     public void registerWorkflowEventBus(IWorkflowExecutionRunnable workflowExecutionRunnable) {
-        final int workerSlot = calculateWorkflowEventBusFireWorkerSlot(workflowExecutionRunnable);
+        final int workerSlot = workflowEventBusFireWorkerPlacement.select(
+                workflowExecutionRunnable, workflowEventBusFireWorkers.getWorkers());
         final WorkflowEventBusFireWorker workflowEventBusFireWorker = workflowEventBusFireWorkers.getWorker(workerSlot);
+        workflowEventBusFireWorkerSlots.put(workflowExecutionRunnable.getId(), workerSlot);
         workflowEventBusFireWorker.registerWorkflowEventBus(workflowExecutionRunnable);
     }
 
@@ -55,26 +90,80 @@ public class WorkflowEventBusCoordinator implements AutoCloseable {
      * then the EventBus will be removed from the WorkflowEventBusFireWorker.
      */
     public void unRegisterWorkflowEventBus(IWorkflowExecutionRunnable workflowExecutionRunnable) {
-        final int workerSlot = calculateWorkflowEventBusFireWorkerSlot(workflowExecutionRunnable);
+        final Integer workerSlot = workflowEventBusFireWorkerSlots.remove(workflowExecutionRunnable.getId());
+        if (workerSlot == null) {
+            log.warn("The WorkflowExecuteRunnable: {} is not registered", workflowExecutionRunnable.getName());
+            return;
+        }
         final WorkflowEventBusFireWorker workflowEventBusFireWorker = workflowEventBusFireWorkers.getWorker(workerSlot);
         workflowEventBusFireWorker.unRegisterWorkflowEventBus(workflowExecutionRunnable);
     }
 
     /**
-     * Calculate the slot of the WorkflowEventBusFireWorker which the WorkflowExecuteRunnable should be registered.
-     * <p> The slot is calculated by the workflowInstanceId % workerSize.
-     * <p> e.g. If the workflowInstanceId is 1, and the workerSize is 3, then the slot is 1, the workflow will be registered to the worker[1].
-     * <p> If the workflowInstanceIds are not consecutive numbers, these will cause some worker busy.
+     * The count of the events which are waiting to be fired in all the WorkflowEventBusFireWorkers.
      */
-    private int calculateWorkflowEventBusFireWorkerSlot(IWorkflowExecutionRunnable workflowExecutionRunnable) {
-        final IWorkflowExecuteContext workflowExecuteContext = workflowExecutionRunnable.getWorkflowExecuteContext();
-        final WorkflowInstance workflowInstance = workflowExecuteContext.getWorkflowInstance();
-        final Integer workflowInstanceId = workflowInstance.getId();
-        return workflowInstanceId % workflowEventBusFireWorkers.getWorkerSize();
+    public int getPendingEventCount() {
+        final WorkflowEventBusFireWorker[] workers = workflowEventBusFireWorkers.getWorkers();
+        if (workers == null) {
+            return 0;
+        }
+        int pendingEventCount = 0;
+        for (WorkflowEventBusFireWorker worker : workers) {
+            pendingEventCount += worker.getPendingEventCount();
+        }
+        return pendingEventCount;
+    }
+
+    /**
+     * If the pending event count difference between the most loaded worker and the least loaded worker exceeds the
+     * threshold, request the most loaded worker to migrate the workflow which has the most pending events to the least
+     * loaded worker. The workflow should have less pending events than the difference, otherwise moving it will not
+     * narrow the gap.
+     */
+    private void migrateBusyWorkflowIfUnbalanced() {
+        try {
+            final WorkflowEventBusFireWorker[] workers = workflowEventBusFireWorkers.getWorkers();
+            int mostLoadedSlot = 0;
+            int leastLoadedSlot = 0;
+            for (int i = 1; i < workers.length; i++) {
+                if (workers[i].getPendingEventCount() > workers[mostLoadedSlot].getPendingEventCount()) {
+                    mostLoadedSlot = i;
+                }
+                if (workers[i].getPendingEventCount() < workers[leastLoadedSlot].getPendingEventCount()) {
+                    leastLoadedSlot = i;
+                }
+            }
+            final int pendingEventDiff =
+                    workers[mostLoadedSlot].getPendingEventCount() - workers[leastLoadedSlot].getPendingEventCount();
+            if (pendingEventDiff < masterConfig.getWorkflowEventBusFireWorkerPlacement()
+                    .getMigrationPendingEventThreshold()) {
+                return;
+            }
+            final int sourceSlot = mostLoadedSlot;
+            final int targetSlot = leastLoadedSlot;
+            workers[sourceSlot].requestMigration(
+                    pendingEventDiff,
+                    workflowExecutionRunnable -> migrateWorkflow(workflowExecutionRunnable, sourceSlot, targetSlot));
+        } catch (Exception ex) {
+            log.error("Check the WorkflowEventBusFireWorker migration failed", ex);
+        }
+    }
+
+    private void migrateWorkflow(final IWorkflowExecutionRunnable workflowExecutionRunnable,
+                                 final int sourceSlot,
+                                 final int targetSlot) {
+        workflowEventBusFireWorkers.getWorker(sourceSlot).unRegisterWorkflowEventBus(workflowExecutionRunnable);
+        workflowEventBusFireWorkerSlots.put(workflowExecutionRunnable.getId(), targetSlot);
+        workflowEventBusFireWorkers.getWorker(targetSlot).registerWorkflowEventBus(workflowExecutionRunnable);
+        log.info("Migrated WorkflowExecuteRunnable: {} from fire worker-{} to fire worker-{}",
+                workflowExecutionRunnable.getName(), sourceSlot, targetSlot);
     }
 
     @Override
     public void close() throws Exception {
+        if (migrationCheckExecutor != null) {
+            migrationCheckExecutor.shutdownNow();
+        }
         workflowEventBusFireWorkers.close();
     }
 }
@@ -25,30 +25,54 @@ import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.server.master.engine.exceptions.WorkflowEventFireException;
 import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.metrics.WorkflowInstanceMetrics;
 import org.apache.dolphinscheduler.server.master.runner.IWorkflowExecuteContext;
 import org.apache.dolphinscheduler.server.master.utils.ExceptionUtils;
 
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.MapUtils;
-
-import java.util.Collections;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
+import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * The worker which fires the events in the {@link WorkflowEventBus} of the registered workflows.
+ * <p> Once an event is published to a registered {@link WorkflowEventBus}, the workflow will be put into the ready queue
+ * of the worker and the worker will be woken up, so the worker only touches the workflows which have pending events.
+ * <p> The delay events cannot be fired at publish time, the workflows which still contain events after fired will be
+ * recorded and rechecked every {@link #DELAY_EVENT_CHECK_INTERVAL} milliseconds.
+ */
 @Slf4j
 @SuppressWarnings({"rawtypes", "unchecked"})
-public class WorkflowEventBusFireWorker {
+public class WorkflowEventBusFireWorker implements Runnable {
+
+    private static final long DELAY_EVENT_CHECK_INTERVAL = 100;
 
     private final Map<Integer, IWorkflowExecutionRunnable> registeredWorkflowExecuteRunnableMap =
             new ConcurrentHashMap<>();
 
     private final Map<ILifecycleEventType, ILifecycleEventHandler> eventHandlerMap = new ConcurrentHashMap<>();
 
+    private final BlockingQueue<Integer> readyWorkflowQueue = new LinkedBlockingQueue<>();
+
+    private final Set<Integer> readyWorkflowIds = ConcurrentHashMap.newKeySet();
+
+    private final Set<Integer> delayedWorkflowIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The approximate count of the events which are published to the registered workflows but not fired.
+     */
+    private final AtomicInteger pendingEventCount = new AtomicInteger();
+
+    private volatile MigrationRequest migrationRequest;
+
     public void registerEventHandler(ILifecycleEventHandler eventHandler) {
         checkArgument(eventHandler != null, "event handler cannot be null");
         checkArgument(eventHandler.matchEventType() != null, "event type cannot be null");
@@ -64,57 +88,160 @@ public class WorkflowEventBusFireWorker {
                 "WorkflowExecuteRunnable(%s/%s already registered at WorkflowEventBusFireWorker", workflowInstanceId,
                 workflowInstanceName);
         registeredWorkflowExecuteRunnableMap.put(workflowInstanceId, workflowExecutionRunnable);
+        final WorkflowEventBus workflowEventBus = workflowExecutionRunnable.getWorkflowEventBus();
+        workflowEventBus.registerEventPublishedListener(() -> {
+            pendingEventCount.incrementAndGet();
+            markWorkflowReady(workflowInstanceId);
+        });
+        if (!workflowEventBus.isEmpty()) {
+            pendingEventCount.addAndGet(workflowEventBus.size());
+            markWorkflowReady(workflowInstanceId);
+        }
     }
 
     public void unRegisterWorkflowEventBus(IWorkflowExecutionRunnable workflowExecutionRunnable) {
         final IWorkflowExecuteContext workflowExecuteContext = workflowExecutionRunnable.getWorkflowExecuteContext();
         final WorkflowInstance workflowInstance = workflowExecuteContext.getWorkflowInstance();
         final Integer workflowInstanceId = workflowInstance.getId();
-        registeredWorkflowExecuteRunnableMap.remove(workflowInstanceId, workflowExecutionRunnable);
+        if (registeredWorkflowExecuteRunnableMap.remove(workflowInstanceId, workflowExecutionRunnable)) {
+            final WorkflowEventBus workflowEventBus = workflowExecutionRunnable.getWorkflowEventBus();
+            workflowEventBus.unRegisterEventPublishedListener();
+            pendingEventCount.addAndGet(-workflowEventBus.size());
+            delayedWorkflowIds.remove(workflowInstanceId);
+        }
     }
 
-    public void fireAllRegisteredEvent() {
-        final List<IWorkflowExecutionRunnable> workflowExecutionRunnables = getWaitingFireWorkflowExecutionRunnables();
-        if (CollectionUtils.isEmpty(workflowExecutionRunnables)) {
-            return;
-        }
-        for (IWorkflowExecutionRunnable workflowExecutionRunnable : workflowExecutionRunnables) {
-            final Integer workflowInstanceId = workflowExecutionRunnable.getId();
-            final String workflowInstanceName = workflowExecutionRunnable.getName();
+    /**
+     * Loop to fire the events of the ready workflows, until the thread is interrupted.
+     */
+    @Override
+    public void run() {
+        long lastDelayEventCheckTime = System.currentTimeMillis();
+        while (!Thread.currentThread().isInterrupted()) {
             try {
-                LogUtils.setWorkflowInstanceIdMDC(workflowInstanceId);
-                doFireSingleWorkflowEventBus(workflowExecutionRunnable);
-            } catch (Exception ex) {
-                log.error("Fire event failed for WorkflowExecuteRunnable: {}", workflowInstanceName, ex);
-            } finally {
-                LogUtils.removeWorkflowInstanceIdMDC();
+                final Integer workflowInstanceId =
+                        readyWorkflowQueue.poll(DELAY_EVENT_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+                if (workflowInstanceId != null) {
+                    fireWorkflowEventBus(workflowInstanceId);
+                }
+                // No workflow is firing by this worker now, it's safe to migrate a workflow out
+                migrateBusiestWorkflowIfRequested();
+                if (System.currentTimeMillis() - lastDelayEventCheckTime >= DELAY_EVENT_CHECK_INTERVAL) {
+                    delayedWorkflowIds.forEach(this::markWorkflowReady);
+                    lastDelayEventCheckTime = System.currentTimeMillis();
+                }
+            } catch (InterruptedException interruptedException) {
+                log.info("WorkflowEventBusFireWorker is interrupted, stop firing events");
+                Thread.currentThread().interrupt();
+            } catch (Throwable throwable) {
+                log.error("WorkflowEventBusFireWorker fire events failed", throwable);
             }
         }
     }
 
-    private List<IWorkflowExecutionRunnable> getWaitingFireWorkflowExecutionRunnables() {
-        if (MapUtils.isEmpty(registeredWorkflowExecuteRunnableMap)) {
-            return Collections.emptyList();
+    /**
+     * The count of the workflows which are waiting to be fired by this worker.
+     */
+    public int getReadyWorkflowCount() {
+        return readyWorkflowQueue.size();
+    }
+
+    public int getPendingEventCount() {
+        return Math.max(pendingEventCount.get(), 0);
+    }
+
+    public int getRegisteredWorkflowCount() {
+        return registeredWorkflowExecuteRunnableMap.size();
+    }
+
+    /**
+     * Request to migrate the workflow which has the most pending events out of this worker.
+     * <p> Only the workflows which have less than {@code maxPendingEventCount} pending events can be migrated, so the
+     * migration always narrows the gap between the two workers. The handler will be invoked in the worker thread
+     * between two fires, so the workflow will not be fired by two workers at the same time.
+     */
+    public void requestMigration(final int maxPendingEventCount,
+                                 final Consumer<IWorkflowExecutionRunnable> migrationHandler) {
+        this.migrationRequest = new MigrationRequest(maxPendingEventCount, migrationHandler);
+    }
+
+    private void markWorkflowReady(final Integer workflowInstanceId) {
+        if (readyWorkflowIds.add(workflowInstanceId)) {
+            readyWorkflowQueue.add(workflowInstanceId);
+        }
+    }
+
+    private void fireWorkflowEventBus(final Integer workflowInstanceId) {
+        // Remove the ready flag before fire, so the events published during fire will mark the workflow ready again
+        readyWorkflowIds.remove(workflowInstanceId);
+        delayedWorkflowIds.remove(workflowInstanceId);
+        final IWorkflowExecutionRunnable workflowExecutionRunnable =
+                registeredWorkflowExecuteRunnableMap.get(workflowInstanceId);
+        if (workflowExecutionRunnable == null) {
+            return;
+        }
+        final String workflowInstanceName = workflowExecutionRunnable.getName();
+        try {
+            LogUtils.setWorkflowInstanceIdMDC(workflowInstanceId);
+            doFireSingleWorkflowEventBus(workflowInstanceId, workflowExecutionRunnable);
+        } catch (Exception ex) {
+            log.error("Fire event failed for WorkflowExecuteRunnable: {}", workflowInstanceName, ex);
+        } finally {
+            LogUtils.removeWorkflowInstanceIdMDC();
+        }
+        if (!registeredWorkflowExecuteRunnableMap.containsKey(workflowInstanceId)) {
+            return;
+        }
+        if (!workflowExecutionRunnable.getWorkflowEventBus().isEmpty()) {
+            // The remaining events are delay events, or the event fire failed, need to be rechecked later
+            delayedWorkflowIds.add(workflowInstanceId);
         }
-        return registeredWorkflowExecuteRunnableMap.values()
-                .stream()
-                .filter(workflowExecuteRunnable -> !workflowExecuteRunnable.getWorkflowEventBus().isEmpty())
-                .collect(Collectors.toList());
     }
 
-    private void doFireSingleWorkflowEventBus(final IWorkflowExecutionRunnable workflowExecutionRunnable) {
+    private void migrateBusiestWorkflowIfRequested() {
+        final MigrationRequest request = migrationRequest;
+        if (request == null) {
+            return;
+        }
+        migrationRequest = null;
+        IWorkflowExecutionRunnable busiestWorkflow = null;
+        int busiestWorkflowPendingEventCount = 0;
+        for (IWorkflowExecutionRunnable workflowExecutionRunnable : registeredWorkflowExecuteRunnableMap.values()) {
+            final int workflowPendingEventCount = workflowExecutionRunnable.getWorkflowEventBus().size();
+            if (workflowPendingEventCount > busiestWorkflowPendingEventCount
+                    && workflowPendingEventCount < request.maxPendingEventCount) {
+                busiestWorkflow = workflowExecutionRunnable;
+                busiestWorkflowPendingEventCount = workflowPendingEventCount;
+            }
+        }
+        if (busiestWorkflow == null) {
+            return;
+        }
+        request.migrationHandler.accept(busiestWorkflow);
+    }
+
+    private void doFireSingleWorkflowEventBus(final Integer workflowInstanceId,
+                                              final IWorkflowExecutionRunnable workflowExecutionRunnable) {
         final WorkflowEventBus workflowEventBus = workflowExecutionRunnable.getWorkflowEventBus();
         while (!workflowEventBus.isEmpty()) {
+            // The handler of the previous event might unregister the workflow, the remaining events should not be
+            // fired and counted by this worker
+            if (registeredWorkflowExecuteRunnableMap.get(workflowInstanceId) != workflowExecutionRunnable) {
+                return;
+            }
             Optional<AbstractLifecycleEvent> eventOptional = workflowEventBus.poll();
             if (!eventOptional.isPresent()) {
                 return;
             }
             final AbstractLifecycleEvent lifecycleEvent = eventOptional.get();
+            pendingEventCount.decrementAndGet();
             try {
                 // Since we will print the event count at FinalizeEventHandler
                 // So we increase the event count before the event fired then we can get the correct event count
                 // And if the event handle failed we will decrease the success event count
                 workflowEventBus.getWorkflowEventBusSummary().increaseFireSuccessEventCount();
+                WorkflowInstanceMetrics.recordWorkflowEventFireLatency(
+                        System.currentTimeMillis() - lifecycleEvent.getTriggerTimeInMillis());
                 doFireSingleEvent(workflowExecutionRunnable, lifecycleEvent);
             } catch (Exception ex) {
                 // If the database connection is failed, do not remove the event from the event bus
@@ -140,4 +267,12 @@ public class WorkflowEventBusFireWorker {
         lifecycleEventHandler.handle(workflowExecutionRunnable, event);
     }
 
+    @AllArgsConstructor
+    private static class MigrationRequest {
+
+        private final int maxPendingEventCount;
+
+        private final Consumer<IWorkflowExecutionRunnable> migrationHandler;
+    }
+
 }
@@ -19,11 +19,10 @@ package org.apache.dolphinscheduler.server.master.engine;
 
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.metrics.WorkflowInstanceMetrics;
 
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ExecutorService;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -40,31 +39,27 @@ public class WorkflowEventBusFireWorkers implements AutoCloseable {
     @Autowired
     private MasterConfig masterConfig;
 
-    private static final long DEFAULT_FIRE_INTERVAL = 100;
-
     private WorkflowEventBusFireWorker[] workflowEventBusFireWorkers;
 
-    private ScheduledExecutorService workflowEventBusFireThreadPool;
+    private ExecutorService workflowEventBusFireThreadPool;
 
     public void start() {
         final int workflowEventBusFireThreadCount = masterConfig.getWorkflowEventBusFireThreadCount();
-        workflowEventBusFireThreadPool = Executors.newScheduledThreadPool(
-                workflowEventBusFireThreadCount,
-                ThreadUtils.newDaemonThreadFactory("DS-WorkflowEventBusFireWorker-%d"));
+        workflowEventBusFireThreadPool = ThreadUtils.newDaemonFixedThreadExecutor(
+                "DS-WorkflowEventBusFireWorker-%d", workflowEventBusFireThreadCount);
         workflowEventBusFireWorkers = new WorkflowEventBusFireWorker[workflowEventBusFireThreadCount];
 
         for (int i = 0; i < workflowEventBusFireThreadCount; i++) {
             final WorkflowEventBusFireWorker workflowEventBusFireWorker = new WorkflowEventBusFireWorker();
             eventHandlers.forEach(workflowEventBusFireWorker::registerEventHandler);
             workflowEventBusFireWorkers[i] = workflowEventBusFireWorker;
+            WorkflowInstanceMetrics.registerWorkflowEventBusFireWorkerPendingEventGauge(
+                    i, workflowEventBusFireWorker::getPendingEventCount);
+            WorkflowInstanceMetrics.registerWorkflowEventBusFireWorkerRegisteredWorkflowGauge(
+                    i, workflowEventBusFireWorker::getRegisteredWorkflowCount);
 
-            workflowEventBusFireThreadPool.scheduleWithFixedDelay(
-                    workflowEventBusFireWorker::fireAllRegisteredEvent,
-                    DEFAULT_FIRE_INTERVAL,
-                    // todo: do not use a fixed interval for all worker, each worker use wait notify to control the fire
-                    // interval
-                    DEFAULT_FIRE_INTERVAL,
-                    TimeUnit.MILLISECONDS);
+            // Each worker will be woken up once an event is published to the workflow registered in it
+            workflowEventBusFireThreadPool.execute(workflowEventBusFireWorker);
         }
         log.info("WorkflowEventBusFireWorkers started, worker size: {}", workflowEventBusFireThreadCount);
     }
@@ -73,6 +68,10 @@ public class WorkflowEventBusFireWorkers implements AutoCloseable {
         return workflowEventBusFireWorkers[workerSlot];
     }
 
+    public WorkflowEventBusFireWorker[] getWorkers() {
+        return workflowEventBusFireWorkers;
+    }
+
     public int getWorkerSize() {
         return masterConfig.getWorkflowEventBusFireThreadCount();
     }
@@ -80,7 +79,7 @@ public class WorkflowEventBusFireWorkers implements AutoCloseable {
     @Override
     public void close() throws Exception {
         if (workflowEventBusFireThreadPool != null) {
-            workflowEventBusFireThreadPool.shutdown();
+            workflowEventBusFireThreadPool.shutdownNow();
         }
         log.info("WorkflowEventBusFireWorkers closed");
     }
@@ -28,6 +28,7 @@ import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
 import org.apache.dolphinscheduler.meter.metrics.MetricsProvider;
 import org.apache.dolphinscheduler.meter.metrics.SystemMetrics;
+import org.apache.dolphinscheduler.server.master.config.CommandBootstrapProperties;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.config.MasterServerLoadProtection;
 import org.apache.dolphinscheduler.server.master.engine.IWorkflowRepository;
@@ -37,15 +38,18 @@ import org.apache.dolphinscheduler.server.master.engine.workflow.lifecycle.event
 import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.WorkflowExecutionRunnableFactory;
 import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
+import org.apache.dolphinscheduler.server.master.metrics.WorkflowInstanceMetrics;
 import org.apache.dolphinscheduler.service.command.CommandService;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -54,6 +58,8 @@ import org.springframework.stereotype.Service;
 
 /**
  * Master scheduler thread, this thread will consume the commands from database and trigger processInstance executed.
+ * <p> The commands are bootstrapped in a bounded window, the thread will claim new commands as soon as there is a free
+ * slot in the window, so a slow command will not block the other commands.
  */
 @Service
 @Slf4j
@@ -82,6 +88,14 @@ public class CommandEngine extends BaseDaemonThread implements AutoCloseable {
 
     private ExecutorService commandHandleThreadPool;
 
+    private Semaphore inFlightCommandPermits;
+
+    /**
+     * The id of the commands which are bootstrapping, used to skip the commands which are fetched again before they
+     * are removed from the database.
+     */
+    private final Set<Integer> inFlightCommandIds = ConcurrentHashMap.newKeySet();
+
     private boolean flag = false;
 
     protected CommandEngine() {
@@ -91,8 +105,12 @@ public class CommandEngine extends BaseDaemonThread implements AutoCloseable {
     @Override
     public synchronized void start() {
         log.info("MasterSchedulerBootstrap starting..");
-        this.commandHandleThreadPool = ThreadUtils.newDaemonFixedThreadExecutor("MasterCommandHandleThreadPool",
-                Runtime.getRuntime().availableProcessors());
+        // Each in-flight command has its own thread, so a slow command will not block the others
+        final int maxInFlightCommands = masterConfig.getCommandBootstrap().getMaxInFlightCommands();
+        this.commandHandleThreadPool =
+                ThreadUtils.newDaemonFixedThreadExecutor("MasterCommandHandleThreadPool", maxInFlightCommands);
+        this.inFlightCommandPermits = new Semaphore(maxInFlightCommands);
+        WorkflowInstanceMetrics.registerCommandInFlightGauge(inFlightCommandIds::size);
         flag = true;
         super.start();
         log.info("MasterSchedulerBootstrap started...");
@@ -108,9 +126,9 @@ public class CommandEngine extends BaseDaemonThread implements AutoCloseable {
     @Override
     public void run() {
         MasterServerLoadProtection serverLoadProtection = masterConfig.getServerLoadProtection();
+        CommandBootstrapProperties commandBootstrapProperties = masterConfig.getCommandBootstrap();
         while (flag) {
             try {
-                // todo: if the workflow event queue is much, we need to handle the back pressure
                 SystemMetrics systemMetrics = metricsProvider.getSystemMetrics();
                 if (serverLoadProtection.isOverload(systemMetrics)) {
                     log.warn("The current server is overload, cannot consumes commands.");
@@ -118,22 +136,45 @@ public class CommandEngine extends BaseDaemonThread implements AutoCloseable {
                     Thread.sleep(Constants.SLEEP_TIME_MILLIS);
                     continue;
                 }
-                List<Command> commands = commandFetcher.fetchCommands();
-                if (CollectionUtils.isEmpty(commands)) {
-                    // indicate that no command ,sleep for 1s
+                int pendingWorkflowEventCount = workflowEventBusCoordinator.getPendingEventCount();
+                if (pendingWorkflowEventCount > commandBootstrapProperties.getMaxPendingWorkflowEvents()) {
+                    log.warn("The pending workflow event count: {} is more than {}, cannot consumes commands.",
+                            pendingWorkflowEventCount, commandBootstrapProperties.getMaxPendingWorkflowEvents());
+                    MasterServerMetrics.incMasterOverload();
                     Thread.sleep(Constants.SLEEP_TIME_MILLIS);
                     continue;
                 }
-
-                List<CompletableFuture<Void>> allCompleteFutures = new ArrayList<>();
-                for (Command command : commands) {
-                    CompletableFuture<Void> completableFuture = bootstrapCommand(command)
-                            .thenAccept(this::bootstrapWorkflowExecutionRunnable)
-                            .thenAccept((unused) -> bootstrapSuccess(command))
-                            .exceptionally(throwable -> bootstrapError(command, throwable));
-                    allCompleteFutures.add(completableFuture);
+                // Wait for a free slot, then claim all the free slots of the window before fetching, so the
+                // fetched commands never exceed the window and will not be held while the window is full
+                inFlightCommandPermits.acquire();
+                int claimedPermits = 1 + inFlightCommandPermits.drainPermits();
+                int bootstrappedCommandCount = 0;
+                try {
+                    List<Command> commands = commandFetcher.fetchCommands(claimedPermits);
+                    if (CollectionUtils.isEmpty(commands)) {
+                        // indicate that no command ,sleep for 1s
+                        Thread.sleep(Constants.SLEEP_TIME_MILLIS);
+                        continue;
+                    }
+                    for (Command command : commands) {
+                        if (claimedPermits == 0) {
+                            // The left commands will be fetched again in the next round
+                            break;
+                        }
+                        if (!inFlightCommandIds.add(command.getId())) {
+                            continue;
+                        }
+                        claimedPermits--;
+                        bootstrapCommandAsync(command);
+                        bootstrappedCommandCount++;
+                    }
+                } finally {
+                    inFlightCommandPermits.release(claimedPermits);
+                }
+                if (bootstrappedCommandCount == 0) {
+                    // all the fetched commands are bootstrapping, sleep for 1s
+                    Thread.sleep(Constants.SLEEP_TIME_MILLIS);
                 }
-                CompletableFuture.allOf(allCompleteFutures.toArray(new CompletableFuture[0])).join();
             } catch (InterruptedException interruptedException) {
                 log.warn("Master schedule bootstrap interrupted, close the loop", interruptedException);
                 Thread.currentThread().interrupt();
@@ -146,6 +187,19 @@ public class CommandEngine extends BaseDaemonThread implements AutoCloseable {
         }
     }
 
+    private void bootstrapCommandAsync(Command command) {
+        final long startTime = System.currentTimeMillis();
+        bootstrapCommand(command)
+                .thenAccept(this::bootstrapWorkflowExecutionRunnable)
+                .thenAccept((unused) -> bootstrapSuccess(command))
+                .exceptionally(throwable -> bootstrapError(command, throwable))
+                .whenComplete((unused, throwable) -> {
+                    inFlightCommandIds.remove(command.getId());
+                    inFlightCommandPermits.release();
+                    WorkflowInstanceMetrics.recordCommandBootstrapTime(System.currentTimeMillis() - startTime);
+                });
+    }
+
     private CompletableFuture<IWorkflowExecutionRunnable> bootstrapCommand(Command command) {
         return supplyAsync(
                 () -> workflowExecutionRunnableFactory.createWorkflowExecuteRunnable(command), commandHandleThreadPool);
@@ -29,8 +29,9 @@ public interface ICommandFetcher {
     /**
      * Fetch commands
      *
+     * @param maxFetchSize the max number of commands to fetch
      * @return command list which need to be handled
      */
-    List<Command> fetchCommands();
+    List<Command> fetchCommands(int maxFetchSize);
 
 }
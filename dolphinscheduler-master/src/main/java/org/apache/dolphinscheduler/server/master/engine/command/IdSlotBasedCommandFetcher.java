@@ -49,7 +49,7 @@ public class IdSlotBasedCommandFetcher implements ICommandFetcher {
     }
 
     @Override
-    public List<Command> fetchCommands() {
+    public List<Command> fetchCommands(int maxFetchSize) {
         long scheduleStartTime = System.currentTimeMillis();
         if (!masterSlotManager.checkSlotValid()) {
             log.warn("MasterSlotManager check slot ({} -> {})is invalidated.",
@@ -62,7 +62,7 @@ public class IdSlotBasedCommandFetcher implements ICommandFetcher {
                 currentSlotIndex,
                 totalSlot,
                 idSlotBasedFetchConfig.getIdStep(),
-                idSlotBasedFetchConfig.getFetchSize());
+                Math.min(idSlotBasedFetchConfig.getFetchSize(), maxFetchSize));
         long cost = System.currentTimeMillis() - scheduleStartTime;
         log.info("[Slot-{}/{}] Fetch {} commands in {}ms.", currentSlotIndex, totalSlot, commands.size(), cost);
         WorkflowInstanceMetrics.recordCommandQueryTime(cost);
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.command;
+
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.repository.CommandDao;
+import org.apache.dolphinscheduler.server.master.cluster.MasterSlotManager;
+import org.apache.dolphinscheduler.server.master.config.CommandFetchStrategy;
+import org.apache.dolphinscheduler.server.master.metrics.WorkflowInstanceMetrics;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The command fetcher which use the same slot rule as {@link IdSlotBasedCommandFetcher}, a command belongs to the
+ * current master if {@code (commandId / idStep) % totalSlot = currentSlotIndex}.
+ * <p> Different from {@link IdSlotBasedCommandFetcher}, the slot predicate is not pushed down to the database, since
+ * it cannot be served by any index. Instead, each fetch scans a window of command ids after the cursor through the
+ * primary key, filters the ids belongs to the current slot in memory, and then load the commands by id. So the cost
+ * of each fetch depends on the window size rather than the table size.
+ * <p> The cursor will be reset once the scan reaches the tail of the table or the slot of the master changed, so the
+ * commands which are skipped will be fetched in the next round. The priority is respected inside each window.
+ * <p> At most {@code maxFetchSize} commands are returned, the cursor only moves past the returned commands.
+ */
+@Slf4j
+public class IdSlotCursorBasedCommandFetcher implements ICommandFetcher {
+
+    private final CommandFetchStrategy.IdSlotBasedFetchConfig idSlotBasedFetchConfig;
+
+    private final CommandDao commandDao;
+
+    private final MasterSlotManager masterSlotManager;
+
+    private int commandIdCursor = 0;
+
+    private int lastSlotIndex = -1;
+
+    private int lastTotalSlot = -1;
+
+    public IdSlotCursorBasedCommandFetcher(CommandFetchStrategy.IdSlotBasedFetchConfig idSlotBasedFetchConfig,
+                                           MasterSlotManager masterSlotManager,
+                                           CommandDao commandDao) {
+        this.idSlotBasedFetchConfig = idSlotBasedFetchConfig;
+        this.masterSlotManager = masterSlotManager;
+        this.commandDao = commandDao;
+    }
+
+    @Override
+    public synchronized List<Command> fetchCommands(int maxFetchSize) {
+        long scheduleStartTime = System.currentTimeMillis();
+        if (!masterSlotManager.checkSlotValid()) {
+            log.warn("MasterSlotManager check slot ({} -> {})is invalidated.",
+                    masterSlotManager.getCurrentMasterSlot(), masterSlotManager.getTotalMasterSlots());
+            return Collections.emptyList();
+        }
+        int currentSlotIndex = masterSlotManager.getCurrentMasterSlot();
+        int totalSlot = masterSlotManager.getTotalMasterSlots();
+        if (currentSlotIndex != lastSlotIndex || totalSlot != lastTotalSlot) {
+            log.info("[Slot-{}/{}] The master slot changed, reset the command id cursor from {} to 0.",
+                    currentSlotIndex, totalSlot, commandIdCursor);
+            commandIdCursor = 0;
+            lastSlotIndex = currentSlotIndex;
+            lastTotalSlot = totalSlot;
+        }
+
+        int idStep = idSlotBasedFetchConfig.getIdStep();
+        int scanSize = Math.min(idSlotBasedFetchConfig.getFetchSize(), maxFetchSize) * totalSlot;
+        List<Integer> commandIds = commandDao.queryCommandIdsByIdCursor(commandIdCursor, scanSize);
+        List<Integer> slotCommandIds = commandIds.stream()
+                .filter(commandId -> (commandId / idStep) % totalSlot == currentSlotIndex)
+                .collect(Collectors.toList());
+        if (slotCommandIds.size() > maxFetchSize) {
+            // Only take the commands which can be handled, the others will be scanned from the cursor at next round
+            slotCommandIds = slotCommandIds.subList(0, maxFetchSize);
+            commandIdCursor = slotCommandIds.get(slotCommandIds.size() - 1);
+        } else if (commandIds.size() < scanSize) {
+            // Reach the tail of the command table, start from the head at next round
+            commandIdCursor = 0;
+        } else {
+            commandIdCursor = commandIds.get(commandIds.size() - 1);
+        }
+
+        List<Command> commands = slotCommandIds.isEmpty()
+                ? Collections.emptyList()
+                : commandDao.queryByIds(slotCommandIds)
+                        .stream()
+                        .sorted(Comparator.comparing(Command::getWorkflowInstancePriority,
+                                Comparator.nullsLast(Comparator.naturalOrder()))
+                                .thenComparing(Command::getId))
+                        .collect(Collectors.toList());
+        long cost = System.currentTimeMillis() - scheduleStartTime;
+        log.info("[Slot-{}/{}] Fetch {} commands in {}ms, scanned {} command ids, next cursor: {}.",
+                currentSlotIndex, totalSlot, commands.size(), cost, commandIds.size(), commandIdCursor);
+        WorkflowInstanceMetrics.recordCommandQueryTime(cost);
+        return commands;
+    }
+
+}
@@ -75,6 +75,13 @@ public interface IWorkflowExecutionGraph {
      */
     ITaskExecutionRunnable getTaskExecutionRunnableByTaskCode(final Long taskCode);
 
+    /**
+     * Refresh the task instance index of the given task.
+     * <p> This method should be called once the task instance of the given task is changed, e.g. the first run task
+     * instance is created or the task is retried, otherwise the task cannot be found by the new task instance id quickly.
+     */
+    void refreshTaskInstanceIndex(final ITaskExecutionRunnable taskExecutionRunnable);
+
     /**
      * Whether the given task is active.
      */
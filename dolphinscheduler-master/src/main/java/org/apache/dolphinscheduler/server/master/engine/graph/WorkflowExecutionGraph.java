@@ -23,89 +23,140 @@ import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.plugin.task.api.utils.TaskTypeUtils;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
 
-import org.apache.commons.collections4.CollectionUtils;
-
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
+/**
+ * The workflow execution graph, each task in the graph is assigned a dense integer index once it is seen, the
+ * adjacency and the task chain state are stored by the index.
+ * <p>
+ * The trigger condition of each task is tracked incrementally: every task keeps the count of its predecessors which
+ * block it (active, failure, paused or killed) and the count of its skipped predecessors, these counters are updated
+ * when the state of a task changes, so each state transition costs O(out-degree) and checking the trigger condition
+ * costs O(1). If {@code verifyIncrementalState} is enabled, the counters will be verified by scanning the
+ * predecessors every time they are used, this should only be used in tests.
+ */
 public class WorkflowExecutionGraph implements IWorkflowExecutionGraph {
 
-    private final Map<String, ITaskExecutionRunnable> totalTaskExecuteRunnableMap;
+    private final Map<String, Integer> taskIndexes;
+
+    private final List<ITaskExecutionRunnable> totalTaskExecuteRunnables;
+
+    private final Map<Long, Integer> taskCodeIndexes;
 
-    private final Set<String> failureTaskChains;
+    private final Map<Integer, Integer> taskInstanceIdIndexes;
 
-    private final Set<String> pausedTaskChains;
+    private final List<Integer> indexedTaskInstanceIds;
 
-    private final Set<String> killedTaskChains;
+    private final List<IntArrayList> predecessors;
 
-    private final Set<String> skippedTask;
+    private final List<IntArrayList> successors;
 
-    private final Map<String, Set<String>> predecessors;
+    private final TaskStateSet failureTaskChains;
 
-    private final Map<String, Set<String>> successors;
+    private final TaskStateSet pausedTaskChains;
 
-    private final Set<String> activeTaskExecutionRunnable;
+    private final TaskStateSet killedTaskChains;
+
+    private final TaskStateSet skippedTask;
+
+    private final TaskStateSet activeTaskExecutionRunnable;
+
+    /**
+     * The count of the predecessors which are active, failure, paused or killed, the task can be triggered only when
+     * the count is 0.
+     */
+    private final IntArrayList blockingPredecessorCounts;
+
+    private final IntArrayList skippedPredecessorCounts;
+
+    private final boolean verifyIncrementalState;
 
     public WorkflowExecutionGraph() {
-        this.failureTaskChains = new HashSet<>();
-        this.pausedTaskChains = new HashSet<>();
-        this.killedTaskChains = new HashSet<>();
-        this.skippedTask = new HashSet<>();
-        this.predecessors = new HashMap<>();
-        this.successors = new HashMap<>();
-        this.totalTaskExecuteRunnableMap = new HashMap<>();
-        this.activeTaskExecutionRunnable = new HashSet<>();
+        this(false);
+    }
+
+    public WorkflowExecutionGraph(final boolean verifyIncrementalState) {
+        this.taskIndexes = new HashMap<>();
+        this.totalTaskExecuteRunnables = new ArrayList<>();
+        this.taskCodeIndexes = new HashMap<>();
+        this.taskInstanceIdIndexes = new HashMap<>();
+        this.indexedTaskInstanceIds = new ArrayList<>();
+        this.predecessors = new ArrayList<>();
+        this.successors = new ArrayList<>();
+        this.failureTaskChains = new TaskStateSet();
+        this.pausedTaskChains = new TaskStateSet();
+        this.killedTaskChains = new TaskStateSet();
+        this.skippedTask = new TaskStateSet();
+        this.activeTaskExecutionRunnable = new TaskStateSet();
+        this.blockingPredecessorCounts = new IntArrayList();
+        this.skippedPredecessorCounts = new IntArrayList();
+        this.verifyIncrementalState = verifyIncrementalState;
     }
 
     @Override
     public void addNode(final ITaskExecutionRunnable taskExecutionRunnable) {
-        totalTaskExecuteRunnableMap.put(taskExecutionRunnable.getName(), taskExecutionRunnable);
-        predecessors.computeIfAbsent(taskExecutionRunnable.getName(), k -> new HashSet<>());
-        successors.computeIfAbsent(taskExecutionRunnable.getName(), k -> new HashSet<>());
+        final int taskIndex = getOrCreateTaskIndex(taskExecutionRunnable.getName());
+        totalTaskExecuteRunnables.set(taskIndex, taskExecutionRunnable);
+        if (taskExecutionRunnable.getTaskDefinition() != null) {
+            taskCodeIndexes.put(taskExecutionRunnable.getTaskDefinition().getCode(), taskIndex);
+        }
+        indexTaskInstance(taskIndex, taskExecutionRunnable);
     }
 
     @Override
     public void addEdge(String fromTaskName, Set<String> toTaskNames) {
-        successors.computeIfAbsent(fromTaskName, k -> new HashSet<>()).addAll(toTaskNames);
-        toTaskNames.forEach(toTask -> predecessors.computeIfAbsent(toTask, k -> new HashSet<>()).add(fromTaskName));
+        final int fromTaskIndex = getOrCreateTaskIndex(fromTaskName);
+        final IntArrayList fromTaskSuccessors = successors.get(fromTaskIndex);
+        for (String toTaskName : toTaskNames) {
+            final int toTaskIndex = getOrCreateTaskIndex(toTaskName);
+            if (fromTaskSuccessors.contains(toTaskIndex)) {
+                continue;
+            }
+            fromTaskSuccessors.add(toTaskIndex);
+            predecessors.get(toTaskIndex).add(fromTaskIndex);
+            if (isBlockingSuccessors(fromTaskIndex)) {
+                blockingPredecessorCounts.increment(toTaskIndex, 1);
+            }
+            if (skippedTask.get(fromTaskIndex)) {
+                skippedPredecessorCounts.increment(toTaskIndex, 1);
+            }
+        }
     }
 
     @Override
     public List<ITaskExecutionRunnable> getStartNodes() {
-        return totalTaskExecuteRunnableMap.values()
-                .stream()
-                .filter(taskExecutionRunnable -> CollectionUtils
-                        .isEmpty(predecessors.get(taskExecutionRunnable.getName())))
-                .collect(Collectors.toList());
+        final List<ITaskExecutionRunnable> startNodes = new ArrayList<>();
+        for (int taskIndex = 0; taskIndex < totalTaskExecuteRunnables.size(); taskIndex++) {
+            final ITaskExecutionRunnable taskExecutionRunnable = totalTaskExecuteRunnables.get(taskIndex);
+            if (taskExecutionRunnable != null && predecessors.get(taskIndex).isEmpty()) {
+                startNodes.add(taskExecutionRunnable);
+            }
+        }
+        return startNodes;
     }
 
     @Override
     public List<ITaskExecutionRunnable> getPredecessors(final String taskName) {
-        if (!predecessors.containsKey(taskName)) {
+        final Integer taskIndex = taskIndexes.get(taskName);
+        if (taskIndex == null) {
             throw new IllegalArgumentException("Cannot find the task: " + taskName + " in graph");
         }
-        return predecessors
-                .get(taskName)
-                .stream()
-                .map(this::getTaskExecutionRunnableByName)
-                .collect(Collectors.toList());
+        return toTaskExecutionRunnables(predecessors.get(taskIndex));
     }
 
     @Override
     public List<ITaskExecutionRunnable> getSuccessors(final String taskName) {
-        if (!successors.containsKey(taskName)) {
+        final Integer taskIndex = taskIndexes.get(taskName);
+        if (taskIndex == null) {
             throw new IllegalArgumentException("Cannot find the task code in graph");
         }
-        return successors
-                .get(taskName)
-                .stream()
-                .map(this::getTaskExecutionRunnableByName)
-                .collect(Collectors.toList());
+        return toTaskExecutionRunnables(successors.get(taskIndex));
     }
 
     @Override
@@ -115,65 +166,101 @@ public class WorkflowExecutionGraph implements IWorkflowExecutionGraph {
 
     @Override
     public ITaskExecutionRunnable getTaskExecutionRunnableByName(final String taskName) {
-        return totalTaskExecuteRunnableMap.get(taskName);
+        final Integer taskIndex = taskIndexes.get(taskName);
+        return taskIndex == null ? null : totalTaskExecuteRunnables.get(taskIndex);
     }
 
     @Override
     public ITaskExecutionRunnable getTaskExecutionRunnableById(final Integer taskInstanceId) {
-        return totalTaskExecuteRunnableMap.values()
-                .stream()
-                .filter(taskExecutionRunnable -> taskExecutionRunnable.getTaskInstance() != null
-                        && taskInstanceId.equals(taskExecutionRunnable.getTaskInstance().getId()))
-                .findFirst()
-                .orElse(null);
+        final Integer taskIndex = taskInstanceIdIndexes.get(taskInstanceId);
+        if (taskIndex != null) {
+            final ITaskExecutionRunnable taskExecutionRunnable = totalTaskExecuteRunnables.get(taskIndex);
+            if (isTaskInstanceIdMatch(taskExecutionRunnable, taskInstanceId)) {
+                return taskExecutionRunnable;
+            }
+        }
+        // The index is missed, this happens when the task instance is changed without refreshing the index or the
+        // task instance id is not belong to the graph, fallback to scan all the tasks.
+        for (int i = 0; i < totalTaskExecuteRunnables.size(); i++) {
+            final ITaskExecutionRunnable taskExecutionRunnable = totalTaskExecuteRunnables.get(i);
+            if (isTaskInstanceIdMatch(taskExecutionRunnable, taskInstanceId)) {
+                indexTaskInstance(i, taskExecutionRunnable);
+                return taskExecutionRunnable;
+            }
+        }
+        return null;
     }
 
     @Override
     public ITaskExecutionRunnable getTaskExecutionRunnableByTaskCode(final Long taskCode) {
-        return totalTaskExecuteRunnableMap.values()
-                .stream()
-                .filter(taskExecutionRunnable -> taskExecutionRunnable.getTaskDefinition() != null
-                        && taskCode.equals(taskExecutionRunnable.getTaskDefinition().getCode()))
-                .findFirst()
-                .orElse(null);
+        final Integer taskIndex = taskCodeIndexes.get(taskCode);
+        return taskIndex == null ? null : totalTaskExecuteRunnables.get(taskIndex);
+    }
+
+    @Override
+    public void refreshTaskInstanceIndex(final ITaskExecutionRunnable taskExecutionRunnable) {
+        final Integer taskIndex = taskIndexes.get(taskExecutionRunnable.getName());
+        if (taskIndex == null) {
+            // The task is not added into the graph yet, the index will be built when adding the task.
+            return;
+        }
+        indexTaskInstance(taskIndex, taskExecutionRunnable);
     }
 
     @Override
     public boolean isTaskExecutionRunnableActive(final ITaskExecutionRunnable taskExecutionRunnable) {
-        return activeTaskExecutionRunnable.add(taskExecutionRunnable.getName());
+        final Integer taskIndex = taskIndexes.get(taskExecutionRunnable.getName());
+        return taskIndex != null && activeTaskExecutionRunnable.get(taskIndex);
     }
 
     @Override
     public boolean isTaskExecutionRunnableKilled(final ITaskExecutionRunnable taskExecutionRunnable) {
-        return killedTaskChains.contains(taskExecutionRunnable.getName());
+        final Integer taskIndex = taskIndexes.get(taskExecutionRunnable.getName());
+        return taskIndex != null && killedTaskChains.get(taskIndex);
     }
 
     @Override
     public List<ITaskExecutionRunnable> getActiveTaskExecutionRunnable() {
-        return activeTaskExecutionRunnable
-                .stream()
-                .map(this::getTaskExecutionRunnableByName)
-                .collect(Collectors.toList());
+        final List<ITaskExecutionRunnable> activeTaskExecutionRunnables =
+                new ArrayList<>(activeTaskExecutionRunnable.size());
+        for (int taskIndex = activeTaskExecutionRunnable.nextSetBit(0); taskIndex >= 0; taskIndex =
+                activeTaskExecutionRunnable.nextSetBit(taskIndex + 1)) {
+            activeTaskExecutionRunnables.add(totalTaskExecuteRunnables.get(taskIndex));
+        }
+        return activeTaskExecutionRunnables;
     }
 
     @Override
     public List<ITaskExecutionRunnable> getAllTaskExecutionRunnable() {
-        return new ArrayList<>(totalTaskExecuteRunnableMap.values());
+        final List<ITaskExecutionRunnable> allTaskExecutionRunnables =
+                new ArrayList<>(totalTaskExecuteRunnables.size());
+        for (ITaskExecutionRunnable taskExecutionRunnable : totalTaskExecuteRunnables) {
+            if (taskExecutionRunnable != null) {
+                allTaskExecutionRunnables.add(taskExecutionRunnable);
+            }
+        }
+        return allTaskExecutionRunnables;
     }
 
     @Override
     public boolean isTriggerConditionMet(final ITaskExecutionRunnable taskExecutionRunnable) {
-        return getPredecessors(taskExecutionRunnable.getName())
-                .stream()
-                .allMatch(predecessor -> isTaskFinish(predecessor)
-                        && !isTaskFailure(predecessor)
-                        && !isTaskPaused(predecessor)
-                        && !isTaskKilled(predecessor));
+        final int taskIndex = getTaskIndex(taskExecutionRunnable);
+        final boolean triggerConditionMet = blockingPredecessorCounts.get(taskIndex) == 0;
+        if (verifyIncrementalState) {
+            assertIncrementalStateMatch("trigger condition of " + taskExecutionRunnable.getName(),
+                    triggerConditionMet, scanTriggerCondition(taskIndex));
+        }
+        return triggerConditionMet;
     }
 
     @Override
     public boolean isAllTaskExecutionRunnableChainFinish() {
-        return activeTaskExecutionRunnable.isEmpty();
+        final boolean allTaskExecutionRunnableChainFinish = activeTaskExecutionRunnable.size() == 0;
+        if (verifyIncrementalState) {
+            assertIncrementalStateMatch("all task chain finish", allTaskExecutionRunnableChainFinish,
+                    activeTaskExecutionRunnable.isEmpty());
+        }
+        return allTaskExecutionRunnableChainFinish;
     }
 
     @Override
@@ -188,45 +275,45 @@ public class WorkflowExecutionGraph implements IWorkflowExecutionGraph {
 
     @Override
     public boolean isExistFailureTaskExecutionRunnableChain() {
-        return CollectionUtils.isNotEmpty(failureTaskChains);
+        return isExistTaskState(failureTaskChains, "failure task chain");
     }
 
     @Override
     public boolean isExistPauseTaskExecutionRunnableChain() {
-        return CollectionUtils.isNotEmpty(pausedTaskChains);
+        return isExistTaskState(pausedTaskChains, "paused task chain");
     }
 
     @Override
     public boolean isExistKillTaskExecutionRunnableChain() {
-        return CollectionUtils.isNotEmpty(killedTaskChains);
+        return isExistTaskState(killedTaskChains, "killed task chain");
     }
 
     @Override
     public void markTaskExecutionRunnableActive(final ITaskExecutionRunnable taskExecutionRunnable) {
-        activeTaskExecutionRunnable.add(taskExecutionRunnable.getName());
+        markTaskState(activeTaskExecutionRunnable, getOrCreateTaskIndex(taskExecutionRunnable.getName()), true);
     }
 
     @Override
     public void markTaskExecutionRunnableInActive(final ITaskExecutionRunnable taskExecutionRunnable) {
-        activeTaskExecutionRunnable.remove(taskExecutionRunnable.getName());
+        markTaskState(activeTaskExecutionRunnable, getOrCreateTaskIndex(taskExecutionRunnable.getName()), false);
     }
 
     @Override
     public void markTaskExecutionRunnableChainFailure(final ITaskExecutionRunnable taskExecutionRunnable) {
         assertTaskExecutionRunnableState(taskExecutionRunnable, TaskExecutionStatus.FAILURE);
-        failureTaskChains.add(taskExecutionRunnable.getName());
+        markTaskState(failureTaskChains, getOrCreateTaskIndex(taskExecutionRunnable.getName()), true);
     }
 
     @Override
     public void markTaskExecutionRunnableChainPause(final ITaskExecutionRunnable taskExecutionRunnable) {
         assertTaskExecutionRunnableState(taskExecutionRunnable, TaskExecutionStatus.PAUSE);
-        pausedTaskChains.add(taskExecutionRunnable.getName());
+        markTaskState(pausedTaskChains, getOrCreateTaskIndex(taskExecutionRunnable.getName()), true);
     }
 
     @Override
     public void markTaskExecutionRunnableChainKill(final ITaskExecutionRunnable taskExecutionRunnable) {
         assertTaskExecutionRunnableState(taskExecutionRunnable, TaskExecutionStatus.KILL);
-        killedTaskChains.add(taskExecutionRunnable.getName());
+        markTaskState(killedTaskChains, getOrCreateTaskIndex(taskExecutionRunnable.getName()), true);
     }
 
     @Override
@@ -236,19 +323,24 @@ public class WorkflowExecutionGraph implements IWorkflowExecutionGraph {
 
     @Override
     public void markTaskSkipped(final String taskName) {
-        skippedTask.add(taskName);
+        final int taskIndex = getOrCreateTaskIndex(taskName);
+        if (skippedTask.set(taskIndex, true)) {
+            incrementSuccessorCounts(skippedPredecessorCounts, taskIndex, 1);
+        }
     }
 
     @Override
     public boolean isEndOfTaskChain(final ITaskExecutionRunnable taskExecutionRunnable) {
-        return successors.get(taskExecutionRunnable.getName()).isEmpty()
-                || killedTaskChains.contains(taskExecutionRunnable.getName())
-                || pausedTaskChains.contains(taskExecutionRunnable.getName());
+        final int taskIndex = getTaskIndex(taskExecutionRunnable);
+        return successors.get(taskIndex).isEmpty()
+                || killedTaskChains.get(taskIndex)
+                || pausedTaskChains.get(taskIndex);
     }
 
     @Override
     public boolean isTaskExecutionRunnableSkipped(final ITaskExecutionRunnable taskExecutionRunnable) {
-        return skippedTask.contains(taskExecutionRunnable.getName());
+        final Integer taskIndex = taskIndexes.get(taskExecutionRunnable.getName());
+        return taskIndex != null && skippedTask.get(taskIndex);
     }
 
     @Override
@@ -262,39 +354,154 @@ public class WorkflowExecutionGraph implements IWorkflowExecutionGraph {
      */
     @Override
     public boolean isAllPredecessorsSkipped(final ITaskExecutionRunnable taskExecutionRunnable) {
-        final List<ITaskExecutionRunnable> predecessors = getPredecessors(taskExecutionRunnable.getName());
-        if (CollectionUtils.isEmpty(predecessors)) {
-            return false;
+        final int taskIndex = getTaskIndex(taskExecutionRunnable);
+        final int predecessorCount = predecessors.get(taskIndex).size();
+        final boolean allPredecessorsSkipped =
+                predecessorCount > 0 && skippedPredecessorCounts.get(taskIndex) == predecessorCount;
+        if (verifyIncrementalState) {
+            assertIncrementalStateMatch("all predecessors skipped of " + taskExecutionRunnable.getName(),
+                    allPredecessorsSkipped, scanAllPredecessorsSkipped(taskIndex));
         }
-        return CollectionUtils.isEmpty(predecessors)
-                || predecessors.stream().allMatch(this::isTaskExecutionRunnableSkipped);
+        return allPredecessorsSkipped;
     }
 
     @Override
     public boolean isAllSuccessorsAreConditionTask(final ITaskExecutionRunnable taskExecutionRunnable) {
-        final List<ITaskExecutionRunnable> successors = getSuccessors(taskExecutionRunnable.getName());
-        if (CollectionUtils.isEmpty(successors)) {
+        final IntArrayList taskSuccessors = successors.get(getTaskIndex(taskExecutionRunnable));
+        if (taskSuccessors.isEmpty()) {
             return false;
         }
-        return successors.stream().allMatch(
-                successor -> isTaskExecutionRunnableSkipped(successor)
-                        || TaskTypeUtils.isConditionTask(taskExecutionRunnable.getTaskInstance().getTaskType()));
+        for (int i = 0; i < taskSuccessors.size(); i++) {
+            if (!skippedTask.get(taskSuccessors.get(i))) {
+                return TaskTypeUtils.isConditionTask(taskExecutionRunnable.getTaskInstance().getTaskType());
+            }
+        }
+        return true;
+    }
+
+    private int getOrCreateTaskIndex(final String taskName) {
+        final Integer taskIndex = taskIndexes.get(taskName);
+        if (taskIndex != null) {
+            return taskIndex;
+        }
+        final int newTaskIndex = totalTaskExecuteRunnables.size();
+        taskIndexes.put(taskName, newTaskIndex);
+        totalTaskExecuteRunnables.add(null);
+        indexedTaskInstanceIds.add(null);
+        predecessors.add(new IntArrayList());
+        successors.add(new IntArrayList());
+        blockingPredecessorCounts.add(0);
+        skippedPredecessorCounts.add(0);
+        return newTaskIndex;
+    }
+
+    private int getTaskIndex(final ITaskExecutionRunnable taskExecutionRunnable) {
+        final Integer taskIndex = taskIndexes.get(taskExecutionRunnable.getName());
+        if (taskIndex == null) {
+            throw new IllegalArgumentException(
+                    "Cannot find the task: " + taskExecutionRunnable.getName() + " in graph");
+        }
+        return taskIndex;
+    }
+
+    /**
+     * Whether the given task blocks its successors from being triggered.
+     */
+    private boolean isBlockingSuccessors(final int taskIndex) {
+        return activeTaskExecutionRunnable.get(taskIndex)
+                || failureTaskChains.get(taskIndex)
+                || pausedTaskChains.get(taskIndex)
+                || killedTaskChains.get(taskIndex);
+    }
+
+    /**
+     * Change the state of the given task, and update the blocking predecessor count of its successors if the task
+     * begins or stops blocking its successors.
+     */
+    private void markTaskState(final TaskStateSet taskStateSet, final int taskIndex, final boolean value) {
+        final boolean blockingBefore = isBlockingSuccessors(taskIndex);
+        if (!taskStateSet.set(taskIndex, value)) {
+            return;
+        }
+        final boolean blockingAfter = isBlockingSuccessors(taskIndex);
+        if (blockingBefore != blockingAfter) {
+            incrementSuccessorCounts(blockingPredecessorCounts, taskIndex, blockingAfter ? 1 : -1);
+        }
     }
 
-    private boolean isTaskFinish(final ITaskExecutionRunnable taskExecutionRunnable) {
-        return !activeTaskExecutionRunnable.contains(taskExecutionRunnable.getName());
+    private void incrementSuccessorCounts(final IntArrayList counts, final int taskIndex, final int delta) {
+        final IntArrayList taskSuccessors = successors.get(taskIndex);
+        for (int i = 0; i < taskSuccessors.size(); i++) {
+            counts.increment(taskSuccessors.get(i), delta);
+        }
     }
 
-    private boolean isTaskFailure(final ITaskExecutionRunnable taskExecutionRunnable) {
-        return failureTaskChains.contains(taskExecutionRunnable.getName());
+    private boolean isExistTaskState(final TaskStateSet taskStateSet, final String stateName) {
+        final boolean existTaskState = taskStateSet.size() > 0;
+        if (verifyIncrementalState) {
+            assertIncrementalStateMatch("exist " + stateName, existTaskState, !taskStateSet.isEmpty());
+        }
+        return existTaskState;
     }
 
-    private boolean isTaskPaused(final ITaskExecutionRunnable taskExecutionRunnable) {
-        return pausedTaskChains.contains(taskExecutionRunnable.getName());
+    private boolean scanTriggerCondition(final int taskIndex) {
+        final IntArrayList taskPredecessors = predecessors.get(taskIndex);
+        for (int i = 0; i < taskPredecessors.size(); i++) {
+            if (isBlockingSuccessors(taskPredecessors.get(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private boolean isTaskKilled(final ITaskExecutionRunnable taskExecutionRunnable) {
-        return killedTaskChains.contains(taskExecutionRunnable.getName());
+    private boolean scanAllPredecessorsSkipped(final int taskIndex) {
+        final IntArrayList taskPredecessors = predecessors.get(taskIndex);
+        if (taskPredecessors.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < taskPredecessors.size(); i++) {
+            if (!skippedTask.get(taskPredecessors.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void assertIncrementalStateMatch(final String stateName,
+                                             final boolean incrementalState,
+                                             final boolean scannedState) {
+        if (incrementalState != scannedState) {
+            throw new IllegalStateException("The incremental state: " + stateName + " is " + incrementalState
+                    + ", but the scanned state is " + scannedState);
+        }
+    }
+
+    private void indexTaskInstance(final int taskIndex, final ITaskExecutionRunnable taskExecutionRunnable) {
+        final Integer oldTaskInstanceId = indexedTaskInstanceIds.get(taskIndex);
+        if (oldTaskInstanceId != null) {
+            taskInstanceIdIndexes.remove(oldTaskInstanceId, taskIndex);
+        }
+        final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
+        final Integer taskInstanceId = taskInstance == null ? null : taskInstance.getId();
+        indexedTaskInstanceIds.set(taskIndex, taskInstanceId);
+        if (taskInstanceId != null) {
+            taskInstanceIdIndexes.put(taskInstanceId, taskIndex);
+        }
+    }
+
+    private boolean isTaskInstanceIdMatch(final ITaskExecutionRunnable taskExecutionRunnable,
+                                          final Integer taskInstanceId) {
+        return taskExecutionRunnable != null
+                && taskExecutionRunnable.getTaskInstance() != null
+                && taskInstanceId.equals(taskExecutionRunnable.getTaskInstance().getId());
+    }
+
+    private List<ITaskExecutionRunnable> toTaskExecutionRunnables(final IntArrayList taskIndexList) {
+        final List<ITaskExecutionRunnable> taskExecutionRunnables = new ArrayList<>(taskIndexList.size());
+        for (int i = 0; i < taskIndexList.size(); i++) {
+            taskExecutionRunnables.add(totalTaskExecuteRunnables.get(taskIndexList.get(i)));
+        }
+        return taskExecutionRunnables;
     }
 
     private void assertTaskExecutionRunnableState(final ITaskExecutionRunnable taskExecutionRunnable,
@@ -308,4 +515,87 @@ public class WorkflowExecutionGraph implements IWorkflowExecutionGraph {
                         + taskExecutionStatus);
     }
 
+    /**
+     * A growable int array used to store the adjacency of the task index, to avoid boxing the index.
+     */
+    private static final class IntArrayList {
+
+        private int[] elements = new int[4];
+
+        private int size;
+
+        void add(final int element) {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, size << 1);
+            }
+            elements[size++] = element;
+        }
+
+        int get(final int index) {
+            return elements[index];
+        }
+
+        void increment(final int index, final int delta) {
+            elements[index] += delta;
+        }
+
+        boolean contains(final int element) {
+            for (int i = 0; i < size; i++) {
+                if (elements[i] == element) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    /**
+     * A set of the task indexes which are in the same state, the size is counted so it can be got in O(1).
+     */
+    private static final class TaskStateSet {
+
+        private final BitSet taskIndexes = new BitSet();
+
+        private int size;
+
+        boolean get(final int taskIndex) {
+            return taskIndexes.get(taskIndex);
+        }
+
+        /**
+         * Set the state of the given task, return true if the state is changed.
+         */
+        boolean set(final int taskIndex, final boolean value) {
+            if (taskIndexes.get(taskIndex) == value) {
+                return false;
+            }
+            taskIndexes.set(taskIndex, value);
+            size += value ? 1 : -1;
+            return true;
+        }
+
+        int nextSetBit(final int fromTaskIndex) {
+            return taskIndexes.nextSetBit(fromTaskIndex);
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * Whether the set is empty, this method scans the bits and is used to verify the {@link #size()}.
+         */
+        boolean isEmpty() {
+            return taskIndexes.isEmpty();
+        }
+    }
+
 }
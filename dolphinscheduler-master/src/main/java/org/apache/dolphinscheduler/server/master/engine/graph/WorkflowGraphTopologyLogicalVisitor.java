@@ -24,13 +24,14 @@ import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 
 import org.apache.commons.collections4.CollectionUtils;
 
+import java.util.ArrayDeque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BiConsumer;
-import java.util.stream.Collectors;
 
 import com.google.common.collect.Sets;
 
@@ -121,30 +122,37 @@ public class WorkflowGraphTopologyLogicalVisitor {
     private void doVisitationInSubGraph(Set<String> subGraphNodes) {
         // visit from the workflow graph by topology
         // If the node is not in the subGraph, then skip it.
-        Map<String, Integer> inDegreeMap = workflowGraph.getAllTaskNodes()
-                .stream()
-                .collect(Collectors.toMap(TaskDefinition::getName,
-                        taskDefinition -> workflowGraph.getPredecessors(taskDefinition.getName()).size()));
-        final LinkedList<String> bootstrapTaskCodes = inDegreeMap
-                .entrySet()
-                .stream()
-                .filter(entry -> entry.getValue() == 0)
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toCollection(LinkedList::new));
-
-        while (!bootstrapTaskCodes.isEmpty()) {
-            String taskName = bootstrapTaskCodes.removeFirst();
-            if (inDegreeMap.get(taskName) > 0) {
-                continue;
+        // The task names are mapped to dense indexes, so that the in-degree can be tracked in a plain int array.
+        final List<TaskDefinition> taskNodes = workflowGraph.getAllTaskNodes();
+        final int taskSize = taskNodes.size();
+        final String[] taskNames = new String[taskSize];
+        final Map<String, Integer> taskIndexes = new HashMap<>(taskSize * 2);
+        for (int i = 0; i < taskSize; i++) {
+            taskNames[i] = taskNodes.get(i).getName();
+            taskIndexes.put(taskNames[i], i);
+        }
+        final int[] inDegrees = new int[taskSize];
+        final ArrayDeque<Integer> bootstrapTaskIndexes = new ArrayDeque<>();
+        for (int i = 0; i < taskSize; i++) {
+            inDegrees[i] = workflowGraph.getPredecessors(taskNames[i]).size();
+            if (inDegrees[i] == 0) {
+                bootstrapTaskIndexes.add(i);
             }
+        }
+
+        // Each task is enqueued only once, when all of its predecessors have been visited.
+        while (!bootstrapTaskIndexes.isEmpty()) {
+            final String taskName = taskNames[bootstrapTaskIndexes.poll()];
             final Set<String> successors = workflowGraph.getSuccessors(taskName);
             if (subGraphNodes.contains(taskName)) {
                 visitFunction.accept(taskName, successors);
             }
             for (String successor : successors) {
-                inDegreeMap.put(successor, inDegreeMap.get(successor) - 1);
+                final int successorIndex = taskIndexes.get(successor);
+                if (--inDegrees[successorIndex] == 0) {
+                    bootstrapTaskIndexes.add(successorIndex);
+                }
             }
-            bootstrapTaskCodes.addAll(successors);
         }
     }
 
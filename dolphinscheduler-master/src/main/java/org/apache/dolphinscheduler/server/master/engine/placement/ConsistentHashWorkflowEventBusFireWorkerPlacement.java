@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.placement;
+
+import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBusFireWorker;
+import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * Place the workflow on a hash ring, each worker owns {@code virtualNodeCount} virtual nodes on the ring.
+ * <p> Since the workflowInstanceId is hashed, the workflows are spread evenly even if the ids are not consecutive.
+ */
+public class ConsistentHashWorkflowEventBusFireWorkerPlacement implements IWorkflowEventBusFireWorkerPlacement {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_32_fixed();
+
+    private final NavigableMap<Integer, Integer> hashRing = new TreeMap<>();
+
+    public ConsistentHashWorkflowEventBusFireWorkerPlacement(int workerSize, int virtualNodeCount) {
+        for (int slot = 0; slot < workerSize; slot++) {
+            for (int i = 0; i < virtualNodeCount; i++) {
+                int hash = HASH_FUNCTION.hashString("worker-" + slot + "-" + i, StandardCharsets.UTF_8).asInt();
+                hashRing.putIfAbsent(hash, slot);
+            }
+        }
+    }
+
+    @Override
+    public int select(IWorkflowExecutionRunnable workflowExecutionRunnable, WorkflowEventBusFireWorker[] workers) {
+        int hash = HASH_FUNCTION.hashInt(workflowExecutionRunnable.getId()).asInt();
+        Map.Entry<Integer, Integer> entry = hashRing.ceilingEntry(hash);
+        if (entry == null) {
+            entry = hashRing.firstEntry();
+        }
+        return entry.getValue();
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.placement;
+
+import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBusFireWorker;
+import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+
+/**
+ * The placement policy used to decide which {@link WorkflowEventBusFireWorker} a workflow should be registered.
+ */
+public interface IWorkflowEventBusFireWorkerPlacement {
+
+    /**
+     * Select the slot of the worker which the given workflow should be registered.
+     *
+     * @param workflowExecutionRunnable the workflow which need to be registered
+     * @param workers                   all the workers, the index of the array is the slot of the worker
+     * @return the slot of the selected worker
+     */
+    int select(IWorkflowExecutionRunnable workflowExecutionRunnable, WorkflowEventBusFireWorker[] workers);
+
+}
@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.placement;
+
+import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBusFireWorker;
+import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+
+/**
+ * The slot is calculated by the workflowInstanceId % workerSize.
+ * <p> e.g. If the workflowInstanceId is 1, and the workerSize is 3, then the slot is 1, the workflow will be registered to the worker[1].
+ * <p> If the workflowInstanceIds are not consecutive numbers, these will cause some worker busy.
+ */
+public class IdModuloWorkflowEventBusFireWorkerPlacement implements IWorkflowEventBusFireWorkerPlacement {
+
+    @Override
+    public int select(IWorkflowExecutionRunnable workflowExecutionRunnable, WorkflowEventBusFireWorker[] workers) {
+        return workflowExecutionRunnable.getId() % workers.length;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.placement;
+
+import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBusFireWorker;
+import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+
+/**
+ * Select the worker which has the least pending events, if the pending events are the same, select the worker which
+ * has the least registered workflows.
+ */
+public class LeastLoadedWorkflowEventBusFireWorkerPlacement implements IWorkflowEventBusFireWorkerPlacement {
+
+    @Override
+    public int select(IWorkflowExecutionRunnable workflowExecutionRunnable, WorkflowEventBusFireWorker[] workers) {
+        int selectedSlot = 0;
+        for (int i = 1; i < workers.length; i++) {
+            if (compareLoad(workers[i], workers[selectedSlot]) < 0) {
+                selectedSlot = i;
+            }
+        }
+        return selectedSlot;
+    }
+
+    private int compareLoad(WorkflowEventBusFireWorker worker, WorkflowEventBusFireWorker other) {
+        int result = Integer.compare(worker.getPendingEventCount(), other.getPendingEventCount());
+        if (result != 0) {
+            return result;
+        }
+        return Integer.compare(worker.getRegisteredWorkflowCount(), other.getRegisteredWorkflowCount());
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.placement;
+
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class WorkflowEventBusFireWorkerPlacementConfiguration {
+
+    @Bean
+    public IWorkflowEventBusFireWorkerPlacement workflowEventBusFireWorkerPlacement(MasterConfig masterConfig) {
+        WorkflowEventBusFireWorkerPlacementProperties placementProperties =
+                masterConfig.getWorkflowEventBusFireWorkerPlacement();
+        switch (placementProperties.getType()) {
+            case ID_MODULO:
+                return new IdModuloWorkflowEventBusFireWorkerPlacement();
+            case LEAST_LOADED:
+                return new LeastLoadedWorkflowEventBusFireWorkerPlacement();
+            case CONSISTENT_HASH:
+                return new ConsistentHashWorkflowEventBusFireWorkerPlacement(
+                        masterConfig.getWorkflowEventBusFireThreadCount(),
+                        placementProperties.getVirtualNodeCount());
+            default:
+                throw new IllegalArgumentException(
+                        "unsupported workflow event bus fire worker placement type: " + placementProperties.getType());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.placement;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.validation.Errors;
+
+@Data
+public class WorkflowEventBusFireWorkerPlacementProperties {
+
+    private WorkflowEventBusFireWorkerPlacementType type = WorkflowEventBusFireWorkerPlacementType.ID_MODULO;
+
+    /**
+     * The virtual node count of each worker on the hash ring, only used by
+     * {@link WorkflowEventBusFireWorkerPlacementType#CONSISTENT_HASH}.
+     */
+    private int virtualNodeCount = 160;
+
+    /**
+     * Whether to migrate the workflow which has the most pending events from the most loaded worker to the least loaded
+     * worker, the migration happens between two fires of the most loaded worker.
+     */
+    private boolean migrationEnabled = false;
+
+    /**
+     * The interval to check whether the workers are unbalanced.
+     */
+    private Duration migrationCheckInterval = Duration.ofSeconds(10);
+
+    /**
+     * The workers are unbalanced when the pending event count difference between the most loaded worker and the least
+     * loaded worker exceeds this threshold.
+     */
+    private int migrationPendingEventThreshold = 100;
+
+    public void validate(Errors errors) {
+        if (virtualNodeCount <= 0) {
+            errors.rejectValue("virtualNodeCount", null, "virtualNodeCount must be greater than 0");
+        }
+        if (migrationCheckInterval.toMillis() <= 0) {
+            errors.rejectValue("migrationCheckInterval", null, "migrationCheckInterval must be greater than 0");
+        }
+        if (migrationPendingEventThreshold <= 0) {
+            errors.rejectValue("migrationPendingEventThreshold", null,
+                    "migrationPendingEventThreshold must be greater than 0");
+        }
+    }
+}
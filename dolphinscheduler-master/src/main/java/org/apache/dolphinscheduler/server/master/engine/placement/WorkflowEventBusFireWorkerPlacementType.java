@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.placement;
+
+public enum WorkflowEventBusFireWorkerPlacementType {
+
+    /**
+     * Place the workflow by workflowInstanceId % workerSize.
+     */
+    ID_MODULO,
+
+    /**
+     * Place the workflow to the worker which has the least pending events and registered workflows.
+     */
+    LEAST_LOADED,
+
+    /**
+     * Place the workflow by the hash of the workflowInstanceId on a consistent hash ring.
+     */
+    CONSISTENT_HASH,
+    ;
+}
@@ -26,9 +26,12 @@ import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.FirstRunTaskInstanceFactory.FirstRunTaskInstanceBuilder;
 
 import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.google.common.base.Preconditions;
 
@@ -45,6 +48,26 @@ public class FirstRunTaskInstanceFactory extends AbstractTaskInstanceFactory<Fir
 
     @Override
     public TaskInstance createTaskInstance(FirstRunTaskInstanceBuilder builder) {
+        final TaskInstance taskInstance = newTaskInstance(builder);
+        taskInstanceDao.insert(taskInstance);
+        return taskInstance;
+    }
+
+    /**
+     * Create the task instances by the given builders, the task instances will be inserted in batch in one transaction.
+     *
+     * @return the created task instances, the order is the same as the given builders.
+     */
+    @Transactional
+    public List<TaskInstance> createTaskInstances(List<FirstRunTaskInstanceBuilder> builders) {
+        final List<TaskInstance> taskInstances = builders.stream()
+                .map(this::newTaskInstance)
+                .collect(Collectors.toList());
+        taskInstanceDao.insertBatch(taskInstances);
+        return taskInstances;
+    }
+
+    private TaskInstance newTaskInstance(FirstRunTaskInstanceBuilder builder) {
         final TaskDefinition taskDefinition = Preconditions.checkNotNull(builder.taskDefinition);
         final WorkflowInstance workflowInstance = Preconditions.checkNotNull(builder.workflowInstance);
 
@@ -64,7 +87,6 @@ public class FirstRunTaskInstanceFactory extends AbstractTaskInstanceFactory<Fir
         taskInstance.setRetryTimes(0);
         taskInstance.setAlertFlag(Flag.NO);
         taskInstance.setFlag(Flag.YES);
-        taskInstanceDao.insert(taskInstance);
         return taskInstance;
     }
 
@@ -48,6 +48,12 @@ public interface ITaskExecutionRunnable
      */
     void initializeFirstRunTaskInstance();
 
+    /**
+     * Initialize the task instance with the given task instance which is created by {@link FirstRunTaskInstanceFactory}.
+     * <p> This is used when the first run task instances are created in batch.
+     */
+    void initializeFirstRunTaskInstance(TaskInstance firstRunTaskInstance);
+
     /**
      * Whether the task instance is running.
      */
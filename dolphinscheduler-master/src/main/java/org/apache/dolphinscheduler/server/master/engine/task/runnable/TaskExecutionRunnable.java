@@ -98,6 +98,16 @@ public class TaskExecutionRunnable implements ITaskExecutionRunnable {
                 .withWorkflowInstance(workflowInstance)
                 .build();
         initializeTaskExecutionContext();
+        workflowExecutionGraph.refreshTaskInstanceIndex(this);
+    }
+
+    @Override
+    public void initializeFirstRunTaskInstance(final TaskInstance firstRunTaskInstance) {
+        checkState(!isTaskInstanceInitialized(),
+                "The task instance is already initialized, can't initialize first run task.");
+        this.taskInstance = checkNotNull(firstRunTaskInstance);
+        initializeTaskExecutionContext();
+        workflowExecutionGraph.refreshTaskInstanceIndex(this);
     }
 
     @Override
@@ -114,6 +124,7 @@ public class TaskExecutionRunnable implements ITaskExecutionRunnable {
                 .withTaskInstance(taskInstance)
                 .build();
         initializeTaskExecutionContext();
+        workflowExecutionGraph.refreshTaskInstanceIndex(this);
         getWorkflowEventBus().publish(TaskStartLifecycleEvent.of(this));
     }
 
@@ -130,6 +141,7 @@ public class TaskExecutionRunnable implements ITaskExecutionRunnable {
                 .withTaskInstance(taskInstance)
                 .build();
         initializeTaskExecutionContext();
+        workflowExecutionGraph.refreshTaskInstanceIndex(this);
 
         getWorkflowEventBus().publish(TaskStartLifecycleEvent.of(this));
     }
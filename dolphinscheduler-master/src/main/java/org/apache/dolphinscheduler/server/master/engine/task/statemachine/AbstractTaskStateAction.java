@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.plugin.task.api.utils.VarPoolUtils;
+import org.apache.dolphinscheduler.server.master.cluster.ClusterManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.engine.AbstractLifecycleEvent;
 import org.apache.dolphinscheduler.server.master.engine.IWorkflowRepository;
@@ -73,6 +74,9 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
     @Autowired
     protected ITaskExecutorClient taskExecutorClient;
 
+    @Autowired
+    protected ClusterManager clusterManager;
+
     /**
      * Whether the task needs to acquire the task group slot.
      */
@@ -92,9 +96,14 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
 
     /**
      * Release the resources needed by the task instance.
+     * <p> The task slot of the worker which executed the task instance will be released, and the task group slot will
+     * be released if the task instance is using a task group.
      */
     protected void releaseTaskInstanceResourcesIfNeeded(final ITaskExecutionRunnable taskExecutionRunnable) {
         final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
+        clusterManager.getWorkerClusters()
+                .getWorkerTaskSlots()
+                .releaseSlot(taskInstance.getHost(), taskInstance.getId());
         if (taskGroupCoordinator.needToReleaseTaskGroupSlot(taskInstance)) {
             taskGroupCoordinator.releaseTaskGroupSlot(taskInstance);
         }
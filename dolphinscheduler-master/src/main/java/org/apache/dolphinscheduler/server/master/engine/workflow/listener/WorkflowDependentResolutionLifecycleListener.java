@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.workflow.listener;
+
+import org.apache.dolphinscheduler.server.master.engine.workflow.lifecycle.AbstractWorkflowLifecycleLifecycleEvent;
+import org.apache.dolphinscheduler.server.master.engine.workflow.lifecycle.WorkflowLifecycleEventType;
+import org.apache.dolphinscheduler.server.master.engine.workflow.lifecycle.event.WorkflowTopologyLogicalTransitionWithTaskFinishLifecycleEvent;
+import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.runner.task.dependent.DependentResolutionCache;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Notify the {@link DependentResolutionCache} when a task of the workflow is finished or the workflow is finished, so
+ * that the DEPENDENT tasks which depend on the finished task or workflow can get the result without waiting for the
+ * check interval.
+ */
+@Component
+public class WorkflowDependentResolutionLifecycleListener implements IWorkflowLifecycleListener {
+
+    private static final Set<WorkflowLifecycleEventType> UPSTREAM_CHANGED_EVENT_TYPES = EnumSet.of(
+            WorkflowLifecycleEventType.TOPOLOGY_LOGICAL_TRANSACTION_WITH_TASK_FINISH,
+            WorkflowLifecycleEventType.PAUSED,
+            WorkflowLifecycleEventType.STOPPED,
+            WorkflowLifecycleEventType.SUCCEED,
+            WorkflowLifecycleEventType.FAILED);
+
+    @Autowired
+    private DependentResolutionCache dependentResolutionCache;
+
+    @Override
+    public void notifyWorkflowLifecycleEvent(final IWorkflowExecutionRunnable workflowExecutionRunnable,
+                                             final AbstractWorkflowLifecycleLifecycleEvent lifecycleEvent) {
+        if (lifecycleEvent instanceof WorkflowTopologyLogicalTransitionWithTaskFinishLifecycleEvent) {
+            final WorkflowTopologyLogicalTransitionWithTaskFinishLifecycleEvent taskFinishLifecycleEvent =
+                    (WorkflowTopologyLogicalTransitionWithTaskFinishLifecycleEvent) lifecycleEvent;
+            dependentResolutionCache.onUpstreamTaskInstanceFinished(workflowExecutionRunnable.getWorkflowInstance(),
+                    taskFinishLifecycleEvent.getTaskExecutionRunnable().getTaskInstance());
+            return;
+        }
+        dependentResolutionCache.onUpstreamWorkflowInstanceFinished(workflowExecutionRunnable.getWorkflowInstance());
+    }
+
+    @Override
+    public boolean match(AbstractWorkflowLifecycleLifecycleEvent event) {
+        return UPSTREAM_CHANGED_EVENT_TYPES.contains(event.getEventType());
+    }
+
+}
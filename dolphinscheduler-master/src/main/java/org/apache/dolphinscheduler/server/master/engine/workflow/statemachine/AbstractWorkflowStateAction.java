@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.server.master.engine.workflow.statemachine;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
 import org.apache.dolphinscheduler.dao.repository.WorkflowInstanceDao;
 import org.apache.dolphinscheduler.server.master.engine.AbstractLifecycleEvent;
@@ -29,7 +30,10 @@ import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBusCoordina
 import org.apache.dolphinscheduler.server.master.engine.graph.IWorkflowExecutionGraph;
 import org.apache.dolphinscheduler.server.master.engine.graph.SuccessorFlowAdjuster;
 import org.apache.dolphinscheduler.server.master.engine.task.lifecycle.event.TaskStartLifecycleEvent;
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.FirstRunTaskInstanceFactory;
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.FirstRunTaskInstanceFactory.FirstRunTaskInstanceBuilder;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.TaskInstanceFactories;
 import org.apache.dolphinscheduler.server.master.engine.workflow.lifecycle.event.WorkflowFinalizeLifecycleEvent;
 import org.apache.dolphinscheduler.server.master.engine.workflow.lifecycle.event.WorkflowTopologyLogicalTransitionWithTaskFinishLifecycleEvent;
 import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
@@ -60,6 +64,9 @@ public abstract class AbstractWorkflowStateAction implements IWorkflowStateActio
     @Autowired
     protected WorkflowEventBusCoordinator workflowEventBusCoordinator;
 
+    @Autowired
+    protected TaskInstanceFactories taskInstanceFactories;
+
     /**
      * Try to trigger the tasks if the trigger condition is met.
      * <p> If all the given tasks trigger condition is not met then will try to emit workflow finish event.
@@ -75,6 +82,7 @@ public abstract class AbstractWorkflowStateAction implements IWorkflowStateActio
             emitWorkflowFinishedEventIfApplicable(workflowExecutionRunnable);
             return;
         }
+        initializeFirstRunTaskInstances(workflowExecutionGraph, readyTaskExecutionRunnableList);
         final WorkflowEventBus workflowEventBus = workflowExecutionRunnable.getWorkflowEventBus();
         for (ITaskExecutionRunnable readyTaskExecutionRunnable : readyTaskExecutionRunnableList) {
             workflowExecutionGraph.markTaskExecutionRunnableActive(readyTaskExecutionRunnable);
@@ -90,6 +98,37 @@ public abstract class AbstractWorkflowStateAction implements IWorkflowStateActio
         }
     }
 
+    /**
+     * Create the first run task instances of the tasks which will be started in batch, otherwise each task instance
+     * will be inserted one by one when the task start.
+     */
+    private void initializeFirstRunTaskInstances(final IWorkflowExecutionGraph workflowExecutionGraph,
+                                                 final List<ITaskExecutionRunnable> readyTaskExecutionRunnableList) {
+        final List<ITaskExecutionRunnable> uninitializedTaskExecutionRunnables = readyTaskExecutionRunnableList
+                .stream()
+                .filter(taskExecutionRunnable -> !taskExecutionRunnable.isTaskInstanceInitialized())
+                .filter(taskExecutionRunnable -> !workflowExecutionGraph.isTaskExecutionRunnableSkipped(
+                        taskExecutionRunnable))
+                .filter(taskExecutionRunnable -> !workflowExecutionGraph.isTaskExecutionRunnableForbidden(
+                        taskExecutionRunnable))
+                .collect(Collectors.toList());
+        if (uninitializedTaskExecutionRunnables.size() <= 1) {
+            return;
+        }
+        final FirstRunTaskInstanceFactory firstRunTaskInstanceFactory =
+                taskInstanceFactories.firstRunTaskInstanceFactory();
+        final List<FirstRunTaskInstanceBuilder> taskInstanceBuilders = uninitializedTaskExecutionRunnables
+                .stream()
+                .map(taskExecutionRunnable -> firstRunTaskInstanceFactory.builder()
+                        .withTaskDefinition(taskExecutionRunnable.getTaskDefinition())
+                        .withWorkflowInstance(taskExecutionRunnable.getWorkflowInstance()))
+                .collect(Collectors.toList());
+        final List<TaskInstance> taskInstances = firstRunTaskInstanceFactory.createTaskInstances(taskInstanceBuilders);
+        for (int i = 0; i < uninitializedTaskExecutionRunnables.size(); i++) {
+            uninitializedTaskExecutionRunnables.get(i).initializeFirstRunTaskInstance(taskInstances.get(i));
+        }
+    }
+
     protected void onTaskFinish(final IWorkflowExecutionRunnable workflowExecutionRunnable,
                                 final ITaskExecutionRunnable taskExecutionRunnable) {
         final IWorkflowExecutionGraph workflowExecutionGraph = workflowExecutionRunnable.getWorkflowExecutionGraph();
@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.server.master.failover;
 
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
 import org.apache.dolphinscheduler.dao.repository.WorkflowInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
@@ -26,18 +27,24 @@ import org.apache.dolphinscheduler.registry.api.utils.RegistryUtils;
 import org.apache.dolphinscheduler.server.master.cluster.ClusterManager;
 import org.apache.dolphinscheduler.server.master.cluster.MasterServerMetadata;
 import org.apache.dolphinscheduler.server.master.cluster.WorkerServerMetadata;
+import org.apache.dolphinscheduler.server.master.config.FailoverProperties;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.engine.IWorkflowRepository;
 import org.apache.dolphinscheduler.server.master.engine.system.event.GlobalMasterFailoverEvent;
 import org.apache.dolphinscheduler.server.master.engine.system.event.MasterFailoverEvent;
 import org.apache.dolphinscheduler.server.master.engine.system.event.WorkerFailoverEvent;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
 
 import org.apache.commons.lang3.time.StopWatch;
 
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
@@ -71,6 +78,9 @@ public class FailoverCoordinator implements IFailoverCoordinator {
     @Autowired
     private WorkflowFailover workflowFailover;
 
+    @Autowired
+    private MasterConfig masterConfig;
+
     @Override
     public void globalMasterFailover(final GlobalMasterFailoverEvent globalMasterFailoverEvent) {
         final StopWatch failoverTimeCost = StopWatch.createStarted();
@@ -141,42 +151,109 @@ public class FailoverCoordinator implements IFailoverCoordinator {
                         failoverFinishedNodePath);
                 return;
             }
-            final List<WorkflowInstance> needFailoverWorkflows =
-                    getFailoverWorkflowsForMaster(masterAddress, new Date(masterStartupTime));
-            needFailoverWorkflows.forEach(workflowFailover::failoverWorkflow);
+            final int failoverWorkflowCount = failoverWorkflowsForMaster(masterAddress, new Date(masterStartupTime));
             failoverTimeCost.stop();
             registryClient.persist(failoverFinishedNodePath, String.valueOf(System.currentTimeMillis()));
+            MasterServerMetrics.recordMasterFailoverTime(failoverTimeCost.getTime());
             log.info("Master[{}] failover {} workflows finished, cost: {}/ms",
                     masterAddress,
-                    needFailoverWorkflows.size(),
+                    failoverWorkflowCount,
                     failoverTimeCost.getTime());
         } finally {
             registryClient.releaseLock(RegistryNodeType.MASTER_FAILOVER_LOCK.getRegistryPath());
         }
     }
 
-    private List<WorkflowInstance> getFailoverWorkflowsForMaster(final String masterAddress,
-                                                                 final Date masterCrashTime) {
-        // todo: use page query
-        final List<WorkflowInstance> workflowInstances =
-                workflowInstanceDao.queryNeedFailoverWorkflowInstances(masterAddress);
-        return workflowInstances.stream()
-                .filter(workflowInstance -> {
-
-                    if (workflowRepository.contains(workflowInstance.getId())) {
-                        return false;
-                    }
-
-                    // todo: If the first time run workflow have the restartTime, then we can only check this
-                    final Date restartTime = workflowInstance.getRestartTime();
-                    if (restartTime != null) {
-                        return restartTime.before(masterCrashTime);
-                    }
-
-                    final Date startTime = workflowInstance.getStartTime();
-                    return startTime.before(masterCrashTime);
-                })
-                .collect(Collectors.toList());
+    /**
+     * Failover the workflows of the master page by page, the workflows in one page are failovered in parallel.
+     * <p> Each workflow is failovered in its own transaction, once committed its state is FAILOVER and it will not be
+     * queried again. So if the failover is interrupted, e.g. the current master crashed, the next failover will resume
+     * from the workflows which have not been failovered.
+     *
+     * @return the number of failovered workflows
+     */
+    private int failoverWorkflowsForMaster(final String masterAddress, final Date masterCrashTime) {
+        final FailoverProperties failoverProperties = masterConfig.getFailover();
+        final int pageSize = failoverProperties.getWorkflowPageSize();
+        final ThreadPoolExecutor workflowFailoverThreadPool = ThreadUtils.newDaemonFixedThreadExecutor(
+                "MasterWorkflowFailoverThread", failoverProperties.getWorkflowFailoverThreadCount());
+        try {
+            int failoverWorkflowCount = 0;
+            int minIdExclusive = 0;
+            while (true) {
+                final List<WorkflowInstance> workflowInstances =
+                        workflowInstanceDao.queryNeedFailoverWorkflowInstances(masterAddress, minIdExclusive,
+                                pageSize);
+                if (workflowInstances.isEmpty()) {
+                    break;
+                }
+                minIdExclusive = workflowInstances.get(workflowInstances.size() - 1).getId();
+
+                final List<WorkflowInstance> needFailoverWorkflows = workflowInstances.stream()
+                        .filter(workflowInstance -> isWorkflowNeedFailover(workflowInstance, masterCrashTime))
+                        .collect(Collectors.toList());
+                failoverWorkflows(needFailoverWorkflows, workflowFailoverThreadPool);
+                failoverWorkflowCount += needFailoverWorkflows.size();
+                log.info("Master[{}] failover {} workflows in page, the last workflow id: {}, total failovered: {}",
+                        masterAddress,
+                        needFailoverWorkflows.size(),
+                        minIdExclusive,
+                        failoverWorkflowCount);
+
+                if (workflowInstances.size() < pageSize) {
+                    break;
+                }
+            }
+            return failoverWorkflowCount;
+        } finally {
+            workflowFailoverThreadPool.shutdownNow();
+        }
+    }
+
+    private void failoverWorkflows(final List<WorkflowInstance> workflowInstances,
+                                   final ThreadPoolExecutor workflowFailoverThreadPool) {
+        final CompletableFuture<?>[] failoverFutures = workflowInstances.stream()
+                .map(workflowInstance -> CompletableFuture.runAsync(
+                        () -> failoverWorkflow(workflowInstance), workflowFailoverThreadPool))
+                .toArray(CompletableFuture[]::new);
+        try {
+            // Wait for the whole page, the failed workflows will be failovered again in the next failover
+            CompletableFuture.allOf(failoverFutures).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    private void failoverWorkflow(final WorkflowInstance workflowInstance) {
+        try {
+            workflowFailover.failoverWorkflow(workflowInstance);
+            MasterServerMetrics.incMasterFailoverWorkflowSuccessCount();
+        } catch (Exception ex) {
+            MasterServerMetrics.incMasterFailoverWorkflowFailureCount();
+            log.error("Failover workflowInstance: [id={}, name={}] failed",
+                    workflowInstance.getId(),
+                    workflowInstance.getName(),
+                    ex);
+            throw ex;
+        }
+    }
+
+    private boolean isWorkflowNeedFailover(final WorkflowInstance workflowInstance, final Date masterCrashTime) {
+        if (workflowRepository.contains(workflowInstance.getId())) {
+            return false;
+        }
+
+        // todo: If the first time run workflow have the restartTime, then we can only check this
+        final Date restartTime = workflowInstance.getRestartTime();
+        if (restartTime != null) {
+            return restartTime.before(masterCrashTime);
+        }
+
+        final Date startTime = workflowInstance.getStartTime();
+        return startTime.before(masterCrashTime);
     }
 
     @Override
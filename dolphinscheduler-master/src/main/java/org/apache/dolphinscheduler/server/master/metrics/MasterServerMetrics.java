@@ -17,12 +17,14 @@
 
 package org.apache.dolphinscheduler.server.master.metrics;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import lombok.experimental.UtilityClass;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 @UtilityClass
 public class MasterServerMetrics {
@@ -48,6 +50,44 @@ public class MasterServerMetrics {
                     .description("master heartbeat count")
                     .register(Metrics.globalRegistry);
 
+    /**
+     * Used to measure the failover throughput of workflow instances.
+     */
+    private final Counter masterFailoverWorkflowSuccessCounter =
+            Counter.builder("ds.master.failover.workflow.count")
+                    .tag("status", "success")
+                    .description("Workflow instance failover success count")
+                    .register(Metrics.globalRegistry);
+
+    private final Counter masterFailoverWorkflowFailureCounter =
+            Counter.builder("ds.master.failover.workflow.count")
+                    .tag("status", "fail")
+                    .description("Workflow instance failover failure count")
+                    .register(Metrics.globalRegistry);
+
+    /**
+     * Used to measure the total recovery time of a crashed master.
+     */
+    private final Timer masterFailoverDurationTimer =
+            Timer.builder("ds.master.failover.duration")
+                    .description("Time cost of failover all the workflow instances of a master")
+                    .register(Metrics.globalRegistry);
+
+    /**
+     * Used to measure how many upstream instance lookups of the DEPENDENT tasks are shared.
+     */
+    private final Counter masterDependentResolutionCacheHitCounter =
+            Counter.builder("ds.master.dependent.resolution.cache.count")
+                    .tag("result", "hit")
+                    .description("Dependent upstream instance lookup served by the cache count")
+                    .register(Metrics.globalRegistry);
+
+    private final Counter masterDependentResolutionCacheMissCounter =
+            Counter.builder("ds.master.dependent.resolution.cache.count")
+                    .tag("result", "miss")
+                    .description("Dependent upstream instance lookup queried from the database count")
+                    .register(Metrics.globalRegistry);
+
     public void registerMasterMemoryAvailableGauge(Supplier<Number> supplier) {
         Gauge.builder("ds.master.memory.available", supplier)
                 .description("Master memory available")
@@ -83,4 +123,24 @@ public class MasterServerMetrics {
     public void incMasterHeartbeatCount() {
         masterHeartBeatCounter.increment();
     }
+
+    public void incMasterFailoverWorkflowSuccessCount() {
+        masterFailoverWorkflowSuccessCounter.increment();
+    }
+
+    public void incMasterFailoverWorkflowFailureCount() {
+        masterFailoverWorkflowFailureCounter.increment();
+    }
+
+    public void recordMasterFailoverTime(long milliseconds) {
+        masterFailoverDurationTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    public void incMasterDependentResolutionCacheHitCount() {
+        masterDependentResolutionCacheHitCounter.increment();
+    }
+
+    public void incMasterDependentResolutionCacheMissCount() {
+        masterDependentResolutionCacheMissCounter.increment();
+    }
 }
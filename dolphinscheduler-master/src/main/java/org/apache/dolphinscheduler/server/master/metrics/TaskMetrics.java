@@ -20,6 +20,8 @@ package org.apache.dolphinscheduler.server.master.metrics;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import lombok.experimental.UtilityClass;
@@ -29,12 +31,15 @@ import com.facebook.presto.jdbc.internal.guava.collect.ImmutableSet;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 @UtilityClass
 public class TaskMetrics {
 
     private final Map<String, Counter> taskInstanceCounters = new HashMap<>();
 
+    private final Map<Integer, Timer> taskDispatchLatencyTimers = new ConcurrentHashMap<>();
+
     private final Set<String> taskInstanceStates = ImmutableSet.of(
             "submit", "timeout", "finish", "failover", "retry", "dispatch", "success", "kill", "fail", "stop");
 
@@ -71,6 +76,27 @@ public class TaskMetrics {
                 .register(Metrics.globalRegistry);
     }
 
+    public synchronized void registerTaskDispatchQueueDepthGauge(int shardIndex, Supplier<Number> function) {
+        Gauge.builder("ds.task.dispatch.queue.depth", function)
+                .tag("shard", String.valueOf(shardIndex))
+                .description("The task count in the dispatch waiting queue shard, the delayed ones included")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void registerTaskDispatchParkedCountGauge(Supplier<Number> function) {
+        Gauge.builder("ds.task.dispatch.parked.count", function)
+                .description("The task count parked since there is no available task slot in the worker group")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void recordTaskDispatchLatency(int shardIndex, long milliseconds) {
+        taskDispatchLatencyTimers.computeIfAbsent(shardIndex, shard -> Timer.builder("ds.task.dispatch.latency")
+                .tag("shard", String.valueOf(shard))
+                .description("The time cost to dispatch a batch of tasks taken from the dispatch waiting queue shard")
+                .register(Metrics.globalRegistry))
+                .record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
     public void incTaskDispatchFailed(int failedCount) {
         taskDispatchFailCounter.increment(failedCount);
     }
@@ -58,6 +58,19 @@ public class WorkflowInstanceMetrics {
                     .description("workflow instance generated duration")
                     .register(Metrics.globalRegistry);
 
+    private final Timer commandBootstrapTimer =
+            Timer.builder("ds.workflow.command.bootstrap.duration")
+                    .description("The duration from a command is claimed to the workflow is triggered")
+                    .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                    .register(Metrics.globalRegistry);
+
+    private final Timer workflowEventFireLatencyTimer =
+            Timer.builder("ds.workflow.event.fire.latency")
+                    .description("The latency between the workflow event can be fired and the event is fired")
+                    .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(Metrics.globalRegistry);
+
     public void recordCommandQueryTime(long milliseconds) {
         commandQueryTimer.record(milliseconds, TimeUnit.MILLISECONDS);
     }
@@ -66,18 +79,48 @@ public class WorkflowInstanceMetrics {
         workflowInstanceGenerateTimer.record(milliseconds, TimeUnit.MILLISECONDS);
     }
 
+    public void recordCommandBootstrapTime(long milliseconds) {
+        commandBootstrapTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordWorkflowEventFireLatency(long milliseconds) {
+        workflowEventFireLatencyTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
     public synchronized void registerWorkflowInstanceRunningGauge(Supplier<Number> function) {
         Gauge.builder("ds.workflow.instance.running", function)
                 .description("The current running workflow instance count")
                 .register(Metrics.globalRegistry);
     }
 
+    public synchronized void registerCommandInFlightGauge(Supplier<Number> function) {
+        Gauge.builder("ds.workflow.command.in.flight", function)
+                .description("The count of the commands which are bootstrapping")
+                .register(Metrics.globalRegistry);
+    }
+
     public synchronized void registerWorkflowInstanceResubmitGauge(Supplier<Number> function) {
         Gauge.builder("ds.workflow.instance.resubmit", function)
                 .description("The current workflow instance need to resubmit count")
                 .register(Metrics.globalRegistry);
     }
 
+    public synchronized void registerWorkflowEventBusFireWorkerPendingEventGauge(int workerSlot,
+                                                                                 Supplier<Number> function) {
+        Gauge.builder("ds.workflow.event.fire.worker.pending.event", function)
+                .tag("worker", String.valueOf(workerSlot))
+                .description("The pending event count of the workflow event bus fire worker")
+                .register(Metrics.globalRegistry);
+    }
+
+    public synchronized void registerWorkflowEventBusFireWorkerRegisteredWorkflowGauge(int workerSlot,
+                                                                                       Supplier<Number> function) {
+        Gauge.builder("ds.workflow.event.fire.worker.registered.workflow", function)
+                .tag("worker", String.valueOf(workerSlot))
+                .description("The registered workflow count of the workflow event bus fire worker")
+                .register(Metrics.globalRegistry);
+    }
+
     public void incWorkflowInstanceByStateAndWorkflowDefinitionCode(final String state,
                                                                     final String workflowDefinitionCode) {
         // When tags need to be determined from local context,
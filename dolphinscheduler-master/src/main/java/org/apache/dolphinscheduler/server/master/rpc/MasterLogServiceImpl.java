@@ -17,15 +17,20 @@
 
 package org.apache.dolphinscheduler.server.master.rpc;
 
+import org.apache.dolphinscheduler.common.log.LogFileChunk;
 import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.common.utils.LogUtils;
 import org.apache.dolphinscheduler.extract.common.ILogService;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailQueryRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailQueryResponse;
 
 import java.util.Collections;
 import java.util.List;
@@ -46,6 +51,16 @@ public class MasterLogServiceImpl implements ILogService {
         return new TaskInstanceLogFileDownloadResponse(bytes);
     }
 
+    @Override
+    public TaskInstanceLogFileChunkDownloadResponse getTaskInstanceLogFileChunk(TaskInstanceLogFileChunkDownloadRequest taskInstanceLogFileChunkDownloadRequest) {
+        int limit = Math.min(taskInstanceLogFileChunkDownloadRequest.getLimit(), LogUtils.MAX_FILE_CONTENT_CHUNK_BYTES);
+        byte[] bytes = LogUtils.getFileContentBytes(
+                taskInstanceLogFileChunkDownloadRequest.getTaskInstanceLogAbsolutePath(),
+                taskInstanceLogFileChunkDownloadRequest.getOffset(),
+                limit);
+        return new TaskInstanceLogFileChunkDownloadResponse(bytes, bytes.length < limit);
+    }
+
     @Override
     public TaskInstanceLogPageQueryResponse pageQueryTaskInstanceLog(TaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest) {
 
@@ -58,6 +73,15 @@ public class MasterLogServiceImpl implements ILogService {
         return new TaskInstanceLogPageQueryResponse(logContent);
     }
 
+    @Override
+    public TaskInstanceLogTailQueryResponse tailQueryTaskInstanceLog(TaskInstanceLogTailQueryRequest taskInstanceLogTailQueryRequest) {
+        LogFileChunk logFileChunk = LogUtils.readFileContent(
+                taskInstanceLogTailQueryRequest.getTaskInstanceLogAbsolutePath(),
+                taskInstanceLogTailQueryRequest.getOffset(),
+                taskInstanceLogTailQueryRequest.getLimit());
+        return new TaskInstanceLogTailQueryResponse(logFileChunk.getContent(), logFileChunk.getNextOffset());
+    }
+
     @Override
     public GetAppIdResponse getAppId(GetAppIdRequest getAppIdRequest) {
         return new GetAppIdResponse(Collections.emptyList());
@@ -17,16 +17,25 @@
 
 package org.apache.dolphinscheduler.server.master.runner;
 
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.utils.WorkerGroupUtils;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.metrics.TaskMetrics;
 import org.apache.dolphinscheduler.server.master.runner.queue.DelayEntry;
 import org.apache.dolphinscheduler.server.master.runner.queue.PriorityDelayQueue;
 
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
@@ -34,37 +43,71 @@ import org.springframework.stereotype.Component;
  * will be stored in {@link PriorityDelayQueue}, if the {@link ITaskExecutionRunnable}'s delay time is 0, then it will be
  * consumed by {@link GlobalTaskDispatchWaitingQueueLooper}.
  * <p>
- * The order of {@link ITaskExecutionRunnable} in the {@link PriorityDelayQueue} is determined by {@link ITaskExecutionRunnable#compareTo}.
+ * The queue is split into several shards by the task instance id, each shard is consumed by its own looper thread, so
+ * the tasks are dispatched in parallel even if all of them are in the same worker group, which is the common case. The
+ * looper thread only selects the worker and sends the request, it doesn't wait for the response, so a slow worker will
+ * not block the dispatch of the other workers.
+ * <p>
+ * The order of {@link ITaskExecutionRunnable} in each shard is determined by {@link ITaskExecutionRunnable#compareTo}.
+ * The priority is only strict within a shard, the tasks in different shards are dispatched concurrently, this is the
+ * same as the tasks dispatched by different masters.
+ * <p>
+ * If all the workers in the worker group are full, the {@link ITaskExecutionRunnable} will be parked in the ready queue
+ * of the worker group, and released back to the shard once the worker in the worker group has available task slots.
  */
 @Slf4j
 @Component
 public class GlobalTaskDispatchWaitingQueue {
 
     private final Set<Integer> waitingTaskInstanceIds = ConcurrentHashMap.newKeySet();
-    private final PriorityDelayQueue<DelayEntry<ITaskExecutionRunnable>> priorityDelayQueue =
-            new PriorityDelayQueue<>();
+
+    private final PriorityDelayQueue<DelayEntry<ITaskExecutionRunnable>>[] priorityDelayQueues;
+
+    // WorkerGroup -> the tasks waiting for the available task slots of the worker group
+    private final Map<String, PriorityBlockingQueue<ITaskExecutionRunnable>> workerGroupReadyQueues =
+            new ConcurrentHashMap<>();
+
+    @Autowired
+    public GlobalTaskDispatchWaitingQueue(final MasterConfig masterConfig) {
+        this(masterConfig.getTaskDispatch().getDispatchThreadCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    GlobalTaskDispatchWaitingQueue(final int shardCount) {
+        this.priorityDelayQueues = new PriorityDelayQueue[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            final PriorityDelayQueue<DelayEntry<ITaskExecutionRunnable>> priorityDelayQueue =
+                    new PriorityDelayQueue<>();
+            priorityDelayQueues[i] = priorityDelayQueue;
+            TaskMetrics.registerTaskDispatchQueueDepthGauge(i, priorityDelayQueue::size);
+        }
+        TaskMetrics.registerTaskDispatchParkedCountGauge(this::getParkedTaskNumber);
+    }
 
     /**
      * Submit a {@link ITaskExecutionRunnable} with delay time 0, it will be consumed immediately.
      */
-    public synchronized void dispatchTaskExecuteRunnable(ITaskExecutionRunnable ITaskExecutionRunnable) {
+    public void dispatchTaskExecuteRunnable(ITaskExecutionRunnable ITaskExecutionRunnable) {
         dispatchTaskExecuteRunnableWithDelay(ITaskExecutionRunnable, 0);
     }
 
     /**
      * Submit a {@link ITaskExecutionRunnable} with delay time, if the delay time <= 0 then it can be consumed.
      */
-    public synchronized void dispatchTaskExecuteRunnableWithDelay(ITaskExecutionRunnable taskExecutionRunnable,
-                                                                  long delayTimeMills) {
-        waitingTaskInstanceIds.add(taskExecutionRunnable.getTaskInstance().getId());
-        priorityDelayQueue.add(new DelayEntry<>(delayTimeMills, taskExecutionRunnable));
+    public void dispatchTaskExecuteRunnableWithDelay(ITaskExecutionRunnable taskExecutionRunnable,
+                                                     long delayTimeMills) {
+        final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
+        waitingTaskInstanceIds.add(taskInstance.getId());
+        priorityDelayQueues[getShardIndex(taskInstance)].add(new DelayEntry<>(delayTimeMills, taskExecutionRunnable));
     }
 
     /**
-     * Consume {@link ITaskExecutionRunnable} from the {@link PriorityDelayQueue}, only the delay time <= 0 can be consumed.
+     * Consume {@link ITaskExecutionRunnable} from the given shard, only the delay time <= 0 can be consumed.
      */
     @SneakyThrows
-    public ITaskExecutionRunnable takeTaskExecuteRunnable() {
+    public ITaskExecutionRunnable takeTaskExecuteRunnable(int shardIndex) {
+        final PriorityDelayQueue<DelayEntry<ITaskExecutionRunnable>> priorityDelayQueue =
+                priorityDelayQueues[shardIndex];
         ITaskExecutionRunnable taskExecutionRunnable = priorityDelayQueue.take().getData();
         while (!markTaskExecutionRunnableRemoved(taskExecutionRunnable)) {
             taskExecutionRunnable = priorityDelayQueue.take().getData();
@@ -72,11 +115,101 @@ public class GlobalTaskDispatchWaitingQueue {
         return taskExecutionRunnable;
     }
 
+    /**
+     * Consume {@link ITaskExecutionRunnable} from the given shard, waiting up to the specified wait time if there is no
+     * {@link ITaskExecutionRunnable} can be consumed.
+     *
+     * @return the {@link ITaskExecutionRunnable}, or null if the specified waiting time elapses.
+     */
+    public ITaskExecutionRunnable pollTaskExecuteRunnable(int shardIndex, long timeout, TimeUnit unit) {
+        final PriorityDelayQueue<DelayEntry<ITaskExecutionRunnable>> priorityDelayQueue =
+                priorityDelayQueues[shardIndex];
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        long remainingNanos = unit.toNanos(timeout);
+        while (true) {
+            final DelayEntry<ITaskExecutionRunnable> delayEntry =
+                    priorityDelayQueue.poll(Math.max(remainingNanos, 0), TimeUnit.NANOSECONDS);
+            if (delayEntry == null) {
+                return null;
+            }
+            if (markTaskExecutionRunnableRemoved(delayEntry.getData())) {
+                return delayEntry.getData();
+            }
+            remainingNanos = deadline - System.nanoTime();
+        }
+    }
+
+    /**
+     * Park the {@link ITaskExecutionRunnable} in the ready queue of its worker group, it will not be consumed until it is
+     * released by {@link #releaseParkedTaskExecuteRunnables}.
+     */
+    public void parkTaskExecuteRunnable(ITaskExecutionRunnable taskExecutionRunnable) {
+        final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
+        waitingTaskInstanceIds.add(taskInstance.getId());
+        workerGroupReadyQueues
+                .computeIfAbsent(WorkerGroupUtils.getWorkerGroupOrDefault(taskInstance.getWorkerGroup()),
+                        workerGroup -> new PriorityBlockingQueue<>())
+                .add(taskExecutionRunnable);
+    }
+
+    /**
+     * Release at most the given count of parked {@link ITaskExecutionRunnable} under the worker group, the released
+     * {@link ITaskExecutionRunnable} can be consumed immediately.
+     *
+     * @return the count of the released {@link ITaskExecutionRunnable}.
+     */
+    public int releaseParkedTaskExecuteRunnables(String workerGroup, int count) {
+        final PriorityBlockingQueue<ITaskExecutionRunnable> readyQueue = workerGroupReadyQueues.get(workerGroup);
+        if (readyQueue == null) {
+            return 0;
+        }
+        int releasedCount = 0;
+        while (releasedCount < count) {
+            final ITaskExecutionRunnable taskExecutionRunnable = readyQueue.poll();
+            if (taskExecutionRunnable == null) {
+                break;
+            }
+            final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
+            // The task has been removed, e.g. killed when it is parked
+            if (!waitingTaskInstanceIds.contains(taskInstance.getId())) {
+                continue;
+            }
+            priorityDelayQueues[getShardIndex(taskInstance)].add(new DelayEntry<>(0, taskExecutionRunnable));
+            releasedCount++;
+        }
+        return releasedCount;
+    }
+
+    /**
+     * Get the worker groups which have parked {@link ITaskExecutionRunnable}.
+     */
+    public Set<String> getParkedWorkerGroups() {
+        return workerGroupReadyQueues.entrySet()
+                .stream()
+                .filter(entry -> !entry.getValue().isEmpty())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    public int getParkedTaskNumber() {
+        return workerGroupReadyQueues.values().stream().mapToInt(PriorityBlockingQueue::size).sum();
+    }
+
+    public int getShardCount() {
+        return priorityDelayQueues.length;
+    }
+
     public int getWaitingDispatchTaskNumber() {
         return waitingTaskInstanceIds.size();
     }
 
-    public synchronized boolean markTaskExecutionRunnableRemoved(ITaskExecutionRunnable taskExecutionRunnable) {
+    public boolean markTaskExecutionRunnableRemoved(ITaskExecutionRunnable taskExecutionRunnable) {
         return waitingTaskInstanceIds.remove(taskExecutionRunnable.getTaskInstance().getId());
     }
+
+    private int getShardIndex(final TaskInstance taskInstance) {
+        // The task instance id is auto increment, so the tasks are spread evenly, and the parked task is always
+        // released to the shard it came from
+        return Math.floorMod(taskInstance.getId(), priorityDelayQueues.length);
+    }
 }
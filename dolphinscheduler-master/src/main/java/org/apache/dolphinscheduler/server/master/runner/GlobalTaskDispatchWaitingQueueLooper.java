@@ -17,13 +17,28 @@
 
 package org.apache.dolphinscheduler.server.master.runner;
 
-import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.utils.WorkerGroupUtils;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.cluster.ClusterManager;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerClusters;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.config.TaskDispatchProperties;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.exception.dispatch.TaskDispatchException;
+import org.apache.dolphinscheduler.server.master.exception.dispatch.WorkerGroupOverloadException;
+import org.apache.dolphinscheduler.server.master.metrics.TaskMetrics;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatchFactory;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatcher;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import lombok.extern.slf4j.Slf4j;
@@ -33,7 +48,7 @@ import org.springframework.stereotype.Component;
 
 @Slf4j
 @Component
-public class GlobalTaskDispatchWaitingQueueLooper extends BaseDaemonThread implements AutoCloseable {
+public class GlobalTaskDispatchWaitingQueueLooper implements AutoCloseable {
 
     @Autowired
     private GlobalTaskDispatchWaitingQueue globalTaskDispatchWaitingQueue;
@@ -41,50 +56,168 @@ public class GlobalTaskDispatchWaitingQueueLooper extends BaseDaemonThread imple
     @Autowired
     private TaskDispatchFactory taskDispatchFactory;
 
+    @Autowired
+    private MasterConfig masterConfig;
+
+    @Autowired
+    private ClusterManager clusterManager;
+
     private final AtomicBoolean RUNNING_FLAG = new AtomicBoolean(false);
 
-    public GlobalTaskDispatchWaitingQueueLooper() {
-        super("GlobalTaskDispatchWaitingQueueLooper");
-    }
+    private ExecutorService dispatchThreadPool;
 
-    @Override
     public synchronized void start() {
         if (!RUNNING_FLAG.compareAndSet(false, true)) {
             log.error("The GlobalTaskDispatchWaitingQueueLooper already started, will not start again");
             return;
         }
         log.info("GlobalTaskDispatchWaitingQueueLooper starting...");
-        super.start();
-        log.info("GlobalTaskDispatchWaitingQueueLooper started...");
+        clusterManager.getWorkerClusters().getWorkerTaskSlots().registerListener(this::onWorkerTaskSlotAvailable);
+        // Each shard of the queue is consumed by its own thread
+        final int shardCount = globalTaskDispatchWaitingQueue.getShardCount();
+        dispatchThreadPool =
+                ThreadUtils.newDaemonFixedThreadExecutor("GlobalTaskDispatchWaitingQueueLooper-%d", shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            final int shardIndex = i;
+            dispatchThreadPool.execute(() -> {
+                while (RUNNING_FLAG.get()) {
+                    try {
+                        doDispatch(shardIndex);
+                    } catch (Throwable e) {
+                        // The thread is interrupted when the looper is closed
+                        if (!RUNNING_FLAG.get()) {
+                            break;
+                        }
+                        // Don't let the shard thread exit, otherwise the tasks in the shard will never be dispatched
+                        log.error("Dispatch tasks in shard: {} failed", shardIndex, e);
+                    }
+                }
+            });
+        }
+        log.info("GlobalTaskDispatchWaitingQueueLooper started, dispatch thread size: {}", shardCount);
     }
 
-    @Override
-    public void run() {
-        while (RUNNING_FLAG.get()) {
-            doDispatch();
+    void doDispatch(final int shardIndex) {
+        final List<ITaskExecutionRunnable> taskExecutionRunnables = takeTaskExecutionRunnables(shardIndex);
+        final long startTime = System.currentTimeMillis();
+        final Map<TaskDispatcher, List<ITaskExecutionRunnable>> taskExecutionRunnablesByDispatcher =
+                new LinkedHashMap<>();
+        for (ITaskExecutionRunnable taskExecutionRunnable : taskExecutionRunnables) {
+            final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
+            try {
+                final TaskExecutionStatus status = taskInstance.getState();
+                if (status != TaskExecutionStatus.SUBMITTED_SUCCESS
+                        && status != TaskExecutionStatus.DELAY_EXECUTION) {
+                    log.warn("The TaskInstance {} state is : {}, will not dispatch", taskInstance.getName(), status);
+                    continue;
+                }
+                taskExecutionRunnablesByDispatcher
+                        .computeIfAbsent(taskDispatchFactory.getTaskDispatcher(taskInstance),
+                                taskDispatcher -> new ArrayList<>())
+                        .add(taskExecutionRunnable);
+            } catch (Exception e) {
+                retryDispatch(taskExecutionRunnable, e);
+            }
         }
+        // The dispatcher doesn't wait for the remote hosts, so the next batch can be taken while this batch is
+        // in-flight, a slow host only delays the tasks dispatched to it.
+        final CompletableFuture<?>[] dispatchFutures = taskExecutionRunnablesByDispatcher.entrySet()
+                .stream()
+                .map(entry -> dispatchTasks(entry.getKey(), entry.getValue()))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(dispatchFutures).whenComplete((v, e) -> TaskMetrics
+                .recordTaskDispatchLatency(shardIndex, System.currentTimeMillis() - startTime));
     }
 
-    void doDispatch() {
-        final ITaskExecutionRunnable taskExecutionRunnable = globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable();
-        final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
-        try {
-            final TaskExecutionStatus status = taskInstance.getState();
-            if (status != TaskExecutionStatus.SUBMITTED_SUCCESS && status != TaskExecutionStatus.DELAY_EXECUTION) {
-                log.warn("The TaskInstance {} state is : {}, will not dispatch", taskInstance.getName(), status);
-                return;
+    /**
+     * Take the ready tasks from the given shard of the queue, this method will block until there is at least one ready
+     * task, then collect the other ready tasks. If more tasks were ready, it waits up to the linger time for the tasks
+     * which keep arriving, so they can be dispatched in one request, a single ready task is dispatched immediately.
+     */
+    private List<ITaskExecutionRunnable> takeTaskExecutionRunnables(final int shardIndex) {
+        final TaskDispatchProperties taskDispatchProperties = masterConfig.getTaskDispatch();
+        final int batchSize = taskDispatchProperties.getBatchSize();
+        final List<ITaskExecutionRunnable> taskExecutionRunnables = new ArrayList<>();
+        taskExecutionRunnables.add(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(shardIndex));
+
+        final long lingerDeadline = System.nanoTime() + taskDispatchProperties.getLingerTime().toNanos();
+        while (taskExecutionRunnables.size() < batchSize) {
+            ITaskExecutionRunnable taskExecutionRunnable =
+                    globalTaskDispatchWaitingQueue.pollTaskExecuteRunnable(shardIndex, 0, TimeUnit.NANOSECONDS);
+            if (taskExecutionRunnable == null) {
+                final long remainingNanos = lingerDeadline - System.nanoTime();
+                if (taskExecutionRunnables.size() == 1 || remainingNanos <= 0) {
+                    break;
+                }
+                taskExecutionRunnable = globalTaskDispatchWaitingQueue.pollTaskExecuteRunnable(shardIndex,
+                        remainingNanos, TimeUnit.NANOSECONDS);
+                if (taskExecutionRunnable == null) {
+                    break;
+                }
             }
-            final TaskDispatcher taskDispatcher = taskDispatchFactory.getTaskDispatcher(taskInstance);
-            taskDispatcher.dispatchTask(taskExecutionRunnable);
+            taskExecutionRunnables.add(taskExecutionRunnable);
+        }
+        return taskExecutionRunnables;
+    }
+
+    private CompletableFuture<?> dispatchTasks(final TaskDispatcher taskDispatcher,
+                                               final List<ITaskExecutionRunnable> taskExecutionRunnables) {
+        try {
+            // Each failed task will be retried individually
+            return taskDispatcher.dispatchTasks(taskExecutionRunnables)
+                    .whenComplete((failedTasks, e) -> {
+                        if (e != null) {
+                            taskExecutionRunnables.forEach(taskExecutionRunnable -> retryDispatch(
+                                    taskExecutionRunnable, new TaskDispatchException("Dispatch tasks failed", e)));
+                            return;
+                        }
+                        failedTasks.forEach(this::retryDispatch);
+                    });
         } catch (Exception e) {
-            // If dispatch failed, will put the task back to the queue
-            // The task will be dispatched after waiting time.
-            // the waiting time will increase multiple of times, but will not exceed 60 seconds
-            long waitingTimeMills = Math.min(
-                    taskExecutionRunnable.getTaskExecutionContext().increaseDispatchFailTimes() * 1_000L, 60_000L);
-            globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnableWithDelay(taskExecutionRunnable,
-                    waitingTimeMills);
-            log.error("Dispatch Task: {} failed will retry after: {}/ms", taskInstance.getName(), waitingTimeMills, e);
+            taskExecutionRunnables.forEach(taskExecutionRunnable -> retryDispatch(taskExecutionRunnable, e));
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private void retryDispatch(final ITaskExecutionRunnable taskExecutionRunnable, final Exception e) {
+        if (e instanceof WorkerGroupOverloadException) {
+            parkDispatch(taskExecutionRunnable);
+            return;
+        }
+        // If dispatch failed, will put the task back to the queue
+        // The task will be dispatched after waiting time.
+        // the waiting time will increase multiple of times, but will not exceed 60 seconds
+        long waitingTimeMills = Math.min(
+                taskExecutionRunnable.getTaskExecutionContext().increaseDispatchFailTimes() * 1_000L, 60_000L);
+        globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnableWithDelay(taskExecutionRunnable, waitingTimeMills);
+        log.error("Dispatch Task: {} failed will retry after: {}/ms",
+                taskExecutionRunnable.getTaskInstance().getName(), waitingTimeMills, e);
+    }
+
+    /**
+     * Park the task until the worker group has available task slots, rather than retrying it after a delay.
+     */
+    private void parkDispatch(final ITaskExecutionRunnable taskExecutionRunnable) {
+        final String workerGroup =
+                WorkerGroupUtils.getWorkerGroupOrDefault(taskExecutionRunnable.getTaskInstance().getWorkerGroup());
+        globalTaskDispatchWaitingQueue.parkTaskExecuteRunnable(taskExecutionRunnable);
+        log.info("There is no available task slot in worker group: {}, park the Task: {} until the slot is released",
+                workerGroup, taskExecutionRunnable.getTaskInstance().getName());
+        // The slot might be released before the task is parked, check again to avoid the task is parked forever
+        if (!clusterManager.getWorkerClusters().getDispatchableWorkerServerAddressByGroup(workerGroup).isEmpty()) {
+            globalTaskDispatchWaitingQueue.releaseParkedTaskExecuteRunnables(workerGroup, 1);
+        }
+    }
+
+    /**
+     * Release the parked tasks of the worker groups which contain the worker, once the worker has available slots.
+     */
+    void onWorkerTaskSlotAvailable(final String workerAddress, final int availableSlots) {
+        final WorkerClusters workerClusters = clusterManager.getWorkerClusters();
+        for (String workerGroup : globalTaskDispatchWaitingQueue.getParkedWorkerGroups()) {
+            if (workerClusters.getWorkerServerAddressByGroup(workerGroup).contains(workerAddress)) {
+                globalTaskDispatchWaitingQueue.releaseParkedTaskExecuteRunnables(workerGroup, availableSlots);
+            }
         }
     }
 
@@ -92,6 +225,7 @@ public class GlobalTaskDispatchWaitingQueueLooper extends BaseDaemonThread imple
     public void close() throws Exception {
         if (RUNNING_FLAG.compareAndSet(true, false)) {
             log.info("GlobalTaskDispatchWaitingQueueLooper stopping...");
+            dispatchThreadPool.shutdownNow();
             log.info("GlobalTaskDispatchWaitingQueueLooper stopped...");
         } else {
             log.error("GlobalTaskDispatchWaitingQueueLooper is not started");
@@ -23,7 +23,14 @@ import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecu
 import org.apache.dolphinscheduler.server.master.exception.dispatch.TaskDispatchException;
 import org.apache.dolphinscheduler.server.master.exception.dispatch.WorkerGroupNotFoundException;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -32,8 +39,50 @@ public abstract class BaseTaskDispatcher implements TaskDispatcher {
 
     @Override
     public void dispatchTask(ITaskExecutionRunnable taskExecutionRunnable) throws TaskDispatchException {
-        final TaskExecutionContext taskExecutionContext = taskExecutionRunnable.getTaskExecutionContext();
         final String taskName = taskExecutionRunnable.getTaskExecutionContext().getTaskName();
+        final String taskInstanceDispatchAddress = injectTaskInstanceDispatchAddress(taskExecutionRunnable);
+        doDispatch(taskExecutionRunnable);
+        // todo: update the task state and host here, otherwise when the master failover the task host is null
+        // but it already dispatched to worker
+        // Or when the worker receive the task, it should wait the master send a start event to it.
+        // the second solution is better
+        log.info("Success dispatch task {} to {}.", taskName, taskInstanceDispatchAddress);
+    }
+
+    /**
+     * Select the host of each task first, then the tasks which are dispatched to the same host will be sent in one
+     * request. The requests to different hosts are sent independently, so a slow host will not delay the others.
+     */
+    @Override
+    public CompletableFuture<Map<ITaskExecutionRunnable, TaskDispatchException>> dispatchTasks(List<ITaskExecutionRunnable> taskExecutionRunnables) {
+        final Map<ITaskExecutionRunnable, TaskDispatchException> failedTasks = new ConcurrentHashMap<>();
+        final Map<String, List<ITaskExecutionRunnable>> taskExecutionRunnablesByHost = new LinkedHashMap<>();
+        for (ITaskExecutionRunnable taskExecutionRunnable : taskExecutionRunnables) {
+            try {
+                taskExecutionRunnablesByHost
+                        .computeIfAbsent(injectTaskInstanceDispatchAddress(taskExecutionRunnable),
+                                host -> new ArrayList<>())
+                        .add(taskExecutionRunnable);
+            } catch (TaskDispatchException e) {
+                failedTasks.put(taskExecutionRunnable, e);
+            }
+        }
+        final CompletableFuture<?>[] hostDispatchFutures = taskExecutionRunnablesByHost.entrySet()
+                .stream()
+                .map(entry -> doBatchDispatch(entry.getKey(), entry.getValue()).thenAccept(hostFailedTasks -> {
+                    failedTasks.putAll(hostFailedTasks);
+                    log.info("Success dispatch {}/{} tasks to {}.",
+                            entry.getValue().size() - hostFailedTasks.size(),
+                            entry.getValue().size(),
+                            entry.getKey());
+                }))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(hostDispatchFutures).thenApply(v -> failedTasks);
+    }
+
+    private String injectTaskInstanceDispatchAddress(ITaskExecutionRunnable taskExecutionRunnable) throws TaskDispatchException {
+        final TaskExecutionContext taskExecutionContext = taskExecutionRunnable.getTaskExecutionContext();
+        final String taskName = taskExecutionContext.getTaskName();
         final String taskInstanceDispatchAddress;
         try {
             taskInstanceDispatchAddress = getTaskInstanceDispatchHost(taskExecutionRunnable)
@@ -48,12 +97,30 @@ public abstract class BaseTaskDispatcher implements TaskDispatcher {
         // Then we can use the host to do worker failover.
         taskExecutionContext.setHost(taskInstanceDispatchAddress);
         taskExecutionRunnable.getTaskInstance().setHost(taskInstanceDispatchAddress);
-        doDispatch(taskExecutionRunnable);
-        // todo: update the task state and host here, otherwise when the master failover the task host is null
-        // but it already dispatched to worker
-        // Or when the worker receive the task, it should wait the master send a start event to it.
-        // the second solution is better
-        log.info("Success dispatch task {} to {}.", taskName, taskInstanceDispatchAddress);
+        return taskInstanceDispatchAddress;
+    }
+
+    /**
+     * Dispatch the tasks to the given host, by default each task will be dispatched by {@link #doDispatch} in the
+     * caller thread. The returned future should never be completed exceptionally.
+     *
+     * @return the future of the tasks which are failed to dispatch.
+     */
+    protected CompletableFuture<Map<ITaskExecutionRunnable, TaskDispatchException>> doBatchDispatch(String host,
+                                                                                                    List<ITaskExecutionRunnable> taskExecutionRunnables) {
+        return CompletableFuture.completedFuture(doDispatchOneByOne(taskExecutionRunnables));
+    }
+
+    protected Map<ITaskExecutionRunnable, TaskDispatchException> doDispatchOneByOne(List<ITaskExecutionRunnable> taskExecutionRunnables) {
+        final Map<ITaskExecutionRunnable, TaskDispatchException> failedTasks = new HashMap<>();
+        for (ITaskExecutionRunnable taskExecutionRunnable : taskExecutionRunnables) {
+            try {
+                doDispatch(taskExecutionRunnable);
+            } catch (TaskDispatchException e) {
+                failedTasks.put(taskExecutionRunnable, e);
+            }
+        }
+        return failedTasks;
     }
 
     protected abstract void doDispatch(ITaskExecutionRunnable ITaskExecutionRunnable) throws TaskDispatchException;
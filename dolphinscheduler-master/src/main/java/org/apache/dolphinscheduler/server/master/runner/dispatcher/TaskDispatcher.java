@@ -20,6 +20,11 @@ package org.apache.dolphinscheduler.server.master.runner.dispatcher;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.exception.dispatch.TaskDispatchException;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Used to do task dispatcher.
  */
@@ -27,4 +32,22 @@ public interface TaskDispatcher {
 
     void dispatchTask(ITaskExecutionRunnable ITaskExecutionRunnable) throws TaskDispatchException;
 
+    /**
+     * Dispatch a batch of tasks, each task is dispatched independently. The implementation should not block the caller
+     * on the remote hosts, the returned future is completed once all the tasks are dispatched.
+     *
+     * @return the future of the tasks which are failed to dispatch, the caller should retry them.
+     */
+    default CompletableFuture<Map<ITaskExecutionRunnable, TaskDispatchException>> dispatchTasks(List<ITaskExecutionRunnable> taskExecutionRunnables) {
+        final Map<ITaskExecutionRunnable, TaskDispatchException> failedTasks = new HashMap<>();
+        for (ITaskExecutionRunnable taskExecutionRunnable : taskExecutionRunnables) {
+            try {
+                dispatchTask(taskExecutionRunnable);
+            } catch (TaskDispatchException e) {
+                failedTasks.put(taskExecutionRunnable, e);
+            }
+        }
+        return CompletableFuture.completedFuture(failedTasks);
+    }
+
 }
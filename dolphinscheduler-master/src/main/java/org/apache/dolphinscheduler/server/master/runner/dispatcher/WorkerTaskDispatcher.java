@@ -19,34 +19,96 @@ package org.apache.dolphinscheduler.server.master.runner.dispatcher;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.extract.base.client.Clients;
+import org.apache.dolphinscheduler.extract.base.exception.MethodNotFoundException;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
 import org.apache.dolphinscheduler.extract.worker.ITaskInstanceOperator;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceBatchDispatchRequest;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceBatchDispatchResponse;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchRequest;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchResponse;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.server.master.cluster.ClusterManager;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerClusters;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerTaskSlots;
 import org.apache.dolphinscheduler.server.master.cluster.loadbalancer.IWorkerLoadBalancer;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.exception.dispatch.TaskDispatchException;
+import org.apache.dolphinscheduler.server.master.exception.dispatch.WorkerGroupOverloadException;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 @Slf4j
 @Component
-public class WorkerTaskDispatcher extends BaseTaskDispatcher {
+public class WorkerTaskDispatcher extends BaseTaskDispatcher implements AutoCloseable {
+
+    // The selected worker might be reserved by the other dispatch threads, then will select again
+    private static final int MAX_SELECT_TIMES = 3;
 
     private final IWorkerLoadBalancer workerLoadBalancer;
 
-    public WorkerTaskDispatcher(IWorkerLoadBalancer workerLoadBalancer) {
+    private final WorkerClusters workerClusters;
+
+    // The workers which don't provide the batch dispatch method, e.g. the old workers during a rolling upgrade, the
+    // tasks are dispatched to them one by one. The worker expires so the batch dispatch is tried again once upgraded.
+    private final Cache<String, Boolean> batchDispatchUnsupportedWorkers = CacheBuilder.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(5))
+            .build();
+
+    private final Executor singleDispatchExecutor;
+
+    @Autowired
+    public WorkerTaskDispatcher(IWorkerLoadBalancer workerLoadBalancer,
+                                ClusterManager clusterManager,
+                                MasterConfig masterConfig) {
+        this(workerLoadBalancer, clusterManager,
+                ThreadUtils.newDaemonFixedThreadExecutor("WorkerTaskSingleDispatcher-%d",
+                        masterConfig.getTaskDispatch().getSingleDispatchThreadCount()));
+    }
+
+    WorkerTaskDispatcher(IWorkerLoadBalancer workerLoadBalancer,
+                         ClusterManager clusterManager,
+                         Executor singleDispatchExecutor) {
         this.workerLoadBalancer = checkNotNull(workerLoadBalancer);
+        this.workerClusters = checkNotNull(clusterManager).getWorkerClusters();
+        this.singleDispatchExecutor = checkNotNull(singleDispatchExecutor);
     }
 
     @Override
     protected void doDispatch(ITaskExecutionRunnable ITaskExecutionRunnable) throws TaskDispatchException {
+        final TaskExecutionContext taskExecutionContext = ITaskExecutionRunnable.getTaskExecutionContext();
+        try {
+            doDispatchToWorker(ITaskExecutionRunnable);
+            workerClusters.getWorkerTaskSlots()
+                    .acceptReservation(taskExecutionContext.getHost(), taskExecutionContext.getTaskInstanceId());
+        } catch (TaskDispatchException e) {
+            workerClusters.getWorkerTaskSlots()
+                    .cancelReservation(taskExecutionContext.getHost(), taskExecutionContext.getTaskInstanceId());
+            throw e;
+        }
+    }
+
+    private void doDispatchToWorker(ITaskExecutionRunnable ITaskExecutionRunnable) throws TaskDispatchException {
         final TaskExecutionContext taskExecutionContext = ITaskExecutionRunnable.getTaskExecutionContext();
         final String taskName = taskExecutionContext.getTaskName();
         final String workerAddress = taskExecutionContext.getHost();
@@ -66,9 +128,131 @@ public class WorkerTaskDispatcher extends BaseTaskDispatcher {
         }
     }
 
+    /**
+     * Send the tasks to the worker in one request without waiting for the response, the returned future is completed
+     * in the netty event loop once the worker responds or the request times out.
+     */
     @Override
-    protected Optional<Host> getTaskInstanceDispatchHost(ITaskExecutionRunnable ITaskExecutionRunnable) {
-        String workerGroup = ITaskExecutionRunnable.getTaskExecutionContext().getWorkerGroup();
-        return workerLoadBalancer.select(workerGroup).map(Host::of);
+    protected CompletableFuture<Map<ITaskExecutionRunnable, TaskDispatchException>> doBatchDispatch(String workerAddress,
+                                                                                                    List<ITaskExecutionRunnable> taskExecutionRunnables) {
+        if (batchDispatchUnsupportedWorkers.getIfPresent(workerAddress) != null) {
+            return doDispatchOneByOneAsync(taskExecutionRunnables);
+        }
+        final List<TaskExecutionContext> taskExecutionContexts = taskExecutionRunnables.stream()
+                .map(ITaskExecutionRunnable::getTaskExecutionContext)
+                .collect(Collectors.toList());
+        CompletableFuture<TaskInstanceBatchDispatchResponse> batchDispatchFuture;
+        try {
+            batchDispatchFuture = Clients
+                    .withService(ITaskInstanceOperator.class)
+                    .withHost(workerAddress)
+                    .batchDispatchTask(new TaskInstanceBatchDispatchRequest(taskExecutionContexts));
+        } catch (Exception e) {
+            batchDispatchFuture = new CompletableFuture<>();
+            batchDispatchFuture.completeExceptionally(e);
+        }
+        return batchDispatchFuture
+                .handle((taskInstanceBatchDispatchResponse, throwable) -> {
+                    final Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+                    if (cause instanceof MethodNotFoundException) {
+                        log.warn("The worker: {} doesn't support batch dispatch, will dispatch the tasks one by one",
+                                workerAddress);
+                        batchDispatchUnsupportedWorkers.put(workerAddress, Boolean.TRUE);
+                        return doDispatchOneByOneAsync(taskExecutionRunnables);
+                    }
+                    final Map<ITaskExecutionRunnable, TaskDispatchException> failedTasks =
+                            getFailedTasks(workerAddress, taskExecutionRunnables, taskInstanceBatchDispatchResponse,
+                                    cause);
+                    final WorkerTaskSlots workerTaskSlots = workerClusters.getWorkerTaskSlots();
+                    for (ITaskExecutionRunnable taskExecutionRunnable : taskExecutionRunnables) {
+                        final int taskInstanceId = taskExecutionRunnable.getTaskExecutionContext().getTaskInstanceId();
+                        if (failedTasks.containsKey(taskExecutionRunnable)) {
+                            workerTaskSlots.cancelReservation(workerAddress, taskInstanceId);
+                        } else {
+                            workerTaskSlots.acceptReservation(workerAddress, taskInstanceId);
+                        }
+                    }
+                    return CompletableFuture.completedFuture(failedTasks);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private Map<ITaskExecutionRunnable, TaskDispatchException> getFailedTasks(String workerAddress,
+                                                                              List<ITaskExecutionRunnable> taskExecutionRunnables,
+                                                                              TaskInstanceBatchDispatchResponse taskInstanceBatchDispatchResponse,
+                                                                              Throwable cause) {
+        final Map<ITaskExecutionRunnable, TaskDispatchException> failedTasks = new HashMap<>();
+        if (cause != null) {
+            for (ITaskExecutionRunnable taskExecutionRunnable : taskExecutionRunnables) {
+                failedTasks.put(taskExecutionRunnable, new TaskDispatchException("Dispatch task: "
+                        + taskExecutionRunnable.getTaskExecutionContext().getTaskName() + " to " + workerAddress
+                        + " failed", cause));
+            }
+            return failedTasks;
+        }
+        final Map<Integer, ITaskExecutionRunnable> taskExecutionRunnableMap = new HashMap<>();
+        for (ITaskExecutionRunnable taskExecutionRunnable : taskExecutionRunnables) {
+            taskExecutionRunnableMap.put(taskExecutionRunnable.getTaskExecutionContext().getTaskInstanceId(),
+                    taskExecutionRunnable);
+        }
+        for (TaskInstanceDispatchResponse taskInstanceDispatchResponse : taskInstanceBatchDispatchResponse
+                .getTaskInstanceDispatchResponses()) {
+            final ITaskExecutionRunnable taskExecutionRunnable =
+                    taskExecutionRunnableMap.remove(taskInstanceDispatchResponse.getTaskInstanceId());
+            if (taskExecutionRunnable == null || taskInstanceDispatchResponse.isDispatchSuccess()) {
+                continue;
+            }
+            failedTasks.put(taskExecutionRunnable, new TaskDispatchException(
+                    "Dispatch task: " + taskExecutionRunnable.getTaskExecutionContext().getTaskName() + " to "
+                            + workerAddress + " failed: " + taskInstanceDispatchResponse));
+        }
+        // The task which doesn't have response is regarded as failed
+        taskExecutionRunnableMap.values().forEach(taskExecutionRunnable -> failedTasks.put(taskExecutionRunnable,
+                new TaskDispatchException("Dispatch task: "
+                        + taskExecutionRunnable.getTaskExecutionContext().getTaskName() + " to " + workerAddress
+                        + " failed: no response")));
+        return failedTasks;
+    }
+
+    /**
+     * The single dispatch method is synchronous, dispatch in the fallback executor, so neither the dispatch thread nor
+     * the netty event loop is blocked.
+     */
+    private CompletableFuture<Map<ITaskExecutionRunnable, TaskDispatchException>> doDispatchOneByOneAsync(List<ITaskExecutionRunnable> taskExecutionRunnables) {
+        return CompletableFuture.supplyAsync(() -> doDispatchOneByOne(taskExecutionRunnables),
+                singleDispatchExecutor);
+    }
+
+    @Override
+    public void close() {
+        if (singleDispatchExecutor instanceof ExecutorService) {
+            ((ExecutorService) singleDispatchExecutor).shutdownNow();
+        }
+        log.info("WorkerTaskDispatcher closed");
+    }
+
+    /**
+     * Select a worker which has available task slot, and reserve the slot for the task.
+     *
+     * @throws WorkerGroupOverloadException if there are normal workers in the worker group but all of them are full.
+     */
+    @Override
+    protected Optional<Host> getTaskInstanceDispatchHost(ITaskExecutionRunnable ITaskExecutionRunnable) throws TaskDispatchException {
+        final TaskExecutionContext taskExecutionContext = ITaskExecutionRunnable.getTaskExecutionContext();
+        final String workerGroup = taskExecutionContext.getWorkerGroup();
+        for (int i = 0; i < MAX_SELECT_TIMES; i++) {
+            final Optional<String> workerAddress = workerLoadBalancer.select(workerGroup);
+            if (!workerAddress.isPresent()) {
+                break;
+            }
+            if (workerClusters.getWorkerTaskSlots().tryReserveSlot(workerAddress.get(),
+                    taskExecutionContext.getTaskInstanceId())) {
+                return workerAddress.map(Host::of);
+            }
+        }
+        if (workerClusters.getNormalWorkerServerAddressByGroup(workerGroup).isEmpty()) {
+            return Optional.empty();
+        }
+        throw new WorkerGroupOverloadException(workerGroup);
     }
 }
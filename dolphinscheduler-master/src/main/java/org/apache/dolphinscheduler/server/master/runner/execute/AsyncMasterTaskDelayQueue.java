@@ -14,10 +14,15 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.apache.dolphinscheduler.server.master.runner.execute;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nullable;
 
@@ -25,22 +30,155 @@ import lombok.NonNull;
 
 import org.springframework.stereotype.Component;
 
+/**
+ * The queue of the async tasks waiting for the next check.
+ * <p>
+ * A waiting task can be woken up by its upstream, the woken task is put into the queue again as a new generation
+ * rather than be removed from the queue, and the entry of the old generation is skipped when it is polled.
+ */
 @Component
 public class AsyncMasterTaskDelayQueue {
 
-    private final DelayQueue<AsyncTaskExecutionContext> asyncTaskCheckDelayQueue = new DelayQueue<>();
+    private final DelayQueue<AsyncTaskDelayedEntry> asyncTaskCheckDelayQueue = new DelayQueue<>();
+
+    private final AtomicInteger waitingAsyncTaskCount = new AtomicInteger();
+
+    /**
+     * upstream workflow definition code -> task instance id -> the waiting async task in the queue
+     */
+    private final Map<Long, Map<Integer, AsyncTaskExecutionContext>> waitingAsyncTasksByUpstreamWorkflow =
+            new ConcurrentHashMap<>();
+
+    /**
+     * upstream task definition code -> task instance id -> the waiting async task in the queue
+     */
+    private final Map<Long, Map<Integer, AsyncTaskExecutionContext>> waitingAsyncTasksByUpstreamTask =
+            new ConcurrentHashMap<>();
 
     public void addAsyncTask(@NonNull AsyncTaskExecutionContext asyncTaskExecutionContext) {
         asyncTaskExecutionContext.refreshStartTime();
-        asyncTaskCheckDelayQueue.add(asyncTaskExecutionContext);
+        final AsyncTaskExecuteFunction asyncTaskExecuteFunction =
+                asyncTaskExecutionContext.getAsyncTaskExecuteFunction();
+        addToIndex(waitingAsyncTasksByUpstreamWorkflow,
+                asyncTaskExecuteFunction.getUpstreamWorkflowDefinitionCodes(), asyncTaskExecutionContext);
+        addToIndex(waitingAsyncTasksByUpstreamTask,
+                asyncTaskExecuteFunction.getUpstreamTaskDefinitionCodes(), asyncTaskExecutionContext);
+        waitingAsyncTaskCount.incrementAndGet();
+        asyncTaskCheckDelayQueue.add(new AsyncTaskDelayedEntry(asyncTaskExecutionContext,
+                asyncTaskExecutionContext.startWaiting()));
     }
 
     public @Nullable AsyncTaskExecutionContext pollAsyncTask() throws InterruptedException {
-        return asyncTaskCheckDelayQueue.take();
+        while (true) {
+            final AsyncTaskDelayedEntry asyncTaskDelayedEntry = asyncTaskCheckDelayQueue.take();
+            final AsyncTaskExecutionContext asyncTaskExecutionContext =
+                    asyncTaskDelayedEntry.asyncTaskExecutionContext;
+            if (!asyncTaskExecutionContext.stopWaiting(asyncTaskDelayedEntry.generation)) {
+                // The task has been woken up, this entry is stale
+                continue;
+            }
+            waitingAsyncTaskCount.decrementAndGet();
+            final AsyncTaskExecuteFunction asyncTaskExecuteFunction =
+                    asyncTaskExecutionContext.getAsyncTaskExecuteFunction();
+            removeFromIndex(waitingAsyncTasksByUpstreamWorkflow,
+                    asyncTaskExecuteFunction.getUpstreamWorkflowDefinitionCodes(), asyncTaskExecutionContext);
+            removeFromIndex(waitingAsyncTasksByUpstreamTask,
+                    asyncTaskExecuteFunction.getUpstreamTaskDefinitionCodes(), asyncTaskExecutionContext);
+            return asyncTaskExecutionContext;
+        }
+    }
+
+    /**
+     * Wake up the waiting async tasks which wait for the given upstream workflow, they will be executed immediately.
+     *
+     * @return the number of the woken tasks
+     */
+    public int wakeUpAsyncTasksWaitingForWorkflow(@NonNull Long upstreamWorkflowDefinitionCode) {
+        return wakeUpAsyncTasks(waitingAsyncTasksByUpstreamWorkflow.get(upstreamWorkflowDefinitionCode));
+    }
+
+    /**
+     * Wake up the waiting async tasks which wait for the given upstream task, they will be executed immediately.
+     *
+     * @return the number of the woken tasks
+     */
+    public int wakeUpAsyncTasksWaitingForTask(@NonNull Long upstreamTaskDefinitionCode) {
+        return wakeUpAsyncTasks(waitingAsyncTasksByUpstreamTask.get(upstreamTaskDefinitionCode));
     }
 
     public int getAsyncTaskRunningNum() {
-        return asyncTaskCheckDelayQueue.size();
+        return waitingAsyncTaskCount.get();
+    }
+
+    private int wakeUpAsyncTasks(@Nullable Map<Integer, AsyncTaskExecutionContext> waitingTasks) {
+        if (waitingTasks == null) {
+            return 0;
+        }
+        int wokenTaskCount = 0;
+        for (AsyncTaskExecutionContext asyncTaskExecutionContext : waitingTasks.values()) {
+            // The task which is executing is not waiting, it will be checked in the next execute interval
+            final int generation = asyncTaskExecutionContext.wakeUp();
+            if (generation != -1) {
+                asyncTaskCheckDelayQueue.add(new AsyncTaskDelayedEntry(asyncTaskExecutionContext, generation));
+                wokenTaskCount++;
+            }
+        }
+        return wokenTaskCount;
+    }
+
+    private void addToIndex(Map<Long, Map<Integer, AsyncTaskExecutionContext>> index,
+                            Collection<Long> codes,
+                            AsyncTaskExecutionContext asyncTaskExecutionContext) {
+        final Integer taskInstanceId = asyncTaskExecutionContext.getTaskExecutionContext().getTaskInstanceId();
+        for (Long code : codes) {
+            index.compute(code, (key, waitingTasks) -> {
+                final Map<Integer, AsyncTaskExecutionContext> tasks =
+                        waitingTasks == null ? new ConcurrentHashMap<>() : waitingTasks;
+                tasks.put(taskInstanceId, asyncTaskExecutionContext);
+                return tasks;
+            });
+        }
+    }
+
+    private void removeFromIndex(Map<Long, Map<Integer, AsyncTaskExecutionContext>> index,
+                                 Collection<Long> codes,
+                                 AsyncTaskExecutionContext asyncTaskExecutionContext) {
+        final Integer taskInstanceId = asyncTaskExecutionContext.getTaskExecutionContext().getTaskInstanceId();
+        for (Long code : codes) {
+            index.computeIfPresent(code, (key, waitingTasks) -> {
+                waitingTasks.remove(taskInstanceId, asyncTaskExecutionContext);
+                return waitingTasks.isEmpty() ? null : waitingTasks;
+            });
+        }
+    }
+
+    /**
+     * The entry of the async task in the delay queue, the trigger time is fixed once the entry is queued.
+     */
+    private static class AsyncTaskDelayedEntry implements Delayed {
+
+        private final AsyncTaskExecutionContext asyncTaskExecutionContext;
+
+        private final int generation;
+
+        private final long triggerTime;
+
+        AsyncTaskDelayedEntry(AsyncTaskExecutionContext asyncTaskExecutionContext, int generation) {
+            this.asyncTaskExecutionContext = asyncTaskExecutionContext;
+            this.generation = generation;
+            this.triggerTime =
+                    System.currentTimeMillis() + asyncTaskExecutionContext.getDelay(TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(triggerTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), o.getDelay(TimeUnit.MILLISECONDS));
+        }
     }
 
 }
@@ -18,6 +18,8 @@
 package org.apache.dolphinscheduler.server.master.runner.execute;
 
 import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
 
 import lombok.NonNull;
 
@@ -29,6 +31,22 @@ public interface AsyncTaskExecuteFunction {
     @NonNull
     Duration getAsyncTaskStateCheckInterval();
 
+    /**
+     * The codes of the upstream workflow definitions this task is waiting for, the task will be woken up once an
+     * instance of the upstream workflows finished.
+     */
+    default @NonNull Set<Long> getUpstreamWorkflowDefinitionCodes() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * The codes of the upstream task definitions this task is waiting for, the task will be woken up once an instance
+     * of the upstream tasks finished.
+     */
+    default @NonNull Set<Long> getUpstreamTaskDefinitionCodes() {
+        return Collections.emptySet();
+    }
+
     enum AsyncTaskExecutionStatus {
 
         RUNNING,
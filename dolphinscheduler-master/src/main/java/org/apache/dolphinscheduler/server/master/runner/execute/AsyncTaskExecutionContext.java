@@ -22,8 +22,11 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import java.util.concurrent.Delayed;
 import java.util.concurrent.TimeUnit;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 
 @Data
 public class AsyncTaskExecutionContext implements Delayed {
@@ -38,6 +41,20 @@ public class AsyncTaskExecutionContext implements Delayed {
     private int executeTimes;
     private final long executeInterval;
 
+    /**
+     * Increased each time the task is put into the delay queue, the queued entries of an older generation are stale.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int generation;
+
+    /**
+     * Whether the task is waiting in the delay queue, the task which is executing is not waiting.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean waiting;
+
     public AsyncTaskExecutionContext(@NonNull TaskExecutionContext taskExecutionContext,
                                      @NonNull AsyncTaskExecuteFunction asyncTaskExecuteFunction,
                                      @NonNull AsyncTaskCallbackFunction asyncTaskCallbackFunction) {
@@ -57,6 +74,35 @@ public class AsyncTaskExecutionContext implements Delayed {
         executeTimes++;
     }
 
+    /**
+     * Make the task can be executed immediately rather than waiting for the next execute interval.
+     *
+     * @return the new generation of the task, or -1 if the task is not waiting in the delay queue
+     */
+    synchronized int wakeUp() {
+        if (!waiting) {
+            return -1;
+        }
+        currentStartTime = System.currentTimeMillis() - executeInterval;
+        return ++generation;
+    }
+
+    synchronized int startWaiting() {
+        waiting = true;
+        return ++generation;
+    }
+
+    /**
+     * @return false if the queued entry of the given generation is stale
+     */
+    synchronized boolean stopWaiting(int generation) {
+        if (!waiting || this.generation != generation) {
+            return false;
+        }
+        waiting = false;
+        return true;
+    }
+
     @Override
     public long getDelay(TimeUnit unit) {
         long nextExecuteTimeDelay = currentStartTime + executeInterval - System.currentTimeMillis();
@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.server.master.runner.queue;
 
 import java.util.concurrent.DelayQueue;
+import java.util.concurrent.TimeUnit;
 
 import lombok.SneakyThrows;
 
@@ -34,6 +35,17 @@ public class PriorityDelayQueue<V extends DelayEntry> {
         return queue.take();
     }
 
+    /**
+     * Retrieves and removes the head of this queue, waiting if necessary until an element with an expired delay is
+     * available, or the specified wait time expires.
+     *
+     * @return the head of this queue, or null if the specified waiting time elapses before an element is available
+     */
+    @SneakyThrows
+    public V poll(long timeout, TimeUnit unit) {
+        return queue.poll(timeout, unit);
+    }
+
     public int size() {
         return queue.size();
     }
@@ -72,6 +72,8 @@ public class DependentAsyncTaskExecuteFunction implements AsyncTaskExecuteFuncti
     private final List<DependentExecute> dependentTaskList;
     private final Map<String, DependResult> dependResultMap;
     private final Map<String, Property> dependVarPoolPropertyMap;
+    private final Set<Long> dependentWorkflowDefinitionCodes;
+    private final Set<Long> dependentTaskDefinitionCodes;
 
     public DependentAsyncTaskExecuteFunction(TaskExecutionContext taskExecutionContext,
                                              DependentParameters dependentParameters,
@@ -89,6 +91,19 @@ public class DependentAsyncTaskExecuteFunction implements AsyncTaskExecuteFuncti
         this.workflowInstance =
                 workflowInstanceDao.queryById(taskExecutionContext.getWorkflowInstanceId());
         this.dependentDate = calculateDependentDate();
+        this.dependentWorkflowDefinitionCodes = dependentParameters.getDependence().getDependTaskList()
+                .stream()
+                .flatMap(dependentTaskModel -> dependentTaskModel.getDependItemList().stream())
+                .map(DependentItem::getDefinitionCode)
+                .collect(Collectors.toSet());
+        // The item which depends on the whole workflow is resolved after the workflow finished
+        this.dependentTaskDefinitionCodes = dependentParameters.getDependence().getDependTaskList()
+                .stream()
+                .flatMap(dependentTaskModel -> dependentTaskModel.getDependItemList().stream())
+                .map(DependentItem::getDepTaskCode)
+                .filter(depTaskCode -> depTaskCode != Constants.DEPENDENT_ALL_TASK_CODE
+                        && depTaskCode != Constants.DEPENDENT_WORKFLOW_CODE)
+                .collect(Collectors.toSet());
         this.dependentTaskList = initializeDependentTaskList();
         log.info("Initialized dependent task list successfully");
         this.dependResultMap = new HashMap<>();
@@ -239,6 +254,16 @@ public class DependentAsyncTaskExecuteFunction implements AsyncTaskExecuteFuncti
         return isAllDependentTaskFinished;
     }
 
+    @Override
+    public @NonNull Set<Long> getUpstreamWorkflowDefinitionCodes() {
+        return dependentWorkflowDefinitionCodes;
+    }
+
+    @Override
+    public @NonNull Set<Long> getUpstreamTaskDefinitionCodes() {
+        return dependentTaskDefinitionCodes;
+    }
+
     @Override
     public @NonNull Duration getAsyncTaskStateCheckInterval() {
         return dependentParameters.getDependence().getCheckInterval() == null ? DEFAULT_STATE_CHECK_INTERVAL
@@ -0,0 +1,310 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner.task.dependent;
+
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.dao.repository.WorkflowInstanceDao;
+import org.apache.dolphinscheduler.plugin.task.api.model.DateInterval;
+import org.apache.dolphinscheduler.server.master.config.DependentResolutionCacheProperties;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
+import org.apache.dolphinscheduler.server.master.runner.execute.AsyncMasterTaskDelayQueue;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalListener;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * The upstream workflow/task instances queried by all the DEPENDENT tasks in the master are shared by this cache, the
+ * same lookup from different DEPENDENT tasks will only query the database once.
+ * <p>
+ * When an upstream workflow instance in this master finishes a task or finishes itself, the related cache will be
+ * invalidated and the DEPENDENT tasks which depend on the finished task or workflow will be woken up, the upstream
+ * workflow instance in other masters will be seen after the cache expired. The cached instances are indexed by the
+ * upstream workflow, so the invalidation doesn't need to scan the whole cache.
+ */
+@Slf4j
+@Component
+public class DependentResolutionCache {
+
+    private final DependentResolutionCacheProperties dependentResolutionCacheProperties;
+
+    private final WorkflowInstanceDao workflowInstanceDao;
+
+    private final TaskInstanceDao taskInstanceDao;
+
+    private final AsyncMasterTaskDelayQueue asyncMasterTaskDelayQueue;
+
+    /**
+     * Indexed by the workflow definition code.
+     */
+    private final IndexedCache<Long, LastWorkflowInstanceKey, WorkflowInstance> lastWorkflowInstanceCache;
+
+    /**
+     * Indexed by the workflow instance id.
+     */
+    private final IndexedCache<Integer, LastTaskInstanceKey, TaskInstance> lastTaskInstanceCache;
+
+    /**
+     * Indexed by the workflow instance id.
+     */
+    private final IndexedCache<Integer, LastTaskInstanceListKey, List<TaskInstance>> lastTaskInstanceListCache;
+
+    public DependentResolutionCache(MasterConfig masterConfig,
+                                    WorkflowInstanceDao workflowInstanceDao,
+                                    TaskInstanceDao taskInstanceDao,
+                                    AsyncMasterTaskDelayQueue asyncMasterTaskDelayQueue) {
+        this.dependentResolutionCacheProperties = masterConfig.getDependentResolutionCache();
+        this.workflowInstanceDao = workflowInstanceDao;
+        this.taskInstanceDao = taskInstanceDao;
+        this.asyncMasterTaskDelayQueue = asyncMasterTaskDelayQueue;
+        this.lastWorkflowInstanceCache = new IndexedCache<>(LastWorkflowInstanceKey::getDefinitionCode);
+        this.lastTaskInstanceCache = new IndexedCache<>(LastTaskInstanceKey::getWorkflowInstanceId);
+        this.lastTaskInstanceListCache = new IndexedCache<>(LastTaskInstanceListKey::getWorkflowInstanceId);
+    }
+
+    /**
+     * Find the last workflow instance which is manual run and finish between the interval or schedule run and schedule
+     * time between the interval.
+     */
+    public WorkflowInstance queryLastWorkflowInterval(Long definitionCode,
+                                                      Long taskCode,
+                                                      DateInterval dateInterval,
+                                                      int testFlag) {
+        final LastWorkflowInstanceKey key = new LastWorkflowInstanceKey(definitionCode, taskCode,
+                dateInterval.getStartTime().getTime(), dateInterval.getEndTime().getTime(), testFlag);
+        return get(lastWorkflowInstanceCache, key,
+                () -> doQueryLastWorkflowInterval(definitionCode, taskCode, dateInterval, testFlag));
+    }
+
+    public TaskInstance queryLastTaskInstanceIntervalInWorkflowInstance(Integer workflowInstanceId,
+                                                                        long taskCode,
+                                                                        int testFlag) {
+        final LastTaskInstanceKey key = new LastTaskInstanceKey(workflowInstanceId, taskCode, testFlag);
+        return get(lastTaskInstanceCache, key, () -> taskInstanceDao
+                .queryLastTaskInstanceIntervalInWorkflowInstance(workflowInstanceId, taskCode, testFlag));
+    }
+
+    /**
+     * Find the last task instances of the given tasks in the workflow instance, the returned list is shared by the
+     * lookups so it is unmodifiable.
+     */
+    public List<TaskInstance> queryLastTaskInstanceListIntervalInWorkflowInstance(Integer workflowInstanceId,
+                                                                                  Set<Long> taskCodes,
+                                                                                  int testFlag) {
+        final LastTaskInstanceListKey key =
+                new LastTaskInstanceListKey(workflowInstanceId, ImmutableSet.copyOf(taskCodes), testFlag);
+        return get(lastTaskInstanceListCache, key, () -> Collections.unmodifiableList(taskInstanceDao
+                .queryLastTaskInstanceListIntervalInWorkflowInstance(workflowInstanceId, taskCodes, testFlag)));
+    }
+
+    /**
+     * Invalidate the cached task instances of the given upstream workflow instance, and wake up the DEPENDENT tasks
+     * which depend on the finished task.
+     */
+    public void onUpstreamTaskInstanceFinished(WorkflowInstance workflowInstance, TaskInstance taskInstance) {
+        lastTaskInstanceCache.invalidate(workflowInstance.getId());
+        lastTaskInstanceListCache.invalidate(workflowInstance.getId());
+
+        final int wokenTaskCount = asyncMasterTaskDelayQueue.wakeUpAsyncTasksWaitingForTask(taskInstance.getTaskCode());
+        if (wokenTaskCount > 0) {
+            log.info("Woken up {} dependent tasks since the upstream task instance: {} finished", wokenTaskCount,
+                    taskInstance.getName());
+        }
+    }
+
+    /**
+     * Invalidate the cached instances related to the given upstream workflow instance, and wake up the DEPENDENT tasks
+     * which depend on the workflow.
+     */
+    public void onUpstreamWorkflowInstanceFinished(WorkflowInstance workflowInstance) {
+        final Long workflowDefinitionCode = workflowInstance.getWorkflowDefinitionCode();
+        lastWorkflowInstanceCache.invalidate(workflowDefinitionCode);
+        lastTaskInstanceCache.invalidate(workflowInstance.getId());
+        lastTaskInstanceListCache.invalidate(workflowInstance.getId());
+
+        final int wokenTaskCount =
+                asyncMasterTaskDelayQueue.wakeUpAsyncTasksWaitingForWorkflow(workflowDefinitionCode);
+        if (wokenTaskCount > 0) {
+            log.info("Woken up {} dependent tasks since the upstream workflow instance: {} finished", wokenTaskCount,
+                    workflowInstance.getName());
+        }
+    }
+
+    private WorkflowInstance doQueryLastWorkflowInterval(Long definitionCode,
+                                                         Long taskCode,
+                                                         DateInterval dateInterval,
+                                                         int testFlag) {
+        WorkflowInstance lastSchedulerWorkflowInstance =
+                workflowInstanceDao.queryLastSchedulerWorkflowInterval(definitionCode, taskCode, dateInterval,
+                        testFlag);
+
+        WorkflowInstance lastManualWorkflowInstance =
+                workflowInstanceDao.queryLastManualWorkflowInterval(definitionCode, taskCode, dateInterval, testFlag);
+
+        if (lastManualWorkflowInstance == null) {
+            return lastSchedulerWorkflowInstance;
+        }
+        if (lastSchedulerWorkflowInstance == null) {
+            return lastManualWorkflowInstance;
+        }
+
+        // In the time range, there are both manual and scheduled workflow instances, return the last workflow instance
+        return lastManualWorkflowInstance.getId() > lastSchedulerWorkflowInstance.getId() ? lastManualWorkflowInstance
+                : lastSchedulerWorkflowInstance;
+    }
+
+    private <K, V> V get(IndexedCache<?, K, V> cache, K key, Callable<V> loader) {
+        if (!dependentResolutionCacheProperties.isEnabled()) {
+            return call(loader);
+        }
+        // The concurrent lookups of the same key will wait for the only one loader
+        final AtomicBoolean loaded = new AtomicBoolean(false);
+        try {
+            final Optional<V> value = cache.get(key, () -> {
+                loaded.set(true);
+                return loader.call();
+            });
+            if (loaded.get()) {
+                MasterServerMetrics.incMasterDependentResolutionCacheMissCount();
+            } else {
+                MasterServerMetrics.incMasterDependentResolutionCacheHitCount();
+            }
+            return value.orElse(null);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private <V> V call(Callable<V> loader) {
+        try {
+            return loader.call();
+        } catch (Exception e) {
+            Throwables.throwIfUnchecked(e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Value
+    private static class LastWorkflowInstanceKey {
+
+        Long definitionCode;
+        Long taskCode;
+        long startTime;
+        long endTime;
+        int testFlag;
+    }
+
+    @Value
+    private static class LastTaskInstanceKey {
+
+        Integer workflowInstanceId;
+        long taskCode;
+        int testFlag;
+    }
+
+    @Value
+    private static class LastTaskInstanceListKey {
+
+        Integer workflowInstanceId;
+        Set<Long> taskCodes;
+        int testFlag;
+    }
+
+    /**
+     * The cache whose keys are also indexed by a part of the key, so that all the keys of the same index can be
+     * invalidated without scanning the whole cache. The empty value is cached as {@link Optional#empty()}.
+     */
+    private class IndexedCache<I, K, V> {
+
+        private final Function<K, I> indexer;
+
+        private final Map<I, Set<K>> index = new ConcurrentHashMap<>();
+
+        private final Cache<K, Optional<V>> cache;
+
+        IndexedCache(Function<K, I> indexer) {
+            this.indexer = indexer;
+            this.cache = CacheBuilder.newBuilder()
+                    .expireAfterWrite(dependentResolutionCacheProperties.getExpireTime().toMillis(),
+                            TimeUnit.MILLISECONDS)
+                    .maximumSize(dependentResolutionCacheProperties.getMaximumSize())
+                    .removalListener((RemovalListener<K, Optional<V>>) notification -> {
+                        if (notification.getCause() != RemovalCause.REPLACED) {
+                            removeFromIndex(notification.getKey());
+                        }
+                    })
+                    .build();
+        }
+
+        Optional<V> get(K key, Callable<V> loader) throws ExecutionException {
+            return cache.get(key, () -> {
+                final Optional<V> value = Optional.ofNullable(loader.call());
+                addToIndex(key);
+                return value;
+            });
+        }
+
+        void invalidate(I indexKey) {
+            final Collection<K> keys = index.remove(indexKey);
+            if (keys != null) {
+                cache.invalidateAll(keys);
+            }
+        }
+
+        private void addToIndex(K key) {
+            index.compute(indexer.apply(key), (indexKey, keys) -> {
+                final Set<K> indexedKeys = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+                indexedKeys.add(key);
+                return indexedKeys;
+            });
+        }
+
+        private void removeFromIndex(K key) {
+            index.computeIfPresent(indexer.apply(key), (indexKey, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+}
@@ -30,7 +30,6 @@ import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
 import org.apache.dolphinscheduler.dao.entity.WorkflowTaskRelation;
 import org.apache.dolphinscheduler.dao.repository.TaskDefinitionDao;
 import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
-import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.dao.repository.WorkflowInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.DependResult;
 import org.apache.dolphinscheduler.plugin.task.api.enums.DependentRelation;
@@ -41,6 +40,7 @@ import org.apache.dolphinscheduler.plugin.task.api.model.DependentItem;
 import org.apache.dolphinscheduler.plugin.task.api.model.Property;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.DependentParameters;
 import org.apache.dolphinscheduler.plugin.task.api.utils.DependentUtils;
+import org.apache.dolphinscheduler.server.master.runner.task.dependent.DependentResolutionCache;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
@@ -65,8 +65,6 @@ public class DependentExecute {
 
     private final WorkflowInstanceDao workflowInstanceDao = SpringApplicationContext.getBean(WorkflowInstanceDao.class);
 
-    private final TaskInstanceDao taskInstanceDao = SpringApplicationContext.getBean(TaskInstanceDao.class);
-
     /**
      * depend item list
      */
@@ -102,6 +100,12 @@ public class DependentExecute {
      */
     private final TaskDefinitionDao taskDefinitionDao = SpringApplicationContext.getBean(TaskDefinitionDao.class);
 
+    /**
+     * the upstream instances shared by all the dependent tasks
+     */
+    private final DependentResolutionCache dependentResolutionCache =
+            SpringApplicationContext.getBean(DependentResolutionCache.class);
+
     private Map<String, Property> dependTaskVarPoolPropertyMap = new HashMap<>();
 
     private Map<String, Long> dependTaskVarPoolEndTimeMap = new HashMap<>();
@@ -213,8 +217,8 @@ public class DependentExecute {
                             .collect(Collectors.toMap(TaskDefinitionLog::getCode, TaskDefinitionLog::getName));
 
             List<TaskInstance> taskInstanceList =
-                    taskInstanceDao.queryLastTaskInstanceListIntervalInWorkflowInstance(workflowInstance.getId(),
-                            taskDefinitionCodeMap.keySet(), testFlag);
+                    dependentResolutionCache.queryLastTaskInstanceListIntervalInWorkflowInstance(
+                            workflowInstance.getId(), taskDefinitionCodeMap.keySet(), testFlag);
             Map<Long, TaskExecutionStatus> taskExecutionStatusMap =
                     taskInstanceList.stream()
                             .filter(taskInstance -> taskInstance.getTaskExecuteType() != TaskExecuteType.STREAM)
@@ -252,7 +256,7 @@ public class DependentExecute {
     private DependResult dependResultBySingleTaskInstance(WorkflowInstance workflowInstance, long depTaskCode,
                                                           int testFlag) {
         TaskInstance taskInstance =
-                taskInstanceDao.queryLastTaskInstanceIntervalInWorkflowInstance(workflowInstance.getId(),
+                dependentResolutionCache.queryLastTaskInstanceIntervalInWorkflowInstance(workflowInstance.getId(),
                         depTaskCode, testFlag);
 
         if (taskInstance == null) {
@@ -321,24 +325,7 @@ public class DependentExecute {
      */
     private WorkflowInstance findLastWorkflowInterval(Long definitionCode, Long taskCode, DateInterval dateInterval,
                                                       int testFlag) {
-
-        WorkflowInstance lastSchedulerWorkflowInstance =
-                workflowInstanceDao.queryLastSchedulerWorkflowInterval(definitionCode, taskCode, dateInterval,
-                        testFlag);
-
-        WorkflowInstance lastManualWorkflowInstance =
-                workflowInstanceDao.queryLastManualWorkflowInterval(definitionCode, taskCode, dateInterval, testFlag);
-
-        if (lastManualWorkflowInstance == null) {
-            return lastSchedulerWorkflowInstance;
-        }
-        if (lastSchedulerWorkflowInstance == null) {
-            return lastManualWorkflowInstance;
-        }
-
-        // In the time range, there are both manual and scheduled workflow instances, return the last workflow instance
-        return lastManualWorkflowInstance.getId() > lastSchedulerWorkflowInstance.getId() ? lastManualWorkflowInstance
-                : lastSchedulerWorkflowInstance;
+        return dependentResolutionCache.queryLastWorkflowInterval(definitionCode, taskCode, dateInterval, testFlag);
     }
 
     /**
@@ -144,6 +144,30 @@ class WorkerClustersTest {
         assertThat(workerClusters.getServers()).containsExactly(normalWorkerServerMetadata, workerServerMetadata);
     }
 
+    @Test
+    void testGetDispatchableWorkerServerAddressByGroup() {
+        WorkerClusters workerClusters = new WorkerClusters();
+        WorkerServerMetadata normalWorkerServerMetadata = getNormalWorkerServerMetadata();
+        WorkerServerMetadata fullWorkerServerMetadata = WorkerServerMetadata.builder()
+                .address("127.0.0.1:1237")
+                .serverStatus(ServerStatus.NORMAL)
+                .taskSlotCapacity(2)
+                .runningTaskCount(1)
+                .build();
+        workerClusters.onServerAdded(normalWorkerServerMetadata);
+        workerClusters.onServerAdded(fullWorkerServerMetadata);
+        assertThat(workerClusters.getDispatchableWorkerServerAddressByGroup("default"))
+                .containsExactly(normalWorkerServerMetadata.getAddress(), fullWorkerServerMetadata.getAddress());
+
+        workerClusters.getWorkerTaskSlots().tryReserveSlot(fullWorkerServerMetadata.getAddress(), 1);
+        assertThat(workerClusters.getDispatchableWorkerServerAddressByGroup("default"))
+                .containsExactly(normalWorkerServerMetadata.getAddress());
+
+        workerClusters.getWorkerTaskSlots().releaseSlot(fullWorkerServerMetadata.getAddress(), 1);
+        assertThat(workerClusters.getDispatchableWorkerServerAddressByGroup("default"))
+                .containsExactly(normalWorkerServerMetadata.getAddress(), fullWorkerServerMetadata.getAddress());
+    }
+
     private WorkerServerMetadata getNormalWorkerServerMetadata() {
         return WorkerServerMetadata.builder()
                 .address("127.0.0.1:1235")
@@ -42,6 +42,8 @@ class WorkerServerMetadataTest {
                 .port(12345)
                 .workerHostWeight(2)
                 .threadPoolUsage(0.6)
+                .taskSlotCapacity(100)
+                .runningTaskCount(60)
                 .build();
         WorkerServerMetadata workerServerMetadata = WorkerServerMetadata.parseFromHeartBeat(workerHeartBeat);
         Truth.assertThat(workerServerMetadata.getCpuUsage()).isEqualTo(0.2);
@@ -50,5 +52,7 @@ class WorkerServerMetadataTest {
         Truth.assertThat(workerServerMetadata.getAddress()).isEqualTo("localhost:12345");
         Truth.assertThat(workerServerMetadata.getWorkerWeight()).isEqualTo(2);
         Truth.assertThat(workerServerMetadata.getTaskThreadPoolUsage()).isEqualTo(0.6);
+        Truth.assertThat(workerServerMetadata.getTaskSlotCapacity()).isEqualTo(100);
+        Truth.assertThat(workerServerMetadata.getRunningTaskCount()).isEqualTo(60);
     }
 }
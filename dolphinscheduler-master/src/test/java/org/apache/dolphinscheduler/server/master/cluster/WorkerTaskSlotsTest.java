@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cluster;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.common.model.WorkerHeartBeat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WorkerTaskSlotsTest {
+
+    private static final String WORKER_ADDRESS = "127.0.0.1:1234";
+
+    private WorkerTaskSlots workerTaskSlots;
+
+    private List<Integer> notifiedAvailableSlots;
+
+    @BeforeEach
+    void setUp() {
+        workerTaskSlots = new WorkerTaskSlots();
+        notifiedAvailableSlots = new ArrayList<>();
+        workerTaskSlots.registerListener(
+                (workerAddress, availableSlots) -> notifiedAvailableSlots.add(availableSlots));
+    }
+
+    @Test
+    void testReserveSlot() {
+        workerTaskSlots.refresh(createWorkerServerMetadata(3, 1));
+        assertThat(workerTaskSlots.getAvailableSlots(WORKER_ADDRESS)).isEqualTo(2);
+
+        assertThat(workerTaskSlots.tryReserveSlot(WORKER_ADDRESS, 1)).isTrue();
+        assertThat(workerTaskSlots.tryReserveSlot(WORKER_ADDRESS, 2)).isTrue();
+        assertThat(workerTaskSlots.tryReserveSlot(WORKER_ADDRESS, 3)).isFalse();
+        assertThat(workerTaskSlots.hasAvailableSlot(WORKER_ADDRESS)).isFalse();
+
+        workerTaskSlots.cancelReservation(WORKER_ADDRESS, 2);
+        assertThat(workerTaskSlots.getAvailableSlots(WORKER_ADDRESS)).isEqualTo(1);
+        // Cancel the reservation which doesn't exist takes no effect
+        workerTaskSlots.cancelReservation(WORKER_ADDRESS, 2);
+        assertThat(workerTaskSlots.getAvailableSlots(WORKER_ADDRESS)).isEqualTo(1);
+        assertThat(notifiedAvailableSlots).containsExactly(2, 1);
+    }
+
+    @Test
+    void testReleaseSlot() {
+        workerTaskSlots.refresh(createWorkerServerMetadata(2, 1));
+        assertThat(workerTaskSlots.tryReserveSlot(WORKER_ADDRESS, 1)).isTrue();
+        assertThat(workerTaskSlots.hasAvailableSlot(WORKER_ADDRESS)).isFalse();
+
+        // The reserved task is finished
+        workerTaskSlots.releaseSlot(WORKER_ADDRESS, 1);
+        assertThat(workerTaskSlots.getAvailableSlots(WORKER_ADDRESS)).isEqualTo(1);
+        // The task counted by the heartbeat is finished
+        workerTaskSlots.releaseSlot(WORKER_ADDRESS, 2);
+        assertThat(workerTaskSlots.getAvailableSlots(WORKER_ADDRESS)).isEqualTo(2);
+        workerTaskSlots.releaseSlot(WORKER_ADDRESS, 3);
+        assertThat(workerTaskSlots.getAvailableSlots(WORKER_ADDRESS)).isEqualTo(2);
+    }
+
+    @Test
+    void testRefreshExpireAcceptedReservations() {
+        workerTaskSlots.refresh(createWorkerServerMetadata(3, 0), 1000);
+        assertThat(workerTaskSlots.tryReserveSlot(WORKER_ADDRESS, 1)).isTrue();
+        assertThat(workerTaskSlots.tryReserveSlot(WORKER_ADDRESS, 2)).isTrue();
+        workerTaskSlots.acceptReservation(WORKER_ADDRESS, 1, 1500);
+
+        // The first heartbeat received after the task is accepted might be reported before it
+        workerTaskSlots.refresh(createWorkerServerMetadata(3, 0), 2000);
+        assertThat(workerTaskSlots.getAvailableSlots(WORKER_ADDRESS)).isEqualTo(1);
+
+        // The next heartbeat has counted the accepted task, but the task 2 is still in flight
+        workerTaskSlots.refresh(createWorkerServerMetadata(3, 1), 3000);
+        assertThat(workerTaskSlots.getAvailableSlots(WORKER_ADDRESS)).isEqualTo(1);
+        workerTaskSlots.releaseSlot(WORKER_ADDRESS, 1);
+        assertThat(workerTaskSlots.getAvailableSlots(WORKER_ADDRESS)).isEqualTo(2);
+
+        workerTaskSlots.acceptReservation(WORKER_ADDRESS, 2, 3500);
+        workerTaskSlots.refresh(createWorkerServerMetadata(3, 0), 4000);
+        assertThat(workerTaskSlots.getAvailableSlots(WORKER_ADDRESS)).isEqualTo(2);
+        workerTaskSlots.refresh(createWorkerServerMetadata(3, 1), 5000);
+        assertThat(workerTaskSlots.getAvailableSlots(WORKER_ADDRESS)).isEqualTo(2);
+        workerTaskSlots.releaseSlot(WORKER_ADDRESS, 2);
+        assertThat(workerTaskSlots.getAvailableSlots(WORKER_ADDRESS)).isEqualTo(3);
+    }
+
+    @Test
+    void testRefreshNotAffectedByWorkerClockDrift() {
+        final long oneHour = TimeUnit.HOURS.toMillis(1);
+        for (long workerClockOffset : new long[]{oneHour, -oneHour}) {
+            workerTaskSlots = new WorkerTaskSlots();
+            workerTaskSlots.refresh(createWorkerServerMetadataFromHeartBeat(3, 0, 1000 + workerClockOffset), 1000);
+            assertThat(workerTaskSlots.tryReserveSlot(WORKER_ADDRESS, 1)).isTrue();
+            workerTaskSlots.acceptReservation(WORKER_ADDRESS, 1, 1500);
+
+            // The heartbeat reported before the task is accepted doesn't count the task
+            workerTaskSlots.refresh(createWorkerServerMetadataFromHeartBeat(3, 0, 1900 + workerClockOffset), 2000);
+            assertThat(workerTaskSlots.getAvailableSlots(WORKER_ADDRESS)).isEqualTo(2);
+
+            // The reservation is not counted twice once the heartbeat counts the task
+            workerTaskSlots.refresh(createWorkerServerMetadataFromHeartBeat(3, 1, 2900 + workerClockOffset), 3000);
+            assertThat(workerTaskSlots.getAvailableSlots(WORKER_ADDRESS)).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void testWorkerWithoutCapacity() {
+        assertThat(workerTaskSlots.tryReserveSlot(WORKER_ADDRESS, 1)).isTrue();
+
+        workerTaskSlots.refresh(createWorkerServerMetadata(0, 100));
+        assertThat(workerTaskSlots.tryReserveSlot(WORKER_ADDRESS, 1)).isTrue();
+        assertThat(workerTaskSlots.getAvailableSlots(WORKER_ADDRESS)).isEqualTo(Integer.MAX_VALUE);
+
+        workerTaskSlots.remove(WORKER_ADDRESS);
+        assertThat(workerTaskSlots.hasAvailableSlot(WORKER_ADDRESS)).isTrue();
+    }
+
+    private WorkerServerMetadata createWorkerServerMetadata(int taskSlotCapacity, int runningTaskCount) {
+        return WorkerServerMetadata.builder()
+                .address(WORKER_ADDRESS)
+                .taskSlotCapacity(taskSlotCapacity)
+                .runningTaskCount(runningTaskCount)
+                .build();
+    }
+
+    private WorkerServerMetadata createWorkerServerMetadataFromHeartBeat(int taskSlotCapacity,
+                                                                         int runningTaskCount,
+                                                                         long reportTime) {
+        return WorkerServerMetadata.parseFromHeartBeat(WorkerHeartBeat.builder()
+                .host("127.0.0.1")
+                .port(1234)
+                .reportTime(reportTime)
+                .taskSlotCapacity(taskSlotCapacity)
+                .runningTaskCount(runningTaskCount)
+                .build());
+    }
+}
@@ -21,6 +21,7 @@ import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
 import org.apache.dolphinscheduler.server.master.cluster.loadbalancer.WorkerLoadBalancerConfigurationProperties;
 import org.apache.dolphinscheduler.server.master.cluster.loadbalancer.WorkerLoadBalancerType;
 
@@ -36,6 +37,11 @@ public class MasterConfigTest {
     @Autowired
     private MasterConfig masterConfig;
 
+    @Test
+    public void getRpcSerializerType() {
+        assertThat(masterConfig.getRpcSerializerType()).isEqualTo(SerializerType.JSON);
+    }
+
     @Test
     public void getServerLoadProtection() {
         MasterServerLoadProtection serverLoadProtection = masterConfig.getServerLoadProtection();
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.apache.dolphinscheduler.server.master.engine.WorkflowEventBusFireWorkerTest.mockWorkflow;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBusFireWorkerTest.TestEvent;
+import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBusFireWorkerTest.TestEventHandler;
+import org.apache.dolphinscheduler.server.master.engine.placement.IWorkflowEventBusFireWorkerPlacement;
+import org.apache.dolphinscheduler.server.master.engine.placement.WorkflowEventBusFireWorkerPlacementProperties;
+import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class WorkflowEventBusCoordinatorTest {
+
+    @InjectMocks
+    private WorkflowEventBusCoordinator workflowEventBusCoordinator;
+
+    @Mock
+    private WorkflowEventBusFireWorkers workflowEventBusFireWorkers;
+
+    @Mock
+    private IWorkflowEventBusFireWorkerPlacement workflowEventBusFireWorkerPlacement;
+
+    @Mock
+    private MasterConfig masterConfig;
+
+    private final WorkflowEventBusFireWorker[] workers = new WorkflowEventBusFireWorker[2];
+
+    private final TestEventHandler[] eventHandlers = new TestEventHandler[2];
+
+    private final Thread[] workerThreads = new Thread[2];
+
+    private final WorkflowEventBusFireWorkerPlacementProperties placementProperties =
+            new WorkflowEventBusFireWorkerPlacementProperties();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new WorkflowEventBusFireWorker();
+            eventHandlers[i] = new TestEventHandler();
+            workers[i].registerEventHandler(eventHandlers[i]);
+            workerThreads[i] = new Thread(workers[i], "WorkflowEventBusCoordinatorTest-" + i);
+            workerThreads[i].start();
+        }
+        when(workflowEventBusFireWorkers.getWorkers()).thenReturn(workers);
+        when(workflowEventBusFireWorkers.getWorker(any())).thenAnswer(invocation -> workers[(int) invocation
+                .getArgument(0)]);
+        // All the workflows are placed into the first worker
+        when(workflowEventBusFireWorkerPlacement.select(any(), any())).thenReturn(0);
+
+        placementProperties.setMigrationEnabled(true);
+        placementProperties.setMigrationCheckInterval(Duration.ofMillis(50));
+        placementProperties.setMigrationPendingEventThreshold(5);
+        when(masterConfig.getWorkflowEventBusFireWorkerPlacement()).thenReturn(placementProperties);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        workflowEventBusCoordinator.close();
+        for (Thread workerThread : workerThreads) {
+            workerThread.interrupt();
+            workerThread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    @Test
+    void migrateTheWorkflowWithMostPendingEvents() {
+        IWorkflowExecutionRunnable busyWorkflow = mockWorkflow(1);
+        IWorkflowExecutionRunnable idleWorkflow = mockWorkflow(2);
+        IWorkflowExecutionRunnable lightWorkflow = mockWorkflow(3);
+        workflowEventBusCoordinator.registerWorkflowEventBus(busyWorkflow);
+        workflowEventBusCoordinator.registerWorkflowEventBus(idleWorkflow);
+        workflowEventBusCoordinator.registerWorkflowEventBus(lightWorkflow);
+        for (int i = 0; i < 4; i++) {
+            busyWorkflow.getWorkflowEventBus().publish(new TestEvent("busy-" + i, 800));
+        }
+        for (int i = 0; i < 2; i++) {
+            lightWorkflow.getWorkflowEventBus().publish(new TestEvent("light-" + i, 800));
+        }
+        assertThat(workers[0].getPendingEventCount()).isEqualTo(6);
+        workflowEventBusCoordinator.start();
+
+        // The workflow is migrated with its pending events, then the gap is below the threshold
+        await().atMost(Duration.ofSeconds(1)).until(() -> workers[1].getRegisteredWorkflowCount() == 1);
+        assertThat(workers[0].getRegisteredWorkflowCount()).isEqualTo(2);
+        assertThat(workers[0].getPendingEventCount()).isEqualTo(2);
+        assertThat(workers[1].getPendingEventCount()).isEqualTo(4);
+        await().during(Duration.ofMillis(200))
+                .atMost(Duration.ofMillis(400))
+                .until(() -> workers[1].getRegisteredWorkflowCount() == 1);
+
+        // The pending events of the migrated workflow are fired by the target worker
+        await().atMost(Duration.ofSeconds(2))
+                .untilAsserted(() -> assertThat(eventHandlers[1].handledEvents).hasSize(4));
+        await().atMost(Duration.ofSeconds(2))
+                .untilAsserted(() -> assertThat(eventHandlers[0].handledEvents).hasSize(2));
+        assertThat(workers[0].getPendingEventCount()).isEqualTo(0);
+        assertThat(workers[1].getPendingEventCount()).isEqualTo(0);
+
+        // The slot of the workflow is updated, so unregister goes to the target worker
+        workflowEventBusCoordinator.unRegisterWorkflowEventBus(busyWorkflow);
+        assertThat(workers[1].getRegisteredWorkflowCount()).isEqualTo(0);
+    }
+
+    @Test
+    void doNotMigrateWhenPendingEventDiffBelowThreshold() {
+        IWorkflowExecutionRunnable workflow = mockWorkflow(1);
+        workflowEventBusCoordinator.registerWorkflowEventBus(workflow);
+        for (int i = 0; i < 4; i++) {
+            workflow.getWorkflowEventBus().publish(new TestEvent("delayed-" + i, 200));
+        }
+        workflowEventBusCoordinator.start();
+
+        await().atMost(Duration.ofSeconds(2))
+                .untilAsserted(() -> assertThat(eventHandlers[0].handledEvents).hasSize(4));
+        await().during(Duration.ofMillis(200))
+                .atMost(Duration.ofSeconds(1))
+                .until(() -> workers[0].getRegisteredWorkflowCount() == 1);
+        assertThat(workers[1].getRegisteredWorkflowCount()).isEqualTo(0);
+    }
+
+    @Test
+    void doNotMigrateWhenMigrationDisabled() {
+        placementProperties.setMigrationEnabled(false);
+        IWorkflowExecutionRunnable workflow = mockWorkflow(1);
+        workflowEventBusCoordinator.registerWorkflowEventBus(workflow);
+        for (int i = 0; i < 10; i++) {
+            workflow.getWorkflowEventBus().publish(new TestEvent("delayed-" + i, 200));
+        }
+        workflowEventBusCoordinator.start();
+
+        await().atMost(Duration.ofSeconds(2))
+                .untilAsserted(() -> assertThat(eventHandlers[0].handledEvents).hasSize(10));
+        await().during(Duration.ofMillis(200))
+                .atMost(Duration.ofSeconds(1))
+                .until(() -> workers[0].getRegisteredWorkflowCount() == 1);
+        assertThat(workers[1].getRegisteredWorkflowCount()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.runner.IWorkflowExecuteContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WorkflowEventBusFireWorkerTest {
+
+    private WorkflowEventBusFireWorker worker;
+
+    private TestEventHandler eventHandler;
+
+    private Thread workerThread;
+
+    @BeforeEach
+    void setUp() {
+        worker = new WorkflowEventBusFireWorker();
+        eventHandler = new TestEventHandler();
+        worker.registerEventHandler(eventHandler);
+        workerThread = new Thread(worker, "WorkflowEventBusFireWorkerTest");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        workerThread.interrupt();
+        workerThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @Test
+    void fireOnPublish() {
+        IWorkflowExecutionRunnable workflow = mockWorkflow(1);
+        worker.registerWorkflowEventBus(workflow);
+        workerThread.start();
+
+        TestEvent event = new TestEvent("event");
+        workflow.getWorkflowEventBus().publish(event);
+
+        await().atMost(Duration.ofSeconds(1))
+                .untilAsserted(() -> assertThat(eventHandler.handledEvents).contains(event));
+        assertThat(worker.getPendingEventCount()).isEqualTo(0);
+    }
+
+    @Test
+    void eventPublishedDuringFireIsNotLost() throws InterruptedException {
+        IWorkflowExecutionRunnable workflow = mockWorkflow(1);
+        worker.registerWorkflowEventBus(workflow);
+        workerThread.start();
+
+        CountDownLatch firing = new CountDownLatch(1);
+        CountDownLatch published = new CountDownLatch(1);
+        TestEvent blockingEvent = new TestEvent("blocking", (w, e) -> {
+            firing.countDown();
+            awaitQuietly(published);
+        });
+        workflow.getWorkflowEventBus().publish(blockingEvent);
+
+        // publish from another thread while the worker is firing the workflow
+        assertThat(firing.await(1, TimeUnit.SECONDS)).isTrue();
+        TestEvent event = new TestEvent("published-during-fire");
+        workflow.getWorkflowEventBus().publish(event);
+        published.countDown();
+
+        await().atMost(Duration.ofSeconds(1))
+                .untilAsserted(() -> assertThat(eventHandler.handledEvents).containsExactly(blockingEvent, event));
+        assertThat(worker.getPendingEventCount()).isEqualTo(0);
+    }
+
+    @Test
+    void delayedEventIsRefired() {
+        IWorkflowExecutionRunnable workflow = mockWorkflow(1);
+        worker.registerWorkflowEventBus(workflow);
+        workerThread.start();
+
+        TestEvent delayedEvent = new TestEvent("delayed", 300);
+        workflow.getWorkflowEventBus().publish(delayedEvent);
+        assertThat(worker.getPendingEventCount()).isEqualTo(1);
+
+        // no more event is published, the workflow is rechecked until the delayed event is fired
+        await().atMost(Duration.ofSeconds(2))
+                .untilAsserted(() -> assertThat(eventHandler.handledEvents).containsExactly(delayedEvent));
+        assertThat(eventHandler.handledTimes.get(0)).isAtLeast(delayedEvent.getTriggerTimeInMillis());
+        assertThat(worker.getPendingEventCount()).isEqualTo(0);
+    }
+
+    @Test
+    void unRegisterDuringFire() {
+        IWorkflowExecutionRunnable workflow = mockWorkflow(1);
+        worker.registerWorkflowEventBus(workflow);
+        workerThread.start();
+
+        TestEvent remainingEvent = new TestEvent("remaining");
+        TestEvent unRegisterEvent = new TestEvent("unregister", (w, e) -> {
+            w.getWorkflowEventBus().publish(remainingEvent);
+            worker.unRegisterWorkflowEventBus(w);
+        });
+        workflow.getWorkflowEventBus().publish(unRegisterEvent);
+
+        await().atMost(Duration.ofSeconds(1))
+                .untilAsserted(() -> assertThat(worker.getRegisteredWorkflowCount()).isEqualTo(0));
+        // the remaining event belongs to the worker which the workflow registers next
+        WorkflowEventBusFireWorker nextWorker = new WorkflowEventBusFireWorker();
+        TestEventHandler nextEventHandler = new TestEventHandler();
+        nextWorker.registerEventHandler(nextEventHandler);
+        nextWorker.registerWorkflowEventBus(workflow);
+        assertThat(nextWorker.getPendingEventCount()).isEqualTo(1);
+        Thread nextWorkerThread = new Thread(nextWorker, "WorkflowEventBusFireWorkerTest-next");
+        nextWorkerThread.start();
+        try {
+            await().atMost(Duration.ofSeconds(1))
+                    .untilAsserted(() -> assertThat(nextEventHandler.handledEvents).containsExactly(remainingEvent));
+        } finally {
+            nextWorkerThread.interrupt();
+        }
+        assertThat(eventHandler.handledEvents).containsExactly(unRegisterEvent);
+        assertThat(worker.getPendingEventCount()).isEqualTo(0);
+        assertThat(nextWorker.getPendingEventCount()).isEqualTo(0);
+
+        // the worker is still alive after the workflow is unregistered
+        IWorkflowExecutionRunnable anotherWorkflow = mockWorkflow(2);
+        worker.registerWorkflowEventBus(anotherWorkflow);
+        TestEvent anotherEvent = new TestEvent("another");
+        anotherWorkflow.getWorkflowEventBus().publish(anotherEvent);
+        await().atMost(Duration.ofSeconds(1))
+                .untilAsserted(() -> assertThat(eventHandler.handledEvents).contains(anotherEvent));
+    }
+
+    @Test
+    void migrateTheWorkflowWithMostPendingEvents() throws Exception {
+        IWorkflowExecutionRunnable workflow1 = mockWorkflow(1);
+        IWorkflowExecutionRunnable workflow2 = mockWorkflow(2);
+        IWorkflowExecutionRunnable workflow3 = mockWorkflow(3);
+        worker.registerWorkflowEventBus(workflow1);
+        worker.registerWorkflowEventBus(workflow2);
+        worker.registerWorkflowEventBus(workflow3);
+        publishDelayedEvents(workflow1, 1);
+        publishDelayedEvents(workflow2, 3);
+        publishDelayedEvents(workflow3, 5);
+        CompletableFuture<IWorkflowExecutionRunnable> migrated = new CompletableFuture<>();
+        // The workflow3 has too many pending events, moving it out will not narrow the gap
+        worker.requestMigration(5, w -> {
+            worker.unRegisterWorkflowEventBus(w);
+            migrated.complete(w);
+        });
+        workerThread.start();
+
+        assertThat(migrated.get(2, TimeUnit.SECONDS)).isSameInstanceAs(workflow2);
+        assertThat(worker.getRegisteredWorkflowCount()).isEqualTo(2);
+        assertThat(worker.getPendingEventCount()).isEqualTo(6);
+        assertThat(workflow2.getWorkflowEventBus().size()).isEqualTo(3);
+    }
+
+    @Test
+    void pendingEventCount() {
+        IWorkflowExecutionRunnable workflow = mockWorkflow(1);
+        // the events published before register are counted at register
+        workflow.getWorkflowEventBus().publish(new TestEvent("before-register-1"));
+        workflow.getWorkflowEventBus().publish(new TestEvent("before-register-2"));
+        worker.registerWorkflowEventBus(workflow);
+        assertThat(worker.getPendingEventCount()).isEqualTo(2);
+        assertThat(worker.getReadyWorkflowCount()).isEqualTo(1);
+
+        workflow.getWorkflowEventBus().publish(new TestEvent("after-register"));
+        assertThat(worker.getPendingEventCount()).isEqualTo(3);
+        assertThat(worker.getReadyWorkflowCount()).isEqualTo(1);
+
+        // the events which are not fired are removed from the count at unregister
+        IWorkflowExecutionRunnable delayedWorkflow = mockWorkflow(2);
+        worker.registerWorkflowEventBus(delayedWorkflow);
+        delayedWorkflow.getWorkflowEventBus().publish(new TestEvent("delayed", TimeUnit.MINUTES.toMillis(1)));
+        assertThat(worker.getPendingEventCount()).isEqualTo(4);
+        worker.unRegisterWorkflowEventBus(delayedWorkflow);
+        assertThat(worker.getPendingEventCount()).isEqualTo(3);
+        delayedWorkflow.getWorkflowEventBus().publish(new TestEvent("after-unregister"));
+        assertThat(worker.getPendingEventCount()).isEqualTo(3);
+
+        workerThread.start();
+        await().atMost(Duration.ofSeconds(1))
+                .untilAsserted(() -> assertThat(eventHandler.handledEvents).hasSize(3));
+        assertThat(worker.getPendingEventCount()).isEqualTo(0);
+        assertThat(worker.getReadyWorkflowCount()).isEqualTo(0);
+    }
+
+    private static void publishDelayedEvents(IWorkflowExecutionRunnable workflow, int eventCount) {
+        for (int i = 0; i < eventCount; i++) {
+            workflow.getWorkflowEventBus().publish(new TestEvent("delayed-" + i, TimeUnit.MINUTES.toMillis(1)));
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static IWorkflowExecutionRunnable mockWorkflow(int workflowInstanceId) {
+        WorkflowInstance workflowInstance = new WorkflowInstance();
+        workflowInstance.setId(workflowInstanceId);
+        workflowInstance.setName("workflow-" + workflowInstanceId);
+        IWorkflowExecuteContext workflowExecuteContext = mock(IWorkflowExecuteContext.class);
+        when(workflowExecuteContext.getWorkflowInstance()).thenReturn(workflowInstance);
+        IWorkflowExecutionRunnable workflowExecutionRunnable = mock(IWorkflowExecutionRunnable.class);
+        when(workflowExecutionRunnable.getId()).thenReturn(workflowInstanceId);
+        when(workflowExecutionRunnable.getName()).thenReturn(workflowInstance.getName());
+        when(workflowExecutionRunnable.getWorkflowExecuteContext()).thenReturn(workflowExecuteContext);
+        when(workflowExecutionRunnable.getWorkflowEventBus()).thenReturn(new WorkflowEventBus());
+        return workflowExecutionRunnable;
+    }
+
+    enum TestEventType implements ILifecycleEventType {
+        TEST
+    }
+
+    static class TestEvent extends AbstractLifecycleEvent {
+
+        private final String name;
+
+        private final BiConsumer<IWorkflowExecutionRunnable, TestEvent> action;
+
+        TestEvent(String name) {
+            this(name, 0, (w, e) -> {
+            });
+        }
+
+        TestEvent(String name, long delayTime) {
+            this(name, delayTime, (w, e) -> {
+            });
+        }
+
+        TestEvent(String name, BiConsumer<IWorkflowExecutionRunnable, TestEvent> action) {
+            this(name, 0, action);
+        }
+
+        TestEvent(String name, long delayTime, BiConsumer<IWorkflowExecutionRunnable, TestEvent> action) {
+            super(delayTime);
+            this.name = name;
+            this.action = action;
+        }
+
+        @Override
+        public ILifecycleEventType getEventType() {
+            return TestEventType.TEST;
+        }
+
+        @Override
+        public String toString() {
+            return "TestEvent{name=" + name + "}";
+        }
+    }
+
+    static class TestEventHandler implements ILifecycleEventHandler<TestEvent> {
+
+        final List<TestEvent> handledEvents = new CopyOnWriteArrayList<>();
+
+        private final List<Long> handledTimes = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void handle(IWorkflowExecutionRunnable workflowExecutionRunnable, TestEvent event) {
+            event.action.accept(workflowExecutionRunnable, event);
+            handledTimes.add(System.currentTimeMillis());
+            handledEvents.add(event);
+        }
+
+        @Override
+        public ILifecycleEventType matchEventType() {
+            return TestEventType.TEST;
+        }
+    }
+}
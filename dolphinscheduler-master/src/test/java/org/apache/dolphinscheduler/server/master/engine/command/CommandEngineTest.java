@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.command;
+
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.meter.metrics.MetricsProvider;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.engine.IWorkflowRepository;
+import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBusCoordinator;
+import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.WorkflowExecutionRunnableFactory;
+import org.apache.dolphinscheduler.service.command.CommandService;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CommandEngineTest {
+
+    @InjectMocks
+    private CommandEngine commandEngine;
+
+    @Mock
+    private ICommandFetcher commandFetcher;
+
+    @Mock
+    private CommandService commandService;
+
+    @Spy
+    private MasterConfig masterConfig = new MasterConfig();
+
+    @Mock
+    private IWorkflowRepository workflowRepository;
+
+    @Mock
+    private WorkflowExecutionRunnableFactory workflowExecutionRunnableFactory;
+
+    @Mock
+    private MetricsProvider metricsProvider;
+
+    @Mock
+    private WorkflowEventBusCoordinator workflowEventBusCoordinator;
+
+    @BeforeEach
+    void setUp() {
+        masterConfig.getServerLoadProtection().setEnabled(false);
+        masterConfig.getCommandBootstrap().setMaxInFlightCommands(2);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        commandEngine.close();
+    }
+
+    @Test
+    void testSlowCommandNotBlockOtherCommands() throws Exception {
+        final Command slowCommand = createCommand(1);
+        final Command command2 = createCommand(2);
+        final Command command3 = createCommand(3);
+        // The slow command is fetched again since it has not been removed from the database
+        when(commandFetcher.fetchCommands(anyInt()))
+                .thenReturn(Arrays.asList(slowCommand, command2))
+                .thenReturn(Arrays.asList(slowCommand, command3))
+                .thenReturn(Collections.emptyList());
+
+        final CountDownLatch slowCommandLatch = new CountDownLatch(1);
+        final IWorkflowExecutionRunnable workflowExecutionRunnable = createSerialWaitWorkflowExecutionRunnable();
+        when(workflowExecutionRunnableFactory.createWorkflowExecuteRunnable(slowCommand)).thenAnswer(invocation -> {
+            slowCommandLatch.await();
+            return workflowExecutionRunnable;
+        });
+        when(workflowExecutionRunnableFactory.createWorkflowExecuteRunnable(command2))
+                .thenReturn(workflowExecutionRunnable);
+        when(workflowExecutionRunnableFactory.createWorkflowExecuteRunnable(command3))
+                .thenReturn(workflowExecutionRunnable);
+
+        commandEngine.start();
+        try {
+            await().atMost(Duration.ofSeconds(10))
+                    .untilAsserted(() -> verify(workflowExecutionRunnableFactory)
+                            .createWorkflowExecuteRunnable(command3));
+            verify(workflowExecutionRunnableFactory, times(1)).createWorkflowExecuteRunnable(slowCommand);
+        } finally {
+            slowCommandLatch.countDown();
+        }
+        verify(commandService, never()).moveToErrorCommand(slowCommand, null);
+    }
+
+    @Test
+    void testNotFetchCommandsMoreThanFreeSlots() throws Exception {
+        final Command slowCommand = createCommand(1);
+        final Command command2 = createCommand(2);
+        final Command command3 = createCommand(3);
+        when(commandFetcher.fetchCommands(anyInt()))
+                .thenReturn(Arrays.asList(slowCommand, command2, command3))
+                .thenReturn(Collections.emptyList());
+
+        final CountDownLatch slowCommandLatch = new CountDownLatch(1);
+        final IWorkflowExecutionRunnable workflowExecutionRunnable = createSerialWaitWorkflowExecutionRunnable();
+        when(workflowExecutionRunnableFactory.createWorkflowExecuteRunnable(slowCommand)).thenAnswer(invocation -> {
+            slowCommandLatch.await();
+            return workflowExecutionRunnable;
+        });
+        when(workflowExecutionRunnableFactory.createWorkflowExecuteRunnable(command2))
+                .thenReturn(workflowExecutionRunnable);
+
+        commandEngine.start();
+        try {
+            await().atMost(Duration.ofSeconds(10))
+                    .untilAsserted(() -> verify(commandFetcher).fetchCommands(1));
+            verify(commandFetcher).fetchCommands(2);
+            // The command out of the window is dropped rather than held until a slot is free
+            verify(workflowExecutionRunnableFactory, never()).createWorkflowExecuteRunnable(command3);
+        } finally {
+            slowCommandLatch.countDown();
+        }
+    }
+
+    @Test
+    void testStopFetchCommandsWhenWorkflowEventBacklog() throws Exception {
+        masterConfig.getCommandBootstrap().setMaxPendingWorkflowEvents(10);
+        when(workflowEventBusCoordinator.getPendingEventCount()).thenReturn(11);
+
+        commandEngine.start();
+        await().during(Duration.ofSeconds(2))
+                .untilAsserted(() -> verify(commandFetcher, never()).fetchCommands(anyInt()));
+    }
+
+    private Command createCommand(int id) {
+        final Command command = new Command();
+        command.setId(id);
+        return command;
+    }
+
+    private IWorkflowExecutionRunnable createSerialWaitWorkflowExecutionRunnable() {
+        final WorkflowInstance workflowInstance = new WorkflowInstance();
+        workflowInstance.setState(WorkflowExecutionStatus.SERIAL_WAIT);
+        final IWorkflowExecutionRunnable workflowExecutionRunnable =
+                mock(IWorkflowExecutionRunnable.class, RETURNS_DEEP_STUBS);
+        when(workflowExecutionRunnable.getWorkflowExecuteContext().getWorkflowInstance())
+                .thenReturn(workflowInstance);
+        return workflowExecutionRunnable;
+    }
+}
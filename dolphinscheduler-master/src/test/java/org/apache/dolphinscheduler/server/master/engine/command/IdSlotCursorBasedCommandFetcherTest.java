@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.command;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.common.enums.Priority;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.repository.CommandDao;
+import org.apache.dolphinscheduler.server.master.cluster.MasterSlotManager;
+import org.apache.dolphinscheduler.server.master.config.CommandFetchStrategy;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class IdSlotCursorBasedCommandFetcherTest {
+
+    @Mock
+    private CommandDao commandDao;
+
+    @Mock
+    private MasterSlotManager masterSlotManager;
+
+    private IdSlotCursorBasedCommandFetcher commandFetcher;
+
+    @BeforeEach
+    void setUp() {
+        CommandFetchStrategy.IdSlotBasedFetchConfig fetchConfig = new CommandFetchStrategy.IdSlotBasedFetchConfig();
+        fetchConfig.setIdStep(1);
+        fetchConfig.setFetchSize(2);
+        commandFetcher = new IdSlotCursorBasedCommandFetcher(fetchConfig, masterSlotManager, commandDao);
+        when(masterSlotManager.checkSlotValid()).thenReturn(true);
+        when(masterSlotManager.getCurrentMasterSlot()).thenReturn(1);
+        when(masterSlotManager.getTotalMasterSlots()).thenReturn(2);
+        when(commandDao.queryByIds(anyList())).thenAnswer(invocation -> {
+            List<Integer> ids = invocation.getArgument(0);
+            return ids.stream().map(this::generateCommand).collect(Collectors.toList());
+        });
+    }
+
+    @Test
+    void fetchCommandsAdvanceCursor() {
+        when(commandDao.queryCommandIdsByIdCursor(0, 4)).thenReturn(Arrays.asList(1, 2, 3, 4));
+        when(commandDao.queryCommandIdsByIdCursor(4, 4)).thenReturn(Arrays.asList(5, 6));
+
+        List<Command> commands = commandFetcher.fetchCommands(2);
+        assertThat(commands.stream().map(Command::getId).collect(Collectors.toList()))
+                .containsExactly(3, 1).inOrder();
+
+        commands = commandFetcher.fetchCommands(2);
+        assertThat(commands.stream().map(Command::getId).collect(Collectors.toList())).containsExactly(5);
+
+        // reach the tail, the cursor should be reset
+        when(commandDao.queryCommandIdsByIdCursor(0, 4)).thenReturn(Collections.emptyList());
+        assertThat(commandFetcher.fetchCommands(2)).isEmpty();
+        verify(commandDao, times(2)).queryCommandIdsByIdCursor(0, 4);
+    }
+
+    @Test
+    void fetchCommandsNotMoreThanMaxFetchSize() {
+        when(commandDao.queryCommandIdsByIdCursor(0, 2)).thenReturn(Arrays.asList(1, 3));
+        when(commandDao.queryCommandIdsByIdCursor(1, 2)).thenReturn(Arrays.asList(3));
+
+        List<Command> commands = commandFetcher.fetchCommands(1);
+        assertThat(commands.stream().map(Command::getId).collect(Collectors.toList())).containsExactly(1);
+
+        // the cursor only moves past the returned command
+        commands = commandFetcher.fetchCommands(1);
+        assertThat(commands.stream().map(Command::getId).collect(Collectors.toList())).containsExactly(3);
+    }
+
+    @Test
+    void fetchCommandsWhenSlotInvalid() {
+        when(masterSlotManager.checkSlotValid()).thenReturn(false);
+        assertThat(commandFetcher.fetchCommands(2)).isEmpty();
+        verify(commandDao, never()).queryCommandIdsByIdCursor(anyInt(), anyInt());
+    }
+
+    private Command generateCommand(int id) {
+        Command command = new Command();
+        command.setId(id);
+        command.setWorkflowInstancePriority(id == 3 ? Priority.HIGH : Priority.MEDIUM);
+        return command;
+    }
+}
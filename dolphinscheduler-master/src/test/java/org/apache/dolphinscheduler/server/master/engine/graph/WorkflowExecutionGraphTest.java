@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.graph;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.common.enums.TaskDependType;
+import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.entity.WorkflowTaskRelation;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WorkflowExecutionGraphTest {
+
+    private IWorkflowGraph workflowGraph;
+
+    private WorkflowExecutionGraph workflowExecutionGraph;
+
+    private List<String> visitedTasks;
+
+    /**
+     * The graph is: A -> B, A -> C, B -> D, C -> D
+     */
+    @BeforeEach
+    void setUp() {
+        final List<TaskDefinition> taskDefinitions = Arrays.asList(
+                newTaskDefinition(1, "A"),
+                newTaskDefinition(2, "B"),
+                newTaskDefinition(3, "C"),
+                newTaskDefinition(4, "D"));
+        final List<WorkflowTaskRelation> workflowTaskRelations = Arrays.asList(
+                newRelation(0, 1),
+                newRelation(1, 2),
+                newRelation(1, 3),
+                newRelation(2, 4),
+                newRelation(3, 4));
+        workflowGraph = new WorkflowGraph(workflowTaskRelations, taskDefinitions);
+        // Verify the incremental state by scanning the predecessors on each check
+        workflowExecutionGraph = new WorkflowExecutionGraph(true);
+        visitedTasks = new ArrayList<>();
+        WorkflowGraphTopologyLogicalVisitor.builder()
+                .taskDependType(TaskDependType.TASK_POST)
+                .onWorkflowGraph(workflowGraph)
+                .doVisitFunction((taskName, successors) -> {
+                    visitedTasks.add(taskName);
+                    workflowExecutionGraph.addNode(newTaskExecutionRunnable(workflowGraph.getTaskNodeByName(taskName)));
+                    workflowExecutionGraph.addEdge(taskName, successors);
+                })
+                .build()
+                .visit();
+    }
+
+    @Test
+    void visit_eachTaskIsVisitedOnceInTopologyOrder() {
+        assertThat(visitedTasks).hasSize(4);
+        assertThat(visitedTasks.get(0)).isEqualTo("A");
+        assertThat(visitedTasks.get(3)).isEqualTo("D");
+    }
+
+    @Test
+    void getPredecessorsAndSuccessors() {
+        assertThat(names(workflowExecutionGraph.getStartNodes())).containsExactly("A");
+        assertThat(names(workflowExecutionGraph.getSuccessors("A"))).containsExactly("B", "C");
+        assertThat(names(workflowExecutionGraph.getPredecessors("D"))).containsExactly("B", "C");
+        assertThat(workflowExecutionGraph.getAllTaskExecutionRunnable()).hasSize(4);
+    }
+
+    @Test
+    void getTaskExecutionRunnableByIdAndTaskCode() {
+        assertThat(workflowExecutionGraph.getTaskExecutionRunnableByTaskCode(3L).getName()).isEqualTo("C");
+        assertThat(workflowExecutionGraph.getTaskExecutionRunnableByTaskCode(5L)).isNull();
+        assertThat(workflowExecutionGraph.getTaskExecutionRunnableById(2).getName()).isEqualTo("B");
+        assertThat(workflowExecutionGraph.getTaskExecutionRunnableById(100)).isNull();
+    }
+
+    @Test
+    void getTaskExecutionRunnableById_afterTaskInstanceChanged() {
+        final ITaskExecutionRunnable taskB = workflowExecutionGraph.getTaskExecutionRunnableByName("B");
+        final TaskInstance retryTaskInstance = newTaskInstance(102, "B");
+        when(taskB.getTaskInstance()).thenReturn(retryTaskInstance);
+        workflowExecutionGraph.refreshTaskInstanceIndex(taskB);
+
+        assertThat(workflowExecutionGraph.getTaskExecutionRunnableById(102)).isSameInstanceAs(taskB);
+        assertThat(workflowExecutionGraph.getTaskExecutionRunnableById(2)).isNull();
+
+        // The index is not refreshed, should still be found.
+        final ITaskExecutionRunnable taskC = workflowExecutionGraph.getTaskExecutionRunnableByName("C");
+        final TaskInstance failoverTaskInstance = newTaskInstance(103, "C");
+        when(taskC.getTaskInstance()).thenReturn(failoverTaskInstance);
+        assertThat(workflowExecutionGraph.getTaskExecutionRunnableById(103)).isSameInstanceAs(taskC);
+    }
+
+    @Test
+    void isTriggerConditionMet() {
+        final ITaskExecutionRunnable taskB = workflowExecutionGraph.getTaskExecutionRunnableByName("B");
+        final ITaskExecutionRunnable taskC = workflowExecutionGraph.getTaskExecutionRunnableByName("C");
+        final ITaskExecutionRunnable taskD = workflowExecutionGraph.getTaskExecutionRunnableByName("D");
+
+        workflowExecutionGraph.markTaskExecutionRunnableActive(taskB);
+        workflowExecutionGraph.markTaskExecutionRunnableActive(taskC);
+        assertThat(workflowExecutionGraph.isTaskExecutionRunnableActive(taskB)).isTrue();
+        assertThat(workflowExecutionGraph.isTriggerConditionMet(taskD)).isFalse();
+
+        workflowExecutionGraph.markTaskExecutionRunnableInActive(taskB);
+        assertThat(workflowExecutionGraph.isTaskExecutionRunnableActive(taskB)).isFalse();
+        assertThat(workflowExecutionGraph.isTriggerConditionMet(taskD)).isFalse();
+        assertThat(workflowExecutionGraph.isAllTaskExecutionRunnableChainFinish()).isFalse();
+
+        when(taskC.getTaskInstance().getState()).thenReturn(TaskExecutionStatus.FAILURE);
+        workflowExecutionGraph.markTaskExecutionRunnableInActive(taskC);
+        workflowExecutionGraph.markTaskExecutionRunnableChainFailure(taskC);
+        assertThat(workflowExecutionGraph.isTriggerConditionMet(taskD)).isFalse();
+        assertThat(workflowExecutionGraph.isAllTaskExecutionRunnableChainFinish()).isTrue();
+        assertThat(workflowExecutionGraph.isExistFailureTaskExecutionRunnableChain()).isTrue();
+        assertThat(workflowExecutionGraph.isAllTaskExecutionRunnableChainSuccess()).isFalse();
+    }
+
+    @Test
+    void isAllPredecessorsSkipped() {
+        final ITaskExecutionRunnable taskD = workflowExecutionGraph.getTaskExecutionRunnableByName("D");
+        workflowExecutionGraph.markTaskSkipped("B");
+        assertThat(workflowExecutionGraph.isAllPredecessorsSkipped(taskD)).isFalse();
+
+        workflowExecutionGraph.markTaskSkipped(workflowExecutionGraph.getTaskExecutionRunnableByName("C"));
+        assertThat(workflowExecutionGraph.isAllPredecessorsSkipped(taskD)).isTrue();
+        assertThat(workflowExecutionGraph.isAllPredecessorsSkipped(
+                workflowExecutionGraph.getTaskExecutionRunnableByName("A"))).isFalse();
+    }
+
+    @Test
+    void isTriggerConditionMet_withWideFanIn() {
+        final WorkflowExecutionGraph fanInGraph = new WorkflowExecutionGraph(true);
+        final ITaskExecutionRunnable join = newTaskExecutionRunnable(newTaskDefinition(10_000, "join"));
+        final List<ITaskExecutionRunnable> upstreamTasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final ITaskExecutionRunnable upstreamTask = newTaskExecutionRunnable(newTaskDefinition(i, "upstream-" + i));
+            fanInGraph.addNode(upstreamTask);
+            fanInGraph.addEdge(upstreamTask.getName(), Collections.singleton("join"));
+            fanInGraph.markTaskExecutionRunnableActive(upstreamTask);
+            upstreamTasks.add(upstreamTask);
+        }
+        fanInGraph.addNode(join);
+        fanInGraph.addEdge("join", Collections.emptySet());
+
+        for (int i = 0; i < upstreamTasks.size(); i++) {
+            assertThat(fanInGraph.isTriggerConditionMet(join)).isFalse();
+            fanInGraph.markTaskExecutionRunnableInActive(upstreamTasks.get(i));
+        }
+        assertThat(fanInGraph.isTriggerConditionMet(join)).isTrue();
+        assertThat(fanInGraph.isAllTaskExecutionRunnableChainFinish()).isTrue();
+
+        when(upstreamTasks.get(0).getTaskInstance().getState()).thenReturn(TaskExecutionStatus.PAUSE);
+        fanInGraph.markTaskExecutionRunnableChainPause(upstreamTasks.get(0));
+        assertThat(fanInGraph.isTriggerConditionMet(join)).isFalse();
+        assertThat(fanInGraph.isExistPauseTaskExecutionRunnableChain()).isTrue();
+    }
+
+    @Test
+    void isAllPredecessorsSkipped_whenSkippedBeforeEdgeAdded() {
+        final WorkflowExecutionGraph graph = new WorkflowExecutionGraph(true);
+        final ITaskExecutionRunnable taskA = newTaskExecutionRunnable(newTaskDefinition(1, "A"));
+        final ITaskExecutionRunnable taskB = newTaskExecutionRunnable(newTaskDefinition(2, "B"));
+        graph.addNode(taskA);
+        graph.markTaskSkipped(taskA);
+        graph.addEdge("A", Collections.singleton("B"));
+        graph.addNode(taskB);
+
+        assertThat(graph.isAllPredecessorsSkipped(taskB)).isTrue();
+        assertThat(graph.isTriggerConditionMet(taskB)).isTrue();
+    }
+
+    private List<String> names(List<ITaskExecutionRunnable> taskExecutionRunnables) {
+        final List<String> names = new ArrayList<>();
+        taskExecutionRunnables.forEach(taskExecutionRunnable -> names.add(taskExecutionRunnable.getName()));
+        Collections.sort(names);
+        return names;
+    }
+
+    private ITaskExecutionRunnable newTaskExecutionRunnable(TaskDefinition taskDefinition) {
+        final ITaskExecutionRunnable taskExecutionRunnable = mock(ITaskExecutionRunnable.class);
+        final TaskInstance taskInstance = mock(TaskInstance.class);
+        when(taskInstance.getId()).thenReturn((int) taskDefinition.getCode());
+        when(taskExecutionRunnable.getName()).thenReturn(taskDefinition.getName());
+        when(taskExecutionRunnable.getTaskDefinition()).thenReturn(taskDefinition);
+        when(taskExecutionRunnable.getTaskInstance()).thenReturn(taskInstance);
+        return taskExecutionRunnable;
+    }
+
+    private TaskInstance newTaskInstance(int id, String name) {
+        final TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(id);
+        taskInstance.setName(name);
+        return taskInstance;
+    }
+
+    private TaskDefinition newTaskDefinition(long code, String name) {
+        final TaskDefinition taskDefinition = new TaskDefinition();
+        taskDefinition.setCode(code);
+        taskDefinition.setName(name);
+        taskDefinition.setFlag(Flag.YES);
+        return taskDefinition;
+    }
+
+    private WorkflowTaskRelation newRelation(long preTaskCode, long postTaskCode) {
+        final WorkflowTaskRelation workflowTaskRelation = new WorkflowTaskRelation();
+        workflowTaskRelation.setPreTaskCode(preTaskCode);
+        workflowTaskRelation.setPostTaskCode(postTaskCode);
+        return workflowTaskRelation;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.placement;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBus;
+import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBusFireWorker;
+import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.runner.IWorkflowExecuteContext;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WorkflowEventBusFireWorkerPlacementTest {
+
+    private WorkflowEventBusFireWorker[] workers;
+
+    @BeforeEach
+    void setUp() {
+        workers = IntStream.range(0, 4)
+                .mapToObj(i -> new WorkflowEventBusFireWorker())
+                .toArray(WorkflowEventBusFireWorker[]::new);
+    }
+
+    @Test
+    void idModuloPlacement() {
+        IWorkflowEventBusFireWorkerPlacement placement = new IdModuloWorkflowEventBusFireWorkerPlacement();
+        assertThat(placement.select(mockWorkflow(5), workers)).isEqualTo(1);
+        assertThat(placement.select(mockWorkflow(8), workers)).isEqualTo(0);
+    }
+
+    @Test
+    void leastLoadedPlacement() {
+        IWorkflowEventBusFireWorkerPlacement placement = new LeastLoadedWorkflowEventBusFireWorkerPlacement();
+        // ids are all multiple of the worker size, the id modulo placement will put them into the same worker
+        for (int i = 0; i < 8; i++) {
+            IWorkflowExecutionRunnable workflow = mockWorkflow(i * workers.length);
+            workers[placement.select(workflow, workers)].registerWorkflowEventBus(workflow);
+        }
+        for (WorkflowEventBusFireWorker worker : workers) {
+            assertThat(worker.getRegisteredWorkflowCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void consistentHashPlacement() {
+        IWorkflowEventBusFireWorkerPlacement placement =
+                new ConsistentHashWorkflowEventBusFireWorkerPlacement(workers.length, 160);
+        int[] workflowCounts = new int[workers.length];
+        for (int i = 0; i < 4000; i++) {
+            IWorkflowExecutionRunnable workflow = mockWorkflow(i * workers.length);
+            int slot = placement.select(workflow, workers);
+            assertThat(placement.select(workflow, workers)).isEqualTo(slot);
+            workflowCounts[slot]++;
+        }
+        for (int workflowCount : workflowCounts) {
+            assertThat(workflowCount).isGreaterThan(500);
+        }
+    }
+
+    private IWorkflowExecutionRunnable mockWorkflow(int workflowInstanceId) {
+        WorkflowInstance workflowInstance = new WorkflowInstance();
+        workflowInstance.setId(workflowInstanceId);
+        workflowInstance.setName("workflow-" + workflowInstanceId);
+        IWorkflowExecuteContext workflowExecuteContext = mock(IWorkflowExecuteContext.class);
+        when(workflowExecuteContext.getWorkflowInstance()).thenReturn(workflowInstance);
+        IWorkflowExecutionRunnable workflowExecutionRunnable = mock(IWorkflowExecutionRunnable.class);
+        when(workflowExecutionRunnable.getId()).thenReturn(workflowInstanceId);
+        when(workflowExecutionRunnable.getWorkflowExecuteContext()).thenReturn(workflowExecuteContext);
+        when(workflowExecutionRunnable.getWorkflowEventBus()).thenReturn(new WorkflowEventBus());
+        return workflowExecutionRunnable;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.failover;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
+import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.dao.repository.WorkflowInstanceDao;
+import org.apache.dolphinscheduler.registry.api.RegistryClient;
+import org.apache.dolphinscheduler.server.master.cluster.ClusterManager;
+import org.apache.dolphinscheduler.server.master.cluster.MasterServerMetadata;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.engine.IWorkflowRepository;
+import org.apache.dolphinscheduler.server.master.engine.system.event.MasterFailoverEvent;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class FailoverCoordinatorTest {
+
+    private static final String MASTER_ADDRESS = "127.0.0.1:5678";
+
+    private static final long MASTER_STARTUP_TIME = 10_000L;
+
+    @InjectMocks
+    private FailoverCoordinator failoverCoordinator;
+
+    @Mock
+    private RegistryClient registryClient;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private ClusterManager clusterManager;
+
+    @Mock
+    private IWorkflowRepository workflowRepository;
+
+    @Mock
+    private WorkflowInstanceDao workflowInstanceDao;
+
+    @Mock
+    private WorkflowFailover workflowFailover;
+
+    @Spy
+    private MasterConfig masterConfig = new MasterConfig();
+
+    @BeforeEach
+    void setUp() {
+        masterConfig.getFailover().setWorkflowPageSize(2);
+        masterConfig.getFailover().setWorkflowFailoverThreadCount(2);
+        when(clusterManager.getMasterClusters().getServer(MASTER_ADDRESS)).thenReturn(Optional.empty());
+        when(registryClient.exists(anyString())).thenReturn(false);
+    }
+
+    @Test
+    void failoverMaster_failoverWorkflowsPageByPage() {
+        final WorkflowInstance workflowInstance1 = createWorkflowInstance(1, 1_000L);
+        final WorkflowInstance workflowInstance2 = createWorkflowInstance(2, 1_000L);
+        final WorkflowInstance workflowInstance3 = createWorkflowInstance(3, 1_000L);
+        // started after the master crashed, should not be failovered
+        final WorkflowInstance workflowInstance4 = createWorkflowInstance(4, 20_000L);
+        when(workflowInstanceDao.queryNeedFailoverWorkflowInstances(MASTER_ADDRESS, 0, 2))
+                .thenReturn(Arrays.asList(workflowInstance1, workflowInstance2));
+        when(workflowInstanceDao.queryNeedFailoverWorkflowInstances(MASTER_ADDRESS, 2, 2))
+                .thenReturn(Arrays.asList(workflowInstance3, workflowInstance4));
+        when(workflowInstanceDao.queryNeedFailoverWorkflowInstances(MASTER_ADDRESS, 4, 2))
+                .thenReturn(Collections.emptyList());
+        // running in the current master, should not be failovered
+        when(workflowRepository.contains(2)).thenReturn(true);
+
+        failoverCoordinator.failoverMaster(createMasterFailoverEvent());
+
+        verify(workflowFailover).failoverWorkflow(workflowInstance1);
+        verify(workflowFailover).failoverWorkflow(workflowInstance3);
+        verify(workflowFailover, times(2)).failoverWorkflow(any());
+        verify(registryClient).persist(anyString(), anyString());
+    }
+
+    @Test
+    void failoverMaster_failoverFinishedNodeIsNotPersistedWhenWorkflowFailoverFailed() {
+        final WorkflowInstance workflowInstance1 = createWorkflowInstance(1, 1_000L);
+        final WorkflowInstance workflowInstance2 = createWorkflowInstance(2, 1_000L);
+        when(workflowInstanceDao.queryNeedFailoverWorkflowInstances(eq(MASTER_ADDRESS), anyInt(), anyInt()))
+                .thenReturn(Arrays.asList(workflowInstance1, workflowInstance2));
+        doThrow(new IllegalStateException("mock failover error")).when(workflowFailover)
+                .failoverWorkflow(workflowInstance2);
+
+        assertThrows(IllegalStateException.class,
+                () -> failoverCoordinator.failoverMaster(createMasterFailoverEvent()));
+
+        // the other workflows in the page are still failovered
+        verify(workflowFailover).failoverWorkflow(workflowInstance1);
+        verify(registryClient, never()).persist(anyString(), anyString());
+        verify(registryClient).releaseLock(anyString());
+    }
+
+    private MasterFailoverEvent createMasterFailoverEvent() {
+        final MasterServerMetadata masterServerMetadata = MasterServerMetadata.builder()
+                .address(MASTER_ADDRESS)
+                .serverStartupTime(MASTER_STARTUP_TIME)
+                .build();
+        return MasterFailoverEvent.of(masterServerMetadata, new Date(), 0);
+    }
+
+    private WorkflowInstance createWorkflowInstance(final int id, final long startTime) {
+        final WorkflowInstance workflowInstance = new WorkflowInstance();
+        workflowInstance.setId(id);
+        workflowInstance.setName("workflow-" + id);
+        workflowInstance.setState(WorkflowExecutionStatus.RUNNING_EXECUTION);
+        workflowInstance.setStartTime(new Date(startTime));
+        return workflowInstance;
+    }
+}
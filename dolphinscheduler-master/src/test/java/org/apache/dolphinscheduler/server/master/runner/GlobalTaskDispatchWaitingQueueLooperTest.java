@@ -20,34 +20,50 @@ package org.apache.dolphinscheduler.server.master.runner;
 import static java.time.Duration.ofSeconds;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
 import static org.mockito.Mockito.atLeastOnce;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import org.apache.dolphinscheduler.common.enums.ServerStatus;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.Project;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.WorkflowDefinition;
 import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.cluster.ClusterManager;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerServerMetadata;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBus;
 import org.apache.dolphinscheduler.server.master.engine.graph.WorkflowExecutionGraph;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.TaskExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.TaskExecutionRunnableBuilder;
+import org.apache.dolphinscheduler.server.master.exception.dispatch.TaskDispatchException;
+import org.apache.dolphinscheduler.server.master.exception.dispatch.WorkerGroupOverloadException;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatchFactory;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatcher;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -66,6 +82,12 @@ class GlobalTaskDispatchWaitingQueueLooperTest {
     @Mock
     private TaskDispatchFactory taskDispatchFactory;
 
+    @Spy
+    private MasterConfig masterConfig = new MasterConfig();
+
+    @Spy
+    private ClusterManager clusterManager = new ClusterManager();
+
     @Test
     void testTaskExecutionRunnableStatusIsNotSubmitted() throws Exception {
         WorkflowInstance workflowInstance = new WorkflowInstance();
@@ -77,10 +99,9 @@ class GlobalTaskDispatchWaitingQueueLooperTest {
 
         TaskDispatcher taskDispatcher = mock(TaskDispatcher.class);
         when(taskDispatchFactory.getTaskDispatcher(taskInstance)).thenReturn(taskDispatcher);
-        doNothing().when(taskDispatcher).dispatchTask(any());
 
-        when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable()).thenReturn(defaultTaskExecuteRunnable);
-        globalTaskDispatchWaitingQueueLooper.doDispatch();
+        when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(0)).thenReturn(defaultTaskExecuteRunnable);
+        globalTaskDispatchWaitingQueueLooper.doDispatch(0);
         await().during(ofSeconds(1))
                 .untilAsserted(() -> verify(taskDispatchFactory, never()).getTaskDispatcher(taskInstance));
     }
@@ -96,17 +117,148 @@ class GlobalTaskDispatchWaitingQueueLooperTest {
 
         TaskDispatcher taskDispatcher = mock(TaskDispatcher.class);
         when(taskDispatchFactory.getTaskDispatcher(taskInstance)).thenReturn(taskDispatcher);
-        doNothing().when(taskDispatcher).dispatchTask(any());
+        when(taskDispatcher.dispatchTasks(any())).thenReturn(CompletableFuture.completedFuture(new HashMap<>()));
 
-        when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable()).thenReturn(defaultTaskExecuteRunnable);
-        globalTaskDispatchWaitingQueueLooper.doDispatch();
+        when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(0)).thenReturn(defaultTaskExecuteRunnable);
+        globalTaskDispatchWaitingQueueLooper.doDispatch(0);
         await().atMost(ofSeconds(1)).untilAsserted(() -> {
             verify(taskDispatchFactory, atLeastOnce()).getTaskDispatcher(any(TaskInstance.class));
-            verify(taskDispatcher, atLeastOnce()).dispatchTask(any(ITaskExecutionRunnable.class));
+            verify(taskDispatcher, atLeastOnce())
+                    .dispatchTasks(Collections.singletonList(defaultTaskExecuteRunnable));
         });
 
     }
 
+    @Test
+    void testDispatchTasksInBatch() throws Exception {
+        final ITaskExecutionRunnable taskExecutionRunnable1 = mockTaskExecuteRunnable();
+        final ITaskExecutionRunnable taskExecutionRunnable2 = mockTaskExecuteRunnable();
+
+        final TaskDispatcher taskDispatcher = mock(TaskDispatcher.class);
+        when(taskDispatchFactory.getTaskDispatcher(any(TaskInstance.class))).thenReturn(taskDispatcher);
+        final HashMap<ITaskExecutionRunnable, TaskDispatchException> failedTasks = new HashMap<>();
+        failedTasks.put(taskExecutionRunnable2, new TaskDispatchException("worker is busy"));
+        when(taskDispatcher.dispatchTasks(Arrays.asList(taskExecutionRunnable1, taskExecutionRunnable2)))
+                .thenReturn(CompletableFuture.completedFuture(failedTasks));
+
+        when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(0)).thenReturn(taskExecutionRunnable1);
+        when(globalTaskDispatchWaitingQueue.pollTaskExecuteRunnable(eq(0), anyLong(), eq(TimeUnit.NANOSECONDS)))
+                .thenReturn(taskExecutionRunnable2, null);
+        globalTaskDispatchWaitingQueueLooper.doDispatch(0);
+
+        verify(taskDispatcher, never()).dispatchTask(any(ITaskExecutionRunnable.class));
+        verify(taskDispatcher).dispatchTasks(Arrays.asList(taskExecutionRunnable1, taskExecutionRunnable2));
+        // Only the failed task will be put back to the queue
+        verify(globalTaskDispatchWaitingQueue, never())
+                .dispatchTaskExecuteRunnableWithDelay(eq(taskExecutionRunnable1), anyLong());
+        verify(globalTaskDispatchWaitingQueue).dispatchTaskExecuteRunnableWithDelay(eq(taskExecutionRunnable2),
+                anyLong());
+    }
+
+    @Test
+    void testDispatchSingleReadyTaskWithoutLinger() throws Exception {
+        masterConfig.getTaskDispatch().setLingerTime(Duration.ofMinutes(1));
+        final ITaskExecutionRunnable taskExecutionRunnable = mockTaskExecuteRunnable();
+
+        final TaskDispatcher taskDispatcher = mock(TaskDispatcher.class);
+        when(taskDispatchFactory.getTaskDispatcher(any(TaskInstance.class))).thenReturn(taskDispatcher);
+        when(taskDispatcher.dispatchTasks(any())).thenReturn(CompletableFuture.completedFuture(new HashMap<>()));
+
+        when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(0)).thenReturn(taskExecutionRunnable);
+        globalTaskDispatchWaitingQueueLooper.doDispatch(0);
+
+        verify(taskDispatcher).dispatchTasks(Collections.singletonList(taskExecutionRunnable));
+        verify(globalTaskDispatchWaitingQueue, never())
+                .pollTaskExecuteRunnable(eq(0), longThat(timeout -> timeout > 0), eq(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    void testParkTaskWhenWorkerGroupOverload() throws Exception {
+        final ITaskExecutionRunnable taskExecutionRunnable = mockTaskExecuteRunnable();
+        taskExecutionRunnable.getTaskInstance().setWorkerGroup("default");
+
+        final TaskDispatcher taskDispatcher = mock(TaskDispatcher.class);
+        when(taskDispatchFactory.getTaskDispatcher(any(TaskInstance.class))).thenReturn(taskDispatcher);
+        final HashMap<ITaskExecutionRunnable, TaskDispatchException> failedTasks = new HashMap<>();
+        failedTasks.put(taskExecutionRunnable, new WorkerGroupOverloadException("default"));
+        when(taskDispatcher.dispatchTasks(Collections.singletonList(taskExecutionRunnable)))
+                .thenReturn(CompletableFuture.completedFuture(failedTasks));
+        when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(0)).thenReturn(taskExecutionRunnable);
+        globalTaskDispatchWaitingQueueLooper.doDispatch(0);
+
+        // The task is parked rather than retried with delay
+        verify(globalTaskDispatchWaitingQueue).parkTaskExecuteRunnable(taskExecutionRunnable);
+        verify(globalTaskDispatchWaitingQueue, never()).dispatchTaskExecuteRunnableWithDelay(any(), anyLong());
+
+        // The parked task is released once the worker in the worker group has available slots
+        when(globalTaskDispatchWaitingQueue.getParkedWorkerGroups()).thenReturn(Collections.singleton("default"));
+        clusterManager.getWorkerClusters().onServerAdded(WorkerServerMetadata.builder()
+                .address("127.0.0.1:1234")
+                .serverStatus(ServerStatus.NORMAL)
+                .build());
+        globalTaskDispatchWaitingQueueLooper.onWorkerTaskSlotAvailable("127.0.0.1:1234", 2);
+        verify(globalTaskDispatchWaitingQueue).releaseParkedTaskExecuteRunnables("default", 2);
+    }
+
+    @Test
+    void testDispatchNotBlockedBySlowHost() throws Exception {
+        final ITaskExecutionRunnable taskExecutionRunnable1 = mockTaskExecuteRunnable();
+        final ITaskExecutionRunnable taskExecutionRunnable2 = mockTaskExecuteRunnable();
+
+        final TaskDispatcher taskDispatcher = mock(TaskDispatcher.class);
+        when(taskDispatchFactory.getTaskDispatcher(any(TaskInstance.class))).thenReturn(taskDispatcher);
+        // The host of the first task doesn't respond yet
+        final CompletableFuture<Map<ITaskExecutionRunnable, TaskDispatchException>> slowHostFuture =
+                new CompletableFuture<>();
+        when(taskDispatcher.dispatchTasks(Collections.singletonList(taskExecutionRunnable1)))
+                .thenReturn(slowHostFuture);
+        when(taskDispatcher.dispatchTasks(Collections.singletonList(taskExecutionRunnable2)))
+                .thenReturn(CompletableFuture.completedFuture(new HashMap<>()));
+
+        when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(0))
+                .thenReturn(taskExecutionRunnable1, taskExecutionRunnable2);
+        globalTaskDispatchWaitingQueueLooper.doDispatch(0);
+        globalTaskDispatchWaitingQueueLooper.doDispatch(0);
+        verify(taskDispatcher).dispatchTasks(Collections.singletonList(taskExecutionRunnable2));
+        verify(globalTaskDispatchWaitingQueue, never()).dispatchTaskExecuteRunnableWithDelay(any(), anyLong());
+
+        // The task is retried once the slow host fails
+        slowHostFuture.complete(Collections.singletonMap(taskExecutionRunnable1,
+                new TaskDispatchException("dispatch timeout")));
+        verify(globalTaskDispatchWaitingQueue).dispatchTaskExecuteRunnableWithDelay(eq(taskExecutionRunnable1),
+                anyLong());
+    }
+
+    @Test
+    void testDispatchThreadSurvivesUnexpectedException() throws Exception {
+        final ITaskExecutionRunnable taskExecutionRunnable = mockTaskExecuteRunnable();
+        final TaskDispatcher taskDispatcher = mock(TaskDispatcher.class);
+        when(taskDispatchFactory.getTaskDispatcher(any(TaskInstance.class))).thenReturn(taskDispatcher);
+        when(taskDispatcher.dispatchTasks(any())).thenReturn(CompletableFuture.completedFuture(new HashMap<>()));
+        when(globalTaskDispatchWaitingQueue.getShardCount()).thenReturn(1);
+        when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(0))
+                .thenThrow(new IllegalStateException("unexpected"))
+                .thenReturn(taskExecutionRunnable);
+
+        globalTaskDispatchWaitingQueueLooper.start();
+        try {
+            await().atMost(ofSeconds(5)).untilAsserted(
+                    () -> verify(taskDispatcher, atLeastOnce())
+                            .dispatchTasks(Collections.singletonList(taskExecutionRunnable)));
+        } finally {
+            globalTaskDispatchWaitingQueueLooper.close();
+        }
+    }
+
+    private ITaskExecutionRunnable mockTaskExecuteRunnable() {
+        final TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
+        final ITaskExecutionRunnable taskExecutionRunnable = mock(ITaskExecutionRunnable.class);
+        when(taskExecutionRunnable.getTaskInstance()).thenReturn(taskInstance);
+        when(taskExecutionRunnable.getTaskExecutionContext()).thenReturn(new TaskExecutionContext());
+        return taskExecutionRunnable;
+    }
+
     private ITaskExecutionRunnable createTaskExecuteRunnable(final TaskInstance taskInstance,
                                                              final WorkflowInstance workflowInstance) {
 
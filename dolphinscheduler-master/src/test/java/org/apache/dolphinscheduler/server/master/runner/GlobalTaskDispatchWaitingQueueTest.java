@@ -29,6 +29,7 @@ import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.WorkflowDefinition;
 import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.dao.utils.WorkerGroupUtils;
 import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBus;
 import org.apache.dolphinscheduler.server.master.engine.graph.WorkflowExecutionGraph;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
@@ -39,8 +40,10 @@ import org.apache.commons.lang3.RandomUtils;
 import org.apache.commons.lang3.time.DateUtils;
 
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.awaitility.Awaitility;
 import org.awaitility.core.ConditionTimeoutException;
@@ -55,7 +58,7 @@ class GlobalTaskDispatchWaitingQueueTest {
 
     @BeforeEach
     public void setUp() {
-        globalTaskDispatchWaitingQueue = new GlobalTaskDispatchWaitingQueue();
+        globalTaskDispatchWaitingQueue = new GlobalTaskDispatchWaitingQueue(1);
     }
 
     @Test
@@ -65,7 +68,7 @@ class GlobalTaskDispatchWaitingQueueTest {
         Awaitility.await()
                 .atMost(Duration.ofSeconds(1))
                 .untilAsserted(
-                        () -> Assertions.assertNotNull(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable()));
+                        () -> Assertions.assertNotNull(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(0)));
     }
 
     @Test
@@ -73,18 +76,18 @@ class GlobalTaskDispatchWaitingQueueTest {
         globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnableWithDelay(createTaskExecuteRunnable(), 3_000L);
         globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnable(createTaskExecuteRunnable());
 
-        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable()).isNotNull();
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(0)).isNotNull();
         Awaitility.await()
                 .atLeast(Duration.ofSeconds(2))
                 .atMost(Duration.ofSeconds(4))
                 .untilAsserted(
-                        () -> Assertions.assertNotNull(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable()));
+                        () -> Assertions.assertNotNull(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(0)));
     }
 
     @Test
     void takeTaskExecuteRunnable_NoElementShouldBlock() {
         CompletableFuture<Void> completableFuture =
-                CompletableFuture.runAsync(() -> globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable());
+                CompletableFuture.runAsync(() -> globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(0));
         assertThrowsExactly(ConditionTimeoutException.class,
                 () -> await()
                         .atLeast(Duration.ofSeconds(2))
@@ -109,11 +112,11 @@ class GlobalTaskDispatchWaitingQueueTest {
         ITaskExecutionRunnable3.getTaskInstance().setTaskInstancePriority(Priority.LOW);
         globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnable(ITaskExecutionRunnable3);
 
-        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable().getTaskInstance().getId())
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(0).getTaskInstance().getId())
                 .isEqualTo(2);
-        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable().getTaskInstance().getId())
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(0).getTaskInstance().getId())
                 .isEqualTo(1);
-        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable().getTaskInstance().getId())
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(0).getTaskInstance().getId())
                 .isEqualTo(3);
     }
 
@@ -134,11 +137,11 @@ class GlobalTaskDispatchWaitingQueueTest {
         ITaskExecutionRunnable3.getTaskInstance().setTaskGroupPriority(Priority.LOW.getCode());
         globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnable(ITaskExecutionRunnable3);
 
-        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable().getTaskInstance().getId())
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(0).getTaskInstance().getId())
                 .isEqualTo(3);
-        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable().getTaskInstance().getId())
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(0).getTaskInstance().getId())
                 .isEqualTo(1);
-        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable().getTaskInstance().getId())
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(0).getTaskInstance().getId())
                 .isEqualTo(2);
     }
 
@@ -161,14 +164,64 @@ class GlobalTaskDispatchWaitingQueueTest {
         ITaskExecutionRunnable3.getTaskInstance().setFirstSubmitTime(DateUtils.addMinutes(now, -1));
         globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnable(ITaskExecutionRunnable3);
 
-        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable().getTaskInstance().getId())
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(0).getTaskInstance().getId())
                 .isEqualTo(3);
-        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable().getTaskInstance().getId())
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(0).getTaskInstance().getId())
                 .isEqualTo(1);
-        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable().getTaskInstance().getId())
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(0).getTaskInstance().getId())
                 .isEqualTo(2);
     }
 
+    @Test
+    void takeTaskExecuteRunnable_spreadTasksInSameWorkerGroup() {
+        final int shardCount = 4;
+        globalTaskDispatchWaitingQueue = new GlobalTaskDispatchWaitingQueue(shardCount);
+
+        // All the tasks are in the same worker group, they should be spread into all the shards by the task instance id
+        final int taskCount = 1000;
+        for (int i = 0; i < taskCount; i++) {
+            ITaskExecutionRunnable taskExecutionRunnable = createTaskExecuteRunnable();
+            taskExecutionRunnable.getTaskInstance().setId(i);
+            taskExecutionRunnable.getTaskInstance().setWorkerGroup("a");
+            globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnable(taskExecutionRunnable);
+        }
+
+        for (int shardIndex = 0; shardIndex < shardCount; shardIndex++) {
+            int taskCountInShard = 0;
+            ITaskExecutionRunnable taskExecutionRunnable;
+            while ((taskExecutionRunnable =
+                    globalTaskDispatchWaitingQueue.pollTaskExecuteRunnable(shardIndex, 10,
+                            TimeUnit.MILLISECONDS)) != null) {
+                assertThat(Math.floorMod(taskExecutionRunnable.getTaskInstance().getId(), shardCount))
+                        .isEqualTo(shardIndex);
+                taskCountInShard++;
+            }
+            assertThat(taskCountInShard).isEqualTo(taskCount / shardCount);
+        }
+        assertThat(globalTaskDispatchWaitingQueue.getWaitingDispatchTaskNumber()).isEqualTo(0);
+    }
+
+    @Test
+    void takeTaskExecuteRunnable_releasedToTheSameShard() {
+        globalTaskDispatchWaitingQueue = new GlobalTaskDispatchWaitingQueue(2);
+
+        // The task is in the same shard no matter it is dispatched directly or released from the parked queue
+        ITaskExecutionRunnable taskExecutionRunnable1 = createTaskExecuteRunnable();
+        taskExecutionRunnable1.getTaskInstance().setId(1);
+        globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnable(taskExecutionRunnable1);
+        ITaskExecutionRunnable taskExecutionRunnable2 = createTaskExecuteRunnable();
+        taskExecutionRunnable2.getTaskInstance().setId(3);
+        globalTaskDispatchWaitingQueue.parkTaskExecuteRunnable(taskExecutionRunnable2);
+        assertThat(globalTaskDispatchWaitingQueue.releaseParkedTaskExecuteRunnables(
+                WorkerGroupUtils.getDefaultWorkerGroup(), 1)).isEqualTo(1);
+
+        assertThat(Arrays.asList(
+                globalTaskDispatchWaitingQueue.pollTaskExecuteRunnable(1, 100, TimeUnit.MILLISECONDS),
+                globalTaskDispatchWaitingQueue.pollTaskExecuteRunnable(1, 100, TimeUnit.MILLISECONDS)))
+                        .containsExactly(taskExecutionRunnable1, taskExecutionRunnable2);
+        assertThat(globalTaskDispatchWaitingQueue.pollTaskExecuteRunnable(0, 100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
     @Test
     void getWaitingDispatchTaskNumber() {
         Assertions.assertEquals(0, globalTaskDispatchWaitingQueue.getWaitingDispatchTaskNumber());
@@ -177,6 +230,36 @@ class GlobalTaskDispatchWaitingQueueTest {
         Assertions.assertEquals(1, globalTaskDispatchWaitingQueue.getWaitingDispatchTaskNumber());
     }
 
+    @Test
+    void testParkAndReleaseTaskExecuteRunnable() {
+        ITaskExecutionRunnable taskExecutionRunnable1 = createTaskExecuteRunnable();
+        taskExecutionRunnable1.getTaskInstance().setWorkerGroup("a");
+        ITaskExecutionRunnable taskExecutionRunnable2 = createTaskExecuteRunnable();
+        taskExecutionRunnable2.getTaskInstance().setWorkerGroup("a");
+        ITaskExecutionRunnable taskExecutionRunnable3 = createTaskExecuteRunnable();
+        taskExecutionRunnable3.getTaskInstance().setWorkerGroup("a");
+        globalTaskDispatchWaitingQueue.parkTaskExecuteRunnable(taskExecutionRunnable1);
+        globalTaskDispatchWaitingQueue.parkTaskExecuteRunnable(taskExecutionRunnable2);
+        globalTaskDispatchWaitingQueue.parkTaskExecuteRunnable(taskExecutionRunnable3);
+        assertThat(globalTaskDispatchWaitingQueue.getParkedWorkerGroups()).containsExactly("a");
+        assertThat(globalTaskDispatchWaitingQueue.getParkedTaskNumber()).isEqualTo(3);
+        assertThat(globalTaskDispatchWaitingQueue.getWaitingDispatchTaskNumber()).isEqualTo(3);
+        // The parked task cannot be consumed until it is released
+        assertThat(globalTaskDispatchWaitingQueue.pollTaskExecuteRunnable(0, 100, TimeUnit.MILLISECONDS)).isNull();
+
+        // The removed task will be skipped when released
+        globalTaskDispatchWaitingQueue.markTaskExecutionRunnableRemoved(taskExecutionRunnable1);
+        assertThat(globalTaskDispatchWaitingQueue.releaseParkedTaskExecuteRunnables("b", 1)).isEqualTo(0);
+        assertThat(globalTaskDispatchWaitingQueue.releaseParkedTaskExecuteRunnables("a", 1)).isEqualTo(1);
+        assertThat(globalTaskDispatchWaitingQueue.getParkedTaskNumber()).isEqualTo(1);
+        assertThat(globalTaskDispatchWaitingQueue.pollTaskExecuteRunnable(0, 100, TimeUnit.MILLISECONDS))
+                .isAnyOf(taskExecutionRunnable2, taskExecutionRunnable3);
+        assertThat(globalTaskDispatchWaitingQueue.pollTaskExecuteRunnable(0, 100, TimeUnit.MILLISECONDS)).isNull();
+
+        assertThat(globalTaskDispatchWaitingQueue.releaseParkedTaskExecuteRunnables("a", 10)).isEqualTo(1);
+        assertThat(globalTaskDispatchWaitingQueue.getParkedWorkerGroups()).isEmpty();
+    }
+
     private ITaskExecutionRunnable createTaskExecuteRunnable() {
         WorkflowInstance workflowInstance = new WorkflowInstance();
         workflowInstance.setWorkflowInstancePriority(Priority.MEDIUM);
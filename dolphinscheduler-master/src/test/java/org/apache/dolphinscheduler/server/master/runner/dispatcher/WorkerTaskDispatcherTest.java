@@ -17,16 +17,39 @@
 
 package org.apache.dolphinscheduler.server.master.runner.dispatcher;
 
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.common.enums.ServerStatus;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.extract.base.client.Clients;
+import org.apache.dolphinscheduler.extract.base.exception.MethodNotFoundException;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
+import org.apache.dolphinscheduler.extract.worker.ITaskInstanceOperator;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceBatchDispatchResponse;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchRequest;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchResponse;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.server.master.cluster.ClusterManager;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerClusters;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerServerMetadata;
 import org.apache.dolphinscheduler.server.master.cluster.loadbalancer.IWorkerLoadBalancer;
+import org.apache.dolphinscheduler.server.master.cluster.loadbalancer.RoundRobinWorkerLoadBalancer;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.exception.dispatch.TaskDispatchException;
+import org.apache.dolphinscheduler.server.master.exception.dispatch.WorkerGroupOverloadException;
 
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -34,10 +57,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 public class WorkerTaskDispatcherTest {
 
     @Test
-    public void getTaskInstanceDispatchHost() {
+    public void getTaskInstanceDispatchHost() throws Exception {
         IWorkerLoadBalancer workerLoadBalancer = Mockito.mock(IWorkerLoadBalancer.class);
         Mockito.when(workerLoadBalancer.select(Mockito.any())).thenReturn(Optional.of("localhost:1234"));
-        WorkerTaskDispatcher workerTaskDispatcher = new WorkerTaskDispatcher(workerLoadBalancer);
+        WorkerTaskDispatcher workerTaskDispatcher =
+                new WorkerTaskDispatcher(workerLoadBalancer, new ClusterManager(), new MasterConfig());
 
         ITaskExecutionRunnable ITaskExecutionRunnable = Mockito.mock(ITaskExecutionRunnable.class);
         Mockito.when(ITaskExecutionRunnable.getTaskExecutionContext()).thenReturn(new TaskExecutionContext());
@@ -45,4 +69,134 @@ public class WorkerTaskDispatcherTest {
                 workerTaskDispatcher.getTaskInstanceDispatchHost(ITaskExecutionRunnable);
         Assertions.assertEquals("localhost:1234", taskInstanceDispatchHost.get().getAddress());
     }
+
+    @Test
+    public void getTaskInstanceDispatchHost_workerGroupOverload() throws Exception {
+        ClusterManager clusterManager = new ClusterManager();
+        WorkerClusters workerClusters = clusterManager.getWorkerClusters();
+        workerClusters.onServerAdded(WorkerServerMetadata.builder()
+                .address("localhost:1234")
+                .serverStatus(ServerStatus.NORMAL)
+                .taskSlotCapacity(1)
+                .build());
+        WorkerTaskDispatcher workerTaskDispatcher =
+                new WorkerTaskDispatcher(new RoundRobinWorkerLoadBalancer(workerClusters), clusterManager,
+                        new MasterConfig());
+
+        Optional<Host> taskInstanceDispatchHost =
+                workerTaskDispatcher.getTaskInstanceDispatchHost(createTaskExecutionRunnable(1));
+        Assertions.assertEquals("localhost:1234", taskInstanceDispatchHost.get().getAddress());
+        Assertions.assertThrows(WorkerGroupOverloadException.class,
+                () -> workerTaskDispatcher.getTaskInstanceDispatchHost(createTaskExecutionRunnable(2)));
+
+        // The slot is available once the first task is finished
+        workerClusters.getWorkerTaskSlots().releaseSlot("localhost:1234", 1);
+        taskInstanceDispatchHost = workerTaskDispatcher.getTaskInstanceDispatchHost(createTaskExecutionRunnable(2));
+        Assertions.assertEquals("localhost:1234", taskInstanceDispatchHost.get().getAddress());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void dispatchTasks_workerNotSupportBatchDispatch() throws Exception {
+        ClusterManager clusterManager = new ClusterManager();
+        WorkerClusters workerClusters = clusterManager.getWorkerClusters();
+        workerClusters.onServerAdded(WorkerServerMetadata.builder()
+                .address("localhost:1234")
+                .serverStatus(ServerStatus.NORMAL)
+                .taskSlotCapacity(2)
+                .build());
+        // Dispatch in the test thread, the static mock of Clients only works in the thread which creates it
+        WorkerTaskDispatcher workerTaskDispatcher =
+                new WorkerTaskDispatcher(new RoundRobinWorkerLoadBalancer(workerClusters), clusterManager,
+                        Runnable::run);
+
+        // The worker is an older version which only provides the single dispatch method
+        ITaskInstanceOperator taskInstanceOperator = Mockito.mock(ITaskInstanceOperator.class);
+        Mockito.when(taskInstanceOperator.batchDispatchTask(Mockito.any())).thenAnswer(invocation -> {
+            CompletableFuture<TaskInstanceBatchDispatchResponse> future = new CompletableFuture<>();
+            future.completeExceptionally(
+                    new MethodNotFoundException(MethodNotFoundException.MESSAGE_PREFIX + "batchDispatchTask"));
+            return future;
+        });
+        Mockito.when(taskInstanceOperator.dispatchTask(Mockito.any())).thenAnswer(invocation -> {
+            TaskInstanceDispatchRequest request = invocation.getArgument(0);
+            return TaskInstanceDispatchResponse.success(request.getTaskExecutionContext().getTaskInstanceId());
+        });
+        Clients.JdkDynamicRpcClientProxyBuilder<ITaskInstanceOperator> proxyBuilder =
+                Mockito.mock(Clients.JdkDynamicRpcClientProxyBuilder.class);
+        Mockito.when(proxyBuilder.withHost("localhost:1234")).thenReturn(taskInstanceOperator);
+
+        try (MockedStatic<Clients> clients = Mockito.mockStatic(Clients.class)) {
+            clients.when(() -> Clients.withService(ITaskInstanceOperator.class)).thenReturn(proxyBuilder);
+            assertThat(workerTaskDispatcher.dispatchTasks(
+                    Arrays.asList(createTaskExecutionRunnable(1), createTaskExecutionRunnable(2))).get()).isEmpty();
+            Mockito.verify(taskInstanceOperator, Mockito.times(2)).dispatchTask(Mockito.any());
+
+            // The following tasks are dispatched one by one without trying the batch dispatch again
+            workerClusters.getWorkerTaskSlots().releaseSlot("localhost:1234", 1);
+            workerClusters.getWorkerTaskSlots().releaseSlot("localhost:1234", 2);
+            assertThat(workerTaskDispatcher.dispatchTasks(
+                    Arrays.asList(createTaskExecutionRunnable(3), createTaskExecutionRunnable(4))).get()).isEmpty();
+            Mockito.verify(taskInstanceOperator, Mockito.times(1)).batchDispatchTask(Mockito.any());
+            Mockito.verify(taskInstanceOperator, Mockito.times(4)).dispatchTask(Mockito.any());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void dispatchTasks_notWaitForTheResponse() throws Exception {
+        ClusterManager clusterManager = new ClusterManager();
+        WorkerClusters workerClusters = clusterManager.getWorkerClusters();
+        workerClusters.onServerAdded(WorkerServerMetadata.builder()
+                .address("localhost:1234")
+                .serverStatus(ServerStatus.NORMAL)
+                .taskSlotCapacity(2)
+                .build());
+        WorkerTaskDispatcher workerTaskDispatcher =
+                new WorkerTaskDispatcher(new RoundRobinWorkerLoadBalancer(workerClusters), clusterManager,
+                        new MasterConfig());
+
+        CompletableFuture<TaskInstanceBatchDispatchResponse> responseFuture = new CompletableFuture<>();
+        ITaskInstanceOperator taskInstanceOperator = Mockito.mock(ITaskInstanceOperator.class);
+        Mockito.when(taskInstanceOperator.batchDispatchTask(Mockito.any())).thenReturn(responseFuture);
+        Clients.JdkDynamicRpcClientProxyBuilder<ITaskInstanceOperator> proxyBuilder =
+                Mockito.mock(Clients.JdkDynamicRpcClientProxyBuilder.class);
+        Mockito.when(proxyBuilder.withHost("localhost:1234")).thenReturn(taskInstanceOperator);
+
+        try (MockedStatic<Clients> clients = Mockito.mockStatic(Clients.class)) {
+            clients.when(() -> Clients.withService(ITaskInstanceOperator.class)).thenReturn(proxyBuilder);
+            ITaskExecutionRunnable taskExecutionRunnable1 = createTaskExecutionRunnable(1);
+            ITaskExecutionRunnable taskExecutionRunnable2 = createTaskExecutionRunnable(2);
+            CompletableFuture<Map<ITaskExecutionRunnable, TaskDispatchException>> dispatchFuture =
+                    workerTaskDispatcher.dispatchTasks(Arrays.asList(taskExecutionRunnable1, taskExecutionRunnable2));
+            assertThat(dispatchFuture.isDone()).isFalse();
+
+            responseFuture.complete(new TaskInstanceBatchDispatchResponse(Arrays.asList(
+                    TaskInstanceDispatchResponse.success(1),
+                    TaskInstanceDispatchResponse.failed(2, "worker is busy"))));
+            assertThat(dispatchFuture.get().keySet()).containsExactly(taskExecutionRunnable2);
+            // The slot reserved by the failed task is released
+            assertThat(workerClusters.getWorkerTaskSlots().tryReserveSlot("localhost:1234", 3)).isTrue();
+        }
+    }
+
+    @Test
+    public void close_shutdownSingleDispatchExecutor() {
+        ExecutorService singleDispatchExecutor = Executors.newSingleThreadExecutor();
+        WorkerTaskDispatcher workerTaskDispatcher =
+                new WorkerTaskDispatcher(Mockito.mock(IWorkerLoadBalancer.class), new ClusterManager(),
+                        singleDispatchExecutor);
+        workerTaskDispatcher.close();
+        assertThat(singleDispatchExecutor.isShutdown()).isTrue();
+    }
+
+    private ITaskExecutionRunnable createTaskExecutionRunnable(int taskInstanceId) {
+        TaskExecutionContext taskExecutionContext = new TaskExecutionContext();
+        taskExecutionContext.setTaskInstanceId(taskInstanceId);
+        taskExecutionContext.setWorkerGroup("default");
+        ITaskExecutionRunnable taskExecutionRunnable = Mockito.mock(ITaskExecutionRunnable.class);
+        Mockito.lenient().when(taskExecutionRunnable.getTaskExecutionContext()).thenReturn(taskExecutionContext);
+        Mockito.lenient().when(taskExecutionRunnable.getTaskInstance()).thenReturn(new TaskInstance());
+        return taskExecutionRunnable;
+    }
 }
@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner.task.dependent;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.dao.repository.WorkflowInstanceDao;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.model.DateInterval;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.runner.execute.AsyncMasterTaskDelayQueue;
+import org.apache.dolphinscheduler.server.master.runner.execute.AsyncTaskCallbackFunction;
+import org.apache.dolphinscheduler.server.master.runner.execute.AsyncTaskExecutionContext;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.google.common.collect.Sets;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DependentResolutionCacheTest {
+
+    @Mock
+    private WorkflowInstanceDao workflowInstanceDao;
+
+    @Mock
+    private TaskInstanceDao taskInstanceDao;
+
+    private MasterConfig masterConfig;
+
+    private AsyncMasterTaskDelayQueue asyncMasterTaskDelayQueue;
+
+    private DependentResolutionCache dependentResolutionCache;
+
+    private final DateInterval dateInterval = new DateInterval(new Date(0), new Date(1000));
+
+    @BeforeEach
+    void setUp() {
+        masterConfig = new MasterConfig();
+        masterConfig.getDependentResolutionCache().setExpireTime(Duration.ofMinutes(1));
+        asyncMasterTaskDelayQueue = new AsyncMasterTaskDelayQueue();
+        dependentResolutionCache = new DependentResolutionCache(masterConfig, workflowInstanceDao, taskInstanceDao,
+                asyncMasterTaskDelayQueue);
+    }
+
+    @Test
+    void queryLastWorkflowInterval_sameLookupOnlyQueryOnce() {
+        WorkflowInstance workflowInstance = createWorkflowInstance(1, 1L);
+        when(workflowInstanceDao.queryLastSchedulerWorkflowInterval(1L, 2L, dateInterval, 0))
+                .thenReturn(workflowInstance);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(dependentResolutionCache.queryLastWorkflowInterval(1L, 2L,
+                    new DateInterval(new Date(0), new Date(1000)), 0)).isSameInstanceAs(workflowInstance);
+        }
+        verify(workflowInstanceDao, times(1)).queryLastSchedulerWorkflowInterval(1L, 2L, dateInterval, 0);
+        verify(workflowInstanceDao, times(1)).queryLastManualWorkflowInterval(1L, 2L, dateInterval, 0);
+
+        // The empty result is also cached
+        assertThat(dependentResolutionCache.queryLastWorkflowInterval(3L, 2L, dateInterval, 0)).isNull();
+        assertThat(dependentResolutionCache.queryLastWorkflowInterval(3L, 2L, dateInterval, 0)).isNull();
+        verify(workflowInstanceDao, times(1)).queryLastSchedulerWorkflowInterval(3L, 2L, dateInterval, 0);
+    }
+
+    @Test
+    void queryLastWorkflowInterval_returnTheLatestInstance() {
+        WorkflowInstance schedulerWorkflowInstance = createWorkflowInstance(1, 1L);
+        WorkflowInstance manualWorkflowInstance = createWorkflowInstance(2, 1L);
+        when(workflowInstanceDao.queryLastSchedulerWorkflowInterval(1L, 2L, dateInterval, 0))
+                .thenReturn(schedulerWorkflowInstance);
+        when(workflowInstanceDao.queryLastManualWorkflowInterval(1L, 2L, dateInterval, 0))
+                .thenReturn(manualWorkflowInstance);
+
+        assertThat(dependentResolutionCache.queryLastWorkflowInterval(1L, 2L, dateInterval, 0))
+                .isSameInstanceAs(manualWorkflowInstance);
+    }
+
+    @Test
+    void queryWithCacheDisabled() {
+        masterConfig.getDependentResolutionCache().setEnabled(false);
+
+        dependentResolutionCache.queryLastTaskInstanceIntervalInWorkflowInstance(1, 2L, 0);
+        dependentResolutionCache.queryLastTaskInstanceIntervalInWorkflowInstance(1, 2L, 0);
+
+        verify(taskInstanceDao, times(2)).queryLastTaskInstanceIntervalInWorkflowInstance(1, 2L, 0);
+    }
+
+    @Test
+    void onUpstreamWorkflowInstanceFinished_invalidateTheRelatedCache() {
+        WorkflowInstance workflowInstance = createWorkflowInstance(1, 1L);
+        when(taskInstanceDao.queryLastTaskInstanceIntervalInWorkflowInstance(anyInt(), anyLong(), anyInt()))
+                .thenReturn(new TaskInstance());
+        when(taskInstanceDao.queryLastTaskInstanceListIntervalInWorkflowInstance(anyInt(), anySet(), anyInt()))
+                .thenReturn(Collections.singletonList(new TaskInstance()));
+        Set<Long> taskCodes = Sets.newHashSet(2L, 3L);
+
+        dependentResolutionCache.queryLastWorkflowInterval(1L, 2L, dateInterval, 0);
+        dependentResolutionCache.queryLastWorkflowInterval(3L, 2L, dateInterval, 0);
+        dependentResolutionCache.queryLastTaskInstanceIntervalInWorkflowInstance(1, 2L, 0);
+        dependentResolutionCache.queryLastTaskInstanceIntervalInWorkflowInstance(4, 2L, 0);
+        dependentResolutionCache.queryLastTaskInstanceListIntervalInWorkflowInstance(1, taskCodes, 0);
+        dependentResolutionCache.queryLastTaskInstanceListIntervalInWorkflowInstance(4, taskCodes, 0);
+
+        dependentResolutionCache.onUpstreamWorkflowInstanceFinished(workflowInstance);
+
+        dependentResolutionCache.queryLastWorkflowInterval(1L, 2L, dateInterval, 0);
+        dependentResolutionCache.queryLastWorkflowInterval(3L, 2L, dateInterval, 0);
+        dependentResolutionCache.queryLastTaskInstanceIntervalInWorkflowInstance(1, 2L, 0);
+        dependentResolutionCache.queryLastTaskInstanceIntervalInWorkflowInstance(4, 2L, 0);
+        dependentResolutionCache.queryLastTaskInstanceListIntervalInWorkflowInstance(1, taskCodes, 0);
+        dependentResolutionCache.queryLastTaskInstanceListIntervalInWorkflowInstance(4, taskCodes, 0);
+
+        verify(workflowInstanceDao, times(2)).queryLastSchedulerWorkflowInterval(1L, 2L, dateInterval, 0);
+        verify(workflowInstanceDao, times(1)).queryLastSchedulerWorkflowInterval(3L, 2L, dateInterval, 0);
+        verify(taskInstanceDao, times(2)).queryLastTaskInstanceIntervalInWorkflowInstance(1, 2L, 0);
+        verify(taskInstanceDao, times(1)).queryLastTaskInstanceIntervalInWorkflowInstance(4, 2L, 0);
+        verify(taskInstanceDao, times(2)).queryLastTaskInstanceListIntervalInWorkflowInstance(1, taskCodes, 0);
+        verify(taskInstanceDao, times(1)).queryLastTaskInstanceListIntervalInWorkflowInstance(4, taskCodes, 0);
+    }
+
+    @Test
+    void onUpstreamWorkflowInstanceFinished_wakeUpTheDependentTask() {
+        AsyncTaskExecutionContext dependentTask = createDependentTask(1, 1L);
+        AsyncTaskExecutionContext otherDependentTask = createDependentTask(2, 2L);
+        // The first check doesn't have delay, the second check will wait for the check interval
+        dependentTask.refreshStartTime();
+        otherDependentTask.refreshStartTime();
+        asyncMasterTaskDelayQueue.addAsyncTask(dependentTask);
+        asyncMasterTaskDelayQueue.addAsyncTask(otherDependentTask);
+        assertThat(dependentTask.getDelay(TimeUnit.MILLISECONDS)).isGreaterThan(0L);
+
+        dependentResolutionCache.onUpstreamWorkflowInstanceFinished(createWorkflowInstance(1, 1L));
+
+        assertThat(dependentTask.getDelay(TimeUnit.MILLISECONDS)).isAtMost(0L);
+        assertThat(otherDependentTask.getDelay(TimeUnit.MILLISECONDS)).isGreaterThan(0L);
+    }
+
+    @Test
+    void onUpstreamTaskInstanceFinished_onlyWakeUpTheTaskWaitingForIt() {
+        AsyncTaskExecutionContext dependentTask = createDependentTask(1, 1L, Collections.singleton(10L));
+        AsyncTaskExecutionContext workflowDependentTask = createDependentTask(2, 1L);
+        dependentTask.refreshStartTime();
+        workflowDependentTask.refreshStartTime();
+        asyncMasterTaskDelayQueue.addAsyncTask(dependentTask);
+        asyncMasterTaskDelayQueue.addAsyncTask(workflowDependentTask);
+
+        dependentResolutionCache.onUpstreamTaskInstanceFinished(createWorkflowInstance(1, 1L),
+                createTaskInstance(11L));
+        assertThat(dependentTask.getDelay(TimeUnit.MILLISECONDS)).isGreaterThan(0L);
+
+        dependentResolutionCache.onUpstreamTaskInstanceFinished(createWorkflowInstance(1, 1L),
+                createTaskInstance(10L));
+        assertThat(dependentTask.getDelay(TimeUnit.MILLISECONDS)).isAtMost(0L);
+        assertThat(workflowDependentTask.getDelay(TimeUnit.MILLISECONDS)).isGreaterThan(0L);
+    }
+
+    @Test
+    void wakeUpAsyncTasks_theWokenTaskIsPolledOnce() throws InterruptedException {
+        AsyncTaskExecutionContext dependentTask = createDependentTask(1, 1L);
+        AsyncTaskExecutionContext otherDependentTask = createDependentTask(2, 2L);
+        dependentTask.refreshStartTime();
+        otherDependentTask.refreshStartTime();
+        asyncMasterTaskDelayQueue.addAsyncTask(dependentTask);
+        asyncMasterTaskDelayQueue.addAsyncTask(otherDependentTask);
+
+        assertThat(asyncMasterTaskDelayQueue.wakeUpAsyncTasksWaitingForWorkflow(1L)).isEqualTo(1);
+        assertThat(asyncMasterTaskDelayQueue.wakeUpAsyncTasksWaitingForWorkflow(1L)).isEqualTo(1);
+        assertThat(asyncMasterTaskDelayQueue.getAsyncTaskRunningNum()).isEqualTo(2);
+
+        // The task is due now and the stale entries of it will be skipped
+        assertThat(asyncMasterTaskDelayQueue.pollAsyncTask()).isSameInstanceAs(dependentTask);
+        assertThat(asyncMasterTaskDelayQueue.getAsyncTaskRunningNum()).isEqualTo(1);
+        assertThat(asyncMasterTaskDelayQueue.wakeUpAsyncTasksWaitingForWorkflow(1L)).isEqualTo(0);
+    }
+
+    @Test
+    void wakeUpAsyncTasks_onlyWakeUpTheWaitingTask() throws InterruptedException {
+        AsyncTaskExecutionContext dependentTask = createDependentTask(1, 1L);
+        asyncMasterTaskDelayQueue.addAsyncTask(dependentTask);
+
+        assertThat(asyncMasterTaskDelayQueue.wakeUpAsyncTasksWaitingForWorkflow(2L)).isEqualTo(0);
+        // The task which is executing is not waiting in the queue
+        assertThat(asyncMasterTaskDelayQueue.pollAsyncTask()).isSameInstanceAs(dependentTask);
+        assertThat(asyncMasterTaskDelayQueue.wakeUpAsyncTasksWaitingForWorkflow(1L)).isEqualTo(0);
+
+        asyncMasterTaskDelayQueue.addAsyncTask(dependentTask);
+        assertThat(asyncMasterTaskDelayQueue.wakeUpAsyncTasksWaitingForWorkflow(1L)).isEqualTo(1);
+        assertThat(asyncMasterTaskDelayQueue.getAsyncTaskRunningNum()).isEqualTo(1);
+    }
+
+    private AsyncTaskExecutionContext createDependentTask(int taskInstanceId, Long dependentWorkflowDefinitionCode) {
+        return createDependentTask(taskInstanceId, dependentWorkflowDefinitionCode, Collections.emptySet());
+    }
+
+    private AsyncTaskExecutionContext createDependentTask(int taskInstanceId,
+                                                          Long dependentWorkflowDefinitionCode,
+                                                          Set<Long> dependentTaskDefinitionCodes) {
+        DependentAsyncTaskExecuteFunction dependentAsyncTaskExecuteFunction =
+                Mockito.mock(DependentAsyncTaskExecuteFunction.class);
+        when(dependentAsyncTaskExecuteFunction.getAsyncTaskStateCheckInterval()).thenReturn(Duration.ofMinutes(1));
+        when(dependentAsyncTaskExecuteFunction.getUpstreamWorkflowDefinitionCodes())
+                .thenReturn(Collections.singleton(dependentWorkflowDefinitionCode));
+        when(dependentAsyncTaskExecuteFunction.getUpstreamTaskDefinitionCodes())
+                .thenReturn(dependentTaskDefinitionCodes);
+        TaskExecutionContext taskExecutionContext = new TaskExecutionContext();
+        taskExecutionContext.setTaskInstanceId(taskInstanceId);
+        return new AsyncTaskExecutionContext(taskExecutionContext, dependentAsyncTaskExecuteFunction,
+                Mockito.mock(AsyncTaskCallbackFunction.class));
+    }
+
+    private TaskInstance createTaskInstance(Long taskCode) {
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setTaskCode(taskCode);
+        taskInstance.setName("task-" + taskCode);
+        return taskInstance;
+    }
+
+    private WorkflowInstance createWorkflowInstance(int id, Long workflowDefinitionCode) {
+        WorkflowInstance workflowInstance = new WorkflowInstance();
+        workflowInstance.setId(id);
+        workflowInstance.setWorkflowDefinitionCode(workflowDefinitionCode);
+        workflowInstance.setName("workflow-" + id);
+        return workflowInstance;
+    }
+}
@@ -26,6 +26,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.common.enums.TaskGroupQueueStatus;
 import org.apache.dolphinscheduler.dao.entity.TaskGroup;
 import org.apache.dolphinscheduler.dao.entity.TaskGroupQueue;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
@@ -174,6 +175,26 @@ class TaskGroupCoordinatorTest {
         taskGroupCoordinator.releaseTaskGroupSlot(taskInstance);
 
         verify(taskGroupQueueDao, Mockito.times(1)).deleteById(taskGroupQueue);
+        verify(taskGroupDao, Mockito.never()).releaseTaskGroupSlot(Mockito.anyInt());
 
     }
+
+    @Test
+    void releaseAcquiredTaskGroupSlot() {
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(1);
+        taskInstance.setTaskGroupId(1);
+        TaskGroupQueue taskGroupQueue = new TaskGroupQueue();
+        taskGroupQueue.setGroupId(1);
+        taskGroupQueue.setInQueue(Flag.YES.getCode());
+        taskGroupQueue.setForceStart(Flag.NO.getCode());
+        taskGroupQueue.setStatus(TaskGroupQueueStatus.ACQUIRE_SUCCESS);
+        when(taskGroupQueueDao.queryByTaskInstanceId(taskInstance.getId()))
+                .thenReturn(Lists.newArrayList(taskGroupQueue));
+        taskGroupCoordinator.releaseTaskGroupSlot(taskInstance);
+
+        // The slot is given back directly, the waiting TaskGroupQueue don't need to wait for the amend round
+        verify(taskGroupDao, Mockito.times(1)).releaseTaskGroupSlot(1);
+        verify(taskGroupQueueDao, Mockito.times(1)).deleteById(taskGroupQueue);
+    }
 }
@@ -70,6 +70,11 @@ public abstract class AbstractBaseBenchmark {
             optBuilder.forks(getForks());
         }
 
+        for (String profiler : getProfilers()) {
+            // e.g. -Dprofilers=gc to report the allocation rate
+            optBuilder.addProfiler(profiler);
+        }
+
         String output = getReportDir();
         if (output != null) {
             boolean writeFileStatus;
@@ -111,6 +116,11 @@ public abstract class AbstractBaseBenchmark {
         return null != value ? Integer.parseInt(value) : -1;
     }
 
+    private static String[] getProfilers() {
+        String profilers = System.getProperty("profilers");
+        return null != profilers ? profilers.split(",") : new String[0];
+    }
+
     private static String getReportDir() {
         return System.getProperty("perfReportDir");
     }
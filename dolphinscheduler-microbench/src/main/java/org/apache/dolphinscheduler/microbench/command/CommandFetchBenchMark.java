@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.command;
+
+import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.enums.Priority;
+import org.apache.dolphinscheduler.dao.DaoConfiguration;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.repository.CommandDao;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.server.master.cluster.ClusterManager;
+import org.apache.dolphinscheduler.server.master.cluster.MasterServerMetadata;
+import org.apache.dolphinscheduler.server.master.cluster.MasterSlotManager;
+import org.apache.dolphinscheduler.server.master.config.CommandFetchStrategy;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.engine.command.ICommandFetcher;
+import org.apache.dolphinscheduler.server.master.engine.command.IdSlotBasedCommandFetcher;
+import org.apache.dolphinscheduler.server.master.engine.command.IdSlotCursorBasedCommandFetcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Compare the command fetch latency of the {@link IdSlotBasedCommandFetcher} (modulo predicate) and the
+ * {@link IdSlotCursorBasedCommandFetcher} (primary key range scan) when the command table grows, both of them go
+ * through the CommandMapper.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class CommandFetchBenchMark extends AbstractBaseBenchmark {
+
+    private static final int TOTAL_SLOT = 3;
+
+    private static final int CURRENT_SLOT = 1;
+
+    private static final int FETCH_SIZE = 10;
+
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    @Param({"10000", "50000", "200000"})
+    private int commandSize;
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private ICommandFetcher idSlotBasedCommandFetcher;
+
+    private ICommandFetcher idSlotCursorBasedCommandFetcher;
+
+    @Setup
+    public void before() {
+        // Use the same dao configuration as the servers against an in-memory H2 database
+        applicationContext = new SpringApplicationBuilder(DaoConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .properties(
+                        "spring.config.name=command-fetch-benchmark",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.url=jdbc:h2:mem:command_fetch_" + commandSize
+                                + ";MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=true",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.sql.init.schema-locations=classpath:sql/dolphinscheduler_h2.sql",
+                        "mybatis-plus.mapper-locations=classpath:org/apache/dolphinscheduler/dao/mapper/*Mapper.xml",
+                        "mybatis-plus.type-aliases-package=org.apache.dolphinscheduler.dao.entity",
+                        "mybatis-plus.configuration.cache-enabled=false",
+                        "mybatis-plus.configuration.call-setters-on-nulls=true",
+                        "mybatis-plus.configuration.map-underscore-to-camel-case=true",
+                        "mybatis-plus.configuration.jdbc-type-for-null=NULL",
+                        "mybatis-plus.global-config.db-config.id-type=auto",
+                        "mybatis-plus.global-config.banner=false",
+                        "management.metrics.export.prometheus.enabled=false")
+                .run();
+        final CommandDao commandDao = applicationContext.getBean(CommandDao.class);
+        insertCommands(commandDao);
+
+        final MasterSlotManager masterSlotManager = createMasterSlotManager();
+        final CommandFetchStrategy.IdSlotBasedFetchConfig fetchConfig =
+                new CommandFetchStrategy.IdSlotBasedFetchConfig();
+        fetchConfig.setIdStep(1);
+        fetchConfig.setFetchSize(FETCH_SIZE);
+        idSlotBasedCommandFetcher = new IdSlotBasedCommandFetcher(fetchConfig, masterSlotManager, commandDao);
+        idSlotCursorBasedCommandFetcher =
+                new IdSlotCursorBasedCommandFetcher(fetchConfig, masterSlotManager, commandDao);
+    }
+
+    @TearDown
+    public void after() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int fetchByIdSlot() {
+        return idSlotBasedCommandFetcher.fetchCommands(FETCH_SIZE).size();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int fetchByIdSlotCursor() {
+        return idSlotCursorBasedCommandFetcher.fetchCommands(FETCH_SIZE).size();
+    }
+
+    private void insertCommands(CommandDao commandDao) {
+        final List<Command> commands = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 0; i < commandSize; i++) {
+            final Command command = new Command();
+            command.setCommandType(CommandType.START_PROCESS);
+            command.setWorkflowDefinitionCode(i);
+            command.setCommandParam("{\"complementStartDate\":\"2024-01-01 00:00:00\"}");
+            command.setWorkflowInstancePriority(Priority.values()[i % Priority.values().length]);
+            commands.add(command);
+            if (commands.size() == INSERT_BATCH_SIZE) {
+                commandDao.insertBatch(commands);
+                commands.clear();
+            }
+        }
+        commandDao.insertBatch(commands);
+    }
+
+    private MasterSlotManager createMasterSlotManager() {
+        final MasterConfig masterConfig = new MasterConfig();
+        masterConfig.setMasterAddress("127.0.0.1:" + (5678 + CURRENT_SLOT));
+        final MasterSlotManager masterSlotManager = new MasterSlotManager(new ClusterManager(), masterConfig);
+        final List<MasterServerMetadata> masterServers = new ArrayList<>();
+        for (int i = 0; i < TOTAL_SLOT; i++) {
+            masterServers.add(MasterServerMetadata.builder().address("127.0.0.1:" + (5678 + i)).build());
+        }
+        masterSlotManager.doReBalance(masterServers);
+        return masterSlotManager;
+    }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.dao;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.dao.DaoConfiguration;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Compare the time to create the first run task instances when a workflow with a large DAG starts, inserting the task
+ * instances one by one by {@link TaskInstanceDao#insert} and inserting them by {@link TaskInstanceDao#insertBatch},
+ * both of them go through the TaskInstanceMapper and set the generated ids back.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class TaskInstanceInsertBenchMark extends AbstractBaseBenchmark {
+
+    @Param({"100", "1000", "3000"})
+    private int taskSize;
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private TaskInstanceDao taskInstanceDao;
+
+    private int workflowInstanceId;
+
+    @Setup
+    public void before() {
+        // Use the same dao configuration as the servers against an in-memory H2 database
+        applicationContext = new SpringApplicationBuilder(DaoConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .properties(
+                        "spring.config.name=task-instance-insert-benchmark",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.url=jdbc:h2:mem:task_instance_" + taskSize
+                                + ";MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=true",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.sql.init.schema-locations=classpath:sql/dolphinscheduler_h2.sql",
+                        "mybatis-plus.mapper-locations=classpath:org/apache/dolphinscheduler/dao/mapper/*Mapper.xml",
+                        "mybatis-plus.type-aliases-package=org.apache.dolphinscheduler.dao.entity",
+                        "mybatis-plus.configuration.cache-enabled=false",
+                        "mybatis-plus.configuration.call-setters-on-nulls=true",
+                        "mybatis-plus.configuration.map-underscore-to-camel-case=true",
+                        "mybatis-plus.configuration.jdbc-type-for-null=NULL",
+                        "mybatis-plus.global-config.db-config.id-type=auto",
+                        "mybatis-plus.global-config.banner=false",
+                        "management.metrics.export.prometheus.enabled=false")
+                .run();
+        taskInstanceDao = applicationContext.getBean(TaskInstanceDao.class);
+    }
+
+    @TearDown
+    public void after() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long insertOneByOne() {
+        final List<TaskInstance> taskInstances = createTaskInstances();
+        for (TaskInstance taskInstance : taskInstances) {
+            taskInstanceDao.insert(taskInstance);
+        }
+        return sumIds(taskInstances);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long insertByBatch() {
+        final List<TaskInstance> taskInstances = createTaskInstances();
+        taskInstanceDao.insertBatch(taskInstances);
+        return sumIds(taskInstances);
+    }
+
+    private List<TaskInstance> createTaskInstances() {
+        final int currentWorkflowInstanceId = ++workflowInstanceId;
+        final Date now = new Date();
+        final List<TaskInstance> taskInstances = new ArrayList<>(taskSize);
+        for (int i = 0; i < taskSize; i++) {
+            final TaskInstance taskInstance = new TaskInstance();
+            taskInstance.setName("task-" + i);
+            taskInstance.setTaskType("SHELL");
+            taskInstance.setTaskCode(i);
+            taskInstance.setTaskDefinitionVersion(1);
+            taskInstance.setWorkflowInstanceId(currentWorkflowInstanceId);
+            taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
+            taskInstance.setSubmitTime(now);
+            taskInstance.setFirstSubmitTime(now);
+            taskInstance.setTaskParams("{\"rawScript\":\"echo hello\",\"localParams\":[],\"resourceList\":[]}");
+            taskInstance.setFlag(Flag.YES);
+            taskInstances.add(taskInstance);
+        }
+        return taskInstances;
+    }
+
+    private long sumIds(List<TaskInstance> taskInstances) {
+        long idSum = 0;
+        for (TaskInstance taskInstance : taskInstances) {
+            idSum += taskInstance.getId();
+        }
+        return idSum;
+    }
+}
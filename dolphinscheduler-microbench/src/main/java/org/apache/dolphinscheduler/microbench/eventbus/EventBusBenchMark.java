@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.eventbus;
+
+import org.apache.dolphinscheduler.eventbus.AbstractDelayEvent;
+import org.apache.dolphinscheduler.eventbus.AbstractDelayEventBus;
+import org.apache.dolphinscheduler.eventbus.AbstractTimingWheelDelayEventBus;
+import org.apache.dolphinscheduler.eventbus.IEventBus;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compare the {@link AbstractDelayEventBus} which is based on DelayQueue with the
+ * {@link AbstractTimingWheelDelayEventBus}, when several producers publish events into one bus and one consumer polls
+ * the events, and when a bus is created for each workflow.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Group)
+public class EventBusBenchMark extends AbstractBaseBenchmark {
+
+    /**
+     * The producers will stop publishing when the bus has this many events, to avoid the bus growing without limit.
+     */
+    private static final int MAX_BACKLOG = 100_000;
+
+    @Param({"DELAY_QUEUE", "TIMING_WHEEL"})
+    private String eventBusType;
+
+    /**
+     * The percentage of the events which have a delay time.
+     */
+    @Param({"0", "10"})
+    private int delayEventPercentage;
+
+    private IEventBus<BenchMarkEvent> eventBus;
+
+    private final AtomicInteger backlog = new AtomicInteger();
+
+    @Setup
+    public void before() {
+        eventBus = createEventBus(eventBusType);
+    }
+
+    @Benchmark
+    @Group("publishAndPoll")
+    @GroupThreads(4)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void publish() {
+        if (backlog.get() >= MAX_BACKLOG) {
+            Blackhole.consumeCPU(64);
+            return;
+        }
+        backlog.incrementAndGet();
+        eventBus.publish(new BenchMarkEvent(nextDelayTime()));
+    }
+
+    @Benchmark
+    @Group("publishAndPoll")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Optional<BenchMarkEvent> poll() throws InterruptedException {
+        final Optional<BenchMarkEvent> event = eventBus.poll();
+        if (event.isPresent()) {
+            backlog.decrementAndGet();
+        }
+        return event;
+    }
+
+    /**
+     * Each workflow has its own bus, this measures the cost to create a bus and fire one event through it.
+     */
+    @Benchmark
+    @Group("createBusAndPublish")
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Optional<BenchMarkEvent> createBusAndPublish() throws InterruptedException {
+        final IEventBus<BenchMarkEvent> workflowEventBus = createEventBus(eventBusType);
+        workflowEventBus.publish(new BenchMarkEvent(0));
+        return workflowEventBus.poll();
+    }
+
+    private long nextDelayTime() {
+        if (ThreadLocalRandom.current().nextInt(100) >= delayEventPercentage) {
+            return 0;
+        }
+        return ThreadLocalRandom.current().nextInt(1, 100);
+    }
+
+    private static IEventBus<BenchMarkEvent> createEventBus(final String eventBusType) {
+        switch (eventBusType) {
+            case "DELAY_QUEUE":
+                return new DelayQueueEventBus();
+            case "TIMING_WHEEL":
+                return new TimingWheelEventBus();
+            default:
+                throw new IllegalArgumentException("Unsupported event bus type: " + eventBusType);
+        }
+    }
+
+    public static class BenchMarkEvent extends AbstractDelayEvent {
+
+        public BenchMarkEvent(long delayTime) {
+            super(delayTime);
+        }
+    }
+
+    private static class DelayQueueEventBus extends AbstractDelayEventBus<BenchMarkEvent> {
+    }
+
+    private static class TimingWheelEventBus extends AbstractTimingWheelDelayEventBus<BenchMarkEvent> {
+    }
+}
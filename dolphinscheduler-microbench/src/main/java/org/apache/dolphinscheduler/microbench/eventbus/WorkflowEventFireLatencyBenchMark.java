@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.eventbus;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.entity.WorkflowDefinition;
+import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.server.master.engine.AbstractLifecycleEvent;
+import org.apache.dolphinscheduler.server.master.engine.ILifecycleEventHandler;
+import org.apache.dolphinscheduler.server.master.engine.ILifecycleEventType;
+import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBus;
+import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBusFireWorker;
+import org.apache.dolphinscheduler.server.master.engine.graph.IWorkflowExecutionGraph;
+import org.apache.dolphinscheduler.server.master.engine.graph.IWorkflowGraph;
+import org.apache.dolphinscheduler.server.master.engine.workflow.listener.IWorkflowLifecycleListener;
+import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.runner.IWorkflowExecuteContext;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measure the latency from an event published into a {@link WorkflowEventBus} to the event handled, this is the
+ * latency reported by the {@code ds.workflow.event.fire.latency} metric.
+ * <p>
+ * The {@code POLLING} mode scans all the registered workflows every 100 milliseconds like the fire worker used to,
+ * the {@code WAKE_ON_PUBLISH} mode uses the {@link WorkflowEventBusFireWorker} which is woken up once an event is
+ * published.
+ */
+@Warmup(iterations = 1, time = 2)
+@Measurement(iterations = 3, time = 2)
+@State(Scope.Benchmark)
+public class WorkflowEventFireLatencyBenchMark extends AbstractBaseBenchmark {
+
+    private static final long POLLING_INTERVAL = 100;
+
+    @Param({"POLLING", "WAKE_ON_PUBLISH"})
+    private String fireMode;
+
+    /**
+     * The count of the workflows which are registered in the worker, only one of them has event in each invocation.
+     */
+    @Param({"1", "1000"})
+    private int workflowCount;
+
+    private BenchMarkWorkflowExecutionRunnable[] workflows;
+
+    private ScheduledExecutorService pollingExecutor;
+
+    private Thread fireWorkerThread;
+
+    @Setup
+    public void before() {
+        workflows = new BenchMarkWorkflowExecutionRunnable[workflowCount];
+        for (int i = 0; i < workflowCount; i++) {
+            workflows[i] = new BenchMarkWorkflowExecutionRunnable(i);
+        }
+        switch (fireMode) {
+            case "POLLING":
+                pollingExecutor = ThreadUtils.newSingleDaemonScheduledExecutorService("BenchMarkPollingFireWorker");
+                pollingExecutor.scheduleWithFixedDelay(
+                        this::fireAllRegisteredEvent, POLLING_INTERVAL, POLLING_INTERVAL, TimeUnit.MILLISECONDS);
+                break;
+            case "WAKE_ON_PUBLISH":
+                final WorkflowEventBusFireWorker fireWorker = new WorkflowEventBusFireWorker();
+                fireWorker.registerEventHandler(new BenchMarkEventHandler());
+                for (BenchMarkWorkflowExecutionRunnable workflow : workflows) {
+                    fireWorker.registerWorkflowEventBus(workflow);
+                }
+                fireWorkerThread = new Thread(fireWorker, "BenchMarkWakeOnPublishFireWorker");
+                fireWorkerThread.setDaemon(true);
+                fireWorkerThread.start();
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported fire mode: " + fireMode);
+        }
+    }
+
+    @TearDown
+    public void after() {
+        if (pollingExecutor != null) {
+            pollingExecutor.shutdownNow();
+        }
+        if (fireWorkerThread != null) {
+            fireWorkerThread.interrupt();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void publishAndWaitFired() throws InterruptedException {
+        final BenchMarkWorkflowExecutionRunnable workflow =
+                workflows[ThreadLocalRandom.current().nextInt(workflowCount)];
+        final BenchMarkEvent event = new BenchMarkEvent();
+        workflow.getWorkflowEventBus().publish(event);
+        event.fired.await();
+    }
+
+    /**
+     * Scan all the workflows and fire the events of the workflows which have events.
+     */
+    private void fireAllRegisteredEvent() {
+        for (BenchMarkWorkflowExecutionRunnable workflow : workflows) {
+            final WorkflowEventBus workflowEventBus = workflow.getWorkflowEventBus();
+            while (!workflowEventBus.isEmpty()) {
+                final Optional<AbstractLifecycleEvent> event = workflowEventBus.poll();
+                if (!event.isPresent()) {
+                    break;
+                }
+                ((BenchMarkEvent) event.get()).fired.countDown();
+            }
+        }
+    }
+
+    private enum BenchMarkEventType implements ILifecycleEventType {
+        BENCHMARK
+    }
+
+    private static class BenchMarkEvent extends AbstractLifecycleEvent {
+
+        private final CountDownLatch fired = new CountDownLatch(1);
+
+        @Override
+        public ILifecycleEventType getEventType() {
+            return BenchMarkEventType.BENCHMARK;
+        }
+    }
+
+    private static class BenchMarkEventHandler implements ILifecycleEventHandler<BenchMarkEvent> {
+
+        @Override
+        public void handle(IWorkflowExecutionRunnable workflowExecutionRunnable, BenchMarkEvent event) {
+            event.fired.countDown();
+        }
+
+        @Override
+        public ILifecycleEventType matchEventType() {
+            return BenchMarkEventType.BENCHMARK;
+        }
+    }
+
+    /**
+     * A workflow execution runnable which only holds the workflow instance and the event bus.
+     */
+    private static class BenchMarkWorkflowExecutionRunnable implements IWorkflowExecutionRunnable {
+
+        private final IWorkflowExecuteContext workflowExecuteContext;
+
+        BenchMarkWorkflowExecutionRunnable(int workflowInstanceId) {
+            final WorkflowInstance workflowInstance = new WorkflowInstance();
+            workflowInstance.setId(workflowInstanceId);
+            workflowInstance.setName("workflow-" + workflowInstanceId);
+            this.workflowExecuteContext = new BenchMarkWorkflowExecuteContext(workflowInstance);
+        }
+
+        @Override
+        public void pause() {
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        public IWorkflowExecuteContext getWorkflowExecuteContext() {
+            return workflowExecuteContext;
+        }
+
+        @Override
+        public List<IWorkflowLifecycleListener> getWorkflowLifecycleListeners() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void registerWorkflowInstanceLifecycleListener(IWorkflowLifecycleListener listener) {
+        }
+    }
+
+    private static class BenchMarkWorkflowExecuteContext implements IWorkflowExecuteContext {
+
+        private final WorkflowInstance workflowInstance;
+
+        private final WorkflowEventBus workflowEventBus = new WorkflowEventBus();
+
+        BenchMarkWorkflowExecuteContext(WorkflowInstance workflowInstance) {
+            this.workflowInstance = workflowInstance;
+        }
+
+        @Override
+        public Command getCommand() {
+            return null;
+        }
+
+        @Override
+        public WorkflowDefinition getWorkflowDefinition() {
+            return null;
+        }
+
+        @Override
+        public WorkflowInstance getWorkflowInstance() {
+            return workflowInstance;
+        }
+
+        @Override
+        public IWorkflowGraph getWorkflowGraph() {
+            return null;
+        }
+
+        @Override
+        public IWorkflowExecutionGraph getWorkflowExecutionGraph() {
+            return null;
+        }
+
+        @Override
+        public WorkflowEventBus getWorkflowEventBus() {
+            return workflowEventBus;
+        }
+
+        @Override
+        public List<IWorkflowLifecycleListener> getWorkflowInstanceLifecycleListeners() {
+            return Collections.emptyList();
+        }
+    }
+}
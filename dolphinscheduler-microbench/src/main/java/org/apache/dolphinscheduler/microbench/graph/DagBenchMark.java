@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.graph;
+
+import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare building and validating the {@link DAG} of a large workflow definition by adding the edges one by one, which
+ * checks the cycle for each edge, and by the {@link DAG.Builder}, which checks the cycle once after all the edges are
+ * added.
+ * <p>
+ * The validate benchmarks do the cycle check like saving or validating a workflow definition in the api server, the
+ * build benchmarks do the cycle check and build the DAG and then sort it like the master and the api server do when
+ * they read a workflow definition.
+ */
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 3, time = 1)
+@State(Scope.Benchmark)
+public class DagBenchMark extends AbstractBaseBenchmark {
+
+    /**
+     * The number of the tasks in each layer, each task depends on three tasks in the previous layer.
+     */
+    private static final int LAYER_WIDTH = 100;
+
+    @Param({"1000", "10000"})
+    private int taskSize;
+
+    /**
+     * The order in which the edges are added, adding the edges in topological order is the best case for adding the
+     * edges one by one, since the new edge's destination node has no subsequent node yet, and adding them in reverse
+     * order is the worst case.
+     */
+    @Param({"topological", "reverse"})
+    private String edgeOrder;
+
+    private List<long[]> edges;
+
+    @Setup
+    public void before() {
+        edges = new ArrayList<>();
+        for (int i = LAYER_WIDTH; i < taskSize; i++) {
+            final int previousLayerStart = (i / LAYER_WIDTH - 1) * LAYER_WIDTH;
+            for (int j = 0; j < 3; j++) {
+                edges.add(new long[]{previousLayerStart + (i + j) % LAYER_WIDTH, i});
+            }
+        }
+        if ("reverse".equals(edgeOrder)) {
+            Collections.reverse(edges);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean validateByAddEdgeOneByOne() {
+        final DAG<Long, Long, Long> dag = new DAG<>();
+        for (long i = 0; i < taskSize; i++) {
+            dag.addNode(i, i);
+        }
+        for (long[] edge : edges) {
+            if (!dag.addEdge(edge[0], edge[1])) {
+                return true;
+            }
+        }
+        return dag.hasCycle();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean validateByBuilder() {
+        final DAG.Builder<Long, Long, Long> builder = DAG.builder();
+        for (long i = 0; i < taskSize; i++) {
+            builder.addNode(i, i);
+        }
+        for (long[] edge : edges) {
+            if (!builder.addEdge(edge[0], edge[1])) {
+                return true;
+            }
+        }
+        return !builder.findCycle().isEmpty();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Long> buildAndSortByAddEdgeOneByOne() throws Exception {
+        final DAG<Long, Long, Long> dag = new DAG<>();
+        for (long i = 0; i < taskSize; i++) {
+            dag.addNode(i, i);
+        }
+        for (long[] edge : edges) {
+            dag.addEdge(edge[0], edge[1]);
+        }
+        return dag.topologicalSort();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Long> buildAndSortByBuilder() throws Exception {
+        final DAG.Builder<Long, Long, Long> builder = DAG.builder();
+        for (long i = 0; i < taskSize; i++) {
+            builder.addNode(i, i);
+        }
+        for (long[] edge : edges) {
+            builder.addEdge(edge[0], edge[1]);
+        }
+        final DAG<Long, Long, Long> dag = builder.build();
+        return dag.topologicalSort();
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.graph;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.common.enums.TaskDependType;
+import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.dao.entity.WorkflowTaskRelation;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBus;
+import org.apache.dolphinscheduler.server.master.engine.graph.IWorkflowExecutionGraph;
+import org.apache.dolphinscheduler.server.master.engine.graph.IWorkflowGraph;
+import org.apache.dolphinscheduler.server.master.engine.graph.WorkflowExecutionGraph;
+import org.apache.dolphinscheduler.server.master.engine.graph.WorkflowGraph;
+import org.apache.dolphinscheduler.server.master.engine.graph.WorkflowGraphTopologyLogicalVisitor;
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Drive a synthetic layered DAG through the {@link WorkflowGraphTopologyLogicalVisitor} to build the
+ * {@link WorkflowExecutionGraph}, and then look up and trigger all the tasks in the graph like the workflow engine
+ * does when the tasks finish one by one.
+ * <p>
+ * The {@code verifyIncrementalState} param makes the graph scan the predecessors on each check like it used to, so
+ * the cost of the scanning can be compared with the incremental counters, especially on the fan-in DAG.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class WorkflowExecutionGraphBenchMark extends AbstractBaseBenchmark {
+
+    /**
+     * The number of the tasks in each layer, each task depends on three tasks in the previous layer.
+     */
+    private static final int LAYER_WIDTH = 100;
+
+    @Param({"1000", "10000"})
+    private int taskSize;
+
+    @Param({"false", "true"})
+    private boolean verifyIncrementalState;
+
+    private IWorkflowGraph workflowGraph;
+
+    private WorkflowExecutionGraph workflowExecutionGraph;
+
+    private List<String> topologyOrderTaskNames;
+
+    private List<TaskDefinition> fanInTaskDefinitions;
+
+    @Setup
+    public void before() {
+        final List<TaskDefinition> taskDefinitions = new ArrayList<>(taskSize);
+        final List<WorkflowTaskRelation> workflowTaskRelations = new ArrayList<>();
+        for (int i = 0; i < taskSize; i++) {
+            final TaskDefinition taskDefinition = new TaskDefinition();
+            taskDefinition.setCode(i + 1);
+            taskDefinition.setName("task-" + i);
+            taskDefinition.setFlag(Flag.YES);
+            taskDefinitions.add(taskDefinition);
+            if (i < LAYER_WIDTH) {
+                workflowTaskRelations.add(newRelation(0, i + 1));
+                continue;
+            }
+            final int previousLayerStart = (i / LAYER_WIDTH - 1) * LAYER_WIDTH;
+            final int offset = i % LAYER_WIDTH;
+            workflowTaskRelations.add(newRelation(previousLayerStart + offset + 1, i + 1));
+            workflowTaskRelations.add(newRelation(previousLayerStart + (offset + 1) % LAYER_WIDTH + 1, i + 1));
+            workflowTaskRelations.add(newRelation(previousLayerStart + (offset + 7) % LAYER_WIDTH + 1, i + 1));
+        }
+        workflowGraph = new WorkflowGraph(workflowTaskRelations, taskDefinitions);
+        workflowExecutionGraph = buildWorkflowExecutionGraph();
+        fanInTaskDefinitions = new ArrayList<>(taskDefinitions);
+        topologyOrderTaskNames = new ArrayList<>(taskSize);
+        for (ITaskExecutionRunnable taskExecutionRunnable : workflowExecutionGraph.getAllTaskExecutionRunnable()) {
+            topologyOrderTaskNames.add(taskExecutionRunnable.getName());
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public WorkflowExecutionGraph buildGraphByTopologyLogicalVisitor() {
+        return buildWorkflowExecutionGraph();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int lookupAllTasksByIdAndCode() {
+        int found = 0;
+        for (int i = 0; i < taskSize; i++) {
+            if (workflowExecutionGraph.getTaskExecutionRunnableById(i + 1) != null) {
+                found++;
+            }
+            if (workflowExecutionGraph.getTaskExecutionRunnableByTaskCode((long) i + 1) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int finishAllTasksAndTriggerSuccessors() {
+        final WorkflowExecutionGraph graph = buildWorkflowExecutionGraph();
+        int triggered = 0;
+        for (String taskName : topologyOrderTaskNames) {
+            final ITaskExecutionRunnable taskExecutionRunnable = graph.getTaskExecutionRunnableByName(taskName);
+            graph.markTaskExecutionRunnableActive(taskExecutionRunnable);
+            graph.markTaskExecutionRunnableInActive(graph.getTaskExecutionRunnableById(
+                    taskExecutionRunnable.getTaskInstance().getId()));
+            for (ITaskExecutionRunnable successor : graph.getSuccessors(taskExecutionRunnable)) {
+                if (graph.isTriggerConditionMet(successor)) {
+                    triggered++;
+                }
+            }
+        }
+        if (!graph.isAllTaskExecutionRunnableChainSuccess()) {
+            throw new IllegalStateException("The workflow execution graph should be success");
+        }
+        return triggered;
+    }
+
+    /**
+     * All the tasks are the predecessors of one join task, each time an upstream task finishes the join task is
+     * checked.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int finishFanInTasksAndTriggerJoin() {
+        final WorkflowExecutionGraph graph = new WorkflowExecutionGraph(verifyIncrementalState);
+        final TaskDefinition joinTaskDefinition = new TaskDefinition();
+        joinTaskDefinition.setCode(taskSize + 1);
+        joinTaskDefinition.setName("join");
+        joinTaskDefinition.setFlag(Flag.YES);
+        final ITaskExecutionRunnable join = new BenchMarkTaskExecutionRunnable(graph, joinTaskDefinition);
+        final List<ITaskExecutionRunnable> upstreamTasks = new ArrayList<>(taskSize);
+        for (TaskDefinition taskDefinition : fanInTaskDefinitions) {
+            final ITaskExecutionRunnable upstreamTask = new BenchMarkTaskExecutionRunnable(graph, taskDefinition);
+            graph.addNode(upstreamTask);
+            graph.addEdge(upstreamTask.getName(), Collections.singleton(join.getName()));
+            graph.markTaskExecutionRunnableActive(upstreamTask);
+            upstreamTasks.add(upstreamTask);
+        }
+        graph.addNode(join);
+        graph.addEdge(join.getName(), Collections.emptySet());
+        int triggered = 0;
+        for (ITaskExecutionRunnable upstreamTask : upstreamTasks) {
+            graph.markTaskExecutionRunnableInActive(upstreamTask);
+            if (graph.isTriggerConditionMet(join)) {
+                triggered++;
+            }
+        }
+        return triggered;
+    }
+
+    private WorkflowExecutionGraph buildWorkflowExecutionGraph() {
+        final WorkflowExecutionGraph graph = new WorkflowExecutionGraph(verifyIncrementalState);
+        WorkflowGraphTopologyLogicalVisitor.builder()
+                .taskDependType(TaskDependType.TASK_POST)
+                .onWorkflowGraph(workflowGraph)
+                .doVisitFunction((taskName, successors) -> {
+                    graph.addNode(new BenchMarkTaskExecutionRunnable(graph,
+                            workflowGraph.getTaskNodeByName(taskName)));
+                    graph.addEdge(taskName, successors);
+                })
+                .build()
+                .visit();
+        return graph;
+    }
+
+    private static WorkflowTaskRelation newRelation(long preTaskCode, long postTaskCode) {
+        final WorkflowTaskRelation workflowTaskRelation = new WorkflowTaskRelation();
+        workflowTaskRelation.setPreTaskCode(preTaskCode);
+        workflowTaskRelation.setPostTaskCode(postTaskCode);
+        return workflowTaskRelation;
+    }
+
+    /**
+     * A task execution runnable which only holds the task definition and the task instance, the task instance id is
+     * same as the task code.
+     */
+    private static class BenchMarkTaskExecutionRunnable implements ITaskExecutionRunnable {
+
+        private final IWorkflowExecutionGraph workflowExecutionGraph;
+
+        private final TaskDefinition taskDefinition;
+
+        private final TaskInstance taskInstance;
+
+        BenchMarkTaskExecutionRunnable(IWorkflowExecutionGraph workflowExecutionGraph,
+                                       TaskDefinition taskDefinition) {
+            this.workflowExecutionGraph = workflowExecutionGraph;
+            this.taskDefinition = taskDefinition;
+            this.taskInstance = new TaskInstance();
+            this.taskInstance.setId((int) taskDefinition.getCode());
+            this.taskInstance.setName(taskDefinition.getName());
+            this.taskInstance.setState(TaskExecutionStatus.SUCCESS);
+        }
+
+        @Override
+        public boolean isTaskInstanceInitialized() {
+            return true;
+        }
+
+        @Override
+        public void initializeFirstRunTaskInstance() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void initializeFirstRunTaskInstance(TaskInstance firstRunTaskInstance) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isTaskInstanceCanRetry() {
+            return false;
+        }
+
+        @Override
+        public void retry() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void failover() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void pause() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void kill() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public WorkflowEventBus getWorkflowEventBus() {
+            return null;
+        }
+
+        @Override
+        public IWorkflowExecutionGraph getWorkflowExecutionGraph() {
+            return workflowExecutionGraph;
+        }
+
+        @Override
+        public WorkflowInstance getWorkflowInstance() {
+            return null;
+        }
+
+        @Override
+        public TaskInstance getTaskInstance() {
+            return taskInstance;
+        }
+
+        @Override
+        public TaskDefinition getTaskDefinition() {
+            return taskDefinition;
+        }
+
+        @Override
+        public TaskExecutionContext getTaskExecutionContext() {
+            return null;
+        }
+
+        @Override
+        public int compareTo(ITaskExecutionRunnable other) {
+            return Integer.compare(taskInstance.getId(), other.getTaskInstance().getId());
+        }
+    }
+}
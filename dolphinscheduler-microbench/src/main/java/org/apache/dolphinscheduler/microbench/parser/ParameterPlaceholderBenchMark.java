@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.parser;
+
+import org.apache.dolphinscheduler.common.constants.DateConstants;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.plugin.task.api.parser.TimePlaceholderUtils;
+import org.apache.dolphinscheduler.plugin.task.api.utils.ParameterUtils;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Replace the {@code ${var}} and {@code $[yyyyMMdd-1]} placeholders of a task script, like the worker does before
+ * running each task instance.
+ * <p>
+ * The same script is rendered again and again with the different parameters, so the compiled templates and time
+ * expressions are reused after the first time.
+ */
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 3, time = 1)
+@State(Scope.Benchmark)
+public class ParameterPlaceholderBenchMark extends AbstractBaseBenchmark {
+
+    private static final String[] SCRIPT_LINES = {
+            "insert overwrite table ${db}.dwd_order partition (dt='$[yyyyMMdd-1]')",
+            "select * from ${db}.ods_order where dt >= '$[add_months(yyyyMMdd,-1)]' and dt < '$[yyyyMMdd]'",
+            "  and update_time < $[timestamp(yyyyMMddHHmmss)] and shop_id = ${shop_id}",
+            "  and month_begin = '$[month_first_day(yyyy-MM-dd,-1)]' and month_end = '$[month_last_day(yyyy-MM-dd,-1)]'",
+            "  and hour = '$[yyyyMMddHH-1/24]' and week = '$[year_week(yyyy-MM-dd)]' -- ${system.task.instance.id}",
+    };
+
+    /**
+     * The number of the times the script lines are repeated.
+     */
+    @Param({"10", "100"})
+    private int repeat;
+
+    private String script;
+
+    private Map<String, String> paramsMap;
+
+    private Date date;
+
+    @Setup
+    public void before() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < repeat; i++) {
+            for (String line : SCRIPT_LINES) {
+                builder.append(line).append('\n');
+            }
+        }
+        script = builder.toString();
+        paramsMap = new HashMap<>();
+        paramsMap.put("db", "warehouse");
+        paramsMap.put("shop_id", "${default_shop_id}");
+        paramsMap.put("default_shop_id", "10086");
+        paramsMap.put("system.task.instance.id", "1");
+        paramsMap.put(DateConstants.PARAMETER_DATETIME, "20240301120000");
+        date = new Date();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String convertParameterPlaceholders() {
+        return ParameterUtils.convertParameterPlaceholders(script, paramsMap);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String replaceTimePlaceholders() {
+        return TimePlaceholderUtils.replacePlaceholders(script, date, true);
+    }
+}
@@ -19,6 +19,8 @@ package org.apache.dolphinscheduler.microbench.rpc;
 
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchRequest;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchResponse;
 
 @RpcService
 public interface IService {
@@ -26,4 +28,7 @@ public interface IService {
     @RpcMethod
     String ping(String pingRequest);
 
+    @RpcMethod
+    TaskInstanceDispatchResponse dispatchTask(TaskInstanceDispatchRequest taskInstanceDispatchRequest);
+
 }
@@ -17,6 +17,9 @@
 
 package org.apache.dolphinscheduler.microbench.rpc;
 
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchRequest;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchResponse;
+
 public class IServiceImpl implements IService {
 
     @Override
@@ -24,4 +27,10 @@ public class IServiceImpl implements IService {
         return "I get " + pingRequest + ", I am Pong!";
     }
 
+    @Override
+    public TaskInstanceDispatchResponse dispatchTask(TaskInstanceDispatchRequest taskInstanceDispatchRequest) {
+        return TaskInstanceDispatchResponse
+                .success(taskInstanceDispatchRequest.getTaskExecutionContext().getTaskInstanceId());
+    }
+
 }
@@ -19,9 +19,21 @@ package org.apache.dolphinscheduler.microbench.rpc;
 
 import org.apache.dolphinscheduler.extract.base.client.Clients;
 import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
+import org.apache.dolphinscheduler.extract.base.serialize.ISerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
 import org.apache.dolphinscheduler.extract.base.server.SpringServerMethodInvokerDiscovery;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchRequest;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchResponse;
 import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
+import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
 
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
@@ -31,6 +43,7 @@ import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -38,6 +51,10 @@ import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
 
+/**
+ * Benchmark the rpc call with different {@link SerializerType}.
+ * <p> The serialized bytes of each call is printed at setup, run with {@code -Dprofilers=gc} to get the allocation rate.
+ */
 @Slf4j
 @Warmup(iterations = 5, time = 1)
 @Measurement(iterations = 10, time = 1)
@@ -47,18 +64,35 @@ public class RpcBenchMarkTest extends AbstractBaseBenchmark {
 
     private SpringServerMethodInvokerDiscovery springServerMethodInvokerDiscovery;
 
+    @Param({"JSON", "CBOR"})
+    private String serializerType;
+
+    @Param({"1", "64"})
+    private int taskParamsSizeInKB;
+
     private IService iService;
 
+    private TaskInstanceDispatchRequest taskInstanceDispatchRequest;
+
     @Setup
     public void before() {
+        taskInstanceDispatchRequest = new TaskInstanceDispatchRequest(createTaskExecutionContext());
+        logSerializedBytes();
+
         NettyServerConfig nettyServerConfig =
-                NettyServerConfig.builder().serverName("NettyRemotingServer").listenPort(12345).build();
+                NettyServerConfig.builder()
+                        .serverName("NettyRemotingServer")
+                        .listenPort(12345)
+                        .serializerType(SerializerType.valueOf(serializerType))
+                        .build();
         springServerMethodInvokerDiscovery = new SpringServerMethodInvokerDiscovery(nettyServerConfig);
         springServerMethodInvokerDiscovery.postProcessAfterInitialization(new IServiceImpl(), "iServiceImpl");
         springServerMethodInvokerDiscovery.start();
         iService = Clients
                 .withService(IService.class)
                 .withHost("localhost:12345");
+        // the first request negotiates the serializer of the channel
+        iService.ping("ping");
     }
 
     @Benchmark
@@ -69,8 +103,50 @@ public class RpcBenchMarkTest extends AbstractBaseBenchmark {
         bh.consume(pong);
     }
 
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void dispatchTaskTest(Blackhole bh) {
+        TaskInstanceDispatchResponse taskInstanceDispatchResponse =
+                iService.dispatchTask(taskInstanceDispatchRequest);
+        bh.consume(taskInstanceDispatchResponse);
+    }
+
     @TearDown
     public void after() {
         springServerMethodInvokerDiscovery.close();
     }
+
+    private void logSerializedBytes() {
+        ISerializer serializer = SerializerType.valueOf(serializerType).getSerializer();
+        log.info("Serializer: {}, ping request bytes: {}, dispatch request bytes: {}",
+                serializerType,
+                serializer.serializeArgs(new Object[]{"ping"}).length,
+                serializer.serializeArgs(new Object[]{taskInstanceDispatchRequest}).length);
+    }
+
+    private TaskExecutionContext createTaskExecutionContext() {
+        Map<String, Property> prepareParamsMap = new HashMap<>();
+        for (int i = 0; i < 32; i++) {
+            prepareParamsMap.put("param" + i, new Property("param" + i, Direct.IN, DataType.VARCHAR, "value" + i));
+        }
+        return TaskExecutionContext.builder()
+                .taskInstanceId(1)
+                .taskName("benchmark-task")
+                .taskType("SHELL")
+                .firstSubmitTime(System.currentTimeMillis())
+                .workflowInstanceHost("127.0.0.1:5678")
+                .executePath("/tmp/dolphinscheduler/exec/process/default/1/1/1")
+                .logPath("/tmp/dolphinscheduler/logs/1/1/1.log")
+                .workflowDefinitionCode(1L)
+                .workflowDefinitionVersion(1)
+                .workflowInstanceId(1)
+                .tenantCode("default")
+                .projectCode(1L)
+                .workerGroup("default")
+                .taskParams(StringUtils.repeat('x', taskParamsSizeInKB * 1024))
+                .prepareParamsMap(prepareParamsMap)
+                .paramsMap(prepareParamsMap)
+                .build();
+    }
 }
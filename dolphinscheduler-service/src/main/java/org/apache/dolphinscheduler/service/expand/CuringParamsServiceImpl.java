@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.service.expand;
 
-import static java.util.Objects.nonNull;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.PARAMETER_PROJECT_CODE;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.PARAMETER_PROJECT_NAME;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.PARAMETER_TASK_DEFINITION_CODE;
@@ -67,6 +66,8 @@ import lombok.NonNull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.google.common.collect.Maps;
+
 @Component
 public class CuringParamsServiceImpl implements CuringParamsService {
 
@@ -78,11 +79,9 @@ public class CuringParamsServiceImpl implements CuringParamsService {
 
     @Override
     public String convertParameterPlaceholders(String val, Map<String, Property> allParamMap) {
-        Map<String, String> paramMap = allParamMap
-                .entrySet()
-                .stream()
-                .filter(entry -> nonNull(entry.getValue().getValue()))
-                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getValue()));
+        // a live view rather than a copy, this is called for each parameter, and the null value is treated as absent by
+        // the placeholder resolver
+        Map<String, String> paramMap = Maps.transformValues(allParamMap, Property::getValue);
         return ParameterUtils.convertParameterPlaceholders(val, paramMap);
     }
 
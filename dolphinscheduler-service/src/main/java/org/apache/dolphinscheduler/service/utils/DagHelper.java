@@ -466,16 +466,34 @@ public class DagHelper {
      */
     public static DAG<Long, TaskNode, TaskNodeRelation> buildDagGraph(WorkflowDag workflowDag) {
 
-        DAG<Long, TaskNode, TaskNodeRelation> dag = new DAG<>();
+        DAG.Builder<Long, TaskNode, TaskNodeRelation> dagBuilder = DAG.builder();
 
         // add vertex
         if (CollectionUtils.isNotEmpty(workflowDag.getNodes())) {
             for (TaskNode node : workflowDag.getNodes()) {
-                dag.addNode(node.getCode(), node);
+                dagBuilder.addNode(node.getCode(), node);
+            }
+        }
+
+        // add edge, the cycle is detected once after all the edges are added
+        if (CollectionUtils.isNotEmpty(workflowDag.getEdges())) {
+            for (TaskNodeRelation edge : workflowDag.getEdges()) {
+                dagBuilder.addEdge(edge.getStartNode(), edge.getEndNode());
             }
         }
+        if (dagBuilder.findCycle().isEmpty()) {
+            return dagBuilder.build();
+        }
 
-        // add edge
+        // The workflow definition is checked when saving, so this should not happen, fallback to add the edges one by
+        // one, the edges cause cycle will be dropped.
+        log.error("The workflow dag has cycle: {}", dagBuilder.findCycle());
+        DAG<Long, TaskNode, TaskNodeRelation> dag = new DAG<>();
+        if (CollectionUtils.isNotEmpty(workflowDag.getNodes())) {
+            for (TaskNode node : workflowDag.getNodes()) {
+                dag.addNode(node.getCode(), node);
+            }
+        }
         if (CollectionUtils.isNotEmpty(workflowDag.getEdges())) {
             for (TaskNodeRelation edge : workflowDag.getEdges()) {
                 dag.addEdge(edge.getStartNode(), edge.getEndNode());
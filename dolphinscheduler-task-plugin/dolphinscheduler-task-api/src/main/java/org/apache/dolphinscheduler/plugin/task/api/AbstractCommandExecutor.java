@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.plugin.task.api;
 
-import static org.apache.dolphinscheduler.common.constants.Constants.EMPTY_STRING;
 import static org.apache.dolphinscheduler.common.constants.Constants.SLEEP_TIME_MILLIS;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.EXIT_CODE_FAILURE;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.EXIT_CODE_KILL;
@@ -25,11 +24,12 @@ import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.EXIT_COD
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.plugin.task.api.log.TaskLogPump;
+import org.apache.dolphinscheduler.plugin.task.api.log.TaskLogSession;
 import org.apache.dolphinscheduler.plugin.task.api.model.TaskResponse;
 import org.apache.dolphinscheduler.plugin.task.api.parser.TaskOutputParameterParser;
 import org.apache.dolphinscheduler.plugin.task.api.shell.IShellInterceptor;
 import org.apache.dolphinscheduler.plugin.task.api.shell.IShellInterceptorBuilder;
-import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.plugin.task.api.utils.ProcessUtils;
 import org.apache.dolphinscheduler.plugin.task.api.utils.ShellUtils;
 
@@ -42,7 +42,6 @@ import java.lang.reflect.Field;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -69,13 +68,9 @@ public abstract class AbstractCommandExecutor {
     protected Consumer<LinkedBlockingQueue<String>> logHandler;
 
     /**
-     * log list
+     * the task log pumped by the shared {@link TaskLogPump}
      */
-    protected LinkedBlockingQueue<String> logBuffer;
-
-    protected boolean processLogOutputIsSuccess = false;
-
-    protected boolean podLogOutputIsFinished = false;
+    protected TaskLogSession taskLogSession;
 
     /**
      * taskRequest
@@ -90,8 +85,6 @@ public abstract class AbstractCommandExecutor {
                                    TaskExecutionContext taskRequest) {
         this.logHandler = logHandler;
         this.taskRequest = taskRequest;
-        this.logBuffer = new LinkedBlockingQueue<>();
-        this.logBuffer.add(EMPTY_STRING);
 
         if (this.taskRequest != null) {
             // set logBufferEnable=true if the task uses logHandler and logBuffer to buffer log messages
@@ -137,11 +130,19 @@ public abstract class AbstractCommandExecutor {
         IShellInterceptor iShellInterceptor = iShellInterceptorBuilder.build();
         process = iShellInterceptor.execute();
 
-        // parse process output
-        parseProcessOutput(this.process);
-
-        // collect pod log
-        collectPodLogIfNeeded();
+        try {
+            // parse process output
+            parseProcessOutput(this.process);
+
+            // collect pod log
+            collectPodLogIfNeeded();
+        } finally {
+            // no more log producers, the task log is finished once all the output is flushed, the session should be
+            // sealed even if failed to start the producers, otherwise its flush task and gauges will never be removed
+            if (taskLogSession != null) {
+                taskOutputFuture = taskLogSession.seal();
+            }
+        }
 
         int processId = getProcessId(this.process);
 
@@ -227,14 +228,11 @@ public abstract class AbstractCommandExecutor {
 
     private void collectPodLogIfNeeded() {
         if (null == taskRequest.getK8sTaskExecutionContext()) {
-            podLogOutputIsFinished = true;
             return;
         }
 
-        ExecutorService collectPodLogExecutorService = ThreadUtils
-                .newSingleDaemonScheduledExecutorService("CollectPodLogOutput-thread-" + taskRequest.getTaskName());
-
-        podLogOutputFuture = collectPodLogExecutorService.submit(() -> {
+        // The pod log can only be read by blocking, so it is read on the blocking reader threads of the log pump
+        podLogOutputFuture = taskLogSession.pumpBlockingProducer(session -> {
             // wait for launching (driver) pod
             ThreadUtils.sleep(SLEEP_TIME_MILLIS * 5L);
             try (
@@ -246,67 +244,21 @@ public abstract class AbstractCommandExecutor {
                     String line;
                     try (BufferedReader reader = new BufferedReader(new InputStreamReader(watcher.getOutput()))) {
                         while ((line = reader.readLine()) != null) {
-                            logBuffer.add(String.format("[K8S-pod-log-%s]: %s", taskRequest.getTaskName(), line));
+                            session.putLine(String.format("[K8S-pod-log-%s]: %s", taskRequest.getTaskName(), line));
                         }
                     }
                 }
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            } finally {
-                podLogOutputIsFinished = true;
             }
-
         });
-
-        collectPodLogExecutorService.shutdown();
     }
 
     private void parseProcessOutput(Process process) {
-        // todo: remove this this thread pool.
-        ExecutorService getOutputLogService = ThreadUtils
-                .newSingleDaemonScheduledExecutorService("ResolveOutputLog-thread-" + taskRequest.getTaskName());
-        getOutputLogService.execute(() -> {
-            TaskOutputParameterParser taskOutputParameterParser = new TaskOutputParameterParser();
-            try (BufferedReader inReader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                LogUtils.setTaskInstanceLogFullPathMDC(taskRequest.getLogPath());
-                String line;
-                while ((line = inReader.readLine()) != null) {
-                    logBuffer.add(line);
-                    taskOutputParameterParser.appendParseLog(line);
-                }
-                processLogOutputIsSuccess = true;
-            } catch (Exception e) {
-                log.error("Parse var pool error", e);
-                processLogOutputIsSuccess = true;
-            } finally {
-                LogUtils.removeTaskInstanceLogFullPathMDC();
-            }
-            taskOutputParams = taskOutputParameterParser.getTaskOutputParams();
-        });
-
-        getOutputLogService.shutdown();
-
-        ExecutorService parseProcessOutputExecutorService = ThreadUtils
-                .newSingleDaemonScheduledExecutorService("TaskInstanceLogOutput-thread-" + taskRequest.getTaskName());
-        taskOutputFuture = parseProcessOutputExecutorService.submit(() -> {
-            try {
-                LogUtils.setTaskInstanceLogFullPathMDC(taskRequest.getLogPath());
-                while (logBuffer.size() > 1 || !processLogOutputIsSuccess || !podLogOutputIsFinished) {
-                    if (logBuffer.size() > 1) {
-                        logHandler.accept(logBuffer);
-                        logBuffer.clear();
-                        logBuffer.add(EMPTY_STRING);
-                    } else {
-                        Thread.sleep(TaskConstants.DEFAULT_LOG_FLUSH_INTERVAL);
-                    }
-                }
-            } catch (Exception e) {
-                log.error("Output task log error", e);
-            } finally {
-                LogUtils.removeTaskInstanceLogFullPathMDC();
-            }
-        });
-        parseProcessOutputExecutorService.shutdown();
+        taskLogSession = TaskLogPump.getInstance()
+                .openSession(taskRequest.getTaskInstanceId(), taskRequest.getLogPath(), logHandler);
+        TaskOutputParameterParser taskOutputParameterParser = new TaskOutputParameterParser();
+        taskLogSession
+                .pumpProcessOutput(process, taskOutputParameterParser::appendParseLog)
+                .thenRun(() -> taskOutputParams = taskOutputParameterParser.getTaskOutputParams());
     }
 
     /**
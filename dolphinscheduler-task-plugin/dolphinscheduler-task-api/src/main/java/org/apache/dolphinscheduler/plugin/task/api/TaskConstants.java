@@ -134,6 +134,25 @@ public class TaskConstants {
      */
     public static final int DEFAULT_LOG_FLUSH_INTERVAL = 1000;
 
+    /**
+     * the thread number of the shared task log pump
+     */
+    public static final String TASK_LOG_PUMP_THREADS = "task.log.pump.threads";
+
+    public static final int DEFAULT_TASK_LOG_PUMP_THREADS = 4;
+
+    /**
+     * the max lines buffered in memory for each task before the overflow policy applies
+     */
+    public static final String TASK_LOG_BUFFER_CAPACITY = "task.log.buffer.capacity";
+
+    public static final int DEFAULT_TASK_LOG_BUFFER_CAPACITY = 10000;
+
+    /**
+     * the overflow policy of the task log buffer, one of BLOCK, DROP, SPILL
+     */
+    public static final String TASK_LOG_BUFFER_OVERFLOW_POLICY = "task.log.buffer.overflow.policy";
+
     /**
      * pstree, get pud and sub pid
      */
@@ -289,6 +308,28 @@ public class TaskConstants {
      */
     public static final int DEFAULT_DISPLAY_ROWS = 10;
 
+    /**
+     * the fetch size of the sql task query, non-positive means using the default of the jdbc driver
+     */
+    public static final String SQL_TASK_FETCH_SIZE = "sql.task.fetch.size";
+
+    public static final int DEFAULT_SQL_TASK_FETCH_SIZE = 1000;
+
+    /**
+     * the max bytes of the sql task query result kept for the alert and the output parameters, the output parameters
+     * are never set by the exceeded result
+     */
+    public static final String SQL_TASK_RESULT_MAX_BYTES = "sql.task.result.max.bytes";
+
+    public static final long DEFAULT_SQL_TASK_RESULT_MAX_BYTES = 10 * 1024 * 1024;
+
+    /**
+     * whether to send the sql task statements without parameters in one jdbc batch
+     */
+    public static final String SQL_TASK_BATCH_UPDATE_ENABLED = "sql.task.batch.update.enabled";
+
+    public static final boolean DEFAULT_SQL_TASK_BATCH_UPDATE_ENABLED = false;
+
     /**
      * jar
      */
@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A bounded buffer of the task log lines which are waiting to be flushed into the task log.
+ * <p> The buffer holds at most {@code capacity} lines in memory, once it is full the new line is handled by the
+ * {@link TaskLogOverflowPolicy}:
+ * <ul>
+ *     <li>{@link TaskLogOverflowPolicy#BLOCK}: {@link #offer(String)} returns false and {@link #put(String)} waits.</li>
+ *     <li>{@link TaskLogOverflowPolicy#DROP}: the line is discarded and counted by {@link #getDroppedLineCount()}.</li>
+ *     <li>{@link TaskLogOverflowPolicy#SPILL}: the line is appended to a temporary file, the spilled lines are drained
+ *     after the lines in memory, so the order of lines is kept.</li>
+ * </ul>
+ * <p> This class is thread safe.
+ */
+@Slf4j
+public class TaskLogBuffer implements AutoCloseable {
+
+    private final int capacity;
+
+    private final TaskLogOverflowPolicy overflowPolicy;
+
+    private final ArrayDeque<String> lines;
+
+    private long droppedLineCount;
+
+    private long spilledLineCount;
+
+    private Path spillFile;
+
+    private BufferedWriter spillWriter;
+
+    private BufferedReader spillReader;
+
+    private long unreadSpilledLineCount;
+
+    private boolean closed;
+
+    public TaskLogBuffer(int capacity, TaskLogOverflowPolicy overflowPolicy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity of task log buffer should be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.lines = new ArrayDeque<>(Math.min(capacity, 1024));
+    }
+
+    /**
+     * Add the line into the buffer without waiting.
+     *
+     * @return false if the buffer is full and the overflow policy is {@link TaskLogOverflowPolicy#BLOCK}
+     */
+    public synchronized boolean offer(String line) {
+        if (closed) {
+            droppedLineCount++;
+            return true;
+        }
+        if (unreadSpilledLineCount > 0) {
+            // Keep the order once there are lines in the spill file
+            spill(line);
+            return true;
+        }
+        if (lines.size() < capacity) {
+            lines.add(line);
+            return true;
+        }
+        switch (overflowPolicy) {
+            case BLOCK:
+                return false;
+            case SPILL:
+                spill(line);
+                return true;
+            case DROP:
+            default:
+                droppedLineCount++;
+                return true;
+        }
+    }
+
+    /**
+     * Add the line into the buffer, wait until there is space if the overflow policy is
+     * {@link TaskLogOverflowPolicy#BLOCK}.
+     */
+    public synchronized void put(String line) throws InterruptedException {
+        while (!offer(line)) {
+            wait(TimeUnit.SECONDS.toMillis(1));
+        }
+    }
+
+    /**
+     * Move at most {@code maxLines} lines into the given collection, the lines in memory are drained first.
+     *
+     * @return the number of drained lines
+     */
+    public synchronized int drainTo(Collection<String> collection, int maxLines) {
+        int drained = 0;
+        while (drained < maxLines && !lines.isEmpty()) {
+            collection.add(lines.poll());
+            drained++;
+        }
+        while (drained < maxLines && unreadSpilledLineCount > 0) {
+            String line = readSpilledLine();
+            if (line == null) {
+                break;
+            }
+            collection.add(line);
+            drained++;
+        }
+        if (drained > 0) {
+            notifyAll();
+        }
+        return drained;
+    }
+
+    public synchronized boolean isEmpty() {
+        return lines.isEmpty() && unreadSpilledLineCount == 0;
+    }
+
+    public synchronized boolean isFull() {
+        return lines.size() >= capacity;
+    }
+
+    public synchronized int size() {
+        return lines.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized long getDroppedLineCount() {
+        return droppedLineCount;
+    }
+
+    public synchronized long getSpilledLineCount() {
+        return spilledLineCount;
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        lines.clear();
+        deleteSpillFile();
+        notifyAll();
+    }
+
+    private void spill(String line) {
+        try {
+            if (spillWriter == null) {
+                spillFile = Files.createTempFile("dolphinscheduler-task-log-", ".spill");
+                spillWriter = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8);
+            }
+            // The spilled lines are read back by lines, so the line should not contain line terminators
+            spillWriter.write(line.replace('\r', ' ').replace('\n', ' '));
+            spillWriter.newLine();
+            unreadSpilledLineCount++;
+            spilledLineCount++;
+        } catch (IOException e) {
+            log.error("Spill task log line into {} failed, the line will be dropped", spillFile, e);
+            droppedLineCount++;
+        }
+    }
+
+    private String readSpilledLine() {
+        try {
+            // The lines are written entirely under the lock, flush them so the reader never sees a partial line
+            spillWriter.flush();
+            if (spillReader == null) {
+                spillReader = Files.newBufferedReader(spillFile, StandardCharsets.UTF_8);
+            }
+            String line = spillReader.readLine();
+            if (line == null) {
+                log.error("The spilled task log lines in {} are lost, unread lines: {}", spillFile,
+                        unreadSpilledLineCount);
+                droppedLineCount += unreadSpilledLineCount;
+                unreadSpilledLineCount = 0;
+            } else {
+                unreadSpilledLineCount--;
+            }
+            if (unreadSpilledLineCount == 0) {
+                // All the spilled lines are read, start a new spill file next time
+                deleteSpillFile();
+            }
+            return line;
+        } catch (IOException e) {
+            log.error("Read spilled task log lines from {} failed, unread lines: {}", spillFile,
+                    unreadSpilledLineCount, e);
+            droppedLineCount += unreadSpilledLineCount;
+            unreadSpilledLineCount = 0;
+            deleteSpillFile();
+            return null;
+        }
+    }
+
+    private void deleteSpillFile() {
+        closeQuietly(spillReader);
+        closeQuietly(spillWriter);
+        spillReader = null;
+        spillWriter = null;
+        unreadSpilledLineCount = 0;
+        if (spillFile != null) {
+            try {
+                Files.deleteIfExists(spillFile);
+            } catch (IOException e) {
+                log.warn("Delete task log spill file {} failed", spillFile, e);
+            }
+            spillFile = null;
+        }
+    }
+
+    private void closeQuietly(AutoCloseable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            log.warn("Close task log spill file {} failed", spillFile, e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Split the bytes read from the task output into lines, a line is terminated by '\n', '\r' or "\r\n" as
+ * {@link java.io.BufferedReader#readLine()} does.
+ * <p> A line which is longer than {@link #MAX_LINE_BYTES} is split, so a task which never prints a line terminator
+ * cannot fill the heap.
+ */
+class TaskLogLineDecoder {
+
+    static final int MAX_LINE_BYTES = 1024 * 1024;
+
+    private final Charset charset;
+
+    private byte[] lineBytes = new byte[256];
+
+    private int lineLength;
+
+    private boolean skipLineFeed;
+
+    TaskLogLineDecoder(Charset charset) {
+        this.charset = charset;
+    }
+
+    void decode(byte[] bytes, int offset, int length, Consumer<String> lineConsumer) {
+        for (int i = offset; i < offset + length; i++) {
+            byte b = bytes[i];
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (b == '\n') {
+                    continue;
+                }
+            }
+            if (b == '\n' || b == '\r') {
+                skipLineFeed = b == '\r';
+                emitLine(lineConsumer);
+                continue;
+            }
+            if (lineLength == lineBytes.length) {
+                if (lineLength >= MAX_LINE_BYTES) {
+                    emitLine(lineConsumer);
+                } else {
+                    lineBytes = Arrays.copyOf(lineBytes, Math.min(lineBytes.length * 2, MAX_LINE_BYTES));
+                }
+            }
+            lineBytes[lineLength++] = b;
+        }
+    }
+
+    /**
+     * Emit the last line which is not terminated.
+     */
+    void finish(Consumer<String> lineConsumer) {
+        if (lineLength > 0) {
+            emitLine(lineConsumer);
+        }
+    }
+
+    private void emitLine(Consumer<String> lineConsumer) {
+        lineConsumer.accept(new String(lineBytes, 0, lineLength, charset));
+        lineLength = 0;
+    }
+}
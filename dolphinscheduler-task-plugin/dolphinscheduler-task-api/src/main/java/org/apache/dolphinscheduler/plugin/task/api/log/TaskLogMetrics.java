@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import lombok.experimental.UtilityClass;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+
+@UtilityClass
+public class TaskLogMetrics {
+
+    public void registerTaskLogGauges(final TaskLogSession taskLogSession) {
+        final String taskInstanceId = String.valueOf(taskLogSession.getTaskInstanceId());
+        taskLogSession.getMeters().add(
+                Gauge.builder("ds.task.log.bytes.per.second", taskLogSession, TaskLogSession::getLogBytesPerSecond)
+                        .tag("task_instance_id", taskInstanceId)
+                        .description("The bytes per second of the task log output")
+                        .register(Metrics.globalRegistry));
+        taskLogSession.getMeters().add(
+                Gauge.builder("ds.task.log.dropped.lines", taskLogSession, TaskLogSession::getDroppedLineCount)
+                        .tag("task_instance_id", taskInstanceId)
+                        .description("The task log lines dropped since the log buffer is full")
+                        .register(Metrics.globalRegistry));
+        taskLogSession.getMeters().add(
+                Gauge.builder("ds.task.log.spilled.lines", taskLogSession, TaskLogSession::getSpilledLineCount)
+                        .tag("task_instance_id", taskInstanceId)
+                        .description("The task log lines spilled to disk since the log buffer is full")
+                        .register(Metrics.globalRegistry));
+    }
+
+    public void removeTaskLogGauges(final TaskLogSession taskLogSession) {
+        taskLogSession.getMeters().forEach(Metrics.globalRegistry::remove);
+        taskLogSession.getMeters().clear();
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+/**
+ * What the {@link TaskLogBuffer} does with a new line once it already holds its capacity.
+ */
+public enum TaskLogOverflowPolicy {
+
+    /**
+     * Stop reading from the task until the buffered lines are flushed, the task will be blocked on its output pipe.
+     */
+    BLOCK,
+
+    /**
+     * Discard the new line and count it as dropped.
+     */
+    DROP,
+
+    /**
+     * Append the new line to a temporary file and read it back once the buffered lines are flushed.
+     */
+    SPILL,
+    ;
+
+}
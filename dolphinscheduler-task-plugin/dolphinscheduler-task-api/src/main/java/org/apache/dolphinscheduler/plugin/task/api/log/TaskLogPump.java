@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
+import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The shared log pump of the tasks executed by {@link org.apache.dolphinscheduler.plugin.task.api.AbstractCommandExecutor}.
+ * <p> All the task output is polled and flushed by a fixed number of pump threads, rather than a couple of dedicated
+ * threads for each task. Each task has a bounded {@link TaskLogBuffer}, the behavior once the buffer is full is decided
+ * by {@link TaskLogOverflowPolicy}.
+ * <p> The producers which can only be read by blocking, e.g. the pod log of kubernetes, are run on the blocking reader
+ * threads, they still share the bounded buffer and the pump threads to flush.
+ */
+@Slf4j
+public class TaskLogPump implements AutoCloseable {
+
+    private static final long DEFAULT_READ_INTERVAL_MILLS = 100;
+
+    private final ScheduledExecutorService pumpExecutor;
+
+    private final ExecutorService blockingReaderExecutor;
+
+    @Getter
+    private final int bufferCapacity;
+
+    @Getter
+    private final TaskLogOverflowPolicy overflowPolicy;
+
+    @Getter
+    private final long readIntervalMills;
+
+    private final long flushIntervalMills;
+
+    public TaskLogPump(int pumpThreads,
+                       int bufferCapacity,
+                       TaskLogOverflowPolicy overflowPolicy,
+                       long readIntervalMills,
+                       long flushIntervalMills) {
+        this.pumpExecutor = ThreadUtils.newDaemonScheduledExecutorService("TaskLogPump-%d", pumpThreads);
+        this.blockingReaderExecutor =
+                Executors.newCachedThreadPool(ThreadUtils.newDaemonThreadFactory("TaskLogPump-BlockingReader-%d"));
+        this.bufferCapacity = bufferCapacity;
+        this.overflowPolicy = overflowPolicy;
+        this.readIntervalMills = readIntervalMills;
+        this.flushIntervalMills = flushIntervalMills;
+    }
+
+    public static TaskLogPump getInstance() {
+        return TaskLogPumpHolder.INSTANCE;
+    }
+
+    /**
+     * Open the log session of a task, the lines are flushed by the given log handler in batches.
+     */
+    public TaskLogSession openSession(int taskInstanceId,
+                                      String logPath,
+                                      Consumer<LinkedBlockingQueue<String>> logHandler) {
+        TaskLogSession taskLogSession = new TaskLogSession(
+                this,
+                taskInstanceId,
+                logPath,
+                logHandler,
+                new TaskLogBuffer(bufferCapacity, overflowPolicy));
+        TaskLogMetrics.registerTaskLogGauges(taskLogSession);
+        taskLogSession.start();
+        return taskLogSession;
+    }
+
+    void scheduleRead(Runnable reader, long delayMills) {
+        pumpExecutor.schedule(reader, delayMills, TimeUnit.MILLISECONDS);
+    }
+
+    ScheduledFuture<?> scheduleFlush(Runnable flusher) {
+        return pumpExecutor.scheduleWithFixedDelay(flusher, flushIntervalMills, flushIntervalMills,
+                TimeUnit.MILLISECONDS);
+    }
+
+    void executeFlush(Runnable flusher) {
+        pumpExecutor.execute(flusher);
+    }
+
+    void submitBlockingProducer(Runnable producer) {
+        blockingReaderExecutor.execute(producer);
+    }
+
+    @Override
+    public void close() {
+        pumpExecutor.shutdownNow();
+        blockingReaderExecutor.shutdownNow();
+    }
+
+    private static class TaskLogPumpHolder {
+
+        private static final TaskLogPump INSTANCE = new TaskLogPump(
+                PropertyUtils.getInt(TaskConstants.TASK_LOG_PUMP_THREADS,
+                        TaskConstants.DEFAULT_TASK_LOG_PUMP_THREADS),
+                PropertyUtils.getInt(TaskConstants.TASK_LOG_BUFFER_CAPACITY,
+                        TaskConstants.DEFAULT_TASK_LOG_BUFFER_CAPACITY),
+                Optional.ofNullable(PropertyUtils.getUpperCaseString(TaskConstants.TASK_LOG_BUFFER_OVERFLOW_POLICY))
+                        .map(TaskLogOverflowPolicy::valueOf)
+                        .orElse(TaskLogOverflowPolicy.BLOCK),
+                DEFAULT_READ_INTERVAL_MILLS,
+                TaskConstants.DEFAULT_LOG_FLUSH_INTERVAL);
+
+        static {
+            log.info("Initialized TaskLogPump, bufferCapacity: {}, overflowPolicy: {}",
+                    INSTANCE.getBufferCapacity(), INSTANCE.getOverflowPolicy());
+        }
+    }
+}
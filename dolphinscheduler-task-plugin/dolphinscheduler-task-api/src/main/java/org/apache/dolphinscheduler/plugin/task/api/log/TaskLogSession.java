@@ -0,0 +1,437 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import static org.apache.dolphinscheduler.common.constants.Constants.EMPTY_STRING;
+
+import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.instrument.Meter;
+
+/**
+ * The task log of one task which is pumped by the shared {@link TaskLogPump}.
+ * <p> The producers, e.g. the process output or the pod log, put the lines into the bounded {@link TaskLogBuffer},
+ * and the buffered lines are handed to the log handler in batches on the pump threads.
+ * <p> Once the session is {@link #seal() sealed}, the session is closed after all the producers finished and all the
+ * buffered lines are flushed.
+ */
+@Slf4j
+public class TaskLogSession implements AutoCloseable {
+
+    /**
+     * The max bytes read from a process in one round, so a chatty task cannot occupy the pump thread.
+     */
+    private static final int MAX_READ_BYTES_PER_ROUND = 256 * 1024;
+
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+
+    /**
+     * The delay to read again once the reader is blocked by the full buffer.
+     */
+    private static final long BLOCKED_READ_DELAY_MILLS = 10;
+
+    private final TaskLogPump taskLogPump;
+
+    @Getter
+    private final int taskInstanceId;
+
+    private final String logPath;
+
+    private final Consumer<LinkedBlockingQueue<String>> logHandler;
+
+    @Getter
+    private final TaskLogBuffer taskLogBuffer;
+
+    private final AtomicInteger activeProducerCount = new AtomicInteger();
+
+    private volatile boolean sealed;
+
+    private final CompletableFuture<Void> flushFuture = new CompletableFuture<>();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private volatile ScheduledFuture<?> scheduledFlushFuture;
+
+    private final AtomicLong logBytes = new AtomicLong();
+
+    private long lastRateLogBytes;
+
+    private long lastRateTimeMills = System.currentTimeMillis();
+
+    private volatile double logBytesPerSecond;
+
+    @Getter
+    private final List<Meter> meters = new CopyOnWriteArrayList<>();
+
+    TaskLogSession(TaskLogPump taskLogPump,
+                   int taskInstanceId,
+                   String logPath,
+                   Consumer<LinkedBlockingQueue<String>> logHandler,
+                   TaskLogBuffer taskLogBuffer) {
+        this.taskLogPump = taskLogPump;
+        this.taskInstanceId = taskInstanceId;
+        this.logPath = logPath;
+        this.logHandler = logHandler;
+        this.taskLogBuffer = taskLogBuffer;
+    }
+
+    void start() {
+        scheduledFlushFuture = taskLogPump.scheduleFlush(this::flush);
+        if (flushFuture.isDone()) {
+            scheduledFlushFuture.cancel(false);
+        }
+    }
+
+    /**
+     * Pump the output of the given process into the task log, this will not occupy a thread during the process is
+     * running, the output is polled by the pump threads.
+     * <p> The output is treated as finished once the process exited and all the bytes in the pipe are read, the
+     * output written by the orphan child processes after that will be ignored.
+     *
+     * @param lineListener receive every line of the output, even if the line is dropped by the buffer
+     * @return the future which is completed when all the output is read
+     */
+    public CompletableFuture<Void> pumpProcessOutput(Process process, Consumer<String> lineListener) {
+        ProcessOutputReader processOutputReader = new ProcessOutputReader(process, lineListener);
+        activeProducerCount.incrementAndGet();
+        try {
+            processOutputReader.start();
+        } catch (Throwable e) {
+            onProducerFinished();
+            throw e;
+        }
+        return processOutputReader.future;
+    }
+
+    /**
+     * Run the given producer which will block on reading, e.g. a remote log stream which cannot be polled, on the
+     * blocking reader threads of the pump.
+     *
+     * @return the future which is completed when the producer finished
+     */
+    public CompletableFuture<Void> pumpBlockingProducer(BlockingLogProducer blockingLogProducer) {
+        activeProducerCount.incrementAndGet();
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            taskLogPump.submitBlockingProducer(() -> {
+                try {
+                    blockingLogProducer.produce(this);
+                    future.complete(null);
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    onProducerFinished();
+                }
+            });
+        } catch (Throwable e) {
+            // The producer is never run, so the sealed session will not wait for it
+            onProducerFinished();
+            throw e;
+        }
+        return future;
+    }
+
+    /**
+     * Put a line into the task log, this will wait if the buffer is full and the overflow policy is
+     * {@link TaskLogOverflowPolicy#BLOCK}.
+     */
+    public void putLine(String line) throws InterruptedException {
+        logBytes.addAndGet(line.getBytes(Charset.defaultCharset()).length);
+        TaskLogBuffer buffer = taskLogBuffer;
+        if (!buffer.offer(line)) {
+            requestFlush();
+            buffer.put(line);
+        }
+        requestFlushIfHalfFull();
+    }
+
+    /**
+     * Mark there is no more producers, the returned future is completed after all the producers finished and all the
+     * lines are flushed.
+     */
+    public CompletableFuture<Void> seal() {
+        sealed = true;
+        requestFlush();
+        return flushFuture;
+    }
+
+    public double getLogBytesPerSecond() {
+        return logBytesPerSecond;
+    }
+
+    public long getLogBytes() {
+        return logBytes.get();
+    }
+
+    public long getDroppedLineCount() {
+        return taskLogBuffer.getDroppedLineCount();
+    }
+
+    public long getSpilledLineCount() {
+        return taskLogBuffer.getSpilledLineCount();
+    }
+
+    @Override
+    public void close() {
+        if (scheduledFlushFuture != null) {
+            scheduledFlushFuture.cancel(false);
+        }
+        taskLogBuffer.close();
+        TaskLogMetrics.removeTaskLogGauges(this);
+        flushFuture.complete(null);
+    }
+
+    void flush() {
+        if (!flushLock.tryLock()) {
+            // The running flush will handle the lines
+            flushRequested.set(false);
+            return;
+        }
+        try {
+            flushRequested.set(false);
+            if (flushFuture.isDone()) {
+                return;
+            }
+            updateLogBytesPerSecond();
+            // The producer puts the lines before finishing, so check the producers before the buffer
+            boolean finished = sealed && activeProducerCount.get() == 0;
+            flushBufferedLines();
+            if (!taskLogBuffer.isEmpty()) {
+                requestFlush();
+            } else if (finished) {
+                close();
+            }
+        } catch (Throwable e) {
+            log.error("Output task log error", e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushBufferedLines() {
+        if (taskLogBuffer.isEmpty()) {
+            return;
+        }
+        // Keep the empty head line, so the batch is printed in a new line by AbstractTask#logHandle
+        LinkedBlockingQueue<String> batch = new LinkedBlockingQueue<>();
+        batch.add(EMPTY_STRING);
+        // Drain at most one buffer each time to let the pump thread serve other tasks
+        if (taskLogBuffer.drainTo(batch, taskLogBuffer.getCapacity()) == 0) {
+            return;
+        }
+        try {
+            LogUtils.setTaskInstanceLogFullPathMDC(logPath);
+            logHandler.accept(batch);
+        } finally {
+            LogUtils.removeTaskInstanceLogFullPathMDC();
+        }
+    }
+
+    private void updateLogBytesPerSecond() {
+        long now = System.currentTimeMillis();
+        long elapsedMills = now - lastRateTimeMills;
+        if (elapsedMills < 1000) {
+            return;
+        }
+        long currentLogBytes = logBytes.get();
+        logBytesPerSecond = (currentLogBytes - lastRateLogBytes) * 1000.0 / elapsedMills;
+        lastRateLogBytes = currentLogBytes;
+        lastRateTimeMills = now;
+    }
+
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            taskLogPump.executeFlush(this::flush);
+        }
+    }
+
+    private void requestFlushIfHalfFull() {
+        if (taskLogBuffer.size() >= taskLogBuffer.getCapacity() / 2) {
+            requestFlush();
+        }
+    }
+
+    private void onProducerFinished() {
+        activeProducerCount.decrementAndGet();
+        requestFlush();
+    }
+
+    /**
+     * The producer which put lines by {@link TaskLogSession#putLine(String)} and may block on reading.
+     */
+    @FunctionalInterface
+    public interface BlockingLogProducer {
+
+        void produce(TaskLogSession taskLogSession) throws Exception;
+    }
+
+    private class ProcessOutputReader implements Runnable {
+
+        private final Process process;
+
+        private final InputStream inputStream;
+
+        private final Consumer<String> lineListener;
+
+        private final TaskLogLineDecoder taskLogLineDecoder = new TaskLogLineDecoder(Charset.defaultCharset());
+
+        private final ArrayDeque<String> pendingLines = new ArrayDeque<>();
+
+        private final byte[] readBuffer = new byte[READ_BUFFER_BYTES];
+
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private boolean endOfStream;
+
+        private long idleReadDelayMills;
+
+        ProcessOutputReader(Process process, Consumer<String> lineListener) {
+            this.process = process;
+            this.inputStream = process.getInputStream();
+            this.lineListener = lineListener;
+        }
+
+        void start() {
+            taskLogPump.scheduleRead(this, 0);
+        }
+
+        /**
+         * Read the output once, and schedule the next read. The next read is scheduled after the current one, so the
+         * reader is never run concurrently.
+         */
+        @Override
+        public void run() {
+            if (future.isDone()) {
+                return;
+            }
+            long nextReadDelayMills;
+            try {
+                nextReadDelayMills = readOnce();
+            } catch (Throwable e) {
+                log.error("Read the output of task: {} error", taskInstanceId, e);
+                finish();
+                return;
+            }
+            if (!future.isDone()) {
+                taskLogPump.scheduleRead(this, nextReadDelayMills);
+            }
+        }
+
+        private long readOnce() throws IOException {
+            if (!offerPendingLines()) {
+                // Blocked by the buffer, wait for the flush
+                requestFlush();
+                return BLOCKED_READ_DELAY_MILLS;
+            }
+            int readBytes = 0;
+            if (!endOfStream) {
+                readBytes = read();
+            }
+            if (!pendingLines.isEmpty()) {
+                requestFlush();
+                return BLOCKED_READ_DELAY_MILLS;
+            }
+            if (endOfStream) {
+                finish();
+                return 0;
+            }
+            requestFlushIfHalfFull();
+            if (readBytes > 0) {
+                // The process is writing, read again soon before the pipe is full
+                idleReadDelayMills = 0;
+            } else {
+                idleReadDelayMills =
+                        Math.min(Math.max(idleReadDelayMills * 2, 1), taskLogPump.getReadIntervalMills());
+            }
+            return idleReadDelayMills;
+        }
+
+        /**
+         * @return the bytes read in this round
+         */
+        private int read() throws IOException {
+            // Check the process before the pipe, so the output written before exiting is never missed
+            boolean processAlive = process.isAlive();
+            int availableBytes = inputStream.available();
+            int readBytes = 0;
+            while (availableBytes > 0 && readBytes < MAX_READ_BYTES_PER_ROUND && pendingLines.isEmpty()) {
+                int length = inputStream.read(readBuffer, 0, Math.min(readBuffer.length, availableBytes));
+                if (length < 0) {
+                    availableBytes = 0;
+                    break;
+                }
+                readBytes += length;
+                logBytes.addAndGet(length);
+                taskLogLineDecoder.decode(readBuffer, 0, length, this::onLine);
+                availableBytes = inputStream.available();
+            }
+            if (!processAlive && availableBytes == 0) {
+                endOfStream = true;
+                taskLogLineDecoder.finish(this::onLine);
+            }
+            return readBytes;
+        }
+
+        private void onLine(String line) {
+            lineListener.accept(line);
+            if (!pendingLines.isEmpty() || !taskLogBuffer.offer(line)) {
+                pendingLines.add(line);
+            }
+        }
+
+        private boolean offerPendingLines() {
+            while (!pendingLines.isEmpty()) {
+                if (!taskLogBuffer.offer(pendingLines.peek())) {
+                    return false;
+                }
+                pendingLines.poll();
+            }
+            return true;
+        }
+
+        private void finish() {
+            try {
+                inputStream.close();
+            } catch (IOException e) {
+                log.warn("Close the output of task: {} error", taskInstanceId, e);
+            }
+            if (future.complete(null)) {
+                onProducerFinished();
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.parser;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The compiled form of a string which contains placeholders, the source is split into literal and placeholder
+ * segments once, so rendering it again with other parameters doesn't need to scan the source.
+ * <p> The segments are split in the same way as {@link PropertyPlaceholderHelper#parseStringValue}, a replaced value is
+ * never scanned again by the outer string, so the segments only depend on the source.
+ */
+@Getter
+class PlaceholderTemplate {
+
+    private final String source;
+
+    private final List<Segment> segments;
+
+    /**
+     * Whether the source contains no placeholder, the source can be used as the rendered result directly.
+     */
+    private final boolean literal;
+
+    PlaceholderTemplate(String source, List<Segment> segments) {
+        this.source = source;
+        this.segments = segments;
+        this.literal = segments.stream().noneMatch(segment -> segment instanceof Placeholder);
+    }
+
+    interface Segment {
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Literal implements Segment {
+
+        private final String text;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Placeholder implements Segment {
+
+        /**
+         * The whole placeholder with prefix and suffix, kept as it is if the placeholder cannot be resolved.
+         */
+        private final String rawText;
+
+        /**
+         * The key between prefix and suffix before resolving the nested placeholders.
+         */
+        private final String originalKey;
+
+        /**
+         * The compiled key, null if the key contains no nested placeholder.
+         */
+        private final PlaceholderTemplate keyTemplate;
+    }
+}
@@ -38,6 +38,19 @@ public class PlaceholderUtils {
 
     public static final String PLACEHOLDER_SUFFIX = "}";
 
+    /**
+     * replacement tool， parameter key will be replaced by value,if can't match , will throw an exception
+     */
+    private static final PropertyPlaceholderHelper STRICT_HELPER =
+            new PropertyPlaceholderHelper(PLACEHOLDER_PREFIX, PLACEHOLDER_SUFFIX, null, false);
+
+    /**
+     * Non-strict replacement tool implementation, when the position to be replaced does not get the corresponding
+     * value, the current position is ignored, and the next position is replaced.
+     */
+    private static final PropertyPlaceholderHelper NON_STRICT_HELPER =
+            new PropertyPlaceholderHelper(PLACEHOLDER_PREFIX, PLACEHOLDER_SUFFIX, null, true);
+
     /**
      * Replaces all placeholders of format {@code ${name}} with the value returned
      * from the supplied {@link PropertyPlaceholderHelper.PlaceholderResolver}.
@@ -50,29 +63,21 @@ public class PlaceholderUtils {
     public static String replacePlaceholders(String value,
                                              Map<String, String> paramsMap,
                                              boolean ignoreUnresolvablePlaceholders) {
-        // replacement tool， parameter key will be replaced by value,if can't match , will throw an exception
-        PropertyPlaceholderHelper strictHelper = getPropertyPlaceholderHelper(false);
-
-        // Non-strict replacement tool implementation, when the position to be replaced does not get the corresponding
-        // value, the current position is ignored, and the next position is replaced.
-        PropertyPlaceholderHelper nonStrictHelper = getPropertyPlaceholderHelper(true);
-
-        PropertyPlaceholderHelper helper = (ignoreUnresolvablePlaceholders ? nonStrictHelper : strictHelper);
+        PropertyPlaceholderHelper helper = getPropertyPlaceholderHelper(ignoreUnresolvablePlaceholders);
 
         // the PlaceholderResolver to use for replacement
         return helper.replacePlaceholders(value, new PropertyPlaceholderResolver(value, paramsMap));
     }
 
     /**
-     * Creates a new {@code PropertyPlaceholderHelper} that uses the supplied prefix and suffix.
+     * Get the shared {@code PropertyPlaceholderHelper} that uses the supplied prefix and suffix, the helpers are
+     * stateless apart from the compiled template cache, so they are shared by all the callers.
      * @param ignoreUnresolvablePlaceholders indicates whether unresolvable placeholders should
      * be ignored ({@code true}) or cause an exception ({@code false})
      * @return PropertyPlaceholderHelper
      */
     public static PropertyPlaceholderHelper getPropertyPlaceholderHelper(boolean ignoreUnresolvablePlaceholders) {
-
-        return new PropertyPlaceholderHelper(PLACEHOLDER_PREFIX, PLACEHOLDER_SUFFIX, null,
-                ignoreUnresolvablePlaceholders);
+        return ignoreUnresolvablePlaceholders ? NON_STRICT_HELPER : STRICT_HELPER;
     }
 
     /**
@@ -17,14 +17,20 @@
 
 package org.apache.dolphinscheduler.plugin.task.api.parser;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
 import lombok.extern.slf4j.Slf4j;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 /**
  * Utility class for working with Strings that have placeholder values in them. A placeholder takes the form
  * {@code ${name}}. Using {@code PropertyPlaceholderHelper} these placeholders can be substituted for
@@ -38,6 +44,11 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class PropertyPlaceholderHelper {
 
+    /**
+     * The max total length of the sources whose compiled templates are cached by each helper.
+     */
+    private static final long TEMPLATE_CACHE_MAX_CHARS = 4 * 1024 * 1024;
+
     private static final Map<String, String> wellKnownSimplePrefixes = new HashMap<String, String>(4);
 
     static {
@@ -56,6 +67,11 @@ public class PropertyPlaceholderHelper {
 
     private final boolean ignoreUnresolvablePlaceholders;
 
+    private final Cache<String, PlaceholderTemplate> templateCache = CacheBuilder.newBuilder()
+            .maximumWeight(TEMPLATE_CACHE_MAX_CHARS)
+            .weigher((String value, PlaceholderTemplate template) -> value.length())
+            .build();
+
     /**
      * Creates a new {@code PropertyPlaceholderHelper} that uses the supplied prefix and suffix.
      * Unresolvable placeholders are ignored.
@@ -125,56 +141,103 @@ public class PropertyPlaceholderHelper {
     protected String parseStringValue(
                                       String value, PlaceholderResolver placeholderResolver,
                                       Set<String> visitedPlaceholders) {
+        return renderTemplate(compileTemplate(value), placeholderResolver, visitedPlaceholders);
+    }
 
-        StringBuilder result = new StringBuilder(value);
+    /**
+     * Split the value into literal and placeholder segments, the compiled template is cached by the value since the
+     * same task scripts and parameters are rendered again and again.
+     */
+    PlaceholderTemplate compileTemplate(String value) {
+        if (value.indexOf(this.placeholderPrefix) == -1) {
+            return new PlaceholderTemplate(value, Collections.singletonList(new PlaceholderTemplate.Literal(value)));
+        }
+        PlaceholderTemplate template = this.templateCache.getIfPresent(value);
+        if (template == null) {
+            template = doCompileTemplate(value);
+            this.templateCache.put(value, template);
+        }
+        return template;
+    }
 
+    private PlaceholderTemplate doCompileTemplate(String value) {
+        List<PlaceholderTemplate.Segment> segments = new ArrayList<>();
+        int literalStartIndex = 0;
         int startIndex = value.indexOf(this.placeholderPrefix);
         while (startIndex != -1) {
-            int endIndex = findPlaceholderEndIndex(result, startIndex);
-            if (endIndex != -1) {
-                String placeholder = result.substring(startIndex + this.placeholderPrefix.length(), endIndex);
-                String originalPlaceholder = placeholder;
-                if (!visitedPlaceholders.add(originalPlaceholder)) {
-                    throw new IllegalArgumentException(
-                            "Circular placeholder reference '" + originalPlaceholder + "' in property definitions");
-                }
-                // Recursive invocation, parsing placeholders contained in the placeholder key.
-                placeholder = parseStringValue(placeholder, placeholderResolver, visitedPlaceholders);
-                // Now obtain the value for the fully resolved key...
-                String propVal = placeholderResolver.resolvePlaceholder(placeholder);
-                if (propVal == null && this.valueSeparator != null) {
-                    int separatorIndex = placeholder.indexOf(this.valueSeparator);
-                    if (separatorIndex != -1) {
-                        String actualPlaceholder = placeholder.substring(0, separatorIndex);
-                        String defaultValue = placeholder.substring(separatorIndex + this.valueSeparator.length());
-                        propVal = placeholderResolver.resolvePlaceholder(actualPlaceholder);
-                        if (propVal == null) {
-                            propVal = defaultValue;
-                        }
+            int endIndex = findPlaceholderEndIndex(value, startIndex);
+            if (endIndex == -1) {
+                break;
+            }
+            if (startIndex > literalStartIndex) {
+                segments.add(new PlaceholderTemplate.Literal(value.substring(literalStartIndex, startIndex)));
+            }
+            String placeholder = value.substring(startIndex + this.placeholderPrefix.length(), endIndex);
+            int placeholderEndIndex = endIndex + this.placeholderSuffix.length();
+            segments.add(new PlaceholderTemplate.Placeholder(
+                    value.substring(startIndex, placeholderEndIndex),
+                    placeholder,
+                    placeholder.contains(this.placeholderPrefix) ? compileTemplate(placeholder) : null));
+            literalStartIndex = placeholderEndIndex;
+            startIndex = value.indexOf(this.placeholderPrefix, placeholderEndIndex);
+        }
+        if (literalStartIndex < value.length()) {
+            segments.add(new PlaceholderTemplate.Literal(value.substring(literalStartIndex)));
+        }
+        return new PlaceholderTemplate(value, segments);
+    }
+
+    private String renderTemplate(PlaceholderTemplate template, PlaceholderResolver placeholderResolver,
+                                  Set<String> visitedPlaceholders) {
+        if (template.isLiteral()) {
+            return template.getSource();
+        }
+        StringBuilder result = new StringBuilder(template.getSource().length());
+        for (PlaceholderTemplate.Segment segment : template.getSegments()) {
+            if (segment instanceof PlaceholderTemplate.Literal) {
+                result.append(((PlaceholderTemplate.Literal) segment).getText());
+                continue;
+            }
+            PlaceholderTemplate.Placeholder placeholderSegment = (PlaceholderTemplate.Placeholder) segment;
+            String originalPlaceholder = placeholderSegment.getOriginalKey();
+            if (!visitedPlaceholders.add(originalPlaceholder)) {
+                throw new IllegalArgumentException(
+                        "Circular placeholder reference '" + originalPlaceholder + "' in property definitions");
+            }
+            // Recursive invocation, parsing placeholders contained in the placeholder key.
+            String placeholder = placeholderSegment.getKeyTemplate() == null
+                    ? originalPlaceholder
+                    : renderTemplate(placeholderSegment.getKeyTemplate(), placeholderResolver, visitedPlaceholders);
+            // Now obtain the value for the fully resolved key...
+            String propVal = placeholderResolver.resolvePlaceholder(placeholder);
+            if (propVal == null && this.valueSeparator != null) {
+                int separatorIndex = placeholder.indexOf(this.valueSeparator);
+                if (separatorIndex != -1) {
+                    String actualPlaceholder = placeholder.substring(0, separatorIndex);
+                    String defaultValue = placeholder.substring(separatorIndex + this.valueSeparator.length());
+                    propVal = placeholderResolver.resolvePlaceholder(actualPlaceholder);
+                    if (propVal == null) {
+                        propVal = defaultValue;
                     }
                 }
-                if (propVal != null) {
-                    // Recursive invocation, parsing placeholders contained in the
-                    // previously resolved placeholder value.
-                    propVal = parseStringValue(propVal, placeholderResolver, visitedPlaceholders);
-                    result.replace(startIndex, endIndex + this.placeholderSuffix.length(), propVal);
-                    if (log.isTraceEnabled()) {
-                        log.trace("Resolved placeholder '" + placeholder + "'");
-                    }
-                    startIndex = result.indexOf(this.placeholderPrefix, startIndex + propVal.length());
-                } else if (this.ignoreUnresolvablePlaceholders) {
-                    // Proceed with unprocessed value.
-                    startIndex = result.indexOf(this.placeholderPrefix, endIndex + this.placeholderSuffix.length());
-                } else {
-                    throw new IllegalArgumentException("Could not resolve placeholder '"
-                            + placeholder + "'" + " in value \"" + value + "\"");
+            }
+            if (propVal != null) {
+                // Recursive invocation, parsing placeholders contained in the
+                // previously resolved placeholder value.
+                propVal = parseStringValue(propVal, placeholderResolver, visitedPlaceholders);
+                result.append(propVal);
+                if (log.isTraceEnabled()) {
+                    log.trace("Resolved placeholder '" + placeholder + "'");
                 }
-                visitedPlaceholders.remove(originalPlaceholder);
+            } else if (this.ignoreUnresolvablePlaceholders) {
+                // Proceed with unprocessed value.
+                result.append(placeholderSegment.getRawText());
             } else {
-                startIndex = -1;
+                throw new IllegalArgumentException("Could not resolve placeholder '"
+                        + placeholder + "'" + " in value \"" + template.getSource() + "\"");
             }
+            visitedPlaceholders.remove(originalPlaceholder);
         }
-
         return result.toString();
     }
 
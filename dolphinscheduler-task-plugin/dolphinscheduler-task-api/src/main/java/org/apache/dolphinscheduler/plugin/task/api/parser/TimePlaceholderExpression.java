@@ -0,0 +1,302 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.parser;
+
+import static org.apache.commons.lang3.time.DateUtils.addWeeks;
+import static org.apache.dolphinscheduler.common.utils.DateUtils.addDays;
+import static org.apache.dolphinscheduler.common.utils.DateUtils.addMinutes;
+import static org.apache.dolphinscheduler.common.utils.DateUtils.addMonths;
+import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.ADD_MONTHS;
+import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.COMMA;
+import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.LAST_DAY;
+import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.MONTH_BEGIN;
+import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.MONTH_END;
+import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.MONTH_FIRST_DAY;
+import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.MONTH_LAST_DAY;
+import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.PARAMETER_FORMAT_TIME;
+import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.THIS_DAY;
+import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.TIMESTAMP;
+import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.WEEK_BEGIN;
+import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.WEEK_END;
+import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.WEEK_FIRST_DAY;
+import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.WEEK_LAST_DAY;
+import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.YEAR_WEEK;
+
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.function.BiFunction;
+
+import lombok.Getter;
+
+/**
+ * The compiled form of a time placeholder expression, e.g. {@code yyyyMMdd-1} in {@code $[yyyyMMdd-1]}.
+ * <p> The expression is parsed and the arithmetic of the offset is folded into a constant once, so evaluating it
+ * with a date only does the date calculation and the formatting. The expressions which cannot be compiled fail when
+ * they are evaluated.
+ */
+@Getter
+class TimePlaceholderExpression {
+
+    private static final DateTimeFormatter PARAMETER_TIME_FORMATTER =
+            DateTimeFormatter.ofPattern(PARAMETER_FORMAT_TIME);
+
+    private final String expression;
+
+    private final ExpressionType expressionType;
+
+    private final TimeFunction timeFunction;
+
+    private final String dateFormat;
+
+    private final DateTimeFormatter dateTimeFormatter;
+
+    /**
+     * The folded offset of the time function, or the first day of week of {@link ExpressionType#YEAR_WEEK}.
+     */
+    private final int offset;
+
+    /**
+     * The error of compiling the {@link ExpressionType#INVALID} expression.
+     */
+    private final Exception compileError;
+
+    private TimePlaceholderExpression(String expression,
+                                      ExpressionType expressionType,
+                                      TimeFunction timeFunction,
+                                      String dateFormat,
+                                      int offset) {
+        this(expression, expressionType, timeFunction, dateFormat, offset, null);
+    }
+
+    private TimePlaceholderExpression(String expression,
+                                      ExpressionType expressionType,
+                                      TimeFunction timeFunction,
+                                      String dateFormat,
+                                      int offset,
+                                      Exception compileError) {
+        this.expression = expression;
+        this.expressionType = expressionType;
+        this.timeFunction = timeFunction;
+        this.dateFormat = dateFormat;
+        this.dateTimeFormatter = expressionType == ExpressionType.DATE || expressionType == ExpressionType.TIMESTAMP
+                ? DateTimeFormatter.ofPattern(dateFormat)
+                : null;
+        this.offset = offset;
+        this.compileError = compileError;
+    }
+
+    /**
+     * Compile the expression between {@code $[} and {@code ]}, never throw exception, the invalid expression will
+     * throw exception when evaluating it.
+     */
+    static TimePlaceholderExpression compile(String expression) {
+        try {
+            if (expression.startsWith(TIMESTAMP)) {
+                String timeExpression = expression.substring(TIMESTAMP.length() + 1, expression.length() - 1);
+                return compileTimeExpression(expression, timeExpression, ExpressionType.TIMESTAMP);
+            }
+            if (expression.startsWith(YEAR_WEEK)) {
+                return compileYearWeek(expression);
+            }
+            return compileTimeExpression(expression, expression, ExpressionType.DATE);
+        } catch (Exception e) {
+            return new TimePlaceholderExpression(expression, ExpressionType.INVALID, null, null, 0, e);
+        }
+    }
+
+    /**
+     * Evaluate the expression with the given date.
+     */
+    String evaluate(Date date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Cannot parse the expression: " + expression + ", date is null");
+        }
+        if (expressionType == ExpressionType.INVALID) {
+            throw new IllegalArgumentException("Unsupported placeholder expression: " + expression, compileError);
+        }
+        try {
+            if (expressionType == ExpressionType.YEAR_WEEK) {
+                return TimePlaceholderUtils.transformYearWeek(date, dateFormat, offset);
+            }
+            String dateStr = DateUtils.format(timeFunction.apply(date, offset), dateTimeFormatter, null);
+            if (expressionType == ExpressionType.DATE) {
+                return dateStr;
+            }
+            Date timestamp = DateUtils.parse(dateStr, PARAMETER_TIME_FORMATTER, null);
+            return String.valueOf(timestamp.getTime() / 1000);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Unsupported placeholder expression: " + expression, e);
+        }
+    }
+
+    private static TimePlaceholderExpression compileYearWeek(String expression) {
+        String dataFormat = expression.substring(YEAR_WEEK.length() + 1, expression.length() - 1);
+        int weekDay = 1;
+        if (dataFormat.contains(COMMA)) {
+            String[] params = dataFormat.split(COMMA);
+            dataFormat = params[0];
+            weekDay = TimePlaceholderUtils.calculate(params[1]);
+        }
+        return new TimePlaceholderExpression(expression, ExpressionType.YEAR_WEEK, null, dataFormat, weekDay);
+    }
+
+    /**
+     * Compile the time expression, the time function is chosen by the prefix of the expression.
+     */
+    private static TimePlaceholderExpression compileTimeExpression(String expression,
+                                                                   String timeExpression,
+                                                                   ExpressionType expressionType) {
+        if (timeExpression.startsWith(ADD_MONTHS)) {
+            return compileFunction(expression, timeExpression, ADD_MONTHS, TimeFunction.ADD_MONTHS, expressionType);
+        }
+        if (timeExpression.startsWith(MONTH_BEGIN)) {
+            return compileFunction(expression, timeExpression, MONTH_BEGIN, TimeFunction.MONTH_BEGIN, expressionType);
+        }
+        if (timeExpression.startsWith(MONTH_END)) {
+            return compileFunction(expression, timeExpression, MONTH_END, TimeFunction.MONTH_END, expressionType);
+        }
+        if (timeExpression.startsWith(WEEK_BEGIN)) {
+            return compileFunction(expression, timeExpression, WEEK_BEGIN, TimeFunction.WEEK_BEGIN, expressionType);
+        }
+        if (timeExpression.startsWith(WEEK_END)) {
+            return compileFunction(expression, timeExpression, WEEK_END, TimeFunction.WEEK_END, expressionType);
+        }
+        if (timeExpression.startsWith(MONTH_FIRST_DAY)) {
+            return compileCustomDay(expression, timeExpression, MONTH_FIRST_DAY, TimeFunction.MONTH_FIRST_DAY,
+                    expressionType);
+        }
+        if (timeExpression.startsWith(MONTH_LAST_DAY)) {
+            return compileCustomDay(expression, timeExpression, MONTH_LAST_DAY, TimeFunction.MONTH_LAST_DAY,
+                    expressionType);
+        }
+        if (timeExpression.startsWith(THIS_DAY)) {
+            String dateFormat = timeExpression.substring(THIS_DAY.length() + 1, timeExpression.length() - 1);
+            return new TimePlaceholderExpression(expression, expressionType, TimeFunction.DAYS, dateFormat, 0);
+        }
+        if (timeExpression.startsWith(LAST_DAY)) {
+            String dateFormat = timeExpression.substring(LAST_DAY.length() + 1, timeExpression.length() - 1);
+            return new TimePlaceholderExpression(expression, expressionType, TimeFunction.DAYS, dateFormat, -1);
+        }
+        if (timeExpression.startsWith(WEEK_FIRST_DAY)) {
+            return compileCustomDay(expression, timeExpression, WEEK_FIRST_DAY, TimeFunction.WEEK_FIRST_DAY,
+                    expressionType);
+        }
+        if (timeExpression.startsWith(WEEK_LAST_DAY)) {
+            return compileCustomDay(expression, timeExpression, WEEK_LAST_DAY, TimeFunction.WEEK_LAST_DAY,
+                    expressionType);
+        }
+        return compileMinutes(expression, timeExpression, expressionType);
+    }
+
+    /**
+     * e.g. add_months(yyyyMMdd,-1), the offset is required.
+     */
+    private static TimePlaceholderExpression compileFunction(String expression,
+                                                             String timeExpression,
+                                                             String functionName,
+                                                             TimeFunction timeFunction,
+                                                             ExpressionType expressionType) {
+        String[] params =
+                timeExpression.substring(functionName.length() + 1, timeExpression.length() - 1).split(COMMA);
+        if (params.length != 2) {
+            throw new IllegalArgumentException("expression not valid");
+        }
+        return new TimePlaceholderExpression(expression, expressionType, timeFunction, params[0],
+                TimePlaceholderUtils.calculate(params[1]));
+    }
+
+    /**
+     * e.g. month_first_day(yyyyMMdd,-1), the offset is optional.
+     */
+    private static TimePlaceholderExpression compileCustomDay(String expression,
+                                                              String timeExpression,
+                                                              String functionName,
+                                                              TimeFunction timeFunction,
+                                                              ExpressionType expressionType) {
+        String dateFormat = timeExpression.substring(functionName.length() + 1, timeExpression.length() - 1);
+        int offset = 0;
+        if (dateFormat.contains(COMMA)) {
+            String[] params = dateFormat.split(COMMA);
+            dateFormat = params[0];
+            offset = TimePlaceholderUtils.calculate(params[1]);
+        }
+        return new TimePlaceholderExpression(expression, expressionType, timeFunction, dateFormat, offset);
+    }
+
+    /**
+     * e.g. yyyyMMdd-1, yyyyMMddHHmmss+1/24, or only the date format.
+     */
+    private static TimePlaceholderExpression compileMinutes(String expression,
+                                                            String timeExpression,
+                                                            ExpressionType expressionType) {
+        if (timeExpression.contains("+")) {
+            int index = timeExpression.lastIndexOf('+');
+            if (Character.isDigit(timeExpression.charAt(index + 1))) {
+                return new TimePlaceholderExpression(expression, expressionType, TimeFunction.MINUTES,
+                        timeExpression.substring(0, index),
+                        TimePlaceholderUtils.calcMinutes(timeExpression.substring(index + 1)));
+            }
+        } else if (timeExpression.contains("-")) {
+            int index = timeExpression.lastIndexOf('-');
+            if (Character.isDigit(timeExpression.charAt(index + 1))) {
+                return new TimePlaceholderExpression(expression, expressionType, TimeFunction.MINUTES,
+                        timeExpression.substring(0, index),
+                        0 - TimePlaceholderUtils.calcMinutes(timeExpression.substring(index + 1)));
+            }
+        }
+        return new TimePlaceholderExpression(expression, expressionType, TimeFunction.DAYS, timeExpression, 0);
+    }
+
+    enum ExpressionType {
+        DATE,
+        TIMESTAMP,
+        YEAR_WEEK,
+        /**
+         * The expression cannot be compiled, evaluating it throws {@link IllegalArgumentException}.
+         */
+        INVALID,
+    }
+
+    enum TimeFunction {
+
+        DAYS((date, offset) -> addDays(date, offset)),
+        MINUTES((date, offset) -> addMinutes(date, offset)),
+        ADD_MONTHS((date, offset) -> addMonths(date, offset)),
+        MONTH_BEGIN((date, offset) -> addDays(DateUtils.getFirstDayOfMonth(date), offset)),
+        MONTH_END((date, offset) -> addDays(DateUtils.getLastDayOfMonth(date), offset)),
+        WEEK_BEGIN((date, offset) -> addDays(DateUtils.getMonday(date), offset)),
+        WEEK_END((date, offset) -> addDays(DateUtils.getSunday(date), offset)),
+        MONTH_FIRST_DAY((date, offset) -> addMonths(DateUtils.getFirstDayOfMonth(date), offset)),
+        MONTH_LAST_DAY((date, offset) -> DateUtils.getLastDayOfMonth(addMonths(date, offset))),
+        WEEK_FIRST_DAY((date, offset) -> addWeeks(DateUtils.getMonday(date), offset)),
+        WEEK_LAST_DAY((date, offset) -> addWeeks(DateUtils.getSunday(date), offset)),
+        ;
+
+        private final BiFunction<Date, Integer, Date> function;
+
+        TimeFunction(BiFunction<Date, Integer, Date> function) {
+            this.function = function;
+        }
+
+        Date apply(Date date, int offset) {
+            return function.apply(date, offset);
+        }
+    }
+}
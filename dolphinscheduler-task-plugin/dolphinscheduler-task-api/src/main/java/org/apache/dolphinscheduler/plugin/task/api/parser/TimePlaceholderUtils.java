@@ -17,54 +17,36 @@
 
 package org.apache.dolphinscheduler.plugin.task.api.parser;
 
-import static org.apache.commons.lang3.time.DateUtils.addWeeks;
-import static org.apache.dolphinscheduler.common.utils.DateUtils.addDays;
-import static org.apache.dolphinscheduler.common.utils.DateUtils.addMinutes;
-import static org.apache.dolphinscheduler.common.utils.DateUtils.addMonths;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.ADD_CHAR;
-import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.ADD_MONTHS;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.ADD_STRING;
-import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.COMMA;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.DIVISION_CHAR;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.DIVISION_STRING;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.HYPHEN;
-import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.LAST_DAY;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.LEFT_BRACE_CHAR;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.LEFT_BRACE_STRING;
-import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.MONTH_BEGIN;
-import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.MONTH_END;
-import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.MONTH_FIRST_DAY;
-import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.MONTH_LAST_DAY;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.MULTIPLY_CHAR;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.MULTIPLY_STRING;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.N;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.P;
-import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.PARAMETER_FORMAT_TIME;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.RIGHT_BRACE_CHAR;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.SUBTRACT_CHAR;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.SUBTRACT_STRING;
-import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.THIS_DAY;
-import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.TIMESTAMP;
-import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.WEEK_BEGIN;
-import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.WEEK_END;
-import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.WEEK_FIRST_DAY;
-import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.WEEK_LAST_DAY;
-import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.YEAR_WEEK;
-
-import org.apache.dolphinscheduler.common.utils.DateUtils;
 
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Stack;
 
 import lombok.extern.slf4j.Slf4j;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 /**
  * time place holder utils
  */
@@ -81,6 +63,22 @@ public class TimePlaceholderUtils {
      */
     public static final String PLACEHOLDER_SUFFIX = "]";
 
+    private static final PropertyPlaceholderHelper STRICT_HELPER =
+            new PropertyPlaceholderHelper(PLACEHOLDER_PREFIX, PLACEHOLDER_SUFFIX, null, false);
+
+    private static final PropertyPlaceholderHelper NON_STRICT_HELPER =
+            new PropertyPlaceholderHelper(PLACEHOLDER_PREFIX, PLACEHOLDER_SUFFIX, null, true);
+
+    /**
+     * The max number of the compiled time expressions, the expressions used by the tasks are limited, so it is only
+     * a guard against the abnormal expressions.
+     */
+    private static final long EXPRESSION_CACHE_MAX_SIZE = 10000;
+
+    private static final Cache<String, TimePlaceholderExpression> EXPRESSION_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(EXPRESSION_CACHE_MAX_SIZE)
+            .build();
+
     /**
      * Replaces all placeholders of format {@code ${name}} with the value returned
      * from the supplied {@link PropertyPlaceholderHelper.PlaceholderResolver}.
@@ -91,22 +89,33 @@ public class TimePlaceholderUtils {
      * @return the supplied value with placeholders replaced inline
      */
     public static String replacePlaceholders(String value, Date date, boolean ignoreUnresolvablePlaceholders) {
-        PropertyPlaceholderHelper strictHelper = getPropertyPlaceholderHelper(false);
-        PropertyPlaceholderHelper nonStrictHelper = getPropertyPlaceholderHelper(true);
-
-        PropertyPlaceholderHelper helper = (ignoreUnresolvablePlaceholders ? nonStrictHelper : strictHelper);
+        PropertyPlaceholderHelper helper = getPropertyPlaceholderHelper(ignoreUnresolvablePlaceholders);
         return helper.replacePlaceholders(value, new TimePlaceholderResolver(value, date));
     }
 
     /**
-     * Creates a new {@code PropertyPlaceholderHelper} that uses the supplied prefix and suffix.
+     * Get the shared {@code PropertyPlaceholderHelper} that uses the supplied prefix and suffix.
      *
      * @param ignoreUnresolvablePlaceholders indicates whether unresolvable placeholders should
      *                                       be ignored ({@code true}) or cause an exception ({@code false})
      */
     private static PropertyPlaceholderHelper getPropertyPlaceholderHelper(boolean ignoreUnresolvablePlaceholders) {
-        return new PropertyPlaceholderHelper(PLACEHOLDER_PREFIX, PLACEHOLDER_SUFFIX, null,
-                ignoreUnresolvablePlaceholders);
+        return ignoreUnresolvablePlaceholders ? NON_STRICT_HELPER : STRICT_HELPER;
+    }
+
+    /**
+     * Get the compiled time expression from the cache, the expression is compiled at the first time it is used.
+     *
+     * @param expression the expression between {@code $[} and {@code ]}
+     * @return the compiled expression
+     */
+    static TimePlaceholderExpression compileExpression(String expression) {
+        TimePlaceholderExpression timePlaceholderExpression = EXPRESSION_CACHE.getIfPresent(expression);
+        if (timePlaceholderExpression == null) {
+            timePlaceholderExpression = TimePlaceholderExpression.compile(expression);
+            EXPRESSION_CACHE.put(expression, timePlaceholderExpression);
+        }
+        return timePlaceholderExpression;
     }
 
     /**
@@ -313,6 +322,11 @@ public class TimePlaceholderUtils {
 
         private final Date date;
 
+        /**
+         * The same placeholder in a value always has the same result since the date is fixed.
+         */
+        private final Map<String, String> placeholderTimes = new HashMap<>();
+
         public TimePlaceholderResolver(String value, Date date) {
             this.value = value;
             this.date = date;
@@ -321,7 +335,8 @@ public class TimePlaceholderUtils {
         @Override
         public String resolvePlaceholder(String placeholderName) {
             try {
-                return calculateTime(placeholderName, date);
+                return placeholderTimes.computeIfAbsent(placeholderName,
+                        expression -> calculateTime(expression, date));
             } catch (Exception ex) {
                 log.error("resolve placeholder '{}' in [ {} ]", placeholderName, value, ex);
                 return null;
@@ -352,61 +367,9 @@ public class TimePlaceholderUtils {
      * @param date date
      * @return calculate time
      */
-    private static String calculateTime(String expression, Date date) {
+    static String calculateTime(String expression, Date date) {
         // After N years: $[add_months(yyyyMMdd,12*N)], the first N months: $[add_months(yyyyMMdd,-N)], etc
-        if (date == null) {
-            throw new IllegalArgumentException("Cannot parse the expression: " + expression + ", date is null");
-        }
-        try {
-            if (expression.startsWith(TIMESTAMP)) {
-                String timeExpression = expression.substring(TIMESTAMP.length() + 1, expression.length() - 1);
-
-                Map.Entry<Date, String> entry = calcTimeExpression(timeExpression, date);
-
-                String dateStr = DateUtils.format(entry.getKey(), entry.getValue());
-
-                Date timestamp = DateUtils.parse(dateStr, PARAMETER_FORMAT_TIME);
-
-                return String.valueOf(timestamp.getTime() / 1000);
-            }
-            if (expression.startsWith(YEAR_WEEK)) {
-                return calculateYearWeek(expression, date);
-            }
-            Map.Entry<Date, String> entry = calcTimeExpression(expression, date);
-            return DateUtils.format(entry.getKey(), entry.getValue());
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Unsupported placeholder expression: " + expression, e);
-        }
-    }
-
-    /**
-     * get week of year
-     * @param expression expression
-     * @param date       date
-     * @return week of year
-     */
-    public static String calculateYearWeek(String expression, Date date) {
-
-        String dataFormat = expression.substring(YEAR_WEEK.length() + 1, expression.length() - 1);
-
-        String targetDate = "";
-        try {
-
-            if (dataFormat.contains(COMMA)) {
-                String param1 = dataFormat.split(COMMA)[0];
-                String param2 = dataFormat.split(COMMA)[1];
-                dataFormat = param1;
-
-                targetDate = transformYearWeek(date, dataFormat, calculate(param2));
-
-            } else {
-                targetDate = transformYearWeek(date, dataFormat, 1);
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("expression not valid");
-        }
-
-        return targetDate;
+        return compileExpression(expression).evaluate(date);
     }
 
     /**
@@ -416,7 +379,7 @@ public class TimePlaceholderUtils {
      * @param weekDay day of week
      * @return date_string
      */
-    private static String transformYearWeek(Date date, String format, int weekDay) {
+    static String transformYearWeek(Date date, String format, int weekDay) {
         Calendar calendar = Calendar.getInstance();
         // Minimum number of days required for the first week of the year
         calendar.setMinimalDaysInFirstWeek(4);
@@ -465,284 +428,6 @@ public class TimePlaceholderUtils {
         return weekYearStr;
     }
 
-    /**
-     * calculate time expresstion
-     *
-     * @param expression expresstion
-     * @param date       date
-     * @return map with date, date format
-     */
-    public static Map.Entry<Date, String> calcTimeExpression(String expression, Date date) {
-        Map.Entry<Date, String> resultEntry;
-
-        if (expression.startsWith(ADD_MONTHS)) {
-            resultEntry = calcMonths(expression, date);
-        } else if (expression.startsWith(MONTH_BEGIN)) {
-            resultEntry = calcMonthBegin(expression, date);
-        } else if (expression.startsWith(MONTH_END)) {
-            resultEntry = calcMonthEnd(expression, date);
-        } else if (expression.startsWith(WEEK_BEGIN)) {
-            resultEntry = calcWeekStart(expression, date);
-        } else if (expression.startsWith(WEEK_END)) {
-            resultEntry = calcWeekEnd(expression, date);
-        } else if (expression.startsWith(MONTH_FIRST_DAY)) {
-            resultEntry = calcCustomDay(expression, MONTH_FIRST_DAY, date);
-        } else if (expression.startsWith(MONTH_LAST_DAY)) {
-            resultEntry = calcCustomDay(expression, MONTH_LAST_DAY, date);
-        } else if (expression.startsWith(THIS_DAY)) {
-            resultEntry = calcCustomDay(expression, THIS_DAY, date);
-        } else if (expression.startsWith(LAST_DAY)) {
-            resultEntry = calcCustomDay(expression, LAST_DAY, date);
-        } else if (expression.startsWith(WEEK_FIRST_DAY)) {
-            resultEntry = calcCustomDay(expression, WEEK_FIRST_DAY, date);
-        } else if (expression.startsWith(WEEK_LAST_DAY)) {
-            resultEntry = calcCustomDay(expression, WEEK_LAST_DAY, date);
-        } else {
-            resultEntry = calcMinutes(expression, date);
-        }
-
-        return resultEntry;
-    }
-
-    /**
-     * get first day of month
-     *
-     * @param expression expresstion
-     * @param date       date
-     * @return first day of month
-     */
-    public static Map.Entry<Date, String> calcMonthBegin(String expression, Date date) {
-        String addMonthExpr = expression.substring(MONTH_BEGIN.length() + 1, expression.length() - 1);
-        String[] params = addMonthExpr.split(COMMA);
-
-        if (params.length == 2) {
-            String dateFormat = params[0];
-            String dayExpr = params[1];
-            Integer day = calculate(dayExpr);
-            Date targetDate = DateUtils.getFirstDayOfMonth(date);
-            targetDate = addDays(targetDate, day);
-
-            return new AbstractMap.SimpleImmutableEntry<>(targetDate, dateFormat);
-        }
-
-        throw new RuntimeException("expression not valid");
-    }
-
-    /**
-     * get last day of month
-     *
-     * @param expression expresstion
-     * @param date       date
-     * @return last day of month
-     */
-    public static Map.Entry<Date, String> calcMonthEnd(String expression, Date date) {
-        String addMonthExpr = expression.substring(MONTH_END.length() + 1, expression.length() - 1);
-        String[] params = addMonthExpr.split(COMMA);
-
-        if (params.length == 2) {
-            String dateFormat = params[0];
-            String dayExpr = params[1];
-            Integer day = calculate(dayExpr);
-            Date targetDate = DateUtils.getLastDayOfMonth(date);
-            targetDate = addDays(targetDate, day);
-
-            return new AbstractMap.SimpleImmutableEntry<>(targetDate, dateFormat);
-        }
-
-        throw new RuntimeException("expression not valid");
-    }
-
-    /**
-     * calculate time expression
-     * month first day month last day
-     * @param expression expression
-     * @param date       date
-     * @return calculate time expression with date,format
-     */
-    public static Map.Entry<Date, String> calcCustomDay(String expression, String keyDate, Date date) {
-        String dataFormat = "yyyy-MM-dd";
-        Date targetDate = new Date();
-
-        switch (keyDate) {
-            case MONTH_FIRST_DAY:
-                dataFormat = expression.substring(MONTH_FIRST_DAY.length() + 1, expression.length() - 1);
-
-                if (dataFormat.contains(COMMA)) {
-                    String param1 = dataFormat.split(COMMA)[0];
-                    String param2 = dataFormat.split(COMMA)[1];
-                    dataFormat = param1;
-
-                    targetDate = addMonths(DateUtils.getFirstDayOfMonth(date), calculate(param2));
-                } else {
-                    targetDate = DateUtils.getFirstDayOfMonth(date);
-                }
-
-                break;
-            case MONTH_LAST_DAY:
-                dataFormat = expression.substring(MONTH_LAST_DAY.length() + 1, expression.length() - 1);
-
-                if (dataFormat.contains(COMMA)) {
-                    String param1 = dataFormat.split(COMMA)[0];
-                    String param2 = dataFormat.split(COMMA)[1];
-                    dataFormat = param1;
-
-                    Date lastMonthDay = addMonths(date, calculate(param2));
-
-                    targetDate = DateUtils.getLastDayOfMonth(lastMonthDay);
-
-                } else {
-                    targetDate = DateUtils.getLastDayOfMonth(date);
-                }
-                break;
-            case THIS_DAY:
-                dataFormat = expression.substring(THIS_DAY.length() + 1, expression.length() - 1);
-                targetDate = addDays(date, 0);
-                break;
-            case LAST_DAY:
-                dataFormat = expression.substring(LAST_DAY.length() + 1, expression.length() - 1);
-                targetDate = addDays(date, -1);
-                break;
-            case WEEK_FIRST_DAY:
-                dataFormat = expression.substring(WEEK_FIRST_DAY.length() + 1, expression.length() - 1);
-
-                if (dataFormat.contains(COMMA)) {
-                    String param1 = dataFormat.split(COMMA)[0];
-                    String param2 = dataFormat.split(COMMA)[1];
-                    dataFormat = param1;
-
-                    targetDate = addWeeks(DateUtils.getMonday(date), calculate(param2));
-                } else {
-                    targetDate = addWeeks(DateUtils.getMonday(date), 0);
-                }
-                break;
-            case WEEK_LAST_DAY:
-                dataFormat = expression.substring(WEEK_LAST_DAY.length() + 1, expression.length() - 1);
-
-                if (dataFormat.contains(COMMA)) {
-                    String param1 = dataFormat.split(COMMA)[0];
-                    String param2 = dataFormat.split(COMMA)[1];
-                    dataFormat = param1;
-
-                    targetDate = addWeeks(DateUtils.getSunday(date), calculate(param2));
-                } else {
-                    targetDate = addWeeks(DateUtils.getSunday(date), 0);
-                }
-                break;
-            default:
-                break;
-        }
-
-        return new AbstractMap.SimpleImmutableEntry<>(targetDate, dataFormat);
-
-    }
-
-    /**
-     * get first day of week
-     *
-     * @param expression expresstion
-     * @param date       date
-     * @return monday
-     */
-    public static Map.Entry<Date, String> calcWeekStart(String expression, Date date) {
-        String addMonthExpr = expression.substring(WEEK_BEGIN.length() + 1, expression.length() - 1);
-        String[] params = addMonthExpr.split(COMMA);
-
-        if (params.length == 2) {
-            String dateFormat = params[0];
-            String dayExpr = params[1];
-            Integer day = calculate(dayExpr);
-            Date targetDate = DateUtils.getMonday(date);
-            targetDate = addDays(targetDate, day);
-            return new AbstractMap.SimpleImmutableEntry<>(targetDate, dateFormat);
-        }
-
-        throw new RuntimeException("expression not valid");
-    }
-
-    /**
-     * get last day of week
-     *
-     * @param expression expresstion
-     * @param date       date
-     * @return last day of week
-     */
-    public static Map.Entry<Date, String> calcWeekEnd(String expression, Date date) {
-        String addMonthExpr = expression.substring(WEEK_END.length() + 1, expression.length() - 1);
-        String[] params = addMonthExpr.split(COMMA);
-
-        if (params.length == 2) {
-            String dateFormat = params[0];
-            String dayExpr = params[1];
-            Integer day = calculate(dayExpr);
-            Date targetDate = DateUtils.getSunday(date);
-            targetDate = addDays(targetDate, day);
-
-            return new AbstractMap.SimpleImmutableEntry<>(targetDate, dateFormat);
-        }
-
-        throw new RuntimeException("Expression not valid");
-    }
-
-    /**
-     * calc months expression
-     *
-     * @param expression expresstion
-     * @param date       date
-     * @return calc months
-     */
-    public static Map.Entry<Date, String> calcMonths(String expression, Date date) {
-        String addMonthExpr = expression.substring(ADD_MONTHS.length() + 1, expression.length() - 1);
-        String[] params = addMonthExpr.split(COMMA);
-
-        if (params.length == 2) {
-            String dateFormat = params[0];
-            String monthExpr = params[1];
-            Integer addMonth = calculate(monthExpr);
-            Date targetDate = addMonths(date, addMonth);
-
-            return new AbstractMap.SimpleImmutableEntry<>(targetDate, dateFormat);
-        }
-
-        throw new RuntimeException("expression not valid");
-    }
-
-    /**
-     * calculate time expression
-     *
-     * @param expression expresstion
-     * @param date       date
-     * @return calculate time expression with date,format
-     */
-    public static Map.Entry<Date, String> calcMinutes(String expression, Date date) {
-        if (expression.contains("+")) {
-            int index = expression.lastIndexOf('+');
-
-            if (Character.isDigit(expression.charAt(index + 1))) {
-                String addMinuteExpr = expression.substring(index + 1);
-                Date targetDate = addMinutes(date, calcMinutes(addMinuteExpr));
-                String dateFormat = expression.substring(0, index);
-
-                return new AbstractMap.SimpleImmutableEntry<>(targetDate, dateFormat);
-            }
-        } else if (expression.contains("-")) {
-            int index = expression.lastIndexOf('-');
-
-            if (Character.isDigit(expression.charAt(index + 1))) {
-                String addMinuteExpr = expression.substring(index + 1);
-                Date targetDate = addMinutes(date, 0 - calcMinutes(addMinuteExpr));
-                String dateFormat = expression.substring(0, index);
-
-                return new AbstractMap.SimpleImmutableEntry<>(targetDate, dateFormat);
-            }
-
-            // yyyy-MM-dd/HH:mm:ss
-            return new AbstractMap.SimpleImmutableEntry<>(date, expression);
-        }
-
-        // $[HHmmss]
-        return new AbstractMap.SimpleImmutableEntry<>(date, expression);
-    }
-
     /**
      * calculate need minutes
      *
@@ -297,12 +297,15 @@ public class ParameterUtils {
 
         Matcher matcher = DATE_PARSE_PATTERN.matcher(templateStr);
 
+        // the same expression in a template always has the same value since the date is fixed
+        Map<String, String> placeholderTimes = new HashMap<>();
         while (matcher.find()) {
             String key = matcher.group(1);
             if (DATE_START_PATTERN.matcher(key).matches()) {
                 continue;
             }
-            String value = TimePlaceholderUtils.getPlaceHolderTime(key, date);
+            String value = placeholderTimes.computeIfAbsent(key,
+                    expression -> TimePlaceholderUtils.getPlaceHolderTime(expression, date));
             matcher.appendReplacement(newValue, value);
         }
 
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TaskLogBufferTest {
+
+    @Test
+    void offer_withBlockPolicy() {
+        try (TaskLogBuffer taskLogBuffer = new TaskLogBuffer(2, TaskLogOverflowPolicy.BLOCK)) {
+            assertThat(taskLogBuffer.offer("1")).isTrue();
+            assertThat(taskLogBuffer.offer("2")).isTrue();
+            assertThat(taskLogBuffer.offer("3")).isFalse();
+            assertThat(taskLogBuffer.isFull()).isTrue();
+
+            List<String> lines = new ArrayList<>();
+            assertThat(taskLogBuffer.drainTo(lines, 10)).isEqualTo(2);
+            assertThat(lines).containsExactly("1", "2").inOrder();
+            assertThat(taskLogBuffer.offer("3")).isTrue();
+            assertThat(taskLogBuffer.getDroppedLineCount()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    void offer_withDropPolicy() {
+        try (TaskLogBuffer taskLogBuffer = new TaskLogBuffer(2, TaskLogOverflowPolicy.DROP)) {
+            for (int i = 1; i <= 5; i++) {
+                assertThat(taskLogBuffer.offer(String.valueOf(i))).isTrue();
+            }
+            List<String> lines = new ArrayList<>();
+            taskLogBuffer.drainTo(lines, 10);
+            assertThat(lines).containsExactly("1", "2").inOrder();
+            assertThat(taskLogBuffer.getDroppedLineCount()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void offer_withSpillPolicy() {
+        try (TaskLogBuffer taskLogBuffer = new TaskLogBuffer(2, TaskLogOverflowPolicy.SPILL)) {
+            for (int i = 1; i <= 5; i++) {
+                assertThat(taskLogBuffer.offer(String.valueOf(i))).isTrue();
+            }
+            assertThat(taskLogBuffer.getSpilledLineCount()).isEqualTo(3);
+
+            List<String> lines = new ArrayList<>();
+            assertThat(taskLogBuffer.drainTo(lines, 3)).isEqualTo(3);
+            // The new line should be appended after the spilled lines
+            assertThat(taskLogBuffer.offer("6")).isTrue();
+            assertThat(taskLogBuffer.drainTo(lines, 10)).isEqualTo(3);
+            assertThat(lines).containsExactly("1", "2", "3", "4", "5", "6").inOrder();
+            assertThat(taskLogBuffer.isEmpty()).isTrue();
+            assertThat(taskLogBuffer.getDroppedLineCount()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    void put_waitUntilDrained() throws InterruptedException {
+        try (TaskLogBuffer taskLogBuffer = new TaskLogBuffer(1, TaskLogOverflowPolicy.BLOCK)) {
+            taskLogBuffer.put("1");
+            Thread producer = new Thread(() -> {
+                try {
+                    taskLogBuffer.put("2");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            producer.start();
+
+            List<String> lines = new ArrayList<>();
+            while (lines.size() < 2) {
+                taskLogBuffer.drainTo(lines, 1);
+                Thread.sleep(10);
+            }
+            producer.join();
+            assertThat(lines).containsExactly("1", "2").inOrder();
+        }
+    }
+
+}
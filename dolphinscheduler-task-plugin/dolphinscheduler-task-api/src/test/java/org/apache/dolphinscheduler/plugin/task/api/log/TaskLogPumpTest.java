@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+@DisabledOnOs(OS.WINDOWS)
+class TaskLogPumpTest {
+
+    private TaskLogPump taskLogPump;
+
+    @BeforeEach
+    void setUp() {
+        taskLogPump = new TaskLogPump(1, 100, TaskLogOverflowPolicy.BLOCK, 10, 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskLogPump.close();
+    }
+
+    @Test
+    void pumpProcessOutput() throws Exception {
+        List<String> handledLines = new CopyOnWriteArrayList<>();
+        AtomicInteger batchCount = new AtomicInteger();
+        List<String> listenedLines = new CopyOnWriteArrayList<>();
+
+        TaskLogSession taskLogSession = taskLogPump.openSession(1, "test.log", logs -> {
+            batchCount.incrementAndGet();
+            // The head line of each batch is empty
+            assertThat(logs.poll()).isEmpty();
+            logs.drainTo(handledLines);
+        });
+        Process process = new ProcessBuilder("sh", "-c", "for i in $(seq 1 1000); do echo line$i; done; printf tail")
+                .redirectErrorStream(true)
+                .start();
+        CompletableFuture<Void> outputFuture = taskLogSession.pumpProcessOutput(process, listenedLines::add);
+        taskLogSession.seal().get(30, TimeUnit.SECONDS);
+
+        assertThat(outputFuture.isDone()).isTrue();
+        assertThat(handledLines).hasSize(1001);
+        assertThat(handledLines.get(0)).isEqualTo("line1");
+        assertThat(handledLines.get(999)).isEqualTo("line1000");
+        assertThat(handledLines.get(1000)).isEqualTo("tail");
+        assertThat(listenedLines).isEqualTo(handledLines);
+        // The buffer holds 100 lines, so the lines are handled in batches
+        assertThat(batchCount.get()).isAtLeast(10);
+        assertThat(taskLogSession.getDroppedLineCount()).isEqualTo(0);
+        assertThat(taskLogSession.getLogBytes()).isGreaterThan(0L);
+        assertThat(taskLogSession.getMeters()).isEmpty();
+    }
+
+    @Test
+    void pumpProcessOutput_withDropPolicy() throws Exception {
+        try (TaskLogPump dropTaskLogPump = new TaskLogPump(1, 10, TaskLogOverflowPolicy.DROP, 10, 50)) {
+            List<String> handledLines = new CopyOnWriteArrayList<>();
+            List<String> listenedLines = new CopyOnWriteArrayList<>();
+            TaskLogSession taskLogSession = dropTaskLogPump.openSession(2, "test.log", logs -> {
+                logs.poll();
+                logs.drainTo(handledLines);
+            });
+            Process process = new ProcessBuilder("sh", "-c", "seq 1 1000").start();
+            taskLogSession.pumpProcessOutput(process, listenedLines::add);
+            taskLogSession.seal().get(30, TimeUnit.SECONDS);
+
+            // The dropped lines are still listened, e.g. the output parameters are never lost
+            assertThat(listenedLines).hasSize(1000);
+            assertThat(handledLines.size() + taskLogSession.getDroppedLineCount()).isEqualTo(1000);
+        }
+    }
+
+    @Test
+    void pumpBlockingProducer() throws Exception {
+        LinkedBlockingQueue<String> handledLines = new LinkedBlockingQueue<>();
+        TaskLogSession taskLogSession = taskLogPump.openSession(3, "test.log", logs -> {
+            logs.poll();
+            logs.drainTo(handledLines);
+        });
+        CompletableFuture<Void> producerFuture = taskLogSession.pumpBlockingProducer(session -> {
+            for (int i = 0; i < 500; i++) {
+                session.putLine("line" + i);
+            }
+        });
+        CompletableFuture<Void> failedProducerFuture = taskLogSession.pumpBlockingProducer(session -> {
+            throw new IllegalStateException("The pod does not exist");
+        });
+        taskLogSession.seal().get(30, TimeUnit.SECONDS);
+
+        assertThat(producerFuture.isDone()).isTrue();
+        assertThat(failedProducerFuture.isCompletedExceptionally()).isTrue();
+        assertThat(handledLines).hasSize(500);
+    }
+
+    @Test
+    void putLine_countLogBytes() throws Exception {
+        TaskLogSession taskLogSession = taskLogPump.openSession(4, "test.log", logs -> logs.clear());
+        String line = "\u65e5\u5fd7";
+        CompletableFuture<Void> producerFuture = taskLogSession.pumpBlockingProducer(session -> session.putLine(line));
+        taskLogSession.seal().get(30, TimeUnit.SECONDS);
+
+        assertThat(producerFuture.isDone()).isTrue();
+        assertThat(taskLogSession.getLogBytes()).isEqualTo(line.getBytes(Charset.defaultCharset()).length);
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.parser;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PropertyPlaceholderHelperTest {
+
+    @Test
+    public void testReplacePlaceholders() {
+        Map<String, String> paramsMap = new HashMap<>();
+        paramsMap.put("name", "ds");
+        paramsMap.put("suffix", "me");
+        paramsMap.put("nested", "${name}-${suffix}");
+        paramsMap.put("ds_me", "nested key");
+
+        Assertions.assertEquals("hello ds, ds-me, nested key, ${unknown}, ${unclosed",
+                PlaceholderUtils.replacePlaceholders(
+                        "hello ${name}, ${nested}, ${${name}_${suffix}}, ${unknown}, ${unclosed", paramsMap, true));
+        Assertions.assertEquals("no placeholder",
+                PlaceholderUtils.replacePlaceholders("no placeholder", paramsMap, true));
+    }
+
+    @Test
+    public void testReplacePlaceholdersWithDefaultValue() {
+        PropertyPlaceholderHelper helper = new PropertyPlaceholderHelper("${", "}", ":", true);
+        Map<String, String> paramsMap = new HashMap<>();
+        paramsMap.put("name", "ds");
+
+        Assertions.assertEquals("ds, default", helper.replacePlaceholders("${name:other}, ${absent:default}",
+                paramsMap::get));
+    }
+
+    @Test
+    public void testReplacePlaceholdersStrictly() {
+        Map<String, String> paramsMap = new HashMap<>();
+        paramsMap.put("name", "${absent}");
+
+        IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> PlaceholderUtils.replacePlaceholders("hello ${name}", paramsMap, false));
+        Assertions.assertEquals("Could not resolve placeholder 'absent' in value \"${absent}\"",
+                exception.getMessage());
+    }
+
+    @Test
+    public void testCircularPlaceholderReference() {
+        Map<String, String> paramsMap = new HashMap<>();
+        paramsMap.put("a", "${b}");
+        paramsMap.put("b", "${a}");
+
+        IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> PlaceholderUtils.replacePlaceholders("${a}", paramsMap, true));
+        Assertions.assertEquals("Circular placeholder reference 'a' in property definitions", exception.getMessage());
+    }
+
+    @Test
+    public void testCompiledTemplateIsReused() {
+        PropertyPlaceholderHelper helper = PlaceholderUtils.getPropertyPlaceholderHelper(true);
+        PlaceholderTemplate template = helper.compileTemplate("echo ${a} ${b}");
+
+        Assertions.assertSame(template, helper.compileTemplate("echo ${a} ${b}"));
+        Assertions.assertEquals(4, template.getSegments().size());
+        Assertions.assertTrue(helper.compileTemplate("echo").isLiteral());
+
+        Map<String, String> paramsMap = new HashMap<>();
+        paramsMap.put("a", "1");
+        Assertions.assertEquals("echo 1 ${b}", helper.replacePlaceholders("echo ${a} ${b}", paramsMap::get));
+        paramsMap.put("b", "2");
+        Assertions.assertEquals("echo 1 2", helper.replacePlaceholders("echo ${a} ${b}", paramsMap::get));
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.parser;
+
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TimePlaceholderExpressionTest {
+
+    @Test
+    public void testEvaluate() {
+        Date date = DateUtils.parse("2024-02-29 23:59:59", "yyyy-MM-dd HH:mm:ss");
+        Map<String, String> expectedResults = new LinkedHashMap<>();
+        expectedResults.put("yyyyMMdd", "20240229");
+        expectedResults.put("yyyyMMdd-1", "20240228");
+        expectedResults.put("yyyyMMdd+7", "20240307");
+        expectedResults.put("yyyy-MM-dd HH:mm:ss", "2024-02-29 23:59:59");
+        expectedResults.put("yyyyMMddHHmmss+1/24", "20240301005959");
+        expectedResults.put("yyyyMMddHHmmss-1/24", "20240229225959");
+        expectedResults.put("HH:mm:ss", "23:59:59");
+        expectedResults.put("add_months(yyyyMMdd,-1)", "20240129");
+        expectedResults.put("add_months(yyyyMMdd,12*2)", "20260228");
+        expectedResults.put("month_begin(yyyyMMdd,1)", "20240202");
+        expectedResults.put("month_end(yyyyMMdd,-1)", "20240228");
+        expectedResults.put("week_begin(yyyyMMdd,0)", "20240226");
+        expectedResults.put("week_end(yyyy-MM-dd,-7)", "2024-02-25");
+        expectedResults.put("month_first_day(yyyy-MM-dd)", "2024-02-01");
+        expectedResults.put("month_first_day(yyyy-MM-dd,-1)", "2024-01-01");
+        expectedResults.put("month_last_day(yyyy-MM-dd)", "2024-02-29");
+        expectedResults.put("month_last_day(yyyy-MM-dd,-1)", "2024-01-31");
+        expectedResults.put("this_day(yyyyMMdd)", "20240229");
+        expectedResults.put("last_day(yyyy-MM-dd)", "2024-02-28");
+        expectedResults.put("week_first_day(yyyy-MM-dd,1)", "2024-03-04");
+        expectedResults.put("week_last_day(yyyyMMdd)", "20240303");
+        expectedResults.put("year_week(yyyy-MM-dd)", "2024-09");
+        expectedResults.put("year_week(yyyyMMdd,5)", "202409");
+        expectedResults.put("timestamp(yyyyMMddHHmmss)",
+                String.valueOf(DateUtils.parse("20240229235959", "yyyyMMddHHmmss").getTime() / 1000));
+        expectedResults.put("timestamp(month_begin(yyyyMMddHHmmss,1))",
+                String.valueOf(DateUtils.parse("20240202235959", "yyyyMMddHHmmss").getTime() / 1000));
+        expectedResults.forEach((expression, expected) -> Assertions.assertEquals(expected,
+                TimePlaceholderExpression.compile(expression).evaluate(date), expression));
+
+        List<String> invalidExpressions = Arrays.asList(
+                "yyyyMMdd-(1+2)*3",
+                "timestamp(yyyyMMdd)",
+                "add_months(yyyyMMdd)",
+                "month_begin(yyyyMMdd,a)",
+                "year_week(yyyyMMdd,a)",
+                "week_last_day(yyyy-MM-dd,0) - 1",
+                "yyyyMMdd+",
+                "bbb");
+        for (String expression : invalidExpressions) {
+            IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> TimePlaceholderExpression.compile(expression).evaluate(date), expression);
+            Assertions.assertEquals("Unsupported placeholder expression: " + expression, exception.getMessage());
+        }
+    }
+
+    @Test
+    public void testCompile() {
+        TimePlaceholderExpression addMonths = TimePlaceholderExpression.compile("add_months(yyyyMMdd,12*2)");
+        Assertions.assertEquals(TimePlaceholderExpression.ExpressionType.DATE, addMonths.getExpressionType());
+        Assertions.assertEquals(TimePlaceholderExpression.TimeFunction.ADD_MONTHS, addMonths.getTimeFunction());
+        Assertions.assertEquals("yyyyMMdd", addMonths.getDateFormat());
+        Assertions.assertEquals(24, addMonths.getOffset());
+
+        TimePlaceholderExpression minutes = TimePlaceholderExpression.compile("yyyyMMddHHmmss-1/24");
+        Assertions.assertEquals(TimePlaceholderExpression.TimeFunction.MINUTES, minutes.getTimeFunction());
+        Assertions.assertEquals(-60, minutes.getOffset());
+
+        Assertions.assertEquals(TimePlaceholderExpression.ExpressionType.INVALID,
+                TimePlaceholderExpression.compile("add_months(yyyyMMdd)").getExpressionType());
+    }
+
+    @Test
+    public void testEvaluateWithNullDate() {
+        IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> TimePlaceholderExpression.compile("yyyyMMdd").evaluate(null));
+        Assertions.assertEquals("Cannot parse the expression: yyyyMMdd, date is null", exception.getMessage());
+    }
+
+    @Test
+    public void testCompileExpressionIsCached() {
+        Assertions.assertSame(TimePlaceholderUtils.compileExpression("yyyyMMdd-1"),
+                TimePlaceholderUtils.compileExpression("yyyyMMdd-1"));
+    }
+}
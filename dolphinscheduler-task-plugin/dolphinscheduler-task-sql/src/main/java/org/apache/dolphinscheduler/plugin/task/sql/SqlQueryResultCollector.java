@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.sql;
+
+import lombok.Getter;
+
+import com.google.common.base.Utf8;
+
+/**
+ * Collect the rows of a query result into a json array incrementally, each row is serialized once it is read from the
+ * result set, so the whole result is never held as json nodes. The rows are ignored once the serialized result reaches
+ * the max bytes, the collected json array only contains the rows within the max bytes, and the result is marked as
+ * {@link #isTruncated() truncated}, the caller should decide whether the partial result can be used.
+ */
+class SqlQueryResultCollector {
+
+    private final long maxResultBytes;
+
+    private final StringBuilder jsonArray = new StringBuilder("[");
+
+    private long resultBytes = 2;
+
+    @Getter
+    private int rowCount;
+
+    @Getter
+    private boolean truncated;
+
+    SqlQueryResultCollector(long maxResultBytes) {
+        this.maxResultBytes = maxResultBytes;
+    }
+
+    /**
+     * Add a serialized row to the result.
+     *
+     * @return false if the row is ignored since the result will exceed the max bytes
+     */
+    boolean addRow(String rowJson) {
+        if (truncated) {
+            return false;
+        }
+        long rowBytes = Utf8.encodedLength(rowJson) + (rowCount == 0 ? 0 : 1);
+        if (resultBytes + rowBytes > maxResultBytes) {
+            truncated = true;
+            return false;
+        }
+        if (rowCount > 0) {
+            jsonArray.append(',');
+        }
+        jsonArray.append(rowJson);
+        resultBytes += rowBytes;
+        rowCount++;
+        return true;
+    }
+
+    boolean isEmpty() {
+        return rowCount == 0;
+    }
+
+    /**
+     * The json array of the collected rows, the same as serializing the rows as an array node.
+     */
+    String toJsonString() {
+        return jsonArray.toString() + "]";
+    }
+}
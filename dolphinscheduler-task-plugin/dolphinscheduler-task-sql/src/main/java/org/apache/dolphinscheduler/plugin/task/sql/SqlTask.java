@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.plugin.task.sql;
 
 import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.plugin.datasource.api.plugin.DataSourceClientProvider;
 import org.apache.dolphinscheduler.plugin.datasource.api.plugin.DataSourceProcessorProvider;
 import org.apache.dolphinscheduler.plugin.datasource.api.utils.DataSourceUtils;
@@ -39,6 +40,7 @@ import org.apache.dolphinscheduler.plugin.task.api.utils.ParameterUtils;
 import org.apache.dolphinscheduler.spi.datasource.BaseConnectionParam;
 import org.apache.dolphinscheduler.spi.enums.DbType;
 
+import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.sql.Connection;
@@ -46,6 +48,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -87,6 +90,15 @@ public class SqlTask extends AbstractTask {
 
     private final DbType dbType;
 
+    private final int fetchSize =
+            PropertyUtils.getInt(TaskConstants.SQL_TASK_FETCH_SIZE, TaskConstants.DEFAULT_SQL_TASK_FETCH_SIZE);
+
+    private final long maxResultBytes = PropertyUtils.getLong(TaskConstants.SQL_TASK_RESULT_MAX_BYTES,
+            TaskConstants.DEFAULT_SQL_TASK_RESULT_MAX_BYTES);
+
+    private final boolean batchUpdateEnabled = PropertyUtils.getBoolean(TaskConstants.SQL_TASK_BATCH_UPDATE_ENABLED,
+            TaskConstants.DEFAULT_SQL_TASK_BATCH_UPDATE_ENABLED);
+
     public SqlTask(TaskExecutionContext taskRequest) {
         super(taskRequest);
         this.taskExecutionContext = taskRequest;
@@ -174,13 +186,16 @@ public class SqlTask extends AbstractTask {
     public void executeFuncAndSql(List<SqlBinds> mainStatementsBinds,
                                   List<SqlBinds> preStatementsBinds,
                                   List<SqlBinds> postStatementsBinds) throws Exception {
+        // The pre and post statements are usually used to set the session variables, e.g. the hive queue, so the
+        // pooled connection is evicted after the task rather than leaking the session state to the other tasks
+        boolean sessionStateChanged = !preStatementsBinds.isEmpty() || !postStatementsBinds.isEmpty();
         try (
                 Connection connection =
-                        DataSourceClientProvider.getAdHocConnection(DbType.valueOf(sqlParameters.getType()),
-                                baseConnectionParam)) {
+                        DataSourceClientProvider.getTaskConnection(DbType.valueOf(sqlParameters.getType()),
+                                baseConnectionParam, sessionStateChanged)) {
 
             // pre execute
-            executeUpdate(connection, preStatementsBinds, "pre");
+            executeUpdate(connection, preStatementsBinds, "pre", false);
 
             // main execute
             String result = null;
@@ -190,20 +205,25 @@ public class SqlTask extends AbstractTask {
                 result = executeQuery(connection, mainStatementsBinds.get(0), "main");
             } else if (sqlParameters.getSqlType() == SqlType.NON_QUERY.ordinal()) {
                 // non query statement
-                String updateResult = executeUpdate(connection, mainStatementsBinds, "main");
+                String updateResult = executeUpdate(connection, mainStatementsBinds, "main",
+                        hasOutParam(sqlParameters.getLocalParams()));
                 result = setNonQuerySqlReturn(updateResult, sqlParameters.getLocalParams());
             }
             // deal out params
             sqlParameters.dealOutParam(result);
 
             // post execute
-            executeUpdate(connection, postStatementsBinds, "post");
+            executeUpdate(connection, postStatementsBinds, "post", false);
         } catch (Exception e) {
             log.error("execute sql error: {}", e.getMessage());
             throw e;
         }
     }
 
+    private boolean hasOutParam(List<Property> properties) {
+        return properties != null && properties.stream().anyMatch(property -> Direct.OUT == property.getDirect());
+    }
+
     private String setNonQuerySqlReturn(String updateResult, List<Property> properties) {
         String result = null;
         for (Property info : properties) {
@@ -226,36 +246,53 @@ public class SqlTask extends AbstractTask {
      * @throws Exception Exception
      */
     private String resultProcess(ResultSet resultSet) throws Exception {
-        ArrayNode resultJSONArray = JSONUtils.createArrayNode();
+        SqlQueryResultCollector resultCollector = new SqlQueryResultCollector(maxResultBytes);
         if (resultSet != null) {
             ResultSetMetaData md = resultSet.getMetaData();
             int num = md.getColumnCount();
+            int displayRows = sqlParameters.getDisplayRows() > 0 ? sqlParameters.getDisplayRows()
+                    : TaskConstants.DEFAULT_DISPLAY_ROWS;
 
+            // serialize the rows one by one rather than holding the whole result as json nodes
             while (resultSet.next()) {
                 ObjectNode mapOfColValues = JSONUtils.createObjectNode();
                 for (int i = 1; i <= num; i++) {
                     mapOfColValues.set(md.getColumnLabel(i), JSONUtils.toJsonNode(resultSet.getObject(i)));
                 }
-                resultJSONArray.add(mapOfColValues);
-            }
-
-            int displayRows = sqlParameters.getDisplayRows() > 0 ? sqlParameters.getDisplayRows()
-                    : TaskConstants.DEFAULT_DISPLAY_ROWS;
-            displayRows = Math.min(displayRows, resultJSONArray.size());
-            log.info("display sql result {} rows as follows:", displayRows);
-            for (int i = 0; i < displayRows; i++) {
-                String row = JSONUtils.toJsonString(resultJSONArray.get(i));
-                log.info("row {} : {}", i + 1, row);
+                String row = JSONUtils.toJsonString(mapOfColValues);
+                if (!resultCollector.addRow(row)) {
+                    // the output parameters set by the partial result will mislead the downstream tasks
+                    if (hasOutParam(sqlParameters.getLocalParams())) {
+                        throw new TaskException(String.format(
+                                "The sql result exceeds %d bytes, cannot set the output parameters by the partial "
+                                        + "result, please reduce the rows of the result or increase %s",
+                                maxResultBytes, TaskConstants.SQL_TASK_RESULT_MAX_BYTES));
+                    }
+                    log.warn("The sql result exceeds {} bytes, only the first {} rows are sent by the alert",
+                            maxResultBytes, resultCollector.getRowCount());
+                    break;
+                }
+                if (resultCollector.getRowCount() == 1) {
+                    log.info("display sql result at most {} rows as follows:", displayRows);
+                }
+                if (resultCollector.getRowCount() <= displayRows) {
+                    log.info("row {} : {}", resultCollector.getRowCount(), row);
+                }
             }
         }
 
-        String result = resultJSONArray.isEmpty() ? JSONUtils.toJsonString(generateEmptyRow(resultSet))
-                : JSONUtils.toJsonString(resultJSONArray);
+        String result = resultCollector.isEmpty() && !resultCollector.isTruncated()
+                ? JSONUtils.toJsonString(generateEmptyRow(resultSet))
+                : resultCollector.toJsonString();
 
         if (Boolean.TRUE.equals(sqlParameters.getSendEmail())) {
-            sendAttachment(sqlParameters.getGroupId(), StringUtils.isNotEmpty(sqlParameters.getTitle())
+            String title = StringUtils.isNotEmpty(sqlParameters.getTitle())
                     ? sqlParameters.getTitle()
-                    : taskExecutionContext.getTaskName() + " query result sets", result);
+                    : taskExecutionContext.getTaskName() + " query result sets";
+            if (resultCollector.isTruncated()) {
+                title += String.format(" (truncated to the first %d rows)", resultCollector.getRowCount());
+            }
+            sendAttachment(sqlParameters.getGroupId(), title, result);
         }
         log.debug("execute sql result : {}", result);
         return result;
@@ -298,14 +335,28 @@ public class SqlTask extends AbstractTask {
 
     private String executeQuery(Connection connection, SqlBinds sqlBinds, String handlerType) throws Exception {
         try (PreparedStatement statement = prepareStatementAndBind(connection, sqlBinds)) {
+            if (fetchSize > 0) {
+                statement.setFetchSize(fetchSize);
+            }
             log.info("{} statement execute query, for sql: {}", handlerType, sqlBinds.getSql());
             ResultSet resultSet = statement.executeQuery();
             return resultProcess(resultSet);
         }
     }
 
-    private String executeUpdate(Connection connection, List<SqlBinds> statementsBinds,
-                                 String handlerType) throws Exception {
+    /**
+     * Execute the update statements.
+     *
+     * @param updateCountRequired whether the update count of the last statement is required, e.g. as the out param
+     * @return the update count of the last statement, null if it is not required and the statements are executed in
+     * one batch
+     */
+    private String executeUpdate(Connection connection, List<SqlBinds> statementsBinds, String handlerType,
+                                 boolean updateCountRequired) throws Exception {
+        if (!updateCountRequired && canExecuteBatchUpdate(connection, statementsBinds)) {
+            executeBatchUpdate(connection, statementsBinds, handlerType);
+            return null;
+        }
         int result = 0;
         for (SqlBinds sqlBind : statementsBinds) {
             try (PreparedStatement statement = prepareStatementAndBind(connection, sqlBind)) {
@@ -317,6 +368,72 @@ public class SqlTask extends AbstractTask {
         return String.valueOf(result);
     }
 
+    /**
+     * The statements can be sent in one batch if the batch update is enabled, there are more than one statements, none
+     * of them has parameters to bind, the connection is in auto-commit mode and the driver supports the batch update.
+     */
+    private boolean canExecuteBatchUpdate(Connection connection, List<SqlBinds> statementsBinds) {
+        if (!batchUpdateEnabled || statementsBinds.size() <= 1) {
+            return false;
+        }
+        if (statementsBinds.stream().anyMatch(sqlBinds -> MapUtils.isNotEmpty(sqlBinds.getParamsMap()))) {
+            return false;
+        }
+        try {
+            return connection.getAutoCommit() && connection.getMetaData().supportsBatchUpdates();
+        } catch (Exception e) {
+            log.warn("Cannot get whether the datasource supports batch update, will execute the statements one by one",
+                    e);
+            return false;
+        }
+    }
+
+    /**
+     * Execute the statements in one batch within a transaction. Some drivers keep executing the statements after a
+     * failed one, so the batch is rolled back once any statement failed, the statements after the failed one never
+     * take effect just like executing them one by one.
+     */
+    private void executeBatchUpdate(Connection connection, List<SqlBinds> statementsBinds,
+                                    String handlerType) throws Exception {
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            if (isQueryTimeoutEnabled()) {
+                statement.setQueryTimeout(taskExecutionContext.getTaskTimeout());
+            }
+            for (SqlBinds sqlBind : statementsBinds) {
+                statement.addBatch(sqlBind.getSql());
+            }
+            int[] results = statement.executeBatch();
+            for (int i = 0; i < statementsBinds.size(); i++) {
+                String sql = statementsBinds.get(i).getSql();
+                if (i >= results.length || results[i] == Statement.EXECUTE_FAILED) {
+                    throw new TaskException(String.format("%s statement execute update failed, for sql: %s",
+                            handlerType, sql));
+                }
+                if (results[i] == Statement.SUCCESS_NO_INFO) {
+                    log.info("{} statement execute update success, the update count is unknown, for sql: {}",
+                            handlerType, sql);
+                } else {
+                    log.info("{} statement execute update result: {}, for sql: {}", handlerType, results[i], sql);
+                }
+            }
+            connection.commit();
+        } catch (Exception e) {
+            rollback(connection);
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private void rollback(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            log.error("rollback the batch update error : {}", e.getMessage(), e);
+        }
+    }
+
     /**
      * close jdbc resource
      *
@@ -341,13 +458,9 @@ public class SqlTask extends AbstractTask {
      * @throws Exception Exception
      */
     private PreparedStatement prepareStatementAndBind(Connection connection, SqlBinds sqlBinds) {
-        // is the timeout set
-        // todo: we need control the timeout at master side.
-        boolean timeoutFlag = taskExecutionContext.getTaskTimeoutStrategy() == TaskTimeoutStrategy.FAILED
-                || taskExecutionContext.getTaskTimeoutStrategy() == TaskTimeoutStrategy.WARNFAILED;
         try {
             PreparedStatement stmt = connection.prepareStatement(sqlBinds.getSql());
-            if (timeoutFlag) {
+            if (isQueryTimeoutEnabled()) {
                 stmt.setQueryTimeout(taskExecutionContext.getTaskTimeout());
             }
             stmt.setMaxRows(sqlParameters.getLimit() <= 0 ? QUERY_LIMIT : sqlParameters.getLimit());
@@ -366,6 +479,15 @@ public class SqlTask extends AbstractTask {
         }
     }
 
+    /**
+     * is the timeout set
+     */
+    private boolean isQueryTimeoutEnabled() {
+        // todo: we need control the timeout at master side.
+        return taskExecutionContext.getTaskTimeoutStrategy() == TaskTimeoutStrategy.FAILED
+                || taskExecutionContext.getTaskTimeoutStrategy() == TaskTimeoutStrategy.WARNFAILED;
+    }
+
     /**
      * print replace sql
      *
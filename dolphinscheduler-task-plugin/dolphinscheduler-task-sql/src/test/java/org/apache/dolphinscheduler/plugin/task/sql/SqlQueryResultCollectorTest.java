@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.sql;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+class SqlQueryResultCollectorTest {
+
+    @Test
+    void testCollectRows() {
+        ArrayNode arrayNode = JSONUtils.createArrayNode();
+        SqlQueryResultCollector collector = new SqlQueryResultCollector(1024);
+        Assertions.assertTrue(collector.isEmpty());
+        Assertions.assertEquals("[]", collector.toJsonString());
+
+        for (int i = 0; i < 3; i++) {
+            ObjectNode row = JSONUtils.createObjectNode();
+            row.put("id", i);
+            row.put("name", "名称" + i);
+            arrayNode.add(row);
+            Assertions.assertTrue(collector.addRow(JSONUtils.toJsonString(row)));
+        }
+
+        Assertions.assertEquals(3, collector.getRowCount());
+        Assertions.assertFalse(collector.isTruncated());
+        Assertions.assertEquals(JSONUtils.toJsonString(arrayNode), collector.toJsonString());
+    }
+
+    @Test
+    void testTruncateRowsExceedMaxBytes() {
+        SqlQueryResultCollector collector = new SqlQueryResultCollector(16);
+        Assertions.assertTrue(collector.addRow("{\"id\":1}"));
+        Assertions.assertFalse(collector.addRow("{\"id\":2}"));
+        Assertions.assertFalse(collector.addRow("{}"));
+
+        Assertions.assertTrue(collector.isTruncated());
+        Assertions.assertEquals(1, collector.getRowCount());
+        Assertions.assertEquals("[{\"id\":1}]", collector.toJsonString());
+        Assertions.assertNotNull(JSONUtils.parseArray(collector.toJsonString()));
+    }
+
+    @Test
+    void testTruncateFirstRowExceedMaxBytes() {
+        SqlQueryResultCollector collector = new SqlQueryResultCollector(8);
+        Assertions.assertFalse(collector.addRow("{\"id\":1}"));
+
+        Assertions.assertTrue(collector.isEmpty());
+        Assertions.assertTrue(collector.isTruncated());
+        Assertions.assertEquals("[]", collector.toJsonString());
+    }
+}
@@ -18,32 +18,56 @@
 package org.apache.dolphinscheduler.plugin.task.sql;
 
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
+import org.apache.dolphinscheduler.plugin.datasource.api.plugin.DataSourceClientProvider;
 import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
+import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
 import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
 import org.apache.dolphinscheduler.plugin.task.api.enums.ResourceType;
 import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+import org.apache.dolphinscheduler.plugin.task.api.model.TaskAlertInfo;
+import org.apache.dolphinscheduler.plugin.task.api.parameters.SqlParameters;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.resource.DataSourceParameters;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.resource.ResourceParametersHelper;
 import org.apache.dolphinscheduler.plugin.task.api.utils.ParameterUtils;
 import org.apache.dolphinscheduler.spi.enums.DbType;
 
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Statement;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
 
 import com.google.common.collect.Lists;
 
 class SqlTaskTest {
 
+    private static final String NON_QUERY_TASK_PARAMS =
+            "{\"type\":\"HIVE\",\"datasource\":1,\"sql\":\"update t set a = 1\",\"sqlType\":1,\"localParams\":[]}";
+
     private SqlTask sqlTask;
 
     @BeforeEach
     void setup() {
+        sqlTask = new SqlTask(createTaskExecutionContext("{\"type\":\"HIVE\",\"datasource\":1,\"sql\":\"select 1\"}"));
+    }
+
+    private TaskExecutionContext createTaskExecutionContext(String taskParams) {
         DataSourceParameters parameters = new DataSourceParameters();
         parameters.setType(DbType.HIVE);
         parameters.setResourceType(ResourceType.DATASOURCE.name());
@@ -53,9 +77,8 @@ class SqlTaskTest {
 
         TaskExecutionContext ctx = new TaskExecutionContext();
         ctx.setResourceParametersHelper(resourceParametersHelper);
-        ctx.setTaskParams("{\"type\":\"HIVE\",\"datasource\":1,\"sql\":\"select 1\"}");
-
-        sqlTask = new SqlTask(ctx);
+        ctx.setTaskParams(taskParams);
+        return ctx;
     }
 
     @Test
@@ -173,4 +196,188 @@ class SqlTaskTest {
         Assertions.assertEquals(4, sqlParamsMap.size());
         Assertions.assertEquals(expected, formatSql);
     }
+
+    @Test
+    void testBatchUpdateDisabledByDefault() throws Exception {
+        Connection connection = mockConnection();
+        PreparedStatement preparedStatement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(connection.prepareStatement(ArgumentMatchers.anyString())).thenReturn(preparedStatement);
+        SqlTask nonQuerySqlTask = new SqlTask(createTaskExecutionContext(NON_QUERY_TASK_PARAMS));
+
+        executeFuncAndSql(nonQuerySqlTask, connection);
+
+        Mockito.verify(preparedStatement, Mockito.times(2)).executeUpdate();
+        Mockito.verify(connection, Mockito.never()).createStatement();
+    }
+
+    @Test
+    void testBatchUpdateCommitted() throws Exception {
+        Connection connection = mockConnection();
+        Statement statement = Mockito.mock(Statement.class);
+        Mockito.when(connection.createStatement()).thenReturn(statement);
+        Mockito.when(statement.executeBatch()).thenReturn(new int[]{1, Statement.SUCCESS_NO_INFO});
+        SqlTask nonQuerySqlTask = createBatchUpdateEnabledSqlTask(NON_QUERY_TASK_PARAMS);
+
+        executeFuncAndSql(nonQuerySqlTask, connection);
+
+        Mockito.verify(statement).addBatch("update t set a = 1");
+        Mockito.verify(statement).addBatch("update t set b = 1");
+        InOrder inOrder = Mockito.inOrder(connection);
+        inOrder.verify(connection).setAutoCommit(false);
+        inOrder.verify(connection).commit();
+        inOrder.verify(connection).setAutoCommit(true);
+        Mockito.verify(connection, Mockito.never()).rollback();
+    }
+
+    @Test
+    void testBatchUpdateRollbackWhenStatementFailed() throws Exception {
+        Connection connection = mockConnection();
+        Statement statement = Mockito.mock(Statement.class);
+        Mockito.when(connection.createStatement()).thenReturn(statement);
+        // the driver may keep executing the statements after the failed one
+        Mockito.when(statement.executeBatch()).thenReturn(new int[]{Statement.EXECUTE_FAILED, 1});
+        SqlTask nonQuerySqlTask = createBatchUpdateEnabledSqlTask(NON_QUERY_TASK_PARAMS);
+
+        TaskException exception =
+                Assertions.assertThrows(TaskException.class, () -> executeFuncAndSql(nonQuerySqlTask, connection));
+
+        Assertions.assertEquals("main statement execute update failed, for sql: update t set a = 1",
+                exception.getMessage());
+        Mockito.verify(connection).rollback();
+        Mockito.verify(connection, Mockito.never()).commit();
+        Mockito.verify(connection).setAutoCommit(true);
+    }
+
+    @Test
+    void testBatchUpdateRollbackWhenBatchFailed() throws Exception {
+        Connection connection = mockConnection();
+        Statement statement = Mockito.mock(Statement.class);
+        Mockito.when(connection.createStatement()).thenReturn(statement);
+        Mockito.when(statement.executeBatch()).thenThrow(new BatchUpdateException("failed", new int[]{1}));
+        SqlTask nonQuerySqlTask = createBatchUpdateEnabledSqlTask(NON_QUERY_TASK_PARAMS);
+
+        Assertions.assertThrows(BatchUpdateException.class, () -> executeFuncAndSql(nonQuerySqlTask, connection));
+
+        Mockito.verify(connection).rollback();
+        Mockito.verify(connection, Mockito.never()).commit();
+        Mockito.verify(connection).setAutoCommit(true);
+    }
+
+    @Test
+    void testBatchUpdateSkippedWhenUpdateCountRequired() throws Exception {
+        Connection connection = mockConnection();
+        PreparedStatement preparedStatement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(connection.prepareStatement(ArgumentMatchers.anyString())).thenReturn(preparedStatement);
+        Mockito.when(preparedStatement.executeUpdate()).thenReturn(2);
+        SqlTask nonQuerySqlTask = createBatchUpdateEnabledSqlTask(
+                "{\"type\":\"HIVE\",\"datasource\":1,\"sql\":\"update t set a = 1\",\"sqlType\":1,"
+                        + "\"localParams\":[{\"prop\":\"count\",\"direct\":\"OUT\",\"type\":\"INTEGER\",\"value\":\"\"}]}");
+
+        executeFuncAndSql(nonQuerySqlTask, connection);
+
+        Mockito.verify(connection, Mockito.never()).createStatement();
+        List<Property> varPool = ((SqlParameters) nonQuerySqlTask.getParameters()).getVarPool();
+        Assertions.assertEquals("2", varPool.get(0).getValue());
+    }
+
+    @Test
+    void testQueryResultExceedMaxBytesFailedWhenOutParamSet() throws Exception {
+        SqlTask querySqlTask = createSqlTaskWithMaxResultBytes(
+                "{\"type\":\"HIVE\",\"datasource\":1,\"sql\":\"select id from t\",\"sqlType\":0,"
+                        + "\"localParams\":[{\"prop\":\"id\",\"direct\":\"OUT\",\"type\":\"LIST\",\"value\":\"\"}]}",
+                16);
+        Connection connection = mockQueryConnection();
+
+        TaskException exception = Assertions.assertThrows(TaskException.class,
+                () -> executeQuery(querySqlTask, connection));
+
+        Assertions.assertEquals("The sql result exceeds 16 bytes, cannot set the output parameters by the partial "
+                + "result, please reduce the rows of the result or increase sql.task.result.max.bytes",
+                exception.getMessage());
+        Assertions.assertTrue(((SqlParameters) querySqlTask.getParameters()).getVarPool().isEmpty());
+    }
+
+    @Test
+    void testQueryResultExceedMaxBytesTruncatedInAlert() throws Exception {
+        SqlTask querySqlTask = createSqlTaskWithMaxResultBytes(
+                "{\"type\":\"HIVE\",\"datasource\":1,\"sql\":\"select id from t\",\"sqlType\":0,"
+                        + "\"sendEmail\":true,\"title\":\"ids\",\"groupId\":1,\"localParams\":[]}",
+                16);
+        Connection connection = mockQueryConnection();
+
+        executeQuery(querySqlTask, connection);
+
+        TaskAlertInfo taskAlertInfo = querySqlTask.getTaskAlertInfo();
+        Assertions.assertEquals("ids (truncated to the first 1 rows)", taskAlertInfo.getTitle());
+        Assertions.assertEquals("[{\"id\":1}]", taskAlertInfo.getContent());
+    }
+
+    private SqlTask createSqlTaskWithMaxResultBytes(String taskParams, long maxResultBytes) {
+        try (MockedStatic<PropertyUtils> mockedPropertyUtils = Mockito.mockStatic(PropertyUtils.class)) {
+            mockedPropertyUtils.when(() -> PropertyUtils.getLong(TaskConstants.SQL_TASK_RESULT_MAX_BYTES,
+                    TaskConstants.DEFAULT_SQL_TASK_RESULT_MAX_BYTES)).thenReturn(maxResultBytes);
+            return new SqlTask(createTaskExecutionContext(taskParams));
+        }
+    }
+
+    private Connection mockQueryConnection() throws Exception {
+        Connection connection = mockConnection();
+        PreparedStatement preparedStatement = Mockito.mock(PreparedStatement.class);
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        ResultSetMetaData resultSetMetaData = Mockito.mock(ResultSetMetaData.class);
+        Mockito.when(connection.prepareStatement(ArgumentMatchers.anyString())).thenReturn(preparedStatement);
+        Mockito.when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        Mockito.when(resultSet.getMetaData()).thenReturn(resultSetMetaData);
+        Mockito.when(resultSetMetaData.getColumnCount()).thenReturn(1);
+        Mockito.when(resultSetMetaData.getColumnLabel(1)).thenReturn("id");
+        Mockito.when(resultSet.next()).thenReturn(true, true, true, false);
+        Mockito.when(resultSet.getObject(1)).thenReturn(1, 2, 3);
+        return connection;
+    }
+
+    private void executeQuery(SqlTask querySqlTask, Connection connection) throws Exception {
+        try (
+                MockedStatic<DataSourceClientProvider> mockedDataSourceClientProvider =
+                        Mockito.mockStatic(DataSourceClientProvider.class)) {
+            mockedDataSourceClientProvider
+                    .when(() -> DataSourceClientProvider.getTaskConnection(ArgumentMatchers.any(),
+                            ArgumentMatchers.any(), ArgumentMatchers.anyBoolean()))
+                    .thenReturn(connection);
+            querySqlTask.executeFuncAndSql(
+                    Lists.newArrayList(new SqlBinds("select id from t", new HashMap<>())),
+                    Lists.newArrayList(), Lists.newArrayList());
+        }
+    }
+
+    private SqlTask createBatchUpdateEnabledSqlTask(String taskParams) {
+        try (MockedStatic<PropertyUtils> mockedPropertyUtils = Mockito.mockStatic(PropertyUtils.class)) {
+            mockedPropertyUtils.when(() -> PropertyUtils.getBoolean(TaskConstants.SQL_TASK_BATCH_UPDATE_ENABLED,
+                    TaskConstants.DEFAULT_SQL_TASK_BATCH_UPDATE_ENABLED)).thenReturn(true);
+            return new SqlTask(createTaskExecutionContext(taskParams));
+        }
+    }
+
+    private Connection mockConnection() throws Exception {
+        Connection connection = Mockito.mock(Connection.class);
+        DatabaseMetaData metaData = Mockito.mock(DatabaseMetaData.class);
+        Mockito.when(connection.getMetaData()).thenReturn(metaData);
+        Mockito.when(metaData.supportsBatchUpdates()).thenReturn(true);
+        Mockito.when(connection.getAutoCommit()).thenReturn(true);
+        return connection;
+    }
+
+    private void executeFuncAndSql(SqlTask nonQuerySqlTask, Connection connection) throws Exception {
+        try (
+                MockedStatic<DataSourceClientProvider> mockedDataSourceClientProvider =
+                        Mockito.mockStatic(DataSourceClientProvider.class)) {
+            mockedDataSourceClientProvider
+                    .when(() -> DataSourceClientProvider.getTaskConnection(ArgumentMatchers.any(),
+                            ArgumentMatchers.any(), ArgumentMatchers.anyBoolean()))
+                    .thenReturn(connection);
+            nonQuerySqlTask.executeFuncAndSql(
+                    Lists.newArrayList(new SqlBinds("update t set a = 1", new HashMap<>()),
+                            new SqlBinds("update t set b = 1", new HashMap<>())),
+                    Lists.newArrayList(), Lists.newArrayList());
+        }
+    }
 }
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.config;
+
+import lombok.Data;
+
+import org.springframework.util.unit.DataSize;
+
+@Data
+public class ResourceCacheConfig {
+
+    /**
+     * If set false, the resources will be downloaded into the task working directory on every task run.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The max disk size used by the cached resources, the least recently used resources will be evicted when exceed.
+     */
+    private DataSize maxSize = DataSize.ofGigabytes(10);
+
+    /**
+     * The thread number used to download resources in parallel, shared by all tasks on the worker.
+     */
+    private int downloadThreads = 4;
+
+    /**
+     * If set true, the cached resources are copied by {@code cp --reflink=auto}, which shares the data blocks rather
+     * than copies them on the copy-on-write filesystems, e.g. btrfs and xfs.
+     */
+    private boolean reflinkCopyEnabled = true;
+}
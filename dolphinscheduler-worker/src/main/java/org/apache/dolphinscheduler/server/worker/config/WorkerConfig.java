@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.server.worker.config;
 
 import org.apache.dolphinscheduler.common.utils.NetUtils;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
 import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
 
 import org.apache.commons.lang3.StringUtils;
@@ -41,6 +42,7 @@ import org.springframework.validation.annotation.Validated;
 public class WorkerConfig implements Validator {
 
     private int listenPort = 1234;
+    private SerializerType rpcSerializerType = SerializerType.JSON;
     private int execThreads = 10;
     private Duration maxHeartbeatInterval = Duration.ofSeconds(10);
     private int hostWeight = 100;
@@ -56,6 +58,8 @@ public class WorkerConfig implements Validator {
 
     private TenantConfig tenantConfig = new TenantConfig();
 
+    private ResourceCacheConfig resourceCache = new ResourceCacheConfig();
+
     @Override
     public boolean supports(Class<?> clazz) {
         return WorkerConfig.class.isAssignableFrom(clazz);
@@ -64,12 +68,18 @@ public class WorkerConfig implements Validator {
     @Override
     public void validate(Object target, Errors errors) {
         WorkerConfig workerConfig = (WorkerConfig) target;
+        if (workerConfig.getRpcSerializerType() == null) {
+            errors.rejectValue("rpc-serializer-type", null, "should not be null");
+        }
         if (workerConfig.getExecThreads() <= 0) {
             errors.rejectValue("exec-threads", null, "should be a positive value");
         }
         if (workerConfig.getMaxHeartbeatInterval().getSeconds() <= 0) {
             errors.rejectValue("max-heartbeat-interval", null, "shoule be a valid duration");
         }
+        if (workerConfig.getResourceCache().getDownloadThreads() <= 0) {
+            errors.rejectValue("resource-cache.download-threads", null, "should be a positive value");
+        }
         if (StringUtils.isEmpty(workerConfig.getWorkerAddress())) {
             workerConfig.setWorkerAddress(NetUtils.getAddr(workerConfig.getListenPort()));
         }
@@ -83,10 +93,12 @@ public class WorkerConfig implements Validator {
         String config =
                 "\n****************************Worker Configuration**************************************" +
                         "\n  listen-port -> " + listenPort +
+                        "\n  rpc-serializer-type -> " + rpcSerializerType +
                         "\n  exec-threads -> " + execThreads +
                         "\n  max-heartbeat-interval -> " + maxHeartbeatInterval +
                         "\n  host-weight -> " + hostWeight +
                         "\n  tenantConfig -> " + tenantConfig +
+                        "\n  resource-cache -> " + resourceCache +
                         "\n  server-load-protection -> " + serverLoadProtection +
                         "\n  task-execute-threads-full-policy: " + taskExecuteThreadsFullPolicy +
                         "\n  address -> " + workerAddress +
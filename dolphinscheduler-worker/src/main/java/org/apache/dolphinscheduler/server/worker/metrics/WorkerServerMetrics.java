@@ -52,6 +52,32 @@ public class WorkerServerMetrics {
                     .description("worker resource download failure count")
                     .register(Metrics.globalRegistry);
 
+    private final Counter workerResourceCacheHitCounter =
+            Counter.builder("ds.worker.resource.cache.count")
+                    .tag("result", "hit")
+                    .description("worker resource cache hit count")
+                    .register(Metrics.globalRegistry);
+
+    private final Counter workerResourceCacheMissCounter =
+            Counter.builder("ds.worker.resource.cache.count")
+                    .tag("result", "miss")
+                    .description("worker resource cache miss count")
+                    .register(Metrics.globalRegistry);
+
+    private final Counter workerResourceCacheHitBytesCounter =
+            Counter.builder("ds.worker.resource.cache.bytes")
+                    .tag("result", "hit")
+                    .baseUnit("bytes")
+                    .description("bytes of resource files served from the worker resource cache")
+                    .register(Metrics.globalRegistry);
+
+    private final Counter workerResourceCacheMissBytesCounter =
+            Counter.builder("ds.worker.resource.cache.bytes")
+                    .tag("result", "miss")
+                    .baseUnit("bytes")
+                    .description("bytes of resource files downloaded into the worker resource cache")
+                    .register(Metrics.globalRegistry);
+
     private final Counter workerHeartBeatCounter =
             Counter.builder("ds.worker.heartbeat.count")
                     .description("worker heartbeat count")
@@ -88,6 +114,16 @@ public class WorkerServerMetrics {
         workerResourceDownloadFailCounter.increment();
     }
 
+    public void incWorkerResourceCacheHitCount(final long size) {
+        workerResourceCacheHitCounter.increment();
+        workerResourceCacheHitBytesCounter.increment(size);
+    }
+
+    public void incWorkerResourceCacheMissCount(final long size) {
+        workerResourceCacheMissCounter.increment();
+        workerResourceCacheMissBytesCounter.increment(size);
+    }
+
     public void incWorkerHeartbeatCount() {
         workerHeartBeatCounter.increment();
     }
@@ -118,6 +154,13 @@ public class WorkerServerMetrics {
                 .register(Metrics.globalRegistry);
     }
 
+    public void registerWorkerResourceCacheSizeGauge(Supplier<Number> supplier) {
+        Gauge.builder("ds.worker.resource.cache.size", supplier)
+                .baseUnit("bytes")
+                .description("disk size used by the worker resource cache")
+                .register(Metrics.globalRegistry);
+    }
+
     public void registerWorkerMemoryAvailableGauge(Supplier<Number> supplier) {
         Gauge.builder("ds.worker.memory.available", supplier)
                 .description("worker memory available")
@@ -0,0 +1,406 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.resource;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.common.utils.FileUtils;
+import org.apache.dolphinscheduler.common.utils.OSUtils;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.plugin.task.api.TaskException;
+import org.apache.dolphinscheduler.server.worker.config.ResourceCacheConfig;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * The worker-local cache of the resource files used by tasks.
+ * <p>
+ * A cached file is keyed by the resource path in storage together with the size and the last modified time reported
+ * by the storage, so a resource updated in the storage will be downloaded again. The cached files are read-only and
+ * copied into the task working directory, so a task modifying its resource files never corrupts the cache. The copy is
+ * a reflink on the copy-on-write filesystems, which costs no extra disk space and IO until the task modifies it. The size
+ * of a cached file is checked on each hit, the file changed unexpectedly will be evicted and downloaded again.
+ * <p>
+ * Concurrent downloads of the same resource are deduplicated, the independent resources are downloaded in parallel,
+ * and the least recently used files are evicted once the cache exceeds {@link ResourceCacheConfig#getMaxSize()}.
+ * The resource will bypass the cache if the storage cannot provide the metadata of it.
+ */
+@Slf4j
+@Component
+public class WorkerResourceCache implements AutoCloseable {
+
+    private static final String DOWNLOADING_FILE_SUFFIX = ".downloading";
+
+    private final boolean enabled;
+
+    private final long maxCacheBytes;
+
+    private final Path cacheDirectory;
+
+    private final ExecutorService resourceDownloadExecutor;
+
+    /**
+     * Disabled once the reflink copy failed, e.g. the cp command doesn't support the reflink option.
+     */
+    private volatile boolean reflinkCopyEnabled;
+
+    /**
+     * The cached resources in access order, guarded by itself.
+     */
+    private final LinkedHashMap<String, CachedResource> cachedResources = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<String, CompletableFuture<CachedResource>> inflightDownloads = new ConcurrentHashMap<>();
+
+    private long cachedBytes;
+
+    @Autowired
+    public WorkerResourceCache(WorkerConfig workerConfig) {
+        this(workerConfig.getResourceCache(), Paths.get(FileUtils.DATA_BASEDIR, "resource-cache"));
+    }
+
+    public WorkerResourceCache(ResourceCacheConfig resourceCacheConfig, Path cacheDirectory) {
+        this.enabled = resourceCacheConfig.isEnabled();
+        this.maxCacheBytes = resourceCacheConfig.getMaxSize().toBytes();
+        this.cacheDirectory = cacheDirectory;
+        this.resourceDownloadExecutor = ThreadUtils.newDaemonFixedThreadExecutor("WorkerResourceDownloadThread",
+                resourceCacheConfig.getDownloadThreads());
+        this.reflinkCopyEnabled = resourceCacheConfig.isReflinkCopyEnabled() && !OSUtils.isWindows();
+        if (enabled) {
+            loadCachedResources();
+        }
+        WorkerServerMetrics.registerWorkerResourceCacheSizeGauge(this::getCachedBytes);
+    }
+
+    /**
+     * Fetch the resources from storage into the local paths in parallel, the local path which already exists will be
+     * skipped. This method will return after all the resources are fetched.
+     *
+     * @param storageOperator storage operator
+     * @param resources       resource absolute path in storage -> resource absolute path in local
+     * @throws TaskException if any of the resources cannot be fetched
+     */
+    public void fetchResources(StorageOperator storageOperator, Map<String, String> resources) {
+        List<CompletableFuture<Void>> fetchFutures = new ArrayList<>(resources.size());
+        for (Map.Entry<String, String> resource : resources.entrySet()) {
+            fetchFutures.add(CompletableFuture.runAsync(
+                    () -> fetchResource(storageOperator, resource.getKey(), Paths.get(resource.getValue())),
+                    resourceDownloadExecutor));
+        }
+        try {
+            CompletableFuture.allOf(fetchFutures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof TaskException) {
+                throw (TaskException) ex.getCause();
+            }
+            throw new TaskException("Download resource files error", ex.getCause());
+        }
+    }
+
+    public long getCachedBytes() {
+        synchronized (cachedResources) {
+            return cachedBytes;
+        }
+    }
+
+    private void fetchResource(StorageOperator storageOperator, String resourceAbsolutePathInStorage,
+                               Path resourceAbsolutePathInLocal) {
+        if (Files.exists(resourceAbsolutePathInLocal)) {
+            return;
+        }
+        try {
+            StorageEntity storageEntity = enabled ? getStorageEntity(storageOperator, resourceAbsolutePathInStorage)
+                    : null;
+            if (storageEntity == null || storageEntity.getUpdateTime() == null
+                    || storageEntity.getSize() > maxCacheBytes) {
+                download(storageOperator, resourceAbsolutePathInStorage, resourceAbsolutePathInLocal);
+                return;
+            }
+            CachedResource cachedResource =
+                    getOrDownloadCachedResource(storageOperator, resourceAbsolutePathInStorage, storageEntity);
+            if (!copy(cachedResource.path, resourceAbsolutePathInLocal)) {
+                // The cached file is evicted before copied, download it directly
+                download(storageOperator, resourceAbsolutePathInStorage, resourceAbsolutePathInLocal);
+            }
+            log.info("Fetch resource file {} -> {} successfully", resourceAbsolutePathInStorage,
+                    resourceAbsolutePathInLocal);
+        } catch (Exception ex) {
+            WorkerServerMetrics.incWorkerResourceDownloadFailureCount();
+            throw new TaskException(
+                    String.format("Download resource file: %s error", resourceAbsolutePathInStorage), ex);
+        }
+    }
+
+    private CachedResource getOrDownloadCachedResource(StorageOperator storageOperator,
+                                                       String resourceAbsolutePathInStorage,
+                                                       StorageEntity storageEntity) throws IOException {
+        String cacheKey = Hashing.sha256()
+                .hashString(resourceAbsolutePathInStorage + "\n" + storageEntity.getSize() + "\n"
+                        + storageEntity.getUpdateTime().getTime(), StandardCharsets.UTF_8)
+                .toString();
+        CachedResource cachedResource = getCachedResource(cacheKey);
+        if (cachedResource != null) {
+            WorkerServerMetrics.incWorkerResourceCacheHitCount(cachedResource.size);
+            return cachedResource;
+        }
+
+        CompletableFuture<CachedResource> downloadFuture = new CompletableFuture<>();
+        CompletableFuture<CachedResource> inflightDownload = inflightDownloads.putIfAbsent(cacheKey, downloadFuture);
+        if (inflightDownload != null) {
+            // Another task is downloading the same resource, wait for it rather than download again
+            try {
+                cachedResource = inflightDownload.join();
+            } catch (CompletionException ex) {
+                throw new IOException("Download resource file: " + resourceAbsolutePathInStorage + " error",
+                        ex.getCause());
+            }
+            WorkerServerMetrics.incWorkerResourceCacheHitCount(cachedResource.size);
+            return cachedResource;
+        }
+
+        Path downloadingFile = cacheDirectory.resolve(cacheKey + DOWNLOADING_FILE_SUFFIX);
+        try {
+            // double check, the download may be finished between the lookup and the registration of the inflight
+            cachedResource = getCachedResource(cacheKey);
+            if (cachedResource != null) {
+                WorkerServerMetrics.incWorkerResourceCacheHitCount(cachedResource.size);
+            } else {
+                download(storageOperator, resourceAbsolutePathInStorage, downloadingFile);
+                Path cachedFile = cacheDirectory.resolve(cacheKey);
+                setFileReadOnly(downloadingFile);
+                Files.move(downloadingFile, cachedFile, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+                cachedResource = new CachedResource(cachedFile, Files.size(cachedFile));
+                addCachedResource(cacheKey, cachedResource);
+                WorkerServerMetrics.incWorkerResourceCacheMissCount(cachedResource.size);
+            }
+            downloadFuture.complete(cachedResource);
+            return cachedResource;
+        } catch (Exception ex) {
+            Files.deleteIfExists(downloadingFile);
+            downloadFuture.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inflightDownloads.remove(cacheKey, downloadFuture);
+        }
+    }
+
+    private void download(StorageOperator storageOperator, String resourceAbsolutePathInStorage,
+                          Path localPath) throws IOException {
+        long resourceDownloadStartTime = System.currentTimeMillis();
+        storageOperator.download(resourceAbsolutePathInStorage, localPath.toString(), true);
+        FileUtils.setFileTo755(localPath.toFile());
+        WorkerServerMetrics.recordWorkerResourceDownloadTime(System.currentTimeMillis() - resourceDownloadStartTime);
+        WorkerServerMetrics.recordWorkerResourceDownloadSize(Files.size(localPath));
+        WorkerServerMetrics.incWorkerResourceDownloadSuccessCount();
+    }
+
+    /**
+     * Copy the cached file rather than link it, the task may modify the resource file in its working directory. The
+     * reflink copy is tried first, and falls back to the normal copy if it is disabled or failed.
+     *
+     * @return false if the source file doesn't exist
+     */
+    private boolean copy(Path source, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        if (!reflinkCopy(source, target)) {
+            try {
+                Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+            } catch (NoSuchFileException ex) {
+                return false;
+            }
+        }
+        FileUtils.setFileTo755(target.toFile());
+        return true;
+    }
+
+    /**
+     * Copy the file by {@code cp --reflink=auto}, the copy shares the data blocks with the source file until either of
+     * them is modified on the copy-on-write filesystems, and is a normal copy on the others.
+     *
+     * @return false if the reflink copy is disabled or failed
+     */
+    private boolean reflinkCopy(Path source, Path target) {
+        if (!reflinkCopyEnabled) {
+            return false;
+        }
+        try {
+            executeCommand(new String[]{"cp", "-f", "--reflink=auto", source.toString(), target.toString()});
+            return true;
+        } catch (IOException ex) {
+            if (Files.exists(source)) {
+                reflinkCopyEnabled = false;
+                log.warn("Copy the resource file: {} by cp --reflink=auto failed, will copy the resource files by java",
+                        source, ex);
+            }
+            return false;
+        }
+    }
+
+    void executeCommand(String[] command) throws IOException {
+        OSUtils.exeShell(command);
+    }
+
+    /**
+     * The cached file is readable and executable by everyone but writable by no one.
+     */
+    private void setFileReadOnly(Path file) {
+        if (!file.toFile().setWritable(false, false)) {
+            log.warn("Set the resource file: {} read-only failed", file);
+        }
+    }
+
+    private StorageEntity getStorageEntity(StorageOperator storageOperator, String resourceAbsolutePathInStorage) {
+        try {
+            return storageOperator.getStorageEntity(resourceAbsolutePathInStorage);
+        } catch (Exception ex) {
+            log.warn("Get the metadata of resource file: {} failed, will bypass the resource cache",
+                    resourceAbsolutePathInStorage, ex);
+            return null;
+        }
+    }
+
+    private CachedResource getCachedResource(String cacheKey) {
+        synchronized (cachedResources) {
+            CachedResource cachedResource = cachedResources.get(cacheKey);
+            if (cachedResource == null || isIntact(cachedResource)) {
+                return cachedResource;
+            }
+            cachedResources.remove(cacheKey);
+            cachedBytes -= cachedResource.size;
+            try {
+                Files.deleteIfExists(cachedResource.path);
+            } catch (IOException ex) {
+                log.warn("Delete the changed resource file: {} failed", cachedResource.path, ex);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @return false if the cached file is deleted or its size is changed since cached
+     */
+    private boolean isIntact(CachedResource cachedResource) {
+        try {
+            long size = Files.size(cachedResource.path);
+            if (size == cachedResource.size) {
+                return true;
+            }
+            log.warn("The size of the cached resource file: {} is changed from {} to {}, will download it again",
+                    cachedResource.path, cachedResource.size, size);
+            return false;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    private void addCachedResource(String cacheKey, CachedResource cachedResource) {
+        List<CachedResource> evictedResources = new ArrayList<>();
+        synchronized (cachedResources) {
+            CachedResource previous = cachedResources.put(cacheKey, cachedResource);
+            if (previous != null) {
+                cachedBytes -= previous.size;
+            }
+            cachedBytes += cachedResource.size;
+            Iterator<Map.Entry<String, CachedResource>> iterator = cachedResources.entrySet().iterator();
+            while (cachedBytes > maxCacheBytes && iterator.hasNext()) {
+                Map.Entry<String, CachedResource> eldest = iterator.next();
+                if (eldest.getKey().equals(cacheKey)) {
+                    continue;
+                }
+                iterator.remove();
+                cachedBytes -= eldest.getValue().size;
+                evictedResources.add(eldest.getValue());
+            }
+        }
+        for (CachedResource evictedResource : evictedResources) {
+            try {
+                Files.deleteIfExists(evictedResource.path);
+                log.info("Evicted resource file: {} from resource cache", evictedResource.path);
+            } catch (IOException ex) {
+                log.warn("Delete the evicted resource file: {} failed", evictedResource.path, ex);
+            }
+        }
+    }
+
+    private void loadCachedResources() {
+        try {
+            Files.createDirectories(cacheDirectory);
+            List<Path> cachedFiles;
+            try (Stream<Path> files = Files.list(cacheDirectory)) {
+                cachedFiles = files.filter(Files::isRegularFile)
+                        .sorted(Comparator.comparing(file -> file.toFile().lastModified()))
+                        .collect(Collectors.toList());
+            }
+            for (Path cachedFile : cachedFiles) {
+                String fileName = cachedFile.getFileName().toString();
+                if (fileName.endsWith(DOWNLOADING_FILE_SUFFIX)) {
+                    Files.deleteIfExists(cachedFile);
+                    continue;
+                }
+                setFileReadOnly(cachedFile);
+                addCachedResource(fileName, new CachedResource(cachedFile, Files.size(cachedFile)));
+            }
+            log.info("Loaded {} resource files, {} bytes in the resource cache: {}", cachedResources.size(),
+                    getCachedBytes(), cacheDirectory);
+        } catch (IOException ex) {
+            log.warn("Load the resource cache: {} failed, the cached files will be downloaded again", cacheDirectory,
+                    ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        resourceDownloadExecutor.shutdownNow();
+    }
+
+    @AllArgsConstructor
+    private static class CachedResource {
+
+        private final Path path;
+
+        private final long size;
+    }
+}
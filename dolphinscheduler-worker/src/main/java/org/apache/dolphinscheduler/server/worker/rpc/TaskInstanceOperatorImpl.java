@@ -20,17 +20,28 @@ package org.apache.dolphinscheduler.server.worker.rpc;
 import org.apache.dolphinscheduler.extract.worker.ITaskInstanceOperator;
 import org.apache.dolphinscheduler.extract.worker.transportor.TakeOverTaskRequest;
 import org.apache.dolphinscheduler.extract.worker.transportor.TakeOverTaskResponse;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceBatchDispatchRequest;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceBatchDispatchResponse;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchRequest;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchResponse;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceKillRequest;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceKillResponse;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstancePauseRequest;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstancePauseResponse;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.server.worker.runner.operator.TaskInstanceDispatchOperationFunction;
 import org.apache.dolphinscheduler.server.worker.runner.operator.TaskInstanceOperationFunctionManager;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import lombok.extern.slf4j.Slf4j;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+@Slf4j
 @Component
 public class TaskInstanceOperatorImpl implements ITaskInstanceOperator {
 
@@ -43,6 +54,28 @@ public class TaskInstanceOperatorImpl implements ITaskInstanceOperator {
                 .operate(taskInstanceDispatchRequest);
     }
 
+    @Override
+    public CompletableFuture<TaskInstanceBatchDispatchResponse> batchDispatchTask(final TaskInstanceBatchDispatchRequest batchDispatchRequest) {
+        final TaskInstanceDispatchOperationFunction taskInstanceDispatchOperationFunction =
+                taskInstanceOperationFunctionManager.getTaskInstanceDispatchOperationFunction();
+        final List<TaskExecutionContext> taskExecutionContexts =
+                batchDispatchRequest.getTaskExecutionContexts();
+        final List<TaskInstanceDispatchResponse> taskInstanceDispatchResponses =
+                new ArrayList<>(taskExecutionContexts.size());
+        // Each task is dispatched independently, one failed task should not affect the others in the batch
+        for (TaskExecutionContext taskExecutionContext : taskExecutionContexts) {
+            try {
+                taskInstanceDispatchResponses.add(taskInstanceDispatchOperationFunction
+                        .operate(new TaskInstanceDispatchRequest(taskExecutionContext)));
+            } catch (Exception ex) {
+                log.error("Dispatch task: {} failed", taskExecutionContext.getTaskName(), ex);
+                taskInstanceDispatchResponses.add(TaskInstanceDispatchResponse
+                        .failed(taskExecutionContext.getTaskInstanceId(), ex.getMessage()));
+            }
+        }
+        return CompletableFuture.completedFuture(new TaskInstanceBatchDispatchResponse(taskInstanceDispatchResponses));
+    }
+
     @Override
     public TaskInstanceKillResponse killTask(final TaskInstanceKillRequest taskInstanceKillRequest) {
         return taskInstanceOperationFunctionManager.getTaskInstanceKillOperationFunction()
@@ -50,6 +50,7 @@ import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.plugin.task.api.utils.ProcessUtils;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
 import org.apache.dolphinscheduler.server.worker.utils.TaskExecutionContextUtils;
 import org.apache.dolphinscheduler.server.worker.utils.TaskFilesTransferUtils;
@@ -77,6 +78,7 @@ public abstract class WorkerTaskExecutor implements Runnable {
     protected final WorkerConfig workerConfig;
     protected final WorkerMessageSender workerMessageSender;
     protected final @Nullable StorageOperator storageOperator;
+    protected final WorkerResourceCache workerResourceCache;
     protected final WorkerRegistryClient workerRegistryClient;
 
     protected @Nullable AbstractTask task;
@@ -86,11 +88,13 @@ public abstract class WorkerTaskExecutor implements Runnable {
                                  @NonNull WorkerConfig workerConfig,
                                  @NonNull WorkerMessageSender workerMessageSender,
                                  @Nullable StorageOperator storageOperator,
+                                 @NonNull WorkerResourceCache workerResourceCache,
                                  @NonNull WorkerRegistryClient workerRegistryClient) {
         this.taskExecutionContext = taskExecutionContext;
         this.workerConfig = workerConfig;
         this.workerMessageSender = workerMessageSender;
         this.storageOperator = storageOperator;
+        this.workerResourceCache = workerResourceCache;
         this.workerRegistryClient = workerRegistryClient;
         SensitiveDataConverter.addMaskPattern(K8S_CONFIG_REGEX);
     }
@@ -224,7 +228,7 @@ public abstract class WorkerTaskExecutor implements Runnable {
         log.info("Create TaskChannel: {} successfully", taskChannel.getClass().getName());
 
         ResourceContext resourceContext = TaskExecutionContextUtils.downloadResourcesIfNeeded(taskChannel,
-                storageOperator, taskExecutionContext);
+                storageOperator, workerResourceCache, taskExecutionContext);
         taskExecutionContext.setResourceContext(resourceContext);
         log.info("Download resources successfully: \n{}", taskExecutionContext.getResourceContext());
 
@@ -93,6 +93,20 @@ public class WorkerTaskExecutorThreadPool {
         return Math.min(WorkerTaskExecutorHolder.size(), workerConfig.getExecThreads());
     }
 
+    /**
+     * The max task count can be accepted by the worker, 0 means the worker will accept all the tasks.
+     */
+    public int getTaskSlotCapacity() {
+        if (TaskExecuteThreadsFullPolicy.CONTINUE.equals(workerConfig.getTaskExecuteThreadsFullPolicy())) {
+            return 0;
+        }
+        return workerConfig.getExecThreads();
+    }
+
+    public int getTaskExecutorSize() {
+        return WorkerTaskExecutorHolder.size();
+    }
+
     public double getThreadPoolUsage() {
         return (double) WorkerTaskExecutorHolder.size() / workerConfig.getExecThreads();
     }
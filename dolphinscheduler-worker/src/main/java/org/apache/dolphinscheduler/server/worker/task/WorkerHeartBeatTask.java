@@ -75,6 +75,8 @@ public class WorkerHeartBeatTask extends BaseHeartBeatTask<WorkerHeartBeat> {
                 .processId(processId)
                 .workerHostWeight(workerConfig.getHostWeight())
                 .threadPoolUsage(workerTaskExecutorThreadPool.getThreadPoolUsage())
+                .taskSlotCapacity(workerTaskExecutorThreadPool.getTaskSlotCapacity())
+                .runningTaskCount(workerTaskExecutorThreadPool.getTaskExecutorSize())
                 .serverStatus(serverStatus)
                 .host(NetUtils.getHost())
                 .port(workerConfig.getListenPort())
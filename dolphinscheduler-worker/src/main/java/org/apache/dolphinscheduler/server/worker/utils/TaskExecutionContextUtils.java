@@ -26,14 +26,15 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.model.ResourceInfo;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.AbstractParameters;
 import org.apache.dolphinscheduler.plugin.task.api.resource.ResourceContext;
-import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.io.File;
-import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -62,6 +63,7 @@ public class TaskExecutionContextUtils {
 
     public static ResourceContext downloadResourcesIfNeeded(TaskChannel taskChannel,
                                                             StorageOperator storageOperator,
+                                                            WorkerResourceCache workerResourceCache,
                                                             TaskExecutionContext taskExecutionContext) {
         AbstractParameters abstractParameters = taskChannel.parseParameters(taskExecutionContext.getTaskParams());
 
@@ -74,36 +76,20 @@ public class TaskExecutionContextUtils {
         ResourceContext resourceContext = new ResourceContext();
         String taskWorkingDirectory = taskExecutionContext.getExecutePath();
 
+        Map<String, String> resourcesToFetch = new LinkedHashMap<>();
         for (ResourceInfo resourceInfo : resourceFilesList) {
             String resourceAbsolutePathInStorage = resourceInfo.getResourceName();
             ResourceMetadata resourceMetaData = storageOperator.getResourceMetaData(resourceAbsolutePathInStorage);
             String resourceAbsolutePathInLocal =
                     Paths.get(taskWorkingDirectory, resourceMetaData.getResourceRelativePath()).toString();
-            File file = new File(resourceAbsolutePathInLocal);
-            if (!file.exists()) {
-                try {
-                    long resourceDownloadStartTime = System.currentTimeMillis();
-                    storageOperator.download(resourceAbsolutePathInStorage, resourceAbsolutePathInLocal, true);
-                    log.info("Download resource file {} -> {} successfully", resourceAbsolutePathInStorage,
-                            resourceAbsolutePathInLocal);
-                    FileUtils.setFileTo755(file);
-                    WorkerServerMetrics
-                            .recordWorkerResourceDownloadTime(System.currentTimeMillis() - resourceDownloadStartTime);
-                    WorkerServerMetrics
-                            .recordWorkerResourceDownloadSize(Files.size(Paths.get(resourceAbsolutePathInLocal)));
-                    WorkerServerMetrics.incWorkerResourceDownloadSuccessCount();
-                } catch (Exception ex) {
-                    WorkerServerMetrics.incWorkerResourceDownloadFailureCount();
-                    throw new TaskException(
-                            String.format("Download resource file: %s error", resourceAbsolutePathInStorage), ex);
-                }
-            }
+            resourcesToFetch.put(resourceAbsolutePathInStorage, resourceAbsolutePathInLocal);
             ResourceContext.ResourceItem resourceItem = ResourceContext.ResourceItem.builder()
                     .resourceAbsolutePathInStorage(resourceAbsolutePathInStorage)
                     .resourceAbsolutePathInLocal(resourceAbsolutePathInLocal)
                     .build();
             resourceContext.addResourceItem(resourceItem);
         }
+        workerResourceCache.fetchResources(storageOperator, resourcesToFetch);
         return resourceContext;
     }
 
@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.resource;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.plugin.task.api.TaskException;
+import org.apache.dolphinscheduler.server.worker.config.ResourceCacheConfig;
+
+import org.apache.commons.lang3.SystemUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.util.unit.DataSize;
+
+class WorkerResourceCacheTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private Path cacheDirectory;
+
+    private StorageOperator storageOperator;
+
+    private WorkerResourceCache workerResourceCache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cacheDirectory = tempDir.resolve("resource-cache");
+        storageOperator = Mockito.mock(StorageOperator.class);
+        Mockito.when(storageOperator.getStorageEntity(Mockito.anyString())).thenAnswer(invocation -> {
+            StorageEntity storageEntity = new StorageEntity();
+            storageEntity.setFullName(invocation.getArgument(0));
+            storageEntity.setSize(8);
+            storageEntity.setUpdateTime(new Date(1000L));
+            return storageEntity;
+        });
+        Mockito.doAnswer(invocation -> {
+            Path localPath = Paths.get((String) invocation.getArgument(1));
+            Files.createDirectories(localPath.getParent());
+            Files.write(localPath, "12345678".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(storageOperator).download(Mockito.anyString(), Mockito.anyString(), Mockito.anyBoolean());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (workerResourceCache != null) {
+            workerResourceCache.close();
+        }
+    }
+
+    @Test
+    void testFetchResources_cachedResourceIsCopiedIntoTaskWorkingDirectory() throws IOException {
+        workerResourceCache = createWorkerResourceCache(DataSize.ofMegabytes(1));
+
+        Path task1File = tempDir.resolve("task1/a.jar");
+        Path task2File = tempDir.resolve("task2/a.jar");
+        workerResourceCache.fetchResources(storageOperator, Collections.singletonMap("/a.jar", task1File.toString()));
+        workerResourceCache.fetchResources(storageOperator, Collections.singletonMap("/a.jar", task2File.toString()));
+
+        Mockito.verify(storageOperator, Mockito.times(1))
+                .download(Mockito.eq("/a.jar"), Mockito.anyString(), Mockito.anyBoolean());
+        assertThat(Files.isSameFile(task1File, task2File)).isFalse();
+        assertThat(new String(Files.readAllBytes(task2File), StandardCharsets.UTF_8)).isEqualTo("12345678");
+        assertThat(workerResourceCache.getCachedBytes()).isEqualTo(8L);
+        try (Stream<Path> cachedFiles = Files.list(cacheDirectory)) {
+            Path cachedFile = cachedFiles.findFirst().get();
+            assertThat(Files.getPosixFilePermissions(cachedFile)).containsNoneOf(PosixFilePermission.OWNER_WRITE,
+                    PosixFilePermission.GROUP_WRITE, PosixFilePermission.OTHERS_WRITE);
+        }
+    }
+
+    @Test
+    void testFetchResources_cacheHitIsReflinkCopied() throws IOException {
+        Assumptions.assumeTrue(SystemUtils.IS_OS_LINUX);
+        workerResourceCache = Mockito.spy(createWorkerResourceCache(DataSize.ofMegabytes(1)));
+
+        Path task1File = tempDir.resolve("task1/a.jar");
+        Path task2File = tempDir.resolve("task2/a.jar");
+        Path task3File = tempDir.resolve("task3/a.jar");
+        workerResourceCache.fetchResources(storageOperator, Collections.singletonMap("/a.jar", task1File.toString()));
+        workerResourceCache.fetchResources(storageOperator, Collections.singletonMap("/a.jar", task2File.toString()));
+        Files.write(task2File, "modified by task2".getBytes(StandardCharsets.UTF_8));
+        workerResourceCache.fetchResources(storageOperator, Collections.singletonMap("/a.jar", task3File.toString()));
+
+        Mockito.verify(workerResourceCache).executeCommand(ArgumentMatchers.argThat(command -> command.length == 5
+                && "--reflink=auto".equals(command[2]) && task2File.toString().equals(command[4])));
+        Mockito.verify(workerResourceCache, Mockito.times(3)).executeCommand(ArgumentMatchers.any());
+        Mockito.verify(storageOperator, Mockito.times(1))
+                .download(Mockito.eq("/a.jar"), Mockito.anyString(), Mockito.anyBoolean());
+        assertThat(new String(Files.readAllBytes(task3File), StandardCharsets.UTF_8)).isEqualTo("12345678");
+        assertThat(Files.isWritable(task3File)).isTrue();
+    }
+
+    @Test
+    void testFetchResources_fallbackToCopyOnceReflinkCopyFailed() throws IOException {
+        Assumptions.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+        workerResourceCache = Mockito.spy(createWorkerResourceCache(DataSize.ofMegabytes(1)));
+        Mockito.doThrow(new IOException("mock cp error")).when(workerResourceCache)
+                .executeCommand(ArgumentMatchers.any());
+
+        workerResourceCache.fetchResources(storageOperator,
+                Collections.singletonMap("/a.jar", tempDir + "/task1/a.jar"));
+        workerResourceCache.fetchResources(storageOperator,
+                Collections.singletonMap("/a.jar", tempDir + "/task2/a.jar"));
+
+        // The reflink copy is never tried again once failed
+        Mockito.verify(workerResourceCache, Mockito.times(1)).executeCommand(ArgumentMatchers.any());
+        assertThat(new String(Files.readAllBytes(tempDir.resolve("task1/a.jar")), StandardCharsets.UTF_8))
+                .isEqualTo("12345678");
+        assertThat(new String(Files.readAllBytes(tempDir.resolve("task2/a.jar")), StandardCharsets.UTF_8))
+                .isEqualTo("12345678");
+    }
+
+    @Test
+    void testFetchResources_reflinkCopyDisabled() throws IOException {
+        ResourceCacheConfig resourceCacheConfig = new ResourceCacheConfig();
+        resourceCacheConfig.setReflinkCopyEnabled(false);
+        workerResourceCache = Mockito.spy(new WorkerResourceCache(resourceCacheConfig, cacheDirectory));
+
+        workerResourceCache.fetchResources(storageOperator,
+                Collections.singletonMap("/a.jar", tempDir + "/task1/a.jar"));
+
+        Mockito.verify(workerResourceCache, Mockito.never()).executeCommand(ArgumentMatchers.any());
+        assertThat(new String(Files.readAllBytes(tempDir.resolve("task1/a.jar")), StandardCharsets.UTF_8))
+                .isEqualTo("12345678");
+    }
+
+    @Test
+    void testFetchResources_taskModifyingResourceNeverCorruptsCache() throws IOException {
+        workerResourceCache = createWorkerResourceCache(DataSize.ofMegabytes(1));
+
+        Path task1File = tempDir.resolve("task1/a.jar");
+        Path task2File = tempDir.resolve("task2/a.jar");
+        workerResourceCache.fetchResources(storageOperator, Collections.singletonMap("/a.jar", task1File.toString()));
+        Files.write(task1File, "modified by task1".getBytes(StandardCharsets.UTF_8));
+        workerResourceCache.fetchResources(storageOperator, Collections.singletonMap("/a.jar", task2File.toString()));
+
+        Mockito.verify(storageOperator, Mockito.times(1))
+                .download(Mockito.eq("/a.jar"), Mockito.anyString(), Mockito.anyBoolean());
+        assertThat(new String(Files.readAllBytes(task2File), StandardCharsets.UTF_8)).isEqualTo("12345678");
+    }
+
+    @Test
+    void testFetchResources_changedCachedResourceIsDownloadedAgain() throws IOException {
+        workerResourceCache = createWorkerResourceCache(DataSize.ofMegabytes(1));
+
+        Path task1File = tempDir.resolve("task1/a.jar");
+        Path task2File = tempDir.resolve("task2/a.jar");
+        workerResourceCache.fetchResources(storageOperator, Collections.singletonMap("/a.jar", task1File.toString()));
+        try (Stream<Path> cachedFiles = Files.list(cacheDirectory)) {
+            Path cachedFile = cachedFiles.findFirst().get();
+            cachedFile.toFile().setWritable(true);
+            Files.write(cachedFile, "1234".getBytes(StandardCharsets.UTF_8));
+        }
+        workerResourceCache.fetchResources(storageOperator, Collections.singletonMap("/a.jar", task2File.toString()));
+
+        Mockito.verify(storageOperator, Mockito.times(2))
+                .download(Mockito.eq("/a.jar"), Mockito.anyString(), Mockito.anyBoolean());
+        assertThat(new String(Files.readAllBytes(task2File), StandardCharsets.UTF_8)).isEqualTo("12345678");
+        assertThat(workerResourceCache.getCachedBytes()).isEqualTo(8L);
+    }
+
+    @Test
+    void testFetchResources_concurrentDownloadsOfSameResourceAreDeduplicated() throws Exception {
+        workerResourceCache = createWorkerResourceCache(DataSize.ofMegabytes(1));
+        CountDownLatch downloadStarted = new CountDownLatch(1);
+        CountDownLatch downloadReleased = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            downloadStarted.countDown();
+            downloadReleased.await();
+            Files.write(Paths.get((String) invocation.getArgument(1)), "12345678".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(storageOperator).download(Mockito.anyString(), Mockito.anyString(), Mockito.anyBoolean());
+
+        CompletableFuture<Void> task1 = CompletableFuture.runAsync(() -> workerResourceCache
+                .fetchResources(storageOperator, Collections.singletonMap("/a.jar", tempDir + "/task1/a.jar")));
+        Assertions.assertTrue(downloadStarted.await(10, TimeUnit.SECONDS));
+        CompletableFuture<Void> task2 = CompletableFuture.runAsync(() -> workerResourceCache
+                .fetchResources(storageOperator, Collections.singletonMap("/a.jar", tempDir + "/task2/a.jar")));
+        downloadReleased.countDown();
+        task1.get(10, TimeUnit.SECONDS);
+        task2.get(10, TimeUnit.SECONDS);
+
+        Mockito.verify(storageOperator, Mockito.times(1))
+                .download(Mockito.eq("/a.jar"), Mockito.anyString(), Mockito.anyBoolean());
+        assertThat(Files.exists(tempDir.resolve("task2/a.jar"))).isTrue();
+    }
+
+    @Test
+    void testFetchResources_leastRecentlyUsedResourceIsEvicted() throws IOException {
+        workerResourceCache = createWorkerResourceCache(DataSize.ofBytes(20));
+
+        Map<String, String> resources = new HashMap<>();
+        resources.put("/a.jar", tempDir + "/task1/a.jar");
+        resources.put("/b.jar", tempDir + "/task1/b.jar");
+        workerResourceCache.fetchResources(storageOperator, resources);
+        workerResourceCache.fetchResources(storageOperator,
+                Collections.singletonMap("/a.jar", tempDir + "/task2/a.jar"));
+        workerResourceCache.fetchResources(storageOperator,
+                Collections.singletonMap("/c.jar", tempDir + "/task2/c.jar"));
+        assertThat(workerResourceCache.getCachedBytes()).isEqualTo(16L);
+
+        workerResourceCache.fetchResources(storageOperator,
+                Collections.singletonMap("/a.jar", tempDir + "/task3/a.jar"));
+        workerResourceCache.fetchResources(storageOperator,
+                Collections.singletonMap("/b.jar", tempDir + "/task3/b.jar"));
+        Mockito.verify(storageOperator, Mockito.times(1))
+                .download(Mockito.eq("/a.jar"), Mockito.anyString(), Mockito.anyBoolean());
+        Mockito.verify(storageOperator, Mockito.times(2))
+                .download(Mockito.eq("/b.jar"), Mockito.anyString(), Mockito.anyBoolean());
+        // The evicted file copied into the task working directory is still available
+        assertThat(Files.exists(tempDir.resolve("task1/b.jar"))).isTrue();
+    }
+
+    @Test
+    void testFetchResources_bypassCacheWithoutStorageEntity() throws IOException {
+        workerResourceCache = createWorkerResourceCache(DataSize.ofMegabytes(1));
+        Mockito.when(storageOperator.getStorageEntity(Mockito.anyString())).thenReturn(null);
+
+        workerResourceCache.fetchResources(storageOperator,
+                Collections.singletonMap("/a.jar", tempDir + "/task1/a.jar"));
+
+        Mockito.verify(storageOperator).download("/a.jar", tempDir + "/task1/a.jar", true);
+        assertThat(workerResourceCache.getCachedBytes()).isEqualTo(0L);
+    }
+
+    @Test
+    void testFetchResources_downloadFailed() throws IOException {
+        workerResourceCache = createWorkerResourceCache(DataSize.ofMegabytes(1));
+        Mockito.doThrow(new RuntimeException("mock download error"))
+                .when(storageOperator).download(Mockito.anyString(), Mockito.anyString(), Mockito.anyBoolean());
+
+        TaskException taskException = Assertions.assertThrows(TaskException.class,
+                () -> workerResourceCache.fetchResources(storageOperator,
+                        Collections.singletonMap("/a.jar", tempDir + "/task1/a.jar")));
+        assertThat(taskException).hasMessageThat().isEqualTo("Download resource file: /a.jar error");
+        try (Stream<Path> cachedFiles = Files.list(cacheDirectory)) {
+            assertThat(cachedFiles.count()).isEqualTo(0L);
+        }
+    }
+
+    private WorkerResourceCache createWorkerResourceCache(DataSize maxSize) {
+        ResourceCacheConfig resourceCacheConfig = new ResourceCacheConfig();
+        resourceCacheConfig.setMaxSize(maxSize);
+        return new WorkerResourceCache(resourceCacheConfig, cacheDirectory);
+    }
+}
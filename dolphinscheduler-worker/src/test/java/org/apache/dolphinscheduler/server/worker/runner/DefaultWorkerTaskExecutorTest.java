@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
 
 import org.junit.jupiter.api.Assertions;
@@ -41,6 +42,8 @@ public class DefaultWorkerTaskExecutorTest {
 
     private StorageOperator storageOperator = Mockito.mock(StorageOperator.class);
 
+    private WorkerResourceCache workerResourceCache = Mockito.mock(WorkerResourceCache.class);
+
     private WorkerRegistryClient workerRegistryClient = Mockito.mock(WorkerRegistryClient.class);
 
     @Test
@@ -56,6 +59,7 @@ public class DefaultWorkerTaskExecutorTest {
                 workerConfig,
                 workerMessageSender,
                 storageOperator,
+                workerResourceCache,
                 workerRegistryClient);
 
         Assertions.assertAll(workerTaskExecutor::run);
@@ -79,6 +83,7 @@ public class DefaultWorkerTaskExecutorTest {
                 workerConfig,
                 workerMessageSender,
                 storageOperator,
+                workerResourceCache,
                 workerRegistryClient);
 
         Assertions.assertAll(workerTaskExecutor::run);
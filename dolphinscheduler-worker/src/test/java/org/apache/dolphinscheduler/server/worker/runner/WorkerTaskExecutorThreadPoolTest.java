@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.worker.config.TaskExecuteThreadsFullPolicy;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
 
 import org.apache.commons.lang3.RandomUtils;
@@ -151,6 +152,7 @@ class WorkerTaskExecutorThreadPoolTest {
                     new WorkerConfig(),
                     new WorkerMessageSender(),
                     null,
+                    Mockito.mock(WorkerResourceCache.class),
                     new WorkerRegistryClient());
             this.runnable = runnable;
         }
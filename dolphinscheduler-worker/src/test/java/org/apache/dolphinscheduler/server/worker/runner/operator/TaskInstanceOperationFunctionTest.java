@@ -38,6 +38,7 @@ import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.message.MessageRetryRunner;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
 import org.apache.dolphinscheduler.server.worker.runner.WorkerTaskExecutor;
 import org.apache.dolphinscheduler.server.worker.runner.WorkerTaskExecutorFactoryBuilder;
@@ -73,6 +74,8 @@ public class TaskInstanceOperationFunctionTest {
 
     private StorageOperator storageOperator = Mockito.mock(StorageOperator.class);
 
+    private WorkerResourceCache workerResourceCache = Mockito.mock(WorkerResourceCache.class);
+
     private WorkerRegistryClient workerRegistryClient = Mockito.mock(WorkerRegistryClient.class);
 
     @Test
@@ -93,6 +96,7 @@ public class TaskInstanceOperationFunctionTest {
                 workerMessageSender,
                 workerManager,
                 storageOperator,
+                workerResourceCache,
                 workerRegistryClient);
 
         TaskInstanceDispatchOperationFunction taskInstanceDispatchOperationFunction =
@@ -187,6 +191,7 @@ public class TaskInstanceOperationFunctionTest {
                 workerMessageSender,
                 workerManager,
                 storageOperator,
+                workerResourceCache,
                 workerRegistryClient);
 
         TaskInstanceDispatchOperationFunction taskInstanceDispatchOperationFunction =